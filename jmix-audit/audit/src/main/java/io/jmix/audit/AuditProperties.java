@@ -26,12 +26,20 @@ public class AuditProperties {
     //ToDo: make system user name globally configurable?
     String systemUsername;
 
+    /**
+     * Whether entity log items of the main data store are inserted by a single JDBC batch on transaction commit
+     * instead of persisting them one by one through the EntityManager.
+     */
+    boolean entityLogBatchInsertEnabled;
+
     public AuditProperties(
             @DefaultValue("true") boolean enabled,
-            @DefaultValue("system") String systemUsername
+            @DefaultValue("system") String systemUsername,
+            @DefaultValue("false") boolean entityLogBatchInsertEnabled
     ) {
         this.enabled = enabled;
         this.systemUsername = systemUsername;
+        this.entityLogBatchInsertEnabled = entityLogBatchInsertEnabled;
     }
 
     public boolean isEnabled() {
@@ -41,4 +49,11 @@ public class AuditProperties {
     public String getSystemUsername() {
         return systemUsername;
     }
+
+    /**
+     * @see #entityLogBatchInsertEnabled
+     */
+    public boolean isEntityLogBatchInsertEnabled() {
+        return entityLogBatchInsertEnabled;
+    }
 }
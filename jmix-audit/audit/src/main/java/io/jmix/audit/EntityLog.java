@@ -76,7 +76,7 @@ public interface EntityLog {
 
     /**
      * Invalidates configuration cache.
-     * The configuration will be recreated from the database on next lifecycle event.
+     * The configuration is reloaded from the database, the previous configuration is used until it is loaded.
      */
     void invalidateCache();
 
@@ -37,6 +37,10 @@ import io.jmix.core.metamodel.model.Range;
 import io.jmix.core.security.EntityOp;
 import io.jmix.data.AttributeChangesProvider;
 import io.jmix.data.AuditInfoProvider;
+import io.jmix.data.StoreAwareLocator;
+import io.jmix.data.entity.ReferenceToEntity;
+import io.jmix.data.persistence.DbTypeConverter;
+import io.jmix.data.persistence.DbmsSpecifics;
 import io.jmix.data.impl.EntityEventManager;
 import io.jmix.data.impl.JpaLifecycleListener;
 import org.apache.commons.lang3.BooleanUtils;
@@ -54,9 +58,9 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.TypedQuery;
 import java.io.IOException;
+import java.sql.Timestamp;
 import java.io.StringWriter;
 import java.util.*;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -89,6 +93,10 @@ public class EntityLogImpl implements EntityLog, JpaLifecycleListener {
     protected AttributeChangesProvider attributeChangesProvider;
     @Autowired
     protected EntityEventManager entityEventManager;
+    @Autowired
+    protected StoreAwareLocator storeAwareLocator;
+    @Autowired
+    protected DbmsSpecifics dbmsSpecifics;
 
     @PersistenceContext
     protected EntityManager entityManager;
@@ -104,13 +112,13 @@ public class EntityLogImpl implements EntityLog, JpaLifecycleListener {
     protected AuditProperties properties;
 
     protected volatile boolean enabled;
-    protected volatile boolean loaded;
 
-    protected Map<String, Set<String>> entitiesManual;
+    /**
+     * Immutable snapshot of logged entities configuration, null if it is not loaded yet.
+     */
+    protected volatile LoggedEntitiesSnapshot loggedEntities;
 
-    protected Map<String, Set<String>> entitiesAuto;
-
-    protected ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    protected final Object loggedEntitiesLock = new Object();
     protected ThreadLocal<Boolean> entityLogSwitchedOn = new ThreadLocal<>();
 
     @Autowired
@@ -161,20 +169,32 @@ public class EntityLogImpl implements EntityLog, JpaLifecycleListener {
         if (items == null || items.isEmpty())
             return;
 
-        Set<EntityLogItem> saved = new LinkedHashSet<>();
+        Map<Object, List<EntityLogItem>> itemsByEntity = new LinkedHashMap<>();
         for (EntityLogItem item : items) {
-            List<EntityLogItem> sameEntityList = items.stream()
-                    .filter(entityLogItem -> entityLogItem.getDbGeneratedIdEntity() != null ?
-                            entityLogItem.getDbGeneratedIdEntity().equals(item.getDbGeneratedIdEntity()) :
-                            entityLogItem.getEntityRef().getObjectEntityId().equals(item.getEntityRef().getObjectEntityId()))
-                    .collect(Collectors.toList());
+            itemsByEntity.computeIfAbsent(getEntityKey(item), key -> new ArrayList<>()).add(item);
+        }
+
+        List<EntityLogItem> itemsToSave = new ArrayList<>(itemsByEntity.size());
+        for (List<EntityLogItem> sameEntityList : itemsByEntity.values()) {
             EntityLogItem itemToSave = sameEntityList.get(0);
-            if (!saved.contains(itemToSave)) {
-                computeChanges(itemToSave, sameEntityList);
-                saved.add(itemToSave);
-                saveItem(itemToSave);
-            }
+            computeChanges(itemToSave, sameEntityList);
+            itemsToSave.add(itemToSave);
         }
+        saveItems(itemsToSave);
+
+        if (properties.isEntityLogBatchInsertEnabled()) {
+            // inserted items are not managed, so they must not be inserted again by a subsequent flush
+            holder.clearStoreItems(storeName);
+        }
+    }
+
+    /**
+     * Returns a key identifying the logged entity instance of the given item within a transaction.
+     */
+    protected Object getEntityKey(EntityLogItem item) {
+        return item.getDbGeneratedIdEntity() != null ?
+                item.getDbGeneratedIdEntity() :
+                item.getEntityRef().getObjectEntityId();
     }
 
     protected void computeChanges(EntityLogItem itemToSave, List<EntityLogItem> sameEntityList) {
@@ -212,20 +232,35 @@ public class EntityLogImpl implements EntityLog, JpaLifecycleListener {
     }
 
     protected void processAttributes(EntityLogItem itemToSave, List<EntityLogItem> sameEntityList, Set<String> attributes) {
+        Map<String, EntityLogAttr> firstItemAttrs = getAttributesByName(sameEntityList.get(0));
+        Map<String, EntityLogAttr> lastItemAttrs = getAttributesByName(sameEntityList.get(sameEntityList.size() - 1));
+        Map<String, EntityLogAttr> attrsToSave = getAttributesByName(itemToSave);
         for (String attributeName : attributes) {
             // old value from the first item
-            sameEntityList.get(0).getAttributes().stream()
-                    .filter(entityLogAttr -> entityLogAttr.getName().equals(attributeName))
-                    .findFirst()
-                    .ifPresent(entityLogAttr -> setAttributeOldValue(entityLogAttr, itemToSave));
+            EntityLogAttr firstItemAttr = firstItemAttrs.get(attributeName);
+            if (firstItemAttr != null) {
+                EntityLogAttr attr = getAttrToSave(firstItemAttr, itemToSave, attrsToSave);
+                attr.setOldValue(firstItemAttr.getOldValue());
+                attr.setOldValueId(firstItemAttr.getOldValueId());
+            }
             // new value from the last item
-            sameEntityList.get(sameEntityList.size() - 1).getAttributes().stream()
-                    .filter(entityLogAttr -> entityLogAttr.getName().equals(attributeName))
-                    .findFirst()
-                    .ifPresent(entityLogAttr -> setAttributeNewValue(entityLogAttr, itemToSave));
+            EntityLogAttr lastItemAttr = lastItemAttrs.get(attributeName);
+            if (lastItemAttr != null) {
+                EntityLogAttr attr = getAttrToSave(lastItemAttr, itemToSave, attrsToSave);
+                attr.setValue(lastItemAttr.getValue());
+                attr.setValueId(lastItemAttr.getValueId());
+            }
         }
     }
 
+    protected Map<String, EntityLogAttr> getAttributesByName(EntityLogItem item) {
+        Map<String, EntityLogAttr> result = new HashMap<>();
+        for (EntityLogAttr attr : item.getAttributes()) {
+            result.putIfAbsent(attr.getName(), attr);
+        }
+        return result;
+    }
+
     protected void setAttributeOldValue(EntityLogAttr entityLogAttr, EntityLogItem itemToSave) {
         EntityLogAttr attr = getAttrToSave(entityLogAttr, itemToSave);
         attr.setOldValue(entityLogAttr.getOldValue());
@@ -239,18 +274,88 @@ public class EntityLogImpl implements EntityLog, JpaLifecycleListener {
     }
 
     protected EntityLogAttr getAttrToSave(EntityLogAttr entityLogAttr, EntityLogItem itemToSave) {
-        EntityLogAttr attr = itemToSave.getAttributes().stream()
-                .filter(a -> a.getName().equals(entityLogAttr.getName()))
-                .findFirst()
-                .orElse(null);
+        return getAttrToSave(entityLogAttr, itemToSave, getAttributesByName(itemToSave));
+    }
+
+    /**
+     * Returns an attribute of the item to save with the name of the given attribute, creating it if necessary.
+     *
+     * @param attrsToSave attributes of the item to save by names, updated if a new attribute is created
+     */
+    protected EntityLogAttr getAttrToSave(EntityLogAttr entityLogAttr, EntityLogItem itemToSave,
+                                          Map<String, EntityLogAttr> attrsToSave) {
+        EntityLogAttr attr = attrsToSave.get(entityLogAttr.getName());
         if (attr == null) {
             attr = metadata.create(EntityLogAttr.class);
             attr.setName(entityLogAttr.getName());
             itemToSave.getAttributes().add(attr);
+            attrsToSave.put(attr.getName(), attr);
         }
         return attr;
     }
 
+    protected void saveItems(List<EntityLogItem> items) {
+        if (!properties.isEntityLogBatchInsertEnabled()) {
+            items.forEach(this::saveItem);
+            return;
+        }
+
+        List<EntityLogItem> batch = new ArrayList<>(items.size());
+        for (EntityLogItem item : items) {
+            String storeName = metadata.getClass(item.getEntity()).getStore().getName();
+            if (item.getDbGeneratedIdEntity() == null && Stores.isMain(storeName)) {
+                entityEventManager.publishEntitySavingEvent(item, true);//workaround for jmix-framework/jmix#1069
+                batch.add(item);
+            } else {
+                saveItem(item);
+            }
+        }
+        insertItems(batch);
+    }
+
+    /**
+     * Inserts the given items of the main data store by a single JDBC batch within the current transaction.
+     */
+    protected void insertItems(List<EntityLogItem> items) {
+        if (items.isEmpty())
+            return;
+
+        DbTypeConverter converter = dbmsSpecifics.getDbTypeConverter();
+        Date now = timeSource.currentTimestamp();
+        UserDetails user = auditInfoProvider.getCurrentUser();
+        String currentUsername = user == null ? null : user.getUsername();
+
+        List<Object[]> batchArgs = new ArrayList<>(items.size());
+        for (EntityLogItem item : items) {
+            UUID id = item.getId() == null ? UuidProvider.createUuid() : item.getId();
+            Date createTs = item.getCreateTs() == null ? now : item.getCreateTs();
+            String createdBy = item.getCreatedBy() == null ? currentUsername : item.getCreatedBy();
+            ReferenceToEntity entityRef = item.getEntityRef();
+            batchArgs.add(new Object[]{
+                    converter.getSqlObject(id),
+                    new Timestamp(createTs.getTime()),
+                    createdBy,
+                    item.getEventTs() == null ? null : new Timestamp(item.getEventTs().getTime()),
+                    item.getUsername(),
+                    item.getType() == null ? null : item.getType().getId(),
+                    item.getEntity(),
+                    entityRef.getEntityId() == null ? null : converter.getSqlObject(entityRef.getEntityId()),
+                    entityRef.getStringEntityId(),
+                    entityRef.getIntEntityId(),
+                    entityRef.getLongEntityId(),
+                    item.getEntityInstanceName(),
+                    item.getChanges(),
+                    item.getSysTenantId()
+            });
+        }
+
+        storeAwareLocator.getJdbcTemplate(Stores.MAIN).batchUpdate(
+                "insert into AUDIT_ENTITY_LOG (ID, CREATE_TS, CREATED_BY, EVENT_TS, USERNAME, CHANGE_TYPE, ENTITY, " +
+                        "ENTITY_ID, STRING_ENTITY_ID, INT_ENTITY_ID, LONG_ENTITY_ID, ENTITY_INSTANCE_NAME, CHANGES, SYS_TENANT_ID) " +
+                        "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                batchArgs);
+    }
+
     protected void saveItem(EntityLogItem item) {
         String storeName = metadata.getClass(item.getEntity()).getStore().getName();
 
@@ -277,64 +382,48 @@ public class EntityLogImpl implements EntityLog, JpaLifecycleListener {
     }
 
     @Override
-    public synchronized boolean isEnabled() {
+    public boolean isEnabled() {
         return enabled && isLoggingForCurrentThread();
     }
 
     @Override
-    public synchronized void setEnabled(boolean enabled) {
+    public void setEnabled(boolean enabled) {
         this.enabled = enabled;
     }
 
     @Override
     public void invalidateCache() {
-        lock.writeLock().lock();
-        try {
+        synchronized (loggedEntitiesLock) {
             log.debug("Invalidating cache");
-            entitiesManual = null;
-            entitiesAuto = null;
-            loaded = false;
-        } finally {
-            lock.writeLock().unlock();
+            // readers keep using the previous snapshot until the new one is loaded
+            loggedEntities = loadEntities();
         }
     }
 
     @Nullable
     protected Set<String> getLoggedAttributes(String entity, boolean auto) {
-        lock.readLock().lock();
-        try {
-            if (!loaded) {
-                // upgrade lock
-                lock.readLock().unlock();
-                lock.writeLock().lock();
-                try {
-                    if (!loaded) { // recheck because we unlocked for a while
-                        loadEntities();
-                        loaded = true;
-                    }
-                } finally {
-                    // downgrade lock
-                    lock.writeLock().unlock();
-                    lock.readLock().lock();
-                }
-            }
-
-            Set<String> attributes;
-            if (auto)
-                attributes = entitiesAuto.get(entity);
-            else
-                attributes = entitiesManual.get(entity);
+        LoggedEntitiesSnapshot snapshot = loggedEntities;
+        if (snapshot == null) {
+            snapshot = getOrLoadLoggedEntities();
+        }
+        return auto ? snapshot.entitiesAuto.get(entity) : snapshot.entitiesManual.get(entity);
+    }
 
-            return attributes == null ? null : Collections.unmodifiableSet(attributes);
-        } finally {
-            lock.readLock().unlock();
+    protected LoggedEntitiesSnapshot getOrLoadLoggedEntities() {
+        synchronized (loggedEntitiesLock) {
+            LoggedEntitiesSnapshot snapshot = loggedEntities;
+            if (snapshot == null) { // recheck because another thread could load it while we were waiting
+                snapshot = loadEntities();
+                loggedEntities = snapshot;
+            }
+            return snapshot;
         }
     }
 
-    protected void loadEntities() {
+    protected LoggedEntitiesSnapshot loadEntities() {
         log.debug("Loading entities");
-        entitiesManual = new HashMap<>();
-        entitiesAuto = new HashMap<>();
+        Map<String, Set<String>> entitiesManual = new HashMap<>();
+        Map<String, Set<String>> entitiesAuto = new HashMap<>();
         transaction.executeWithoutResult(status -> {
             TypedQuery<LoggedEntity> q = entityManager.createQuery(
                     "select e from audit_LoggedEntity e where e.auto = true or e.manual = true",
@@ -358,6 +447,7 @@ public class EntityLogImpl implements EntityLog, JpaLifecycleListener {
             }
         });
         log.debug("Loaded: entitiesAuto={}, entitiesManual={}", entitiesAuto.size(), entitiesManual.size());
+        return new LoggedEntitiesSnapshot(entitiesManual, entitiesAuto);
     }
 
     protected String getEntityName(Object entity) {
@@ -791,6 +881,26 @@ public class EntityLogImpl implements EntityLog, JpaLifecycleListener {
         log.warn("Unable to log entity {}, id={}", entity, EntityValues.getId(entity), e);
     }
 
+    /**
+     * Logged attributes of entities configured for manual and automatic logging.
+     */
+    protected static class LoggedEntitiesSnapshot {
+
+        protected final Map<String, Set<String>> entitiesManual;
+        protected final Map<String, Set<String>> entitiesAuto;
+
+        protected LoggedEntitiesSnapshot(Map<String, Set<String>> entitiesManual, Map<String, Set<String>> entitiesAuto) {
+            this.entitiesManual = copyOf(entitiesManual);
+            this.entitiesAuto = copyOf(entitiesAuto);
+        }
+
+        protected static Map<String, Set<String>> copyOf(Map<String, Set<String>> entities) {
+            Map<String, Set<String>> result = new HashMap<>(entities.size());
+            entities.forEach((entity, attributes) -> result.put(entity, Set.copyOf(attributes)));
+            return Collections.unmodifiableMap(result);
+        }
+    }
+
     public static class EntityLogResourceHolder extends ResourceHolderSupport {
 
         protected Map<String, List<EntityLogItem>> itemsMap = new HashMap<>();
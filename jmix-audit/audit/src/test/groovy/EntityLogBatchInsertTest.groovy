@@ -0,0 +1,93 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import io.jmix.audit.entity.EntityLogItem
+import io.jmix.core.DataManager
+import io.jmix.core.SaveContext
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.test.context.TestPropertySource
+import test_support.testmodel.cascade.CascOrder
+
+@TestPropertySource(properties = ["jmix.audit.entityLogBatchInsertEnabled=true"])
+class EntityLogBatchInsertTest extends AbstractEntityLogTest {
+
+    @Autowired
+    DataManager dataManager
+
+    void setup() {
+        clearTables("AUDIT_LOGGED_ATTR", "AUDIT_LOGGED_ENTITY")
+
+        withTransaction {
+            clearTable(em, "AUDIT_ENTITY_LOG")
+            saveEntityLogAutoConfFor('cascop_Order', 'notes')
+        }
+
+        initEntityLogAPI()
+    }
+
+    void cleanup() {
+        clearTables("CASCOP_ORDER", "AUDIT_LOGGED_ATTR", "AUDIT_LOGGED_ENTITY")
+    }
+
+    def "log items of entities saved in one transaction are inserted by batch"() {
+
+        given:
+
+        List<CascOrder> orders = (1..10).collect {
+            CascOrder order = metadata.create(CascOrder)
+            order.notes = "order $it"
+            order
+        }
+
+        when:
+
+        dataManager.save(new SaveContext().saving(orders))
+
+        then:
+
+        orders.every { order ->
+            def items = getEntityLogItems('cascop_Order', order.id)
+            items.size() == 1 &&
+                    items[0].type == EntityLogItem.Type.CREATE &&
+                    loggedValueMatches(items[0], 'notes', order.notes)
+        }
+    }
+
+    def "changes of entity within one transaction are merged into one log item"() {
+
+        given:
+
+        CascOrder order = metadata.create(CascOrder)
+        order.notes = 'first'
+        order = dataManager.save(order)
+
+        when:
+
+        withTransaction {
+            CascOrder e = em.find(CascOrder, order.id)
+            e.notes = 'second'
+            em.flush()
+            e.notes = 'third'
+        }
+
+        then:
+
+        def item = getLatestEntityLogItem('cascop_Order', order.id)
+        item.type == EntityLogItem.Type.MODIFY
+        loggedValueMatches(item, 'notes', 'third')
+        loggedOldValueMatches(item, 'notes', 'first')
+    }
+}
@@ -53,8 +53,10 @@ public class CoreAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    public MessageSource messageSource(JmixModules modules, Resources resources) {
-        return new JmixMessageSource(modules, resources);
+    public MessageSource messageSource(JmixModules modules, Resources resources, CoreProperties coreProperties) {
+        JmixMessageSource messageSource = new JmixMessageSource(modules, resources);
+        messageSource.setMessageTableEnabled(coreProperties.isMessageTableEnabled());
+        return messageSource;
     }
 
     @Bean
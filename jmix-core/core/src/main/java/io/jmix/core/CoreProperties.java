@@ -57,6 +57,13 @@ public class CoreProperties {
     List<Locale> availableLocales;
     int crossDataStoreReferenceLoadingBatchSize;
 
+    /**
+     * Maximum number of threads loading references to entities from different data stores in parallel. References
+     * of different properties are loaded concurrently only if loading doesn't join the current transaction.
+     * Value 1 means sequential loading in the calling thread.
+     */
+    int crossDataStoreReferenceLoadingParallelism;
+
     /**
      * Whether to generate identifiers for entities located in additional data stores.
      */
@@ -104,6 +111,20 @@ public class CoreProperties {
      */
     boolean roundDecimalValueByFormat;
 
+    /**
+     * Whether the message source should merge messages of all modules into a single immutable table per locale on
+     * first access to the locale. The tables are rebuilt when the message source cache is cleared. Used only if the
+     * message source caches files forever (default).
+     */
+    boolean messageTableEnabled;
+
+    /**
+     * Default number of entity instances or rows loaded by a single query when results are streamed by
+     * {@link UnconstrainedDataManager#loadStream(LoadContext)} and
+     * {@link UnconstrainedDataManager#loadValuesStream(ValueLoadContext)}.
+     */
+    int loadStreamChunkSize;
+
     public CoreProperties(
             String webHostName,
             String webPort,
@@ -113,6 +134,7 @@ public class CoreProperties {
             String dbDir,
             List<String> availableLocales,
             @DefaultValue("50") int crossDataStoreReferenceLoadingBatchSize,
+            @DefaultValue("1") int crossDataStoreReferenceLoadingParallelism,
             @DefaultValue("true") boolean idGenerationForEntitiesInAdditionalDataStoresEnabled,
             @DefaultValue("100") int dom4jMaxPoolSize,
             @DefaultValue("1000") int dom4jMaxBorrowWaitMillis,
@@ -124,7 +146,9 @@ public class CoreProperties {
             @DefaultValue("true") boolean triggerFilesEnabled,
             @DefaultValue("5000") Duration triggerFilesProcessInterval,
             @DefaultValue PessimisticLock pessimisticLock,
-            @DefaultValue("true") boolean roundDecimalValueByFormat) {
+            @DefaultValue("true") boolean roundDecimalValueByFormat,
+            @DefaultValue("false") boolean messageTableEnabled,
+            @DefaultValue("1000") int loadStreamChunkSize) {
         this.webHostName = webHostName;
         this.webPort = webPort;
         this.confDir = confDir;
@@ -143,6 +167,7 @@ public class CoreProperties {
         }
 
         this.crossDataStoreReferenceLoadingBatchSize = crossDataStoreReferenceLoadingBatchSize;
+        this.crossDataStoreReferenceLoadingParallelism = crossDataStoreReferenceLoadingParallelism;
         this.idGenerationForEntitiesInAdditionalDataStoresEnabled = idGenerationForEntitiesInAdditionalDataStoresEnabled;
         this.dom4jMaxPoolSize = dom4jMaxPoolSize;
         this.dom4jMaxBorrowWaitMillis = dom4jMaxBorrowWaitMillis;
@@ -154,6 +179,8 @@ public class CoreProperties {
         this.triggerFilesProcessInterval = triggerFilesProcessInterval;
         this.pessimisticLock = pessimisticLock;
         this.roundDecimalValueByFormat = roundDecimalValueByFormat;
+        this.messageTableEnabled = messageTableEnabled;
+        this.loadStreamChunkSize = loadStreamChunkSize;
     }
 
     public String getWebHostName() {
@@ -193,6 +220,13 @@ public class CoreProperties {
         return crossDataStoreReferenceLoadingBatchSize;
     }
 
+    /**
+     * @see #crossDataStoreReferenceLoadingParallelism
+     */
+    public int getCrossDataStoreReferenceLoadingParallelism() {
+        return crossDataStoreReferenceLoadingParallelism;
+    }
+
     /**
      * @see #idGenerationForEntitiesInAdditionalDataStoresEnabled
      */
@@ -294,4 +328,18 @@ public class CoreProperties {
     public boolean isRoundDecimalValueByFormat() {
         return roundDecimalValueByFormat;
     }
+
+    /**
+     * @see #messageTableEnabled
+     */
+    public boolean isMessageTableEnabled() {
+        return messageTableEnabled;
+    }
+
+    /**
+     * @see #loadStreamChunkSize
+     */
+    public int getLoadStreamChunkSize() {
+        return loadStreamChunkSize;
+    }
 }
@@ -21,6 +21,7 @@ import io.jmix.core.entity.KeyValueEntity;
 import org.springframework.lang.Nullable;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Interface defining methods for CRUD operations on entities.
@@ -55,6 +56,21 @@ public interface DataStore {
      */
     List<Object> loadList(LoadContext<?> context);
 
+    /**
+     * Loads entity instances by the query in chunks of the given size. Each chunk is loaded in a separate read
+     * transaction, so the instances are detached and the persistence context is not accumulated while the stream
+     * is being consumed.
+     * <p>
+     * The default implementation loads all instances in a single chunk.
+     *
+     * @param context   defines the query, must not contain ids
+     * @param chunkSize maximum number of instances loaded by a single database query
+     * @return lazy stream of non-empty chunks
+     */
+    default Stream<List<Object>> loadChunks(LoadContext<?> context, int chunkSize) {
+        return Stream.of(loadList(context)).filter(list -> !list.isEmpty());
+    }
+
     /**
      * Returns the number of entity instances for the given query passed in the {@link LoadContext}.
      *
@@ -77,6 +93,19 @@ public interface DataStore {
      */
     List<KeyValueEntity> loadValues(ValueLoadContext context);
 
+    /**
+     * Loads key-value pairs in chunks of the given size, each chunk in a separate read transaction.
+     * <p>
+     * The default implementation loads all pairs in a single chunk.
+     *
+     * @param context   defines a query for scalar values and a list of keys for returned KeyValueEntity
+     * @param chunkSize maximum number of rows loaded by a single database query
+     * @return lazy stream of non-empty chunks
+     */
+    default Stream<List<KeyValueEntity>> loadValuesChunks(ValueLoadContext context, int chunkSize) {
+        return Stream.of(loadValues(context)).filter(list -> !list.isEmpty());
+    }
+
     /**
      * Returns the number of key-value pairs for the given query passed in the {@link ValueLoadContext}.
      *
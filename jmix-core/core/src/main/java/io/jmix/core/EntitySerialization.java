@@ -19,6 +19,8 @@ package io.jmix.core;
 import io.jmix.core.metamodel.model.MetaClass;
 
 import org.springframework.lang.Nullable;
+import java.io.OutputStream;
+import java.io.Writer;
 import java.lang.reflect.Type;
 import java.util.Collection;
 
@@ -64,6 +66,51 @@ public interface EntitySerialization {
                   @Nullable FetchPlan fetchPlan,
                   EntitySerializationOption... options);
 
+    /**
+     * Serializes a single entity to JSON like the {@link #toJson(Object, FetchPlan, EntitySerializationOption...)}
+     * method, but writes the result to the given writer instead of building a string. The writer is flushed but not
+     * closed.
+     *
+     * @param entity    an entity to be serialized
+     * @param fetchPlan a fetch plan that defines which entity properties should be added to the result JSON object
+     * @param writer    a writer to write the JSON object to
+     * @param options   options specifying how an entity should be serialized
+     */
+    void toJson(Object entity,
+                @Nullable FetchPlan fetchPlan,
+                Writer writer,
+                EntitySerializationOption... options);
+
+    /**
+     * Serializes a collection of entities to the JSON array like the {@link #toJson(Collection, FetchPlan,
+     * EntitySerializationOption...)} method, but writes the array to the given writer element by element, so the
+     * JSON of the whole collection is never kept in memory. The writer is flushed but not closed.
+     *
+     * @param entities  a collection of entities to be serialized
+     * @param fetchPlan a fetch plan that defines which entity properties should be added to the result JSON object
+     * @param writer    a writer to write the JSON array to
+     * @param options   options specifying how an entity should be serialized
+     */
+    void toJson(Collection<?> entities,
+                @Nullable FetchPlan fetchPlan,
+                Writer writer,
+                EntitySerializationOption... options);
+
+    /**
+     * Serializes a collection of entities to the JSON array and writes it to the given output stream in UTF-8. Works
+     * like the {@link #toJson(Collection, FetchPlan, Writer, EntitySerializationOption...)} method. The stream is
+     * flushed but not closed.
+     *
+     * @param entities     a collection of entities to be serialized
+     * @param fetchPlan    a fetch plan that defines which entity properties should be added to the result JSON object
+     * @param outputStream an output stream to write the JSON array to
+     * @param options      options specifying how an entity should be serialized
+     */
+    void toJson(Collection<?> entities,
+                @Nullable FetchPlan fetchPlan,
+                OutputStream outputStream,
+                EntitySerializationOption... options);
+
     /**
      * An overloaded version of the {@link #toJson(Object, FetchPlan, EntitySerializationOption...)} method with a null
      * {@code fetchPlan} parameter and with no serialization options.
@@ -35,6 +35,7 @@ import jakarta.persistence.TemporalType;
 import java.io.Serializable;
 import java.util.*;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Component("core_FluentLoader")
 @Scope(BeanDefinition.SCOPE_PROTOTYPE)
@@ -513,6 +514,7 @@ public class FluentLoader<E> {
         private int firstResult;
         private int maxResults;
         private Sort sort;
+        private KeysetCursor after;
         private boolean cacheable;
 
         protected ByQuery(FluentLoader<E> loader, String queryString, ApplicationContext applicationContext) {
@@ -556,6 +558,7 @@ public class FluentLoader<E> {
             loadContext.getQuery().setFirstResult(firstResult);
             loadContext.getQuery().setMaxResults(maxResults);
             loadContext.getQuery().setSort(sort);
+            loadContext.getQuery().setAfter(after);
             loadContext.getQuery().setCacheable(cacheable);
 
             return loadContext;
@@ -569,6 +572,26 @@ public class FluentLoader<E> {
             return loader.dataManager.loadList(loadContext);
         }
 
+        /**
+         * Loads entities as a lazy stream by chunks of the default size.
+         *
+         * @see UnconstrainedDataManager#loadStream(LoadContext)
+         */
+        public Stream<E> stream() {
+            LoadContext<E> loadContext = createLoadContext();
+            return loader.dataManager.loadStream(loadContext);
+        }
+
+        /**
+         * Loads entities as a lazy stream by chunks of the given size.
+         *
+         * @see UnconstrainedDataManager#loadStream(LoadContext, int)
+         */
+        public Stream<E> stream(int chunkSize) {
+            LoadContext<E> loadContext = createLoadContext();
+            return loader.dataManager.loadStream(loadContext, chunkSize);
+        }
+
         /**
          * Loads a single instance and wraps it in Optional.
          */
@@ -714,6 +737,17 @@ public class FluentLoader<E> {
             return this;
         }
 
+        /**
+         * Enables keyset (seek) pagination: loads instances following the one the cursor was created for.
+         * The primary key is appended to the sort as a tie-breaker. Pass {@link KeysetCursor#START} to load
+         * the first page and {@link KeysetCursors#create(Object, Sort)} for the last loaded instance to get
+         * the cursor of the next page.
+         */
+        public ByQuery<E> after(KeysetCursor after) {
+            this.after = after;
+            return this;
+        }
+
         /**
          * Indicates that the query results should be cached.
          * By default, queries are not cached.
@@ -765,6 +799,7 @@ public class FluentLoader<E> {
         private int firstResult;
         private int maxResults;
         private Sort sort;
+        private KeysetCursor after;
         private boolean cacheable;
         private Condition condition;
 
@@ -782,6 +817,7 @@ public class FluentLoader<E> {
             this.firstResult = byQuery.firstResult;
             this.maxResults = byQuery.maxResults;
             this.sort = byQuery.sort;
+            this.after = byQuery.after;
             this.cacheable = byQuery.cacheable;
         }
 
@@ -805,6 +841,7 @@ public class FluentLoader<E> {
             loadContext.getQuery().setFirstResult(firstResult);
             loadContext.getQuery().setMaxResults(maxResults);
             loadContext.getQuery().setSort(sort);
+            loadContext.getQuery().setAfter(after);
             loadContext.getQuery().setCacheable(cacheable);
 
             return loadContext;
@@ -818,6 +855,26 @@ public class FluentLoader<E> {
             return loader.dataManager.loadList(loadContext);
         }
 
+        /**
+         * Loads entities as a lazy stream by chunks of the default size.
+         *
+         * @see UnconstrainedDataManager#loadStream(LoadContext)
+         */
+        public Stream<E> stream() {
+            LoadContext<E> loadContext = createLoadContext();
+            return loader.dataManager.loadStream(loadContext);
+        }
+
+        /**
+         * Loads entities as a lazy stream by chunks of the given size.
+         *
+         * @see UnconstrainedDataManager#loadStream(LoadContext, int)
+         */
+        public Stream<E> stream(int chunkSize) {
+            LoadContext<E> loadContext = createLoadContext();
+            return loader.dataManager.loadStream(loadContext, chunkSize);
+        }
+
         /**
          * Loads a single instance and wraps it in Optional.
          */
@@ -955,6 +1012,17 @@ public class FluentLoader<E> {
             return this;
         }
 
+        /**
+         * Enables keyset (seek) pagination: loads instances following the one the cursor was created for.
+         * The primary key is appended to the sort as a tie-breaker. Pass {@link KeysetCursor#START} to load
+         * the first page and {@link KeysetCursors#create(Object, Sort)} for the last loaded instance to get
+         * the cursor of the next page.
+         */
+        public ByCondition<E> after(KeysetCursor after) {
+            this.after = after;
+            return this;
+        }
+
         /**
          * Indicates that the query results should be cached.
          * By default, queries are not cached.
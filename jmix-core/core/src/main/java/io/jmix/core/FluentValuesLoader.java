@@ -25,6 +25,7 @@ import jakarta.persistence.LockModeType;
 import jakarta.persistence.TemporalType;
 import java.io.Serializable;
 import java.util.*;
+import java.util.stream.Stream;
 
 @Component("core_FluentValuesLoader")
 @Scope(BeanDefinition.SCOPE_PROTOTYPE)
@@ -50,6 +51,26 @@ public class FluentValuesLoader extends AbstractFluentValueLoader {
         return dataManager.loadValues(loadContext);
     }
 
+    /**
+     * Loads key-value pairs as a lazy stream by chunks of the default size.
+     *
+     * @see UnconstrainedDataManager#loadValuesStream(ValueLoadContext)
+     */
+    public Stream<KeyValueEntity> stream() {
+        ValueLoadContext loadContext = createLoadContext();
+        return dataManager.loadValuesStream(loadContext);
+    }
+
+    /**
+     * Loads key-value pairs as a lazy stream by chunks of the given size.
+     *
+     * @see UnconstrainedDataManager#loadValuesStream(ValueLoadContext, int)
+     */
+    public Stream<KeyValueEntity> stream(int chunkSize) {
+        ValueLoadContext loadContext = createLoadContext();
+        return dataManager.loadValuesStream(loadContext, chunkSize);
+    }
+
     /**
      * Loads a single instance and wraps it in Optional.
      */
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.core;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Position of an entity instance in a sorted result set, used for keyset (seek) pagination.
+ * <p>
+ * A cursor holds the values of the sort properties of the last loaded instance, including the primary key
+ * appended as a tie-breaker. Cursors are created by {@link KeysetCursors#create(Object, Sort)} and can be passed
+ * to clients as opaque strings using {@link KeysetCursors#encode(KeysetCursor)}.
+ *
+ * @see LoadContext.Query#setAfter(KeysetCursor)
+ */
+public class KeysetCursor implements Serializable {
+
+    private static final long serialVersionUID = 4817364015283620531L;
+
+    /**
+     * Cursor pointing before the first instance. Loads the first page in keyset pagination mode.
+     */
+    public static final KeysetCursor START = new KeysetCursor(Collections.emptyList());
+
+    private final List<Object> values;
+
+    /**
+     * @param values values of the keyset sort properties in the order of the sort
+     */
+    public KeysetCursor(List<?> values) {
+        this.values = Collections.unmodifiableList(new ArrayList<>(values));
+    }
+
+    /**
+     * @return unmodifiable list of values of the keyset sort properties
+     */
+    public List<Object> getValues() {
+        return values;
+    }
+
+    /**
+     * @return true if the cursor points before the first instance
+     */
+    public boolean isStart() {
+        return values.isEmpty();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return values.equals(((KeysetCursor) o).values);
+    }
+
+    @Override
+    public int hashCode() {
+        return values.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "KeysetCursor" + values;
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.core;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import io.jmix.core.entity.EntityValues;
+import io.jmix.core.metamodel.datatype.Datatype;
+import io.jmix.core.metamodel.datatype.DatatypeRegistry;
+import io.jmix.core.metamodel.model.MetaClass;
+import io.jmix.core.metamodel.model.MetaProperty;
+import io.jmix.core.metamodel.model.MetaPropertyPath;
+import io.jmix.core.querycondition.Condition;
+import io.jmix.core.querycondition.LogicalCondition;
+import io.jmix.core.querycondition.PropertyCondition;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Creates {@link KeysetCursor}s, converts them to opaque strings and back, and builds seek conditions
+ * used by data stores to load the next page of a keyset-paginated query.
+ */
+@Component("core_KeysetCursors")
+public class KeysetCursors {
+
+    protected static final String PARAMETER_PREFIX = "keyset_";
+
+    @Autowired
+    protected Metadata metadata;
+
+    @Autowired
+    protected MetadataTools metadataTools;
+
+    @Autowired
+    protected DatatypeRegistry datatypeRegistry;
+
+    /**
+     * Returns the sort which defines a total order of instances: the given sort with the primary key
+     * appended in ascending order if the sort doesn't contain it yet.
+     *
+     * @param metaClass entity meta-class
+     * @param sort      query sort, can be null
+     * @throws IllegalArgumentException if the sort contains properties not supported by keyset pagination:
+     *                                  collection, non-datatype or not mandatory properties
+     */
+    public Sort getKeysetSort(MetaClass metaClass, @Nullable Sort sort) {
+        String pkName = metadataTools.getPrimaryKeyName(metaClass);
+        if (pkName == null || metadataTools.hasCompositePrimaryKey(metaClass)) {
+            throw new IllegalArgumentException("Keyset pagination is not supported for " + metaClass.getName()
+                    + ": entity must have a single-attribute primary key");
+        }
+        List<Sort.Order> orders = new ArrayList<>();
+        boolean pkFound = false;
+        if (sort != null) {
+            for (Sort.Order order : sort.getOrders()) {
+                checkSortProperty(metaClass, order.getProperty());
+                orders.add(order);
+                if (order.getProperty().equals(pkName)) {
+                    pkFound = true;
+                }
+            }
+        }
+        if (!pkFound) {
+            orders.add(Sort.Order.asc(pkName));
+        }
+        return Sort.by(orders);
+    }
+
+    /**
+     * Creates a cursor pointing to the given entity instance in the result set sorted by the given sort.
+     *
+     * @param entity last instance of the loaded page
+     * @param sort   sort of the query, can be null
+     * @throws IllegalArgumentException if a sort property has null value
+     */
+    public KeysetCursor create(Object entity, @Nullable Sort sort) {
+        MetaClass metaClass = metadata.getClass(entity);
+        Sort keysetSort = getKeysetSort(metaClass, sort);
+        List<Object> values = new ArrayList<>(keysetSort.getOrders().size());
+        for (Sort.Order order : keysetSort.getOrders()) {
+            Object value = EntityValues.getValueEx(entity, order.getProperty());
+            if (value == null) {
+                throw new IllegalArgumentException("Keyset pagination doesn't support null values of sort property "
+                        + metaClass.getName() + "." + order.getProperty());
+            }
+            values.add(value);
+        }
+        return new KeysetCursor(values);
+    }
+
+    /**
+     * Creates a condition selecting instances following the cursor position in the order defined by the keyset
+     * sort. For the sort {@code (a, b, id)} the condition is
+     * {@code a > :a or (a = :a and b > :b) or (a = :a and b = :b and id > :id)}, with {@code <} used for properties
+     * sorted in descending order.
+     *
+     * @param metaClass  entity meta-class
+     * @param keysetSort sort returned by {@link #getKeysetSort(MetaClass, Sort)}
+     * @param cursor     cursor of the last instance of the previous page
+     * @return seek condition or null if the cursor is {@link KeysetCursor#START}
+     */
+    @Nullable
+    public Condition createCondition(MetaClass metaClass, Sort keysetSort, KeysetCursor cursor) {
+        if (cursor.isStart()) {
+            return null;
+        }
+        List<Sort.Order> orders = keysetSort.getOrders();
+        List<Object> values = cursor.getValues();
+        if (orders.size() != values.size()) {
+            throw new IllegalArgumentException(String.format(
+                    "Keyset cursor doesn't match the sort of %s: expected %d values, got %d",
+                    metaClass.getName(), orders.size(), values.size()));
+        }
+
+        LogicalCondition or = LogicalCondition.or();
+        for (int i = 0; i < orders.size(); i++) {
+            LogicalCondition and = LogicalCondition.and();
+            for (int j = 0; j < i; j++) {
+                and.add(createPropertyCondition(orders.get(j).getProperty(), PropertyCondition.Operation.EQUAL,
+                        i, j, values.get(j)));
+            }
+            Sort.Order order = orders.get(i);
+            String operation = order.getDirection() == Sort.Direction.DESC
+                    ? PropertyCondition.Operation.LESS
+                    : PropertyCondition.Operation.GREATER;
+            and.add(createPropertyCondition(order.getProperty(), operation, i, i, values.get(i)));
+
+            or.add(and.getConditions().size() == 1 ? and.getConditions().get(0) : and);
+        }
+        return or.getConditions().size() == 1 ? or.getConditions().get(0) : or;
+    }
+
+    /**
+     * Converts the cursor to an opaque URL-safe string.
+     */
+    public String encode(KeysetCursor cursor) {
+        if (cursor.isStart()) {
+            return "";
+        }
+        JsonArray array = new JsonArray();
+        for (Object value : cursor.getValues()) {
+            Datatype<?> datatype = null;
+            // walk up the hierarchy to handle subclasses like java.sql.Timestamp
+            for (Class<?> javaClass = value.getClass(); javaClass != null && datatype == null;
+                 javaClass = javaClass.getSuperclass()) {
+                datatype = datatypeRegistry.find(javaClass);
+            }
+            if (datatype == null) {
+                throw new IllegalArgumentException("Unsupported keyset cursor value type: " + value.getClass());
+            }
+            JsonArray pair = new JsonArray();
+            pair.add(datatypeRegistry.getId(datatype));
+            pair.add(datatype.format(value));
+            array.add(pair);
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(array.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Restores the cursor from the string returned by {@link #encode(KeysetCursor)}. Empty string
+     * is decoded to {@link KeysetCursor#START}.
+     *
+     * @throws IllegalArgumentException if the string is not a valid cursor
+     */
+    public KeysetCursor decode(String encoded) {
+        if (encoded.isEmpty()) {
+            return KeysetCursor.START;
+        }
+        try {
+            String json = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+            JsonArray array = JsonParser.parseString(json).getAsJsonArray();
+            List<Object> values = new ArrayList<>(array.size());
+            for (JsonElement element : array) {
+                JsonArray pair = element.getAsJsonArray();
+                Datatype<?> datatype = datatypeRegistry.get(pair.get(0).getAsString());
+                Object value = datatype.parse(pair.get(1).getAsString());
+                if (value == null) {
+                    throw new IllegalArgumentException("Keyset cursor contains null value");
+                }
+                values.add(value);
+            }
+            return new KeysetCursor(values);
+        } catch (ParseException | RuntimeException e) {
+            throw new IllegalArgumentException("Invalid keyset cursor: " + encoded, e);
+        }
+    }
+
+    protected PropertyCondition createPropertyCondition(String property, String operation,
+                                                        int disjunctIndex, int orderIndex, Object value) {
+        PropertyCondition condition = PropertyCondition.createWithParameterName(property, operation,
+                PARAMETER_PREFIX + disjunctIndex + "_" + orderIndex);
+        condition.setParameterValue(value);
+        return condition;
+    }
+
+    protected void checkSortProperty(MetaClass metaClass, String property) {
+        MetaPropertyPath propertyPath = metaClass.getPropertyPath(property);
+        if (propertyPath == null) {
+            throw new IllegalArgumentException("Property " + property + " not found in " + metaClass.getName());
+        }
+        for (MetaProperty metaProperty : propertyPath.getMetaProperties()) {
+            if (metaProperty.getRange().getCardinality().isMany()) {
+                throw new IllegalArgumentException("Keyset pagination doesn't support sorting by collection property "
+                        + metaClass.getName() + "." + property);
+            }
+        }
+        if (!propertyPath.getRange().isDatatype()) {
+            throw new IllegalArgumentException("Keyset pagination supports sorting by datatype properties only: "
+                    + metaClass.getName() + "." + property);
+        }
+        // seek conditions don't match null values, so rows with null would be skipped
+        for (MetaProperty metaProperty : propertyPath.getMetaProperties()) {
+            if (!metaProperty.isMandatory()
+                    && !metaProperty.equals(metadataTools.getPrimaryKeyProperty(metaProperty.getDomain()))) {
+                throw new IllegalArgumentException("Keyset pagination doesn't support sorting by nullable property "
+                        + metaClass.getName() + "." + property);
+            }
+        }
+    }
+}
@@ -325,6 +325,7 @@ public class LoadContext<E> implements DataLoadContext, Serializable {
         private boolean cacheable;
         private Condition condition;
         private Sort sort;
+        private KeysetCursor after;
 
         protected Query() {
         }
@@ -441,6 +442,28 @@ public class LoadContext<E> implements DataLoadContext, Serializable {
             return this;
         }
 
+        /**
+         * @return keyset pagination cursor or null if the query is paginated by offset
+         */
+        @Nullable
+        public KeysetCursor getAfter() {
+            return after;
+        }
+
+        /**
+         * Switches the query to keyset (seek) pagination. The query returns instances following the one the cursor
+         * was created for in the order defined by the query sort, with the primary key appended as a tie-breaker.
+         * Pass {@link KeysetCursor#START} to load the first page.
+         *
+         * @param after cursor created by {@link KeysetCursors#create(Object, Sort)} for the last instance of the
+         *              previous page, or null to use offset pagination
+         * @return this query instance for chaining
+         */
+        public Query setAfter(@Nullable KeysetCursor after) {
+            this.after = after;
+            return this;
+        }
+
         /**
          * Indicates that the query results should be cached.
          *
@@ -487,6 +510,7 @@ public class LoadContext<E> implements DataLoadContext, Serializable {
             query.cacheable = this.cacheable;
             query.condition = this.condition == null ? null : this.condition.copy();
             query.sort = this.sort;
+            query.after = this.after;
         }
 
         @Override
@@ -517,6 +541,7 @@ public class LoadContext<E> implements DataLoadContext, Serializable {
                     "'" + queryString + '\'' +
                     ", condition=" + condition +
                     ", sort=" + sort +
+                    (after != null ? ", after=" + after : "") +
                     ", firstResult=" + firstResult +
                     ", maxResults=" + maxResults +
                     "}";
@@ -20,6 +20,7 @@ import io.jmix.core.entity.KeyValueEntity;
 
 import org.springframework.lang.Nullable;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Central interface to provide CRUD functionality for entities.
@@ -52,6 +53,34 @@ public interface UnconstrainedDataManager {
      */
     <E> List<E> loadList(LoadContext<E> context);
 
+    /**
+     * Loads entity instances by the query as a lazy stream. The instances are loaded by chunks of
+     * {@link CoreProperties#getLoadStreamChunkSize()} size when the stream is consumed, so the whole result
+     * is never kept in memory.
+     *
+     * @param context {@link LoadContext} object defining the query and fetch plan
+     * @return stream of detached entity instances
+     * @see #loadStream(LoadContext, int)
+     */
+    <E> Stream<E> loadStream(LoadContext<E> context);
+
+    /**
+     * Loads entity instances by the query as a lazy stream. The instances are loaded by chunks of the given size
+     * when the stream is consumed. Each chunk is loaded in a separate read transaction and passes through the same
+     * data store events as {@link #loadList(LoadContext)}, so access constraints are applied to every chunk.
+     * <p>
+     * If the query defines the maximum number of results, the stream contains no more than this number
+     * of instances.
+     * <p>
+     * If the query string defines its own order, the order must be unique, otherwise chunks can skip or repeat
+     * instances. The order defined by {@link LoadContext.Query#setSort} is completed by the primary key.
+     *
+     * @param context   {@link LoadContext} object defining the query and fetch plan
+     * @param chunkSize maximum number of instances loaded by a single database query
+     * @return stream of detached entity instances
+     */
+    <E> Stream<E> loadStream(LoadContext<E> context, int chunkSize);
+
     /**
      * Returns the number of entity instances for the given query passed in the {@link LoadContext}.
      *
@@ -106,6 +135,28 @@ public interface UnconstrainedDataManager {
      */
     List<KeyValueEntity> loadValues(ValueLoadContext context);
 
+    /**
+     * Loads key-value pairs as a lazy stream, by chunks of {@link CoreProperties#getLoadStreamChunkSize()} size.
+     *
+     * @param context defines a query for scalar values and a list of keys for returned KeyValueEntity
+     * @return stream of KeyValueEntity instances
+     * @see #loadValuesStream(ValueLoadContext, int)
+     */
+    Stream<KeyValueEntity> loadValuesStream(ValueLoadContext context);
+
+    /**
+     * Loads key-value pairs as a lazy stream, by chunks of the given size. Each chunk is loaded in a separate
+     * read transaction.
+     * <p>
+     * The chunks are loaded by offset, so the query must define a unique order, e.g. ending with the primary key
+     * of the selected entity. Otherwise chunks can skip or repeat rows.
+     *
+     * @param context   defines a query for scalar values and a list of keys for returned KeyValueEntity
+     * @param chunkSize maximum number of rows loaded by a single database query
+     * @return stream of KeyValueEntity instances
+     */
+    Stream<KeyValueEntity> loadValuesStream(ValueLoadContext context, int chunkSize);
+
     /**
      * Returns the number of records for the given query passed in the {@link ValueLoadContext}.
      *
@@ -20,6 +20,7 @@ import com.google.common.base.Preconditions;
 import io.jmix.core.*;
 import io.jmix.core.entity.EntityValues;
 import io.jmix.core.entity.KeyValueEntity;
+import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.metamodel.model.MetaProperty;
 import org.apache.commons.lang3.reflect.FieldUtils;
 import org.slf4j.Logger;
@@ -31,6 +32,7 @@ import java.lang.reflect.Field;
 import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public abstract class AbstractDataStore implements DataStore {
     protected final List<DataStoreEventListener> listeners = new ArrayList<>();
@@ -158,6 +160,31 @@ public abstract class AbstractDataStore implements DataStore {
         return afterLoadEvent.getResultEntities();
     }
 
+    @Override
+    public Stream<List<Object>> loadChunks(LoadContext<?> context, int chunkSize) {
+        if (context.getQuery() == null || !context.getIds().isEmpty()) {
+            return DataStore.super.loadChunks(context, chunkSize);
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("loadChunks: store={}, metaClass={}, fetchPlan={}, query={}, chunkSize={}",
+                    getName(), context.getEntityMetaClass(), context.getFetchPlan(), context.getQuery(), chunkSize);
+        }
+
+        EventSharedState loadState = new EventSharedState();
+
+        DataStoreBeforeEntityLoadEvent beforeLoadEvent = new DataStoreBeforeEntityLoadEvent(context, loadState);
+        fireEvent(beforeLoadEvent);
+
+        if (beforeLoadEvent.loadPrevented()) {
+            return Stream.empty();
+        }
+
+        ChunkPosition position = new ChunkPosition(context.getQuery().getFirstResult(), context.getQuery().getMaxResults());
+        return Stream.generate(() -> loadNextChunk(context, chunkSize, position, loadState))
+                .takeWhile(chunk -> !chunk.isEmpty());
+    }
+
     @Override
     public long getCount(LoadContext<?> context) {
         if (log.isDebugEnabled()) {
@@ -270,6 +297,29 @@ public abstract class AbstractDataStore implements DataStore {
         return keyValueEntities;
     }
 
+    @Override
+    public Stream<List<KeyValueEntity>> loadValuesChunks(ValueLoadContext context, int chunkSize) {
+        Preconditions.checkNotNull(context, "context is null");
+        Preconditions.checkNotNull(context.getQuery(), "query is null");
+
+        if (log.isDebugEnabled()) {
+            log.debug("loadValuesChunks: store={}, query={}, chunkSize={}", getName(), context.getQuery(), chunkSize);
+        }
+
+        EventSharedState eventState = new EventSharedState();
+
+        DataStoreBeforeValueLoadEvent beforeLoadEvent = new DataStoreBeforeValueLoadEvent(context, eventState);
+        fireEvent(beforeLoadEvent);
+
+        if (beforeLoadEvent.loadPrevented()) {
+            return Stream.empty();
+        }
+
+        ChunkPosition position = new ChunkPosition(context.getQuery().getFirstResult(), context.getQuery().getMaxResults());
+        return Stream.generate(() -> loadNextValuesChunk(context, chunkSize, position, beforeLoadEvent.deniedProperties()))
+                .takeWhile(chunk -> !chunk.isEmpty());
+    }
+
     @Override
     public long getCount(ValueLoadContext context) {
         Preconditions.checkNotNull(context, "context is null");
@@ -397,6 +447,109 @@ public abstract class AbstractDataStore implements DataStore {
         return resultList;
     }
 
+    /**
+     * Loads the next chunk of a streamed query. Chunks which become empty after applying in-memory constraints
+     * are skipped.
+     *
+     * @return loaded entities or empty list if there are no more instances
+     */
+    protected List<Object> loadNextChunk(LoadContext<?> context, int chunkSize, ChunkPosition position,
+                                         EventSharedState loadState) {
+        while (!position.isFinished()) {
+            int size = position.getNextChunkSize(chunkSize);
+            LoadContext<?> chunkContext = createChunkContext(context, position, size);
+
+            List<Object> resultList;
+            Object transaction = beginLoadTransaction(context.isJoinTransaction());
+            try {
+                List<Object> entities = loadAll(chunkContext);
+                advanceChunkPosition(chunkContext, entities, size, position);
+
+                DataStoreEntityLoadingEvent loadEvent = new DataStoreEntityLoadingEvent(chunkContext, entities, loadState);
+                fireEvent(loadEvent);
+
+                resultList = loadEvent.getResultEntities();
+
+                beforeLoadTransactionCommit(chunkContext, resultList);
+                commitTransaction(transaction);
+            } finally {
+                rollbackTransaction(transaction);
+            }
+
+            DataStoreAfterEntityLoadEvent afterLoadEvent = new DataStoreAfterEntityLoadEvent(chunkContext, resultList, loadState);
+            fireEvent(afterLoadEvent);
+
+            if (!afterLoadEvent.getResultEntities().isEmpty()) {
+                return afterLoadEvent.getResultEntities();
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * Creates a context to load the next chunk of a streamed query. The default implementation uses offset
+     * pagination, data stores can override it together with {@link #advanceChunkPosition} to seek by the last
+     * loaded instance. Offset pagination requires a unique order of the query, otherwise chunks can skip or
+     * repeat instances.
+     */
+    protected LoadContext<?> createChunkContext(LoadContext<?> context, ChunkPosition position, int size) {
+        LoadContext<?> chunkContext = context.copy();
+        assert chunkContext.getQuery() != null;
+        chunkContext.getQuery()
+                .setFirstResult(position.getFirstResult())
+                .setMaxResults(size);
+        return chunkContext;
+    }
+
+    /**
+     * Moves the position of a streamed query after the loaded chunk.
+     *
+     * @param chunkContext context the chunk was loaded with
+     * @param entities     loaded entities before applying in-memory constraints
+     * @param size         requested size of the chunk
+     */
+    protected void advanceChunkPosition(LoadContext<?> chunkContext, List<Object> entities, int size,
+                                        ChunkPosition position) {
+        position.advance(entities.size(), size);
+    }
+
+    protected List<KeyValueEntity> loadNextValuesChunk(ValueLoadContext context, int chunkSize, ChunkPosition position,
+                                                       List<Integer> deniedProperties) {
+        if (position.isFinished()) {
+            return Collections.emptyList();
+        }
+        int size = position.getNextChunkSize(chunkSize);
+        ValueLoadContext chunkContext = createValuesChunkContext(context, position, size);
+
+        List<KeyValueEntity> keyValueEntities;
+        Object transaction = beginLoadTransaction(context.isJoinTransaction());
+        try {
+            List<Object> values = loadAllValues(chunkContext);
+            position.advance(values.size(), size);
+
+            keyValueEntities = keyValueMapper.mapValues(values, context.getIdName(),
+                    context.getProperties(), deniedProperties);
+
+            commitTransaction(transaction);
+        } finally {
+            rollbackTransaction(transaction);
+        }
+
+        return keyValueEntities;
+    }
+
+    /**
+     * Creates a context to load the next chunk of a streamed value query by offset pagination. The query must define
+     * a unique order, otherwise chunks can skip or repeat rows.
+     */
+    protected ValueLoadContext createValuesChunkContext(ValueLoadContext context, ChunkPosition position, int size) {
+        ValueLoadContext chunkContext = context.copy();
+        chunkContext.getQuery()
+                .setFirstResult(position.getFirstResult())
+                .setMaxResults(size);
+        return chunkContext;
+    }
+
     protected List<Object> checkAndReorderLoadedEntities(LoadContext<?> context, List<Object> entities) {
         List<Object> result = new ArrayList<>(context.getIds().size());
         Map<Object, Object> idToEntityMap = entities.stream().collect(Collectors.toMap(EntityValues::getId, Function.identity()));
@@ -411,6 +564,10 @@ public abstract class AbstractDataStore implements DataStore {
     }
 
     protected Set<Object> loadAllAfterSave(SaveContext context, Set<Object> savedEntities) {
+        if (isReloadAfterSaveInBatches(context)) {
+            return loadAllAfterSaveInBatches(context, savedEntities);
+        }
+
         Map<Object, EntityLoadInfo> loadInfoMap = new HashMap<>();
 
         Set<Object> loadedEntities = new HashSet<>();
@@ -468,6 +625,94 @@ public abstract class AbstractDataStore implements DataStore {
         return resultEntities;
     }
 
+    /**
+     * Whether saved entities should be reloaded by groups of the same meta-class and fetch plan instead of
+     * loading each entity separately. Returns false by default, data stores supporting loading by a list
+     * of ids can override this method.
+     *
+     * @param context save context
+     * @return true if {@link #loadAllAfterSaveInBatches(SaveContext, Set)} should be used
+     */
+    protected boolean isReloadAfterSaveInBatches(SaveContext context) {
+        return false;
+    }
+
+    /**
+     * Reloads saved entities grouping them by meta-class and fetch plan. Each group is loaded by
+     * {@link #loadAll(LoadContext)} with a list of ids, and the reload, loading and after-load events are fired
+     * once per group.
+     */
+    protected Set<Object> loadAllAfterSaveInBatches(SaveContext context, Set<Object> savedEntities) {
+        Map<ReloadGroupKey, Map<Object, Object>> groups = new LinkedHashMap<>();
+        for (Object entity : savedEntities) {
+            ReloadGroupKey key = new ReloadGroupKey(metadata.getClass(entity),
+                    getFetchPlanForSave(context.getFetchPlans(), entity));
+            groups.computeIfAbsent(key, k -> new LinkedHashMap<>())
+                    .put(Objects.requireNonNull(EntityValues.getId(entity)), entity);
+        }
+
+        Map<EntityLoadInfo, List<Object>> loadedGroups = new LinkedHashMap<>();
+
+        Object loadTransaction = beginLoadTransaction(context.isJoinTransaction());
+        try {
+            for (Map.Entry<ReloadGroupKey, Map<Object, Object>> group : groups.entrySet()) {
+                Map<Object, Object> savedById = group.getValue();
+
+                EventSharedState loadState = new EventSharedState();
+                LoadContext<?> loadContext = new LoadContext<>(group.getKey().metaClass)
+                        .setIds(new ArrayList<>(savedById.keySet()))
+                        .setFetchPlan(group.getKey().fetchPlan);
+
+                DataStoreEntityReloadEvent reloadEvent = new DataStoreEntityReloadEvent(loadContext, context, loadState);
+                fireEvent(reloadEvent);
+
+                DataStoreBeforeEntityLoadEvent beforeLoadEvent = new DataStoreBeforeEntityLoadEvent(loadContext, loadState);
+                fireEvent(beforeLoadEvent);
+
+                if (beforeLoadEvent.loadPrevented()) {
+                    continue;
+                }
+
+                List<Object> fetchedEntities = loadAll(loadContext);
+                if (fetchedEntities.isEmpty()) {
+                    continue;
+                }
+
+                for (Object fetchedEntity : fetchedEntities) {
+                    Object savedEntity = savedById.get(EntityValues.getId(fetchedEntity));
+                    if (savedEntity != null) {
+                        copyNonPersistentAttributes(savedEntity, fetchedEntity);
+                    }
+                }
+
+                DataStoreEntityLoadingEvent loadEvent = new DataStoreEntityLoadingEvent(loadContext, fetchedEntities, loadState);
+                fireEvent(loadEvent);
+
+                loadedGroups.put(new EntityLoadInfo(loadContext, loadState), loadEvent.getResultEntities());
+            }
+
+            for (Map.Entry<EntityLoadInfo, List<Object>> loadedGroup : loadedGroups.entrySet()) {
+                beforeLoadTransactionCommit(loadedGroup.getKey().loadContext, loadedGroup.getValue());
+            }
+            commitTransaction(loadTransaction);
+        } finally {
+            rollbackTransaction(loadTransaction);
+        }
+
+        Set<Object> resultEntities = new HashSet<>();
+        for (Map.Entry<EntityLoadInfo, List<Object>> loadedGroup : loadedGroups.entrySet()) {
+            EntityLoadInfo loadInfo = loadedGroup.getKey();
+
+            DataStoreAfterEntityLoadEvent afterLoadEvent = new DataStoreAfterEntityLoadEvent(loadInfo.loadContext,
+                    loadedGroup.getValue(), loadInfo.eventState);
+            fireEvent(afterLoadEvent);
+
+            resultEntities.addAll(afterLoadEvent.getResultEntities());
+        }
+
+        return resultEntities;
+    }
+
     protected FetchPlan getFetchPlanForSave(Map<Object, FetchPlan> fetchPlans, Object entity) {
         FetchPlan fetchPlan = fetchPlans.get(entity);
         if (fetchPlan == null) {
@@ -496,6 +741,64 @@ public abstract class AbstractDataStore implements DataStore {
         }
     }
 
+    /**
+     * Position of a streamed query: offset of the next chunk, number of instances left to load if the query
+     * is limited, and an optional data store specific position of the last loaded instance.
+     */
+    protected static class ChunkPosition {
+        protected int firstResult;
+        protected int remaining;
+        protected boolean finished;
+        protected Object lastPosition;
+
+        /**
+         * @param firstResult offset of the first chunk
+         * @param maxResults  maximum number of instances to load, 0 if not limited
+         */
+        public ChunkPosition(int firstResult, int maxResults) {
+            this.firstResult = firstResult;
+            this.remaining = maxResults > 0 ? maxResults : -1;
+        }
+
+        public int getFirstResult() {
+            return firstResult;
+        }
+
+        public void setFirstResult(int firstResult) {
+            this.firstResult = firstResult;
+        }
+
+        public boolean isFinished() {
+            return finished;
+        }
+
+        @Nullable
+        public Object getLastPosition() {
+            return lastPosition;
+        }
+
+        public void setLastPosition(@Nullable Object lastPosition) {
+            this.lastPosition = lastPosition;
+        }
+
+        public int getNextChunkSize(int chunkSize) {
+            return remaining > 0 ? Math.min(chunkSize, remaining) : chunkSize;
+        }
+
+        /**
+         * Moves the offset and finishes the query if the chunk is not full or the limit is reached.
+         */
+        public void advance(int loaded, int requested) {
+            firstResult += loaded;
+            if (remaining > 0) {
+                remaining -= loaded;
+            }
+            if (loaded < requested || remaining == 0) {
+                finished = true;
+            }
+        }
+    }
+
     protected static class EntityLoadInfo {
         protected LoadContext<?> loadContext;
         protected EventSharedState eventState;
@@ -505,4 +808,27 @@ public abstract class AbstractDataStore implements DataStore {
             this.eventState = eventState;
         }
     }
+
+    protected static class ReloadGroupKey {
+        protected final MetaClass metaClass;
+        protected final FetchPlan fetchPlan;
+
+        public ReloadGroupKey(MetaClass metaClass, @Nullable FetchPlan fetchPlan) {
+            this.metaClass = metaClass;
+            this.fetchPlan = fetchPlan;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            ReloadGroupKey that = (ReloadGroupKey) o;
+            return metaClass.equals(that.metaClass) && Objects.equals(fetchPlan, that.fetchPlan);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(metaClass, fetchPlan);
+        }
+    }
 }
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.core.event;
+
+import io.jmix.core.Messages;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Event that is fired after the cache of localized messages is cleared by {@link Messages#clearCache()}, so
+ * components keeping data derived from messages can drop it.
+ */
+public class MessagesCacheClearedEvent extends ApplicationEvent {
+
+    public MessagesCacheClearedEvent(Messages source) {
+        super(source);
+    }
+
+    @Override
+    public Messages getSource() {
+        return (Messages) super.getSource();
+    }
+}
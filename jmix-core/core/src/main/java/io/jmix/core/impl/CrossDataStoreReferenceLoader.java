@@ -16,19 +16,25 @@
 
 package io.jmix.core.impl;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import io.jmix.core.*;
 import io.jmix.core.common.util.Preconditions;
 import io.jmix.core.entity.EntityValues;
 import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.metamodel.model.MetaProperty;
+import io.jmix.core.security.SecurityContextHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Scope;
+import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 /**
@@ -53,6 +59,9 @@ public class CrossDataStoreReferenceLoader {
     @Autowired
     private CoreProperties properties;
 
+    @Autowired
+    private CrossDataStoreReferenceLoaderSupport support;
+
     private MetaClass metaClass;
 
     private FetchPlan fetchPlan;
@@ -67,9 +76,16 @@ public class CrossDataStoreReferenceLoader {
     }
 
     public Map<Class<?>, List<CrossDataStoreProperty>> getCrossPropertiesMap() {
+        return support.getCrossPropertiesMap(metaClass, fetchPlan, this::computeCrossPropertiesMap);
+    }
+
+    private Map<Class<?>, List<CrossDataStoreProperty>> computeCrossPropertiesMap() {
         Map<Class<?>, List<CrossDataStoreProperty>> crossPropertiesMap = new HashMap<>();
         traverseFetchPlan(fetchPlan, crossPropertiesMap, Sets.newIdentityHashSet());
-        return crossPropertiesMap;
+        // the result is shared between loaders
+        Map<Class<?>, List<CrossDataStoreProperty>> result = new HashMap<>();
+        crossPropertiesMap.forEach((entityClass, crossProperties) -> result.put(entityClass, List.copyOf(crossProperties)));
+        return Collections.unmodifiableMap(result);
     }
 
     private void traverseFetchPlan(FetchPlan fetchPlan, Map<Class<?>, List<CrossDataStoreProperty>> crossPropertiesMap, Set<FetchPlan> visited) {
@@ -123,11 +139,17 @@ public class CrossDataStoreReferenceLoader {
         if (entityCrossDataStorePropertyList.size() == 1) {
             loadOne(entityCrossDataStorePropertyList.get(0));
         } else {
-            entityCrossDataStorePropertyList.stream()
-                    .collect(Collectors.groupingBy(EntityCrossDataStoreProperty::getCrossProp))
-                    .forEach((ap, eapList) ->
-                            loadMany(ap, eapList.stream().map(eap -> eap.entity).collect(Collectors.toList()))
-                    );
+            Map<CrossDataStoreProperty, List<Object>> entitiesByProperty = new LinkedHashMap<>();
+            for (EntityCrossDataStoreProperty eap : entityCrossDataStorePropertyList) {
+                entitiesByProperty.computeIfAbsent(eap.crossProp, k -> new ArrayList<>()).add(eap.entity);
+            }
+            // nested levels started by a parallel task are loaded in its thread to avoid exhausting the pool
+            ExecutorService executor = support.isExecutorThread() ? null : support.getExecutor();
+            if (executor != null && !joinTransaction) {
+                loadManyInParallel(entitiesByProperty, executor);
+            } else {
+                entitiesByProperty.forEach(this::loadMany);
+            }
         }
     }
 
@@ -174,28 +196,70 @@ public class CrossDataStoreReferenceLoader {
     }
 
     private void loadMany(CrossDataStoreProperty crossDataStoreProperty, List<Object> entities) {
-        int offset = 0, limit = properties.getCrossDataStoreReferenceLoadingBatchSize();
-        while (true) {
-            int end = offset + limit;
-            List<Object> batch = entities.subList(offset, Math.min(end, entities.size()));
-            loadBatch(crossDataStoreProperty, batch);
-            if (end >= entities.size())
-                break;
-            else
-                offset += limit;
+        for (List<Object> batch : Lists.partition(entities, properties.getCrossDataStoreReferenceLoadingBatchSize())) {
+            List<Object> idList = getRelatedIds(crossDataStoreProperty, batch);
+            if (!idList.isEmpty()) {
+                setRelatedEntities(crossDataStoreProperty, batch, loadRelatedEntities(crossDataStoreProperty, idList));
+            }
+        }
+    }
+
+    /**
+     * Loads batches of related entities concurrently and sets them to the referencing entities in the calling
+     * thread, because entity instances are not thread-safe.
+     */
+    private void loadManyInParallel(Map<CrossDataStoreProperty, List<Object>> entitiesByProperty, ExecutorService executor) {
+        Authentication authentication = SecurityContextHelper.getAuthentication();
+
+        List<Object> batches = new ArrayList<>();
+        List<Future<List<?>>> futures = new ArrayList<>();
+        List<CrossDataStoreProperty> batchProperties = new ArrayList<>();
+        entitiesByProperty.forEach((crossDataStoreProperty, entities) -> {
+            for (List<Object> batch : Lists.partition(entities, properties.getCrossDataStoreReferenceLoadingBatchSize())) {
+                List<Object> idList = getRelatedIds(crossDataStoreProperty, batch);
+                if (idList.isEmpty())
+                    continue;
+                batches.add(batch);
+                batchProperties.add(crossDataStoreProperty);
+                futures.add(executor.submit(() -> {
+                    Authentication previousAuthentication = SecurityContextHelper.getAuthentication();
+                    SecurityContextHelper.setAuthentication(authentication);
+                    try {
+                        return loadRelatedEntities(crossDataStoreProperty, idList);
+                    } finally {
+                        SecurityContextHelper.setAuthentication(previousAuthentication);
+                    }
+                }));
+            }
+        });
+
+        for (int i = 0; i < futures.size(); i++) {
+            List<?> loadedEntities;
+            try {
+                loadedEntities = futures.get(i).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while loading cross-datastore references", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new RuntimeException("Error loading cross-datastore references", e.getCause());
+            }
+            //noinspection unchecked
+            setRelatedEntities(batchProperties.get(i), (List<Object>) batches.get(i), loadedEntities);
         }
     }
 
-    private void loadBatch(CrossDataStoreProperty crossDataStoreProperty, List<Object> entities) {
-        List<Object> idList = entities.stream()
+    private List<Object> getRelatedIds(CrossDataStoreProperty crossDataStoreProperty, List<Object> entities) {
+        return entities.stream()
                 .map(e -> EntityValues.getValue(e, crossDataStoreProperty.relatedPropertyName))
                 .filter(Objects::nonNull)
                 .distinct()
                 .collect(Collectors.toList());
+    }
 
-        if (idList.isEmpty())
-            return;
-
+    private List<?> loadRelatedEntities(CrossDataStoreProperty crossDataStoreProperty, List<Object> idList) {
         MetaClass cdsrMetaClass = crossDataStoreProperty.property.getRange().asClass();
         LoadContext<?> loadContext = new LoadContext<>(cdsrMetaClass);
 
@@ -237,19 +301,26 @@ public class CrossDataStoreReferenceLoader {
         loadContext.setFetchPlan(crossDataStoreProperty.fetchPlanProperty.getFetchPlan());
         loadContext.setJoinTransaction(joinTransaction);
 
-        List<?> loadedEntities = dataManager.loadList(loadContext);
+        return dataManager.loadList(loadContext);
+    }
+
+    private void setRelatedEntities(CrossDataStoreProperty crossDataStoreProperty, List<Object> entities,
+                                    List<?> loadedEntities) {
+        Map<Object, Object> loadedEntitiesById = new HashMap<>(loadedEntities.size());
+        for (Object loadedEntity : loadedEntities) {
+            Object id = EntityValues.getId(loadedEntity);
+            assert id != null;
+            loadedEntitiesById.putIfAbsent(id, loadedEntity);
+        }
 
         for (Object entity : entities) {
             Object relatedPropertyValue = EntityValues.getValue(entity, crossDataStoreProperty.relatedPropertyName);
-            loadedEntities.stream()
-                    .filter(e -> {
-                        Object id = EntityValues.getId(e);
-                        assert id != null;
-                        return id.equals(relatedPropertyValue);
-                    })
-                    .findAny()
-                    .ifPresent(e -> EntityValues.setValue(entity, crossDataStoreProperty.property.getName(), e)
-                    );
+            if (relatedPropertyValue == null)
+                continue;
+            Object relatedEntity = loadedEntitiesById.get(relatedPropertyValue);
+            if (relatedEntity != null) {
+                EntityValues.setValue(entity, crossDataStoreProperty.property.getName(), relatedEntity);
+            }
         }
     }
 
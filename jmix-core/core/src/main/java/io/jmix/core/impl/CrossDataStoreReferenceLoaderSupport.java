@@ -0,0 +1,143 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.core.impl;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.jmix.core.CoreProperties;
+import io.jmix.core.FetchPlan;
+import io.jmix.core.metamodel.model.MetaClass;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * INTERNAL.
+ * Keeps state shared by {@link CrossDataStoreReferenceLoader} instances: cross-datastore properties computed
+ * for fetch plans and the executor for parallel loading.
+ */
+@Component("core_CrossDataStoreReferenceLoaderSupport")
+public class CrossDataStoreReferenceLoaderSupport {
+
+    protected static final int CROSS_PROPERTIES_CACHE_MAX_SIZE = 1000;
+
+    @Autowired
+    protected CoreProperties properties;
+
+    protected final Cache<CrossPropertiesKey, Map<Class<?>, List<CrossDataStoreReferenceLoader.CrossDataStoreProperty>>> crossPropertiesCache =
+            CacheBuilder.newBuilder()
+                    .maximumSize(CROSS_PROPERTIES_CACHE_MAX_SIZE)
+                    .build();
+
+    protected volatile ExecutorService executor;
+
+    protected final ThreadLocal<Boolean> executorThread = ThreadLocal.withInitial(() -> false);
+
+    /**
+     * Returns cross-datastore properties of the given fetch plan, computing them by the provided supplier on cache
+     * miss.
+     */
+    public Map<Class<?>, List<CrossDataStoreReferenceLoader.CrossDataStoreProperty>> getCrossPropertiesMap(
+            MetaClass metaClass, FetchPlan fetchPlan,
+            Supplier<Map<Class<?>, List<CrossDataStoreReferenceLoader.CrossDataStoreProperty>>> supplier) {
+        try {
+            return crossPropertiesCache.get(new CrossPropertiesKey(metaClass, fetchPlan), supplier::get);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Unable to get cross-datastore properties of " + fetchPlan, e.getCause());
+        }
+    }
+
+    public void clearCache() {
+        crossPropertiesCache.invalidateAll();
+    }
+
+    /**
+     * @return executor for parallel loading of references or null if parallel loading is disabled
+     */
+    @Nullable
+    public ExecutorService getExecutor() {
+        int parallelism = properties.getCrossDataStoreReferenceLoadingParallelism();
+        if (parallelism <= 1) {
+            return null;
+        }
+        if (executor == null) {
+            synchronized (this) {
+                if (executor == null) {
+                    executor = Executors.newFixedThreadPool(parallelism,
+                            new ThreadFactoryBuilder()
+                                    .setThreadFactory(runnable -> Executors.defaultThreadFactory().newThread(() -> {
+                                        executorThread.set(true);
+                                        runnable.run();
+                                    }))
+                                    .setNameFormat("CrossDataStoreReferenceLoader-%d")
+                                    .setDaemon(true)
+                                    .build());
+                }
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * @return true if the current thread is a thread of the {@link #getExecutor()} executor. Loading started in such
+     * a thread must not wait for other tasks of the executor, because all its threads can be busy waiting as well.
+     */
+    public boolean isExecutorThread() {
+        return executorThread.get();
+    }
+
+    @PreDestroy
+    protected void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    protected static class CrossPropertiesKey {
+
+        protected final MetaClass metaClass;
+        protected final FetchPlan fetchPlan;
+
+        protected CrossPropertiesKey(MetaClass metaClass, FetchPlan fetchPlan) {
+            this.metaClass = metaClass;
+            this.fetchPlan = fetchPlan;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            CrossPropertiesKey that = (CrossPropertiesKey) o;
+            return metaClass.equals(that.metaClass) && fetchPlan.equals(that.fetchPlan);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(metaClass, fetchPlan);
+        }
+    }
+}
@@ -85,16 +85,23 @@ public class FetchPlanRepositoryImpl implements FetchPlanRepository {
 
     protected ReadWriteLock lock = new ReentrantReadWriteLock();
 
+    /**
+     * Immutable copy of {@link #storage} used by readers without locking. It is replaced after each change of the
+     * storage and is null until the repository is initialized.
+     */
+    protected volatile Map<MetaClass, Map<String, FetchPlan>> snapshot;
+
+    /**
+     * Entities whose fetch plans were stored after the last {@link #publishSnapshot()}. Guarded by the write lock.
+     */
+    protected Set<MetaClass> changedMetaClasses = new HashSet<>();
+
     protected void checkInitialized() {
         if (!initialized) {
             lock.readLock().unlock();
             lock.writeLock().lock();
             try {
-                if (!initialized) {
-                    log.info("Initializing fetch plans");
-                    init();
-                    initialized = true;
-                }
+                initializeIfNeeded();
             } finally {
                 lock.readLock().lock();
                 lock.writeLock().unlock();
@@ -102,6 +109,66 @@ public class FetchPlanRepositoryImpl implements FetchPlanRepository {
         }
     }
 
+    /**
+     * Must be called under the write lock.
+     */
+    protected void initializeIfNeeded() {
+        if (!initialized) {
+            log.info("Initializing fetch plans");
+            init();
+            initialized = true;
+            publishSnapshot();
+        }
+    }
+
+    /**
+     * Returns the current snapshot of deployed fetch plans, initializing the repository if needed.
+     */
+    protected Map<MetaClass, Map<String, FetchPlan>> getSnapshot() {
+        Map<MetaClass, Map<String, FetchPlan>> currentSnapshot = snapshot;
+        if (currentSnapshot == null || !initialized) {
+            lock.writeLock().lock();
+            try {
+                initializeIfNeeded();
+                if (snapshot == null) {
+                    publishSnapshot();
+                }
+                currentSnapshot = snapshot;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        return currentSnapshot;
+    }
+
+    /**
+     * Replaces the snapshot with a copy of the current storage. Only fetch plans of entities changed since the
+     * previous snapshot are copied. Must be called under the write lock.
+     */
+    protected void publishSnapshot() {
+        Map<MetaClass, Map<String, FetchPlan>> currentSnapshot = snapshot;
+        if (currentSnapshot != null && changedMetaClasses.isEmpty()) {
+            return;
+        }
+        Map<MetaClass, Map<String, FetchPlan>> newSnapshot;
+        Collection<MetaClass> metaClassesToCopy;
+        if (currentSnapshot == null) {
+            newSnapshot = new HashMap<>(storage.size());
+            metaClassesToCopy = storage.keySet();
+        } else {
+            newSnapshot = new HashMap<>(currentSnapshot);
+            metaClassesToCopy = changedMetaClasses;
+        }
+        for (MetaClass metaClass : metaClassesToCopy) {
+            Map<String, FetchPlan> fetchPlanMap = storage.get(metaClass);
+            if (fetchPlanMap != null) {
+                newSnapshot.put(metaClass, Map.copyOf(fetchPlanMap));
+            }
+        }
+        changedMetaClasses.clear();
+        snapshot = Collections.unmodifiableMap(newSnapshot);
+    }
+
     protected void init() {
         storage.clear();
         readFileNames.clear();
@@ -160,6 +227,7 @@ public class FetchPlanRepositoryImpl implements FetchPlanRepository {
     @Order(JmixOrder.HIGHEST_PRECEDENCE + 40)
     public void reset() {
         initialized = false;
+        snapshot = null;
     }
 
     /**
@@ -206,34 +274,36 @@ public class FetchPlanRepositoryImpl implements FetchPlanRepository {
         Preconditions.checkNotNullArgument(metaClass, "metaClass is null");
         Preconditions.checkNotNullArgument(metaClass, "name is null");
 
-        lock.readLock().lock();
-        try {
-            checkInitialized();
+        Map<String, FetchPlan> fetchPlanMap = getSnapshot().get(metaClass);
+        FetchPlan fetchPlan = fetchPlanMap == null ? null : fetchPlanMap.get(name);
+        if (fetchPlan != null || !isDefaultFetchPlan(name)) {
+            return fetchPlan;
+        }
 
-            return retrieveFetchPlan(metaClass, name, new HashSet<>());
+        // default fetch plans are deployed on first request
+        lock.writeLock().lock();
+        try {
+            initializeIfNeeded();
+            fetchPlan = retrieveFetchPlan(metaClass, name, new HashSet<>());
+            publishSnapshot();
+            return fetchPlan;
         } finally {
-            lock.readLock().unlock();
+            lock.writeLock().unlock();
         }
     }
 
     @Override
     public Collection<String> getFetchPlanNames(MetaClass metaClass) {
         Preconditions.checkNotNullArgument(metaClass, "MetaClass is null");
-        lock.readLock().lock();
-        try {
-            checkInitialized();
-            Map<String, FetchPlan> fetchPlanMap = storage.get(metaClass);
-            if (fetchPlanMap != null && !fetchPlanMap.isEmpty()) {
-                Set<String> keySet = new HashSet<>(fetchPlanMap.keySet());
-                keySet.remove(FetchPlan.LOCAL);
-                keySet.remove(FetchPlan.INSTANCE_NAME);
-                keySet.remove(FetchPlan.BASE);
-                return keySet;
-            } else {
-                return Collections.emptyList();
-            }
-        } finally {
-            lock.readLock().unlock();
+        Map<String, FetchPlan> fetchPlanMap = getSnapshot().get(metaClass);
+        if (fetchPlanMap != null && !fetchPlanMap.isEmpty()) {
+            Set<String> keySet = new HashSet<>(fetchPlanMap.keySet());
+            keySet.remove(FetchPlan.LOCAL);
+            keySet.remove(FetchPlan.INSTANCE_NAME);
+            keySet.remove(FetchPlan.BASE);
+            return keySet;
+        } else {
+            return Collections.emptyList();
         }
     }
 
@@ -370,6 +440,7 @@ public class FetchPlanRepositoryImpl implements FetchPlanRepository {
             for (Element fetchPlanElem : fetchPlanLoader.getFetchPlanElements(rootElem)) {
                 deployFetchPlan(rootElem, fetchPlanElem, new HashSet<>());
             }
+            publishSnapshot();
         } finally {
             lock.writeLock().unlock();
         }
@@ -402,8 +473,14 @@ public class FetchPlanRepositoryImpl implements FetchPlanRepository {
                 deployFetchPlans(file);
         }
 
-        for (Element fetchPlanElem : fetchPlanLoader.getFetchPlanElements(rootElem)) {
-            deployFetchPlan(rootElem, fetchPlanElem);
+        lock.writeLock().lock();
+        try {
+            for (Element fetchPlanElem : fetchPlanLoader.getFetchPlanElements(rootElem)) {
+                deployFetchPlan(rootElem, fetchPlanElem, new HashSet<>());
+            }
+            publishSnapshot();
+        } finally {
+            lock.writeLock().unlock();
         }
     }
 
@@ -424,7 +501,9 @@ public class FetchPlanRepositoryImpl implements FetchPlanRepository {
     public FetchPlan deployFetchPlan(Element rootElem, Element fetchPlanElem) {
         lock.writeLock().lock();
         try {
-            return deployFetchPlan(rootElem, fetchPlanElem, new HashSet<>());
+            FetchPlan fetchPlan = deployFetchPlan(rootElem, fetchPlanElem, new HashSet<>());
+            publishSnapshot();
+            return fetchPlan;
         } finally {
             lock.writeLock().unlock();
         }
@@ -583,6 +662,7 @@ public class FetchPlanRepositoryImpl implements FetchPlanRepository {
 
         fetchPlans.put(fetchPlan.getName(), fetchPlan);
         storage.put(metaClass, fetchPlans);
+        changedMetaClasses.add(metaClass);
     }
 
     protected List<FetchPlan> getAllInitialized() {
@@ -594,16 +674,10 @@ public class FetchPlanRepositoryImpl implements FetchPlanRepository {
     }
 
     public List<FetchPlan> getAll() {
-        lock.readLock().lock();
-        try {
-            checkInitialized();
-            List<FetchPlan> list = new ArrayList<>();
-            for (Map<String, FetchPlan> fetchPlanMap : storage.values()) {
-                list.addAll(fetchPlanMap.values());
-            }
-            return list;
-        } finally {
-            lock.readLock().unlock();
+        List<FetchPlan> list = new ArrayList<>();
+        for (Map<String, FetchPlan> fetchPlanMap : getSnapshot().values()) {
+            list.addAll(fetchPlanMap.values());
         }
+        return list;
     }
 }
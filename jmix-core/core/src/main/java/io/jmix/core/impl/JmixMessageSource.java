@@ -23,15 +23,19 @@ import io.jmix.core.Resources;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.context.support.ReloadableResourceBundleMessageSource;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.lang.Nullable;
 
-import java.util.List;
-import java.util.ListIterator;
-import java.util.Locale;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class JmixMessageSource extends ReloadableResourceBundleMessageSource {
 
     private Resources resources;
 
+    private boolean messageTableEnabled;
+
+    private final Map<Locale, Map<String, String>> messageTables = new ConcurrentHashMap<>();
+
     public JmixMessageSource(JmixModules modules, Resources resources) {
         this.resources = resources;
         setDefaultEncoding("UTF-8");
@@ -45,6 +49,68 @@ public class JmixMessageSource extends ReloadableResourceBundleMessageSource {
         }
     }
 
+    /**
+     * Sets whether messages of all basenames should be merged into a single immutable table per locale. The table
+     * is built on first access to the locale and rebuilt after {@link #clearCache()}.
+     * <p>
+     * The table is used only if the cache period is unlimited (default), that is when the superclass already
+     * resolves codes from merged properties. The table replaces the lookup in {@link Properties} by a lookup in an
+     * immutable map and allows {@link #findMessage(String, Locale)} to get a message without formatting.
+     * If the cache period is set by {@link #setCacheMillis(long)}, messages are resolved by the superclass to
+     * reload changed files.
+     */
+    public void setMessageTableEnabled(boolean messageTableEnabled) {
+        this.messageTableEnabled = messageTableEnabled;
+    }
+
+    public boolean isMessageTableEnabled() {
+        return messageTableEnabled;
+    }
+
+    /**
+     * Returns a message of the given locale without formatting it.
+     *
+     * @return message or null if the code is not found
+     */
+    @Nullable
+    public String findMessage(String code, Locale locale) {
+        if (isMessageTableUsed()) {
+            return messageTables.computeIfAbsent(locale, this::buildMessageTable).get(code);
+        }
+        return super.resolveCodeWithoutArguments(code, locale);
+    }
+
+    protected boolean isMessageTableUsed() {
+        return messageTableEnabled && getCacheMillis() < 0;
+    }
+
+    protected Map<String, String> buildMessageTable(Locale locale) {
+        Properties properties = getMergedProperties(locale).getProperties();
+        if (properties == null) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> messages = new HashMap<>(properties.size());
+        for (String code : properties.stringPropertyNames()) {
+            messages.put(code, properties.getProperty(code));
+        }
+        return Map.copyOf(messages);
+    }
+
+    @Override
+    @Nullable
+    protected String resolveCodeWithoutArguments(String code, Locale locale) {
+        if (isMessageTableUsed()) {
+            return findMessage(code, locale);
+        }
+        return super.resolveCodeWithoutArguments(code, locale);
+    }
+
+    @Override
+    public void clearCache() {
+        super.clearCache();
+        messageTables.clear();
+    }
+
     protected String addModuleBasename(String moduleBasePackage) {
         return moduleBasePackage.replace('.', '/') + "/messages";
     }
@@ -38,6 +38,7 @@ import org.springframework.transaction.support.DefaultTransactionDefinition;
 import org.springframework.lang.Nullable;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
 
 @Primary
 @Component("core_UnconstrainedDataManager")
@@ -115,6 +116,31 @@ public class UnconstrainedDataManagerImpl implements UnconstrainedDataManager {
         return entities;
     }
 
+    @Override
+    public <E> Stream<E> loadStream(LoadContext<E> context) {
+        return loadStream(context, properties.getLoadStreamChunkSize());
+    }
+
+    @Override
+    public <E> Stream<E> loadStream(LoadContext<E> context, int chunkSize) {
+        Preconditions.checkNotNullArgument(context.getQuery(), "query is null");
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+
+        MetaClass metaClass = getEffectiveMetaClassFromContext(context);
+        DataStore storage = dataStoreFactory.get(getStoreName(metaClass));
+
+        context.setAccessConstraints(mergeConstraints(context.getAccessConstraints()));
+
+        return storage.loadChunks(context, chunkSize)
+                .flatMap(chunk -> {
+                    readCrossDataStoreReferences(chunk, context.getFetchPlan(), metaClass, context.isJoinTransaction());
+                    //noinspection unchecked
+                    return ((List<E>) chunk).stream();
+                });
+    }
+
     @Override
     public long getCount(LoadContext<?> context) {
         MetaClass metaClass = getEffectiveMetaClassFromContext(context);
@@ -264,6 +290,23 @@ public class UnconstrainedDataManagerImpl implements UnconstrainedDataManager {
         return store.loadValues(context);
     }
 
+    @Override
+    public Stream<KeyValueEntity> loadValuesStream(ValueLoadContext context) {
+        return loadValuesStream(context, properties.getLoadStreamChunkSize());
+    }
+
+    @Override
+    public Stream<KeyValueEntity> loadValuesStream(ValueLoadContext context, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+
+        DataStore store = dataStoreFactory.get(getStoreName(context.getStoreName()));
+        context.setAccessConstraints(mergeConstraints(context.getAccessConstraints()));
+        return store.loadValuesChunks(context, chunkSize)
+                .flatMap(List::stream);
+    }
+
     @Override
     public long getCount(ValueLoadContext context) {
         DataStore store = dataStoreFactory.get(getStoreName(context.getStoreName()));
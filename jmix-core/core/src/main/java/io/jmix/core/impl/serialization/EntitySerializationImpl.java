@@ -22,6 +22,7 @@ import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.Table;
 import com.google.gson.*;
 import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonWriter;
 import io.jmix.core.*;
 import io.jmix.core.accesscontext.ExportImportEntityContext;
 import io.jmix.core.annotation.Secret;
@@ -40,10 +41,12 @@ import org.springframework.stereotype.Component;
 
 import org.springframework.lang.Nullable;
 import jakarta.validation.constraints.NotNull;
+import java.io.*;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
 import java.util.*;
 
@@ -116,6 +119,56 @@ public class EntitySerializationImpl implements EntitySerialization {
         return createGsonForSerialization(fetchPlan, options).toJson(entities);
     }
 
+    @Override
+    public void toJson(Object entity,
+                       @Nullable FetchPlan fetchPlan,
+                       Writer writer,
+                       EntitySerializationOption... options) {
+        context.remove();
+        Gson gson = createGsonForSerialization(fetchPlan, options);
+        try {
+            JsonWriter jsonWriter = gson.newJsonWriter(writer);
+            gson.toJson(entity, entity.getClass(), jsonWriter);
+            jsonWriter.flush();
+        } catch (IOException | JsonIOException e) {
+            throw new EntitySerializationException("Unable to write JSON", e);
+        }
+    }
+
+    @Override
+    public void toJson(Collection<?> entities,
+                       @Nullable FetchPlan fetchPlan,
+                       Writer writer,
+                       EntitySerializationOption... options) {
+        context.remove();
+        Gson gson = createGsonForSerialization(fetchPlan, options);
+        try {
+            JsonWriter jsonWriter = gson.newJsonWriter(writer);
+            jsonWriter.beginArray();
+            for (Object entity : entities) {
+                // only a single element is kept in memory as a JSON tree
+                if (entity == null) {
+                    jsonWriter.nullValue();
+                } else {
+                    gson.toJson(entity, entity.getClass(), jsonWriter);
+                }
+            }
+            jsonWriter.endArray();
+            jsonWriter.flush();
+        } catch (IOException | JsonIOException e) {
+            throw new EntitySerializationException("Unable to write JSON", e);
+        }
+    }
+
+    @Override
+    public void toJson(Collection<?> entities,
+                       @Nullable FetchPlan fetchPlan,
+                       OutputStream outputStream,
+                       EntitySerializationOption... options) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        toJson(entities, fetchPlan, writer, options);
+    }
+
     @Override
     public String objectToJson(Object object, EntitySerializationOption... options) {
         context.remove();
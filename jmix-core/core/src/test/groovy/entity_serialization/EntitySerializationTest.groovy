@@ -69,4 +69,33 @@ class EntitySerializationTest extends Specification {
         jsonFields['regularField'] == 'regular'
         jsonFields['secretField'] == 'secret'
     }
+
+    def "should write collection to writer the same way as to string"() {
+
+        def entities = (1..3).collect {
+            TestSecretFieldEntity entity = metadata.create(TestSecretFieldEntity.class)
+            entity.regularField = 'regular' + it
+            entity.secretField = 'secret' + it
+            entity
+        }
+        entities.add(entities[0])
+
+        when:
+
+        def writer = new StringWriter()
+        entitySerialization.toJson(entities, null, writer, EntitySerializationOption.COMPACT_REPEATED_ENTITIES)
+
+        def outputStream = new ByteArrayOutputStream()
+        entitySerialization.toJson(entities, null, outputStream, EntitySerializationOption.COMPACT_REPEATED_ENTITIES)
+
+        then:
+        def json = entitySerialization.toJson(entities, null, EntitySerializationOption.COMPACT_REPEATED_ENTITIES)
+        writer.toString() == json
+        outputStream.toString('UTF-8') == json
+
+        List<Map<String, Object>> jsonEntities = new Gson().fromJson(json, new TypeToken<List<Map<String, Object>>>() {}.getType())
+        jsonEntities.size() == 4
+        jsonEntities[2]['regularField'] == 'regular3'
+        !jsonEntities[3].containsKey('regularField')
+    }
 }
@@ -17,9 +17,13 @@
 package fetch_plans
 
 import io.jmix.core.*
+import io.jmix.core.impl.FetchPlanRepositoryImpl
 import org.springframework.beans.factory.annotation.Autowired
 import org.springframework.test.context.ContextConfiguration
 import spock.lang.Specification
+
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
 import test_support.addon1.TestAddon1Configuration
 import test_support.addon1.entity.TestAddon1Entity
 import test_support.app.TestAppConfiguration
@@ -152,5 +156,42 @@ class FetchPlanRepositoryTest extends Specification {
         fetchPlanDescendant.containsProperty("quantity")
         fetchPlanDescendant.containsProperty("id")
     }
-}
 
+    def "fetch plan deployed at runtime is visible to lookups"() {
+
+        when:
+
+        ((FetchPlanRepositoryImpl) repository).deployFetchPlans(new StringReader("""
+                <fetchPlans xmlns="http://jmix.io/schema/core/fetch-plans">
+                    <fetchPlan class="test_support.app.entity.Pet" name="pet.runtimeDeployed">
+                        <property name="name"/>
+                    </fetchPlan>
+                </fetchPlans>
+                """))
+
+        then:
+
+        repository.getFetchPlan(Pet, 'pet.runtimeDeployed').containsProperty('name')
+        repository.getFetchPlanNames(Pet).contains('pet.runtimeDeployed')
+
+        cleanup: "drop the deployed fetch plan by reinitializing the repository from configured files"
+
+        ((FetchPlanRepositoryImpl) repository).reset()
+    }
+
+    def "concurrent lookups return the same fetch plan instances"() {
+
+        when:
+
+        def executor = Executors.newFixedThreadPool(4)
+        def futures = (1..100).collect {
+            executor.submit({ repository.getFetchPlan(Pet, FetchPlan.BASE) } as Callable)
+        }
+        def fetchPlans = futures.collect { it.get() }
+        executor.shutdown()
+
+        then:
+
+        fetchPlans.every { it.is(fetchPlans[0]) }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package messages
+
+import io.jmix.core.CoreConfiguration
+import io.jmix.core.Messages
+import io.jmix.core.impl.JmixMessageSource
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.context.MessageSource
+import org.springframework.test.context.ContextConfiguration
+import spock.lang.Specification
+import spock.lang.Unroll
+import test_support.addon1.TestAddon1Configuration
+import test_support.app.TestAppConfiguration
+import test_support.base.TestBaseConfiguration
+
+import static test_support.TestLocales.LOC_EN
+import static test_support.TestLocales.LOC_RU
+
+@ContextConfiguration(classes = [CoreConfiguration, TestBaseConfiguration, TestAddon1Configuration, TestAppConfiguration])
+class MessageTableTest extends Specification {
+
+    @Autowired
+    MessageSource messageSource
+
+    @Autowired
+    Messages messages
+
+    def setup() {
+        ((JmixMessageSource) messageSource).setMessageTableEnabled(true)
+        messages.clearCache()
+    }
+
+    def cleanup() {
+        ((JmixMessageSource) messageSource).setMessageTableEnabled(false)
+        ((JmixMessageSource) messageSource).setCacheMillis(-1)
+        messages.clearCache()
+    }
+
+    @Unroll
+    def "messages are resolved from merged table"() {
+        expect:
+
+        messageSource.getMessage(code, null, locale) == expectedMessage
+        messages.getMessage(code, locale) == expectedMessage
+
+        where:
+
+        code                                               | locale || expectedMessage
+        'test_support.addon1.entity/TestAddon1Entity.name' | LOC_EN || 'Name'
+        'test_support.addon1.entity/TestAddon1Entity.name' | LOC_RU || 'Наименование'
+        'test_support.addon1.entity/messageToOverride'     | LOC_EN || 'app value'
+        'test_support.addon1.entity/messageToOverride'     | LOC_RU || 'значение приложения'
+        'test-key1'                                        | LOC_EN || 'test message 1'
+    }
+
+    def "missing message"() {
+        expect:
+
+        messages.getMessage('test_support.app.entity', 'missingKey', LOC_EN) == 'missingKey'
+        messages.findMessage('test_support.app.entity', 'missingKey', LOC_EN) == null
+    }
+
+    def "messages are resolved by files if cache period is set"() {
+        ((JmixMessageSource) messageSource).setCacheMillis(0)
+
+        expect:
+
+        messageSource.getMessage('test_support.addon1.entity/messageToOverride', null, LOC_EN) == 'app value'
+        ((JmixMessageSource) messageSource).findMessage('test_support.addon1.entity/TestAddon1Entity.name', LOC_RU) == 'Наименование'
+    }
+}
@@ -31,6 +31,7 @@ public class TestCoreProperties extends CoreProperties {
                               String dbDir,
                               List<String> availableLocales,
                               int crossDataStoreReferenceLoadingBatchSize,
+                              int crossDataStoreReferenceLoadingParallelism,
                               boolean idGenerationForEntitiesInAdditionalDataStoresEnabled,
                               int dom4jMaxPoolSize,
                               int dom4jMaxBorrowWaitMillis,
@@ -42,13 +43,16 @@ public class TestCoreProperties extends CoreProperties {
                               boolean triggerFilesEnabled,
                               Duration triggerFilesProcessInterval,
                               PessimisticLock pessimisticLock,
-                              boolean roundDecimalValueByFormat) {
+                              boolean roundDecimalValueByFormat,
+                              boolean messageTableEnabled,
+                              int loadStreamChunkSize) {
         super(webHostName, webPort, confDir, workDir, tempDir, dbDir, availableLocales,
-                crossDataStoreReferenceLoadingBatchSize, idGenerationForEntitiesInAdditionalDataStoresEnabled,
+                crossDataStoreReferenceLoadingBatchSize, crossDataStoreReferenceLoadingParallelism,
+                idGenerationForEntitiesInAdditionalDataStoresEnabled,
                 dom4jMaxPoolSize, dom4jMaxBorrowWaitMillis, anonymousAuthenticationTokenKey, defaultFileStorage,
                 entitySerializationTokenRequired, entitySerializationTokenEncryptionKey,
                 legacyFetchPlanSerializationAttributeName, triggerFilesEnabled, triggerFilesProcessInterval,
-                pessimisticLock, roundDecimalValueByFormat);
+                pessimisticLock, roundDecimalValueByFormat, messageTableEnabled, loadStreamChunkSize);
     }
 
     public static Builder builder() {
@@ -64,6 +68,7 @@ public class TestCoreProperties extends CoreProperties {
         String dbDir;
         List<String> availableLocales;
         int crossDataStoreReferenceLoadingBatchSize = 50;
+        int crossDataStoreReferenceLoadingParallelism = 1;
         boolean idGenerationForEntitiesInAdditionalDataStoresEnabled = true;
         int dom4jMaxPoolSize = 100;
         int dom4jMaxBorrowWaitMillis = 1000;
@@ -76,6 +81,8 @@ public class TestCoreProperties extends CoreProperties {
         Duration triggerFilesProcessInterval = Duration.ofSeconds(5000);
         PessimisticLock pessimisticLock = new PessimisticLock("0 * * * * ?", true);
         boolean roundDecimalValueByFormat = true;
+        boolean messageTableEnabled = false;
+        int loadStreamChunkSize = 1000;
 
         public Builder setWebHostName(String webHostName) {
             this.webHostName = webHostName;
@@ -117,6 +124,11 @@ public class TestCoreProperties extends CoreProperties {
             return this;
         }
 
+        public Builder setCrossDataStoreReferenceLoadingParallelism(int crossDataStoreReferenceLoadingParallelism) {
+            this.crossDataStoreReferenceLoadingParallelism = crossDataStoreReferenceLoadingParallelism;
+            return this;
+        }
+
         public Builder setIdGenerationForEntitiesInAdditionalDataStoresEnabled(boolean idGenerationForEntitiesInAdditionalDataStoresEnabled) {
             this.idGenerationForEntitiesInAdditionalDataStoresEnabled = idGenerationForEntitiesInAdditionalDataStoresEnabled;
             return this;
@@ -177,6 +189,16 @@ public class TestCoreProperties extends CoreProperties {
             return this;
         }
 
+        public Builder setMessageTableEnabled(boolean messageTableEnabled) {
+            this.messageTableEnabled = messageTableEnabled;
+            return this;
+        }
+
+        public Builder setLoadStreamChunkSize(int loadStreamChunkSize) {
+            this.loadStreamChunkSize = loadStreamChunkSize;
+            return this;
+        }
+
         public TestCoreProperties build() {
             return new TestCoreProperties(
                     this.webHostName,
@@ -187,6 +209,7 @@ public class TestCoreProperties extends CoreProperties {
                     this.dbDir,
                     this.availableLocales,
                     this.crossDataStoreReferenceLoadingBatchSize,
+                    this.crossDataStoreReferenceLoadingParallelism,
                     this.idGenerationForEntitiesInAdditionalDataStoresEnabled,
                     this.dom4jMaxPoolSize,
                     this.dom4jMaxBorrowWaitMillis,
@@ -198,7 +221,9 @@ public class TestCoreProperties extends CoreProperties {
                     this.triggerFilesEnabled,
                     this.triggerFilesProcessInterval,
                     this.pessimisticLock,
-                    this.roundDecimalValueByFormat);
+                    this.roundDecimalValueByFormat,
+                    this.messageTableEnabled,
+                    this.loadStreamChunkSize);
         }
     }
 }
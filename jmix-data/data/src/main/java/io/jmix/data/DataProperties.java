@@ -25,6 +25,12 @@ public class DataProperties {
 
     boolean useReadOnlyTransactionForLoad;
     int numberIdCacheSize;
+
+    /**
+     * Whether the next blocks of cached number ids are requested from the database sequence in background
+     * when the current block is half-used, so that id generation doesn't wait for the sequence.
+     */
+    boolean numberIdCachePrefetchEnabled;
     boolean useEntityDataStoreForIdSequence;
 
     /**
@@ -33,17 +39,35 @@ public class DataProperties {
     String uniqueConstraintViolationPattern;
     boolean useUserLocaleForRelativeDateTimeMoments;
 
+    /**
+     * Whether entities returned from {@code DataManager.save()} are reloaded by groups of the same entity and
+     * fetch plan using a single query by a list of ids, instead of loading each entity separately.
+     */
+    boolean reloadSavedEntitiesInBatches;
+
+    /**
+     * Maximum number of transformed JPQL queries kept in {@link io.jmix.data.impl.JpqlPlanCache}.
+     * Zero disables the cache.
+     */
+    int jpqlPlanCacheMaxSize;
+
     public DataProperties(
             @DefaultValue("true") boolean useReadOnlyTransactionForLoad,
             @DefaultValue("100") int numberIdCacheSize,
             boolean useEntityDataStoreForIdSequence,
             @Nullable String uniqueConstraintViolationPattern,
-            @DefaultValue("true") boolean useUserLocaleForRelativeDateTimeMoments) {
+            @DefaultValue("true") boolean useUserLocaleForRelativeDateTimeMoments,
+            @DefaultValue("false") boolean reloadSavedEntitiesInBatches,
+            @DefaultValue("1000") int jpqlPlanCacheMaxSize,
+            @DefaultValue("false") boolean numberIdCachePrefetchEnabled) {
         this.useReadOnlyTransactionForLoad = useReadOnlyTransactionForLoad;
         this.numberIdCacheSize = numberIdCacheSize;
         this.useEntityDataStoreForIdSequence = useEntityDataStoreForIdSequence;
         this.uniqueConstraintViolationPattern = uniqueConstraintViolationPattern;
         this.useUserLocaleForRelativeDateTimeMoments = useUserLocaleForRelativeDateTimeMoments;
+        this.reloadSavedEntitiesInBatches = reloadSavedEntitiesInBatches;
+        this.jpqlPlanCacheMaxSize = jpqlPlanCacheMaxSize;
+        this.numberIdCachePrefetchEnabled = numberIdCachePrefetchEnabled;
     }
 
     public boolean isUseReadOnlyTransactionForLoad() {
@@ -54,6 +78,13 @@ public class DataProperties {
         return numberIdCacheSize;
     }
 
+    /**
+     * @see #numberIdCachePrefetchEnabled
+     */
+    public boolean isNumberIdCachePrefetchEnabled() {
+        return numberIdCachePrefetchEnabled;
+    }
+
     public boolean isUseEntityDataStoreForIdSequence() {
         return useEntityDataStoreForIdSequence;
     }
@@ -69,4 +100,18 @@ public class DataProperties {
     public boolean isUseUserLocaleForRelativeDateTimeMoments() {
         return useUserLocaleForRelativeDateTimeMoments;
     }
+
+    /**
+     * @see #reloadSavedEntitiesInBatches
+     */
+    public boolean isReloadSavedEntitiesInBatches() {
+        return reloadSavedEntitiesInBatches;
+    }
+
+    /**
+     * @see #jpqlPlanCacheMaxSize
+     */
+    public int getJpqlPlanCacheMaxSize() {
+        return jpqlPlanCacheMaxSize;
+    }
 }
@@ -53,6 +53,16 @@ public class PersistenceHints {
      */
     public static final String MSSQL_RECOMPILE_HINT = "jmix.mssql.recompile";
 
+    /**
+     * Defines a Jmix query hint which sets the number of rows fetched from the database by a single JDBC round trip.
+     * <p>Corresponds to {@code org.eclipse.persistence.config.QueryHints#JDBC_FETCH_SIZE}
+     * <p>Usage examples:
+     * <pre>
+     *    query.setHint(PersistenceHints.FETCH_SIZE, 1000);
+     * </pre>
+     */
+    public static final String FETCH_SIZE = "jmix.fetchSize";
+
     public static boolean isSoftDeletion(EntityManager entityManager) {
         Boolean softDeletion = (Boolean) entityManager.getProperties().get(SOFT_DELETION);
         return softDeletion == null || softDeletion;
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.data.impl;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.jmix.data.DataProperties;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Caches results of JPQL parsing and transformations performed before query execution: names of parameters
+ * of source query strings and transformed query strings together with the parameters removed by the
+ * transformation.
+ * <p>
+ * The size of the cache is limited by {@link DataProperties#getJpqlPlanCacheMaxSize()}.
+ */
+@Component("data_JpqlPlanCache")
+public class JpqlPlanCache {
+
+    protected final boolean enabled;
+
+    protected final Cache<String, Set<String>> paramNames;
+    protected final Cache<PlanKey, Plan> plans;
+
+    public JpqlPlanCache(DataProperties properties) {
+        int maxSize = properties.getJpqlPlanCacheMaxSize();
+        this.enabled = maxSize > 0;
+        this.paramNames = CacheBuilder.newBuilder()
+                .maximumSize(Math.max(maxSize, 0))
+                .recordStats()
+                .build();
+        this.plans = CacheBuilder.newBuilder()
+                .maximumSize(Math.max(maxSize, 0))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * @return true if the cache is enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns parameter names of the given query string, parsing it by the provided function on cache miss.
+     */
+    public Set<String> getParamNames(String queryString, Function<String, Set<String>> parser) {
+        Set<String> names = paramNames.getIfPresent(queryString);
+        if (names == null) {
+            names = Set.copyOf(parser.apply(queryString));
+            paramNames.put(queryString, names);
+        }
+        return names;
+    }
+
+    /**
+     * Returns a cached plan or null if the plan is not cached yet.
+     */
+    @Nullable
+    public Plan getPlan(PlanKey key) {
+        return plans.getIfPresent(key);
+    }
+
+    public void putPlan(PlanKey key, Plan plan) {
+        plans.put(key, plan);
+    }
+
+    public long getHitCount() {
+        return plans.stats().hitCount() + paramNames.stats().hitCount();
+    }
+
+    public long getMissCount() {
+        return plans.stats().missCount() + paramNames.stats().missCount();
+    }
+
+    public long getSize() {
+        return plans.size();
+    }
+
+    public void invalidateAll() {
+        plans.invalidateAll();
+        paramNames.invalidateAll();
+    }
+
+    /**
+     * Kind of a query parameter value affecting the query transformation.
+     */
+    public enum ParamKind {
+        NULL,
+        EMPTY_COLLECTION,
+        CASE_INSENSITIVE,
+        VALUE
+    }
+
+    /**
+     * Key of a transformed query. The query string must be passed with constants and macros already expanded.
+     * The effective entity is determined by the query string, because the entity extension configuration
+     * doesn't change at runtime.
+     */
+    public static class PlanKey {
+
+        protected final String queryString;
+        protected final boolean paging;
+        protected final Map<String, ParamKind> params;
+        protected final int hashCode;
+
+        /**
+         * @param queryString query string with expanded constants and macros
+         * @param paging      whether the query is executed with the first result greater than zero
+         * @param params      parameter names and kinds of their values
+         */
+        public PlanKey(String queryString, boolean paging, Map<String, ParamKind> params) {
+            this.queryString = queryString;
+            this.paging = paging;
+            this.params = Map.copyOf(params);
+            this.hashCode = Objects.hash(queryString, paging, this.params);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            PlanKey planKey = (PlanKey) o;
+            return hashCode == planKey.hashCode
+                    && paging == planKey.paging
+                    && queryString.equals(planKey.queryString)
+                    && params.equals(planKey.params);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /**
+     * Result of the query transformation.
+     */
+    public static class Plan {
+
+        protected final String queryString;
+        protected final Set<String> removedParams;
+
+        /**
+         * @param queryString   transformed query string
+         * @param removedParams names of parameters which are not used in the transformed query
+         */
+        public Plan(String queryString, Set<String> removedParams) {
+            this.queryString = queryString;
+            this.removedParams = Set.copyOf(removedParams);
+        }
+
+        public String getQueryString() {
+            return queryString;
+        }
+
+        public Set<String> getRemovedParams() {
+            return removedParams;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.data.impl;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+
+@ManagedResource(description = "Manages cache of transformed JPQL queries", objectName = "jmix.data:type=JpqlPlanCache")
+@Component("data_JpqlPlanCacheManagementFacade")
+public class JpqlPlanCacheManagementFacade {
+
+    @Autowired
+    private JpqlPlanCache jpqlPlanCache;
+
+    @ManagedAttribute(description = "Current number of cached queries")
+    public long getSize() {
+        return jpqlPlanCache.getSize();
+    }
+
+    @ManagedAttribute(description = "Number of cache hits")
+    public long getHitCount() {
+        return jpqlPlanCache.getHitCount();
+    }
+
+    @ManagedAttribute(description = "Number of cache misses")
+    public long getMissCount() {
+        return jpqlPlanCache.getMissCount();
+    }
+
+    @ManagedOperation(description = "Discard all cached queries")
+    public String evictAll() {
+        jpqlPlanCache.invalidateAll();
+        return "Done";
+    }
+}
@@ -17,6 +17,7 @@
 package io.jmix.data.impl;
 
 import com.google.common.base.Strings;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.jmix.core.Metadata;
 import io.jmix.core.MetadataTools;
 import io.jmix.core.annotation.Internal;
@@ -24,18 +25,27 @@ import io.jmix.core.entity.annotation.JmixGeneratedValue;
 import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.metamodel.model.MetaProperty;
 import io.jmix.data.DataProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import jakarta.annotation.PreDestroy;
 import org.springframework.lang.Nullable;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Intermediate cache for generated ids of entities with long/integer PK.
  * The cache size is determined by the {@code jmix.data.numberIdCacheSize} property.
+ * <p>
+ * If the {@code jmix.data.numberIdCachePrefetchEnabled} property is true, ids are taken from the current block
+ * without locking, and next blocks are requested from the sequence in background.
  */
 @Component("data_NumberIdCache")
 public class NumberIdCache {
@@ -51,6 +61,15 @@ public class NumberIdCache {
 
     protected ConcurrentMap<String, Generator> cache = new ConcurrentHashMap<>();
 
+    protected ExecutorService prefetchExecutor = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setNameFormat("NumberIdPrefetch-%d").setDaemon(true).build());
+
+    protected static final int MAX_PREFETCHED_BLOCKS = 16;
+    protected static final long FAST_BLOCK_USAGE_NANOS = TimeUnit.SECONDS.toNanos(1);
+    protected static final long SLOW_BLOCK_USAGE_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private static final Logger log = LoggerFactory.getLogger(NumberIdCache.class);
+
     protected class Generator {
         protected long counter;
         protected long sequenceValue;
@@ -92,6 +111,112 @@ public class NumberIdCache {
         }
     }
 
+    /**
+     * Range of ids reserved by a single sequence value: from {@code sequenceValue + 1} to {@code last} inclusive.
+     */
+    protected static class IdBlock {
+        protected final AtomicLong counter;
+        protected final long last;
+        protected final long size;
+
+        public IdBlock(long sequenceValue, long size) {
+            this.counter = new AtomicLong(sequenceValue);
+            this.last = sequenceValue + size;
+            this.size = size;
+        }
+    }
+
+    /**
+     * Generator that takes ids from the current block using an atomic counter and requests next blocks
+     * in background when half of the current block is used. The number of blocks requested in advance grows
+     * if blocks are used up quickly and decreases if the allocation rate drops.
+     */
+    protected class PrefetchingGenerator extends Generator {
+
+        protected final AtomicReference<IdBlock> currentBlock;
+        protected final Queue<IdBlock> prefetchedBlocks = new ConcurrentLinkedQueue<>();
+        protected final AtomicBoolean prefetching = new AtomicBoolean();
+
+        protected volatile int prefetchBlockCount = 1;
+        protected volatile long blockStartNanos;
+
+        public PrefetchingGenerator(String entityName, @Nullable String sequenceName) {
+            // the first block is requested by the super constructor
+            super(entityName, sequenceName, true);
+            this.currentBlock = new AtomicReference<>(new IdBlock(sequenceValue, dataProperties.getNumberIdCacheSize()));
+            this.blockStartNanos = System.nanoTime();
+        }
+
+        @Override
+        public long getNext() {
+            while (true) {
+                IdBlock block = currentBlock.get();
+                long next = block.counter.incrementAndGet();
+                if (next <= block.last) {
+                    if (block.last - next == block.size / 2) {
+                        schedulePrefetch();
+                    }
+                    return next;
+                }
+                switchBlock(block);
+            }
+        }
+
+        protected void switchBlock(IdBlock exhaustedBlock) {
+            synchronized (this) {
+                if (currentBlock.get() != exhaustedBlock) {
+                    return;
+                }
+                IdBlock nextBlock = prefetchedBlocks.poll();
+                if (nextBlock == null) {
+                    log.debug("No prefetched ids for {}, requesting the sequence", entityName);
+                    nextBlock = fetchBlock();
+                }
+                adaptPrefetchBlockCount();
+                currentBlock.set(nextBlock);
+            }
+        }
+
+        protected void adaptPrefetchBlockCount() {
+            long now = System.nanoTime();
+            long blockUsageNanos = now - blockStartNanos;
+            blockStartNanos = now;
+
+            if (blockUsageNanos < FAST_BLOCK_USAGE_NANOS) {
+                prefetchBlockCount = Math.min(prefetchBlockCount * 2, MAX_PREFETCHED_BLOCKS);
+            } else if (blockUsageNanos > SLOW_BLOCK_USAGE_NANOS) {
+                prefetchBlockCount = Math.max(prefetchBlockCount / 2, 1);
+            }
+        }
+
+        protected void schedulePrefetch() {
+            if (!prefetching.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                prefetchExecutor.execute(() -> {
+                    try {
+                        int blocksToFetch = prefetchBlockCount - prefetchedBlocks.size();
+                        for (int i = 0; i < blocksToFetch; i++) {
+                            prefetchedBlocks.add(fetchBlock());
+                        }
+                    } catch (RuntimeException e) {
+                        log.warn("Unable to prefetch ids for {}", entityName, e);
+                    } finally {
+                        prefetching.set(false);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                prefetching.set(false);
+            }
+        }
+
+        protected IdBlock fetchBlock() {
+            long value = numberIdWorker.createCachedLongId(entityName, sequenceName);
+            return new IdBlock(value, dataProperties.getNumberIdCacheSize());
+        }
+    }
+
     protected static class SequenceParams {
 
         public final String name;
@@ -125,11 +250,20 @@ public class NumberIdCache {
 
         Generator gen = cache.computeIfAbsent(
                 getCacheKey(entityName, sequenceParams.name),
-                s -> new Generator(entityName, sequenceParams.name, sequenceParams.cached)
+                s -> createGenerator(entityName, sequenceParams)
         );
         return gen.getNext();
     }
 
+    protected Generator createGenerator(String entityName, SequenceParams sequenceParams) {
+        if (dataProperties.isNumberIdCachePrefetchEnabled()
+                && sequenceParams.cached
+                && dataProperties.getNumberIdCacheSize() != 0) {
+            return new PrefetchingGenerator(entityName, sequenceParams.name);
+        }
+        return new Generator(entityName, sequenceParams.name, sequenceParams.cached);
+    }
+
     protected SequenceParams getSequenceParams(MetaClass metaClass) {
         Optional<MetaProperty> generatedIdPropertyOpt = metaClass.getProperties().stream()
                 .filter(property -> property.getAnnotatedElement().isAnnotationPresent(JmixGeneratedValue.class))
@@ -154,6 +288,11 @@ public class NumberIdCache {
         cache.clear();
     }
 
+    @PreDestroy
+    protected void shutdown() {
+        prefetchExecutor.shutdownNow();
+    }
+
     protected String getCacheKey(String entityName, @Nullable String sequenceName) {
         return sequenceName == null ? entityName : sequenceName;
     }
@@ -23,11 +23,27 @@ import org.springframework.boot.context.properties.bind.DefaultValue;
 public class EclipselinkProperties {
     boolean queryCacheEnabled;
 
-    public EclipselinkProperties(@DefaultValue("true") boolean queryCacheEnabled) {
+    /**
+     * Whether the query cache keeps an index of cached queries by related entity names. The index allows
+     * discarding cached queries of changed entities without iterating over the whole cache. Should be used
+     * only with caches local to the application instance.
+     */
+    boolean queryCacheTypeIndexEnabled;
+
+    public EclipselinkProperties(@DefaultValue("true") boolean queryCacheEnabled,
+                                 @DefaultValue("false") boolean queryCacheTypeIndexEnabled) {
         this.queryCacheEnabled = queryCacheEnabled;
+        this.queryCacheTypeIndexEnabled = queryCacheTypeIndexEnabled;
     }
 
     public boolean isQueryCacheEnabled() {
         return queryCacheEnabled;
     }
+
+    /**
+     * @see #queryCacheTypeIndexEnabled
+     */
+    public boolean isQueryCacheTypeIndexEnabled() {
+        return queryCacheTypeIndexEnabled;
+    }
 }
@@ -28,6 +28,7 @@ import io.jmix.core.metamodel.datatype.EnumClass;
 import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.data.*;
 import io.jmix.data.impl.EntityFetcher;
+import io.jmix.data.impl.JpqlPlanCache;
 import io.jmix.data.impl.QueryConstantHandler;
 import io.jmix.data.impl.QueryMacroHandler;
 import io.jmix.data.impl.QueryParamValuesManager;
@@ -83,6 +84,7 @@ public class JmixEclipseLinkQuery<E> implements JmixQuery<E> {
     protected Collection<QueryConstantHandler> constantHandlers;
     protected List<AdditionalCriteriaProvider> additionalCriteriaProviders;
     protected QueryParamValuesManager queryParamValuesManager;
+    protected JpqlPlanCache jpqlPlanCache;
 
     protected JpaQuery query;
     protected boolean isNative;
@@ -123,6 +125,7 @@ public class JmixEclipseLinkQuery<E> implements JmixQuery<E> {
         constantHandlers = beanFactory.getBeanProvider(QueryConstantHandler.class).stream().collect(Collectors.toList());
         additionalCriteriaProviders = beanFactory.getBeanProvider(AdditionalCriteriaProvider.class).stream().collect(Collectors.toList());
         queryParamValuesManager = beanFactory.getBean(QueryParamValuesManager.class);
+        jpqlPlanCache = beanFactory.getBean(JpqlPlanCache.class);
     }
 
     @Override
@@ -460,7 +463,9 @@ public class JmixEclipseLinkQuery<E> implements JmixQuery<E> {
             } else {
                 log.trace("Creating JPQL query: {}", queryString);
                 processParams(queryString);
-                transformedQueryString = transformQueryString();
+                transformedQueryString = jpqlPlanCache.isEnabled()
+                        ? transformQueryStringUsingPlanCache()
+                        : transformQueryString();
                 log.trace("Transformed JPQL query: {}", transformedQueryString);
 
                 Class effectiveClass = getEffectiveResultClass();
@@ -564,7 +569,66 @@ public class JmixEclipseLinkQuery<E> implements JmixQuery<E> {
     private String transformQueryString() {
         String result = replaceConstants(queryString);
         result = expandMacros(result);
+        return transformExpandedQueryString(result);
+    }
+
+    /**
+     * Expands constants and macros and takes the rest of the transformation from {@link JpqlPlanCache}.
+     * On a cache hit, the parameter changes made by the transformation are applied to {@link #params}.
+     */
+    private String transformQueryStringUsingPlanCache() {
+        String expandedQueryString = expandMacros(replaceConstants(queryString));
+
+        JpqlPlanCache.PlanKey planKey = new JpqlPlanCache.PlanKey(expandedQueryString,
+                firstResult != null && firstResult > 0, getParamKinds());
+
+        JpqlPlanCache.Plan plan = jpqlPlanCache.getPlan(planKey);
+        if (plan == null) {
+            Set<String> paramNamesBefore = getParamNames();
+            String result = transformExpandedQueryString(expandedQueryString);
+
+            Set<String> removedParams = new HashSet<>(paramNamesBefore);
+            removedParams.removeAll(getParamNames());
+            jpqlPlanCache.putPlan(planKey, new JpqlPlanCache.Plan(result, removedParams));
+            return result;
+        }
+
+        for (Iterator<Param> iterator = params.iterator(); iterator.hasNext(); ) {
+            Param param = iterator.next();
+            if (plan.getRemovedParams().contains(param.name.toString())) {
+                iterator.remove();
+            } else if (param.value instanceof String && ((String) param.value).startsWith("(?i)")) {
+                param.value = ((String) param.value).substring(4).toLowerCase();
+            }
+        }
+        return plan.getQueryString();
+    }
 
+    private Set<String> getParamNames() {
+        return params.stream()
+                .map(param -> param.name.toString())
+                .collect(Collectors.toSet());
+    }
+
+    private Map<String, JpqlPlanCache.ParamKind> getParamKinds() {
+        Map<String, JpqlPlanCache.ParamKind> paramKinds = new HashMap<>();
+        for (Param param : params) {
+            JpqlPlanCache.ParamKind kind;
+            if (param.value == null) {
+                kind = JpqlPlanCache.ParamKind.NULL;
+            } else if (param.value instanceof Collection && ((Collection<?>) param.value).isEmpty()) {
+                kind = JpqlPlanCache.ParamKind.EMPTY_COLLECTION;
+            } else if (param.value instanceof String && ((String) param.value).startsWith("(?i)")) {
+                kind = JpqlPlanCache.ParamKind.CASE_INSENSITIVE;
+            } else {
+                kind = JpqlPlanCache.ParamKind.VALUE;
+            }
+            paramKinds.put(param.name.toString(), kind);
+        }
+        return paramKinds;
+    }
+
+    private String transformExpandedQueryString(String result) {
         boolean rebuildParser = false;
         QueryParser parser = queryTransformerFactory.parser(result);
 
@@ -623,9 +687,9 @@ public class JmixEclipseLinkQuery<E> implements JmixQuery<E> {
     }
 
     private void processParams(String queryString) {
-        QueryParser parser = queryTransformerFactory.parser(queryString);
-
-        Set<String> paramNames = parser.getParamNames();
+        Set<String> paramNames = jpqlPlanCache.isEnabled()
+                ? jpqlPlanCache.getParamNames(queryString, this::parseParamNames)
+                : parseParamNames(queryString);
         for (String paramName : paramNames) {
             if (queryParamValuesManager.supports(paramName)) {
                 Optional<Param> paramOpt = params.stream().filter(p -> p.name.equals(paramName)).findAny();
@@ -642,6 +706,10 @@ public class JmixEclipseLinkQuery<E> implements JmixQuery<E> {
         }
     }
 
+    private Set<String> parseParamNames(String queryString) {
+        return queryTransformerFactory.parser(queryString).getParamNames();
+    }
+
     @Nullable
     private Object convertParamValue(@Nullable Object value) {
         // Here you can convert type used in jpql query params
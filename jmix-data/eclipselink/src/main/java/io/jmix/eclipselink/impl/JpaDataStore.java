@@ -21,9 +21,12 @@ import io.jmix.core.Id;
 import io.jmix.core.*;
 import io.jmix.core.datastore.AbstractDataStore;
 import io.jmix.core.entity.EntityValues;
+import io.jmix.core.entity.KeyValueEntity;
 import io.jmix.core.event.EntityChangedEvent;
 import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.metamodel.model.MetaProperty;
+import io.jmix.core.querycondition.Condition;
+import io.jmix.core.querycondition.LogicalCondition;
 import io.jmix.data.DataProperties;
 import io.jmix.data.PersistenceHints;
 import io.jmix.data.QueryTransformerFactory;
@@ -58,6 +61,7 @@ import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
+import java.util.stream.Stream;
 
 import static io.jmix.core.entity.EntitySystemAccess.getEntityEntry;
 import static io.jmix.core.entity.EntityValues.getValue;
@@ -118,10 +122,15 @@ public class JpaDataStore extends AbstractDataStore implements DataSortingOption
     @Autowired
     protected FetchPlanRepository fetchPlanRepository;
 
+    @Autowired
+    protected KeysetCursors keysetCursors;
+
     protected String storeName;
 
     protected static final AtomicLong txCount = new AtomicLong();
 
+    protected static final Pattern ORDER_BY_PATTERN = Pattern.compile("\\border\\s+by\\b", Pattern.CASE_INSENSITIVE);
+
     @Override
     public String getName() {
         return storeName;
@@ -205,6 +214,117 @@ public class JpaDataStore extends AbstractDataStore implements DataSortingOption
         return resultList;
     }
 
+    /**
+     * Seeks the next chunk of a streamed query by the sort values of the last loaded instance if the query
+     * string doesn't define its own order and the query is sorted by mandatory attributes only, otherwise uses
+     * offset pagination. For offset pagination, the primary key is appended to the sort to make the order unique.
+     * If the order is defined by the query string only, it's used as is: it must be unique, otherwise chunks
+     * can skip or repeat instances.
+     */
+    @Override
+    protected LoadContext<?> createChunkContext(LoadContext<?> context, ChunkPosition position, int size) {
+        LoadContext<?> chunkContext = super.createChunkContext(context, position, size);
+        chunkContext.setHint(PersistenceHints.FETCH_SIZE, size);
+
+        LoadContext.Query query = chunkContext.getQuery();
+        assert query != null;
+        if (isKeysetChunking(chunkContext)) {
+            KeysetCursor cursor = (KeysetCursor) position.getLastPosition();
+            if (cursor == null) {
+                cursor = query.getAfter() != null ? query.getAfter() : KeysetCursor.START;
+            }
+            query.setAfter(cursor);
+
+            // sort properties must be loaded to create the cursor of the next chunk
+            if (query.getSort() != null && !query.getSort().getOrders().isEmpty()) {
+                FetchPlanBuilder fetchPlanBuilder = fetchPlans.builder(createFetchPlan(context));
+                for (Sort.Order order : query.getSort().getOrders()) {
+                    fetchPlanBuilder.add(order.getProperty());
+                }
+                chunkContext.setFetchPlan(fetchPlanBuilder.build());
+            }
+        } else {
+            addChunkOrderTieBreaker(chunkContext, position.getFirstResult() == context.getQuery().getFirstResult());
+        }
+        return chunkContext;
+    }
+
+    /**
+     * Appends the primary key to the sort of a query streamed by offset if the sort doesn't contain it yet.
+     */
+    protected void addChunkOrderTieBreaker(LoadContext<?> chunkContext, boolean firstChunk) {
+        LoadContext.Query query = chunkContext.getQuery();
+        assert query != null;
+        MetaClass metaClass = extendedEntities.getEffectiveMetaClass(chunkContext.getEntityMetaClass());
+        String pkName = metadataTools.getPrimaryKeyName(metaClass);
+        boolean sorted = query.getSort() != null && !query.getSort().getOrders().isEmpty();
+        if (pkName == null || metadataTools.hasCompositePrimaryKey(metaClass)
+                || (!sorted && ORDER_BY_PATTERN.matcher(query.getQueryString()).find())) {
+            if (firstChunk) {
+                log.warn("Query of {} is streamed by offset in the order defined by the query, " +
+                        "it must be unique to avoid skipped or repeated instances: {}", metaClass.getName(), query.getQueryString());
+            }
+            return;
+        }
+        List<Sort.Order> orders = sorted ? new ArrayList<>(query.getSort().getOrders()) : new ArrayList<>();
+        if (orders.stream().noneMatch(order -> order.getProperty().equals(pkName))) {
+            orders.add(Sort.Order.asc(pkName));
+            query.setSort(Sort.by(orders));
+        }
+    }
+
+    @Override
+    protected void advanceChunkPosition(LoadContext<?> chunkContext, List<Object> entities, int size,
+                                        ChunkPosition position) {
+        super.advanceChunkPosition(chunkContext, entities, size, position);
+
+        LoadContext.Query query = chunkContext.getQuery();
+        assert query != null;
+        if (isKeysetChunking(chunkContext) && !entities.isEmpty()) {
+            position.setLastPosition(keysetCursors.create(entities.get(entities.size() - 1), query.getSort()));
+            position.setFirstResult(0);
+        }
+    }
+
+    protected boolean isKeysetChunking(LoadContext<?> context) {
+        LoadContext.Query query = context.getQuery();
+        if (query == null || ORDER_BY_PATTERN.matcher(query.getQueryString()).find()) {
+            return false;
+        }
+        MetaClass metaClass = extendedEntities.getEffectiveMetaClass(context.getEntityMetaClass());
+        try {
+            // nullable sort properties are rejected as seek conditions don't match null values
+            keysetCursors.getKeysetSort(metaClass, query.getSort());
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Value queries are streamed by offset, so the query must define a unique order, e.g. ending with the primary key
+     * of the selected entity.
+     *
+     * @throws IllegalArgumentException if the query defines no order
+     */
+    @Override
+    public Stream<List<KeyValueEntity>> loadValuesChunks(ValueLoadContext context, int chunkSize) {
+        ValueLoadContext.Query query = context.getQuery();
+        if (query != null
+                && (query.getSort() == null || query.getSort().getOrders().isEmpty())
+                && !ORDER_BY_PATTERN.matcher(query.getQueryString()).find()) {
+            throw new IllegalArgumentException("Streamed value query must define a unique order: " + query.getQueryString());
+        }
+        return super.loadValuesChunks(context, chunkSize);
+    }
+
+    @Override
+    protected ValueLoadContext createValuesChunkContext(ValueLoadContext context, ChunkPosition position, int size) {
+        ValueLoadContext chunkContext = super.createValuesChunkContext(context, position, size);
+        chunkContext.setHint(PersistenceHints.FETCH_SIZE, size);
+        return chunkContext;
+    }
+
     @Override
     protected long countAll(LoadContext<?> context) {
         queryResultsManager.savePreviousQueryResults(context);
@@ -452,6 +572,11 @@ public class JpaDataStore extends AbstractDataStore implements DataSortingOption
         }
     }
 
+    @Override
+    protected boolean isReloadAfterSaveInBatches(SaveContext context) {
+        return properties.isReloadSavedEntitiesInBatches();
+    }
+
     @Override
     protected void beforeSaveTransactionRollback(SaveContext context) {
         LazyLoadingContext.setEnabled();
@@ -471,11 +596,21 @@ public class JpaDataStore extends AbstractDataStore implements DataSortingOption
                 .setLockMode(context.getLockMode());
 
         if (contextQuery != null) {
+            Condition condition = contextQuery.getCondition();
+            Sort sort = contextQuery.getSort();
+            // count query ignores the cursor to return the total number of instances
+            if (contextQuery.getAfter() != null && !countQuery) {
+                sort = keysetCursors.getKeysetSort(metaClass, sort);
+                Condition seekCondition = keysetCursors.createCondition(metaClass, sort, contextQuery.getAfter());
+                if (seekCondition != null) {
+                    condition = condition == null ? seekCondition : LogicalCondition.and(condition, seekCondition);
+                }
+            }
             queryBuilder.setQueryString(contextQuery.getQueryString())
-                    .setCondition(contextQuery.getCondition())
+                    .setCondition(condition)
                     .setQueryParameters(contextQuery.getParameters());
             if (!countQuery) {
-                queryBuilder.setSort(contextQuery.getSort());
+                queryBuilder.setSort(sort);
             }
         }
 
@@ -541,6 +676,9 @@ public class JpaDataStore extends AbstractDataStore implements DataSortingOption
             query.setFirstResult(contextQuery.getFirstResult());
         if (contextQuery.getMaxResults() != 0)
             query.setMaxResults(contextQuery.getMaxResults());
+        if (context.getHints().containsKey(PersistenceHints.FETCH_SIZE)) {
+            query.setHint(PersistenceHints.FETCH_SIZE, context.getHints().get(PersistenceHints.FETCH_SIZE));
+        }
 
         ReadEntityQueryContext queryContext = new ReadEntityQueryContext(query, queryTransformerFactory, metadata);
         accessManager.applyConstraints(queryContext, context.getAccessConstraints());
@@ -53,4 +53,25 @@ public interface QueryCache {
      * Returns number of entries in this cache.
      */
     long size();
+
+    /**
+     * Returns number of cache lookups that returned a cached result.
+     */
+    default long getHitCount() {
+        return 0;
+    }
+
+    /**
+     * Returns number of cache lookups that didn't find a cached result.
+     */
+    default long getMissCount() {
+        return 0;
+    }
+
+    /**
+     * Returns number of cached query results discarded by invalidation of entity types.
+     */
+    default long getEvictionCount() {
+        return 0;
+    }
 }
@@ -40,6 +40,21 @@ public class QueryCacheManagementFacade {
         return queryCache.size();
     }
 
+    @ManagedAttribute(description = "Number of query cache hits")
+    public long getHitCount() {
+        return queryCache.getHitCount();
+    }
+
+    @ManagedAttribute(description = "Number of query cache misses")
+    public long getMissCount() {
+        return queryCache.getMissCount();
+    }
+
+    @ManagedAttribute(description = "Number of cached queries discarded by entity changes")
+    public long getEvictionCount() {
+        return queryCache.getEvictionCount();
+    }
+
     @ManagedOperation(description = "Discard all cached queries")
     public String evictAll() {
         queryCacheMgr.invalidateAll();
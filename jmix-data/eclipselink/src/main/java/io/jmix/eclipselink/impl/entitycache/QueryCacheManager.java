@@ -16,6 +16,7 @@
 
 package io.jmix.eclipselink.impl.entitycache;
 
+import com.google.common.collect.Lists;
 import io.jmix.core.Entity;
 import io.jmix.core.FetchPlan;
 import io.jmix.core.Metadata;
@@ -25,14 +26,17 @@ import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.metamodel.model.MetadataObject;
 import io.jmix.data.PersistenceHints;
 import io.jmix.data.StoreAwareLocator;
+import io.jmix.data.persistence.DbmsSpecifics;
 import io.jmix.eclipselink.EclipselinkProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import jakarta.persistence.Cache;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.Query;
 import jakarta.persistence.TypedQuery;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -50,6 +54,8 @@ public class QueryCacheManager {
     protected MetadataTools metadataTools;
     @Autowired
     protected StoreAwareLocator storeAwareLocator;
+    @Autowired
+    protected DbmsSpecifics dbmsSpecifics;
 
     protected static final Logger log = LoggerFactory.getLogger(QueryCacheManager.class);
 
@@ -76,8 +82,9 @@ public class QueryCacheManager {
             if (!metadataTools.isCacheable(metaClass)) {
                 log.warn("Using cacheable query without entity cache for {}", queryResult.getType());
             }
+            Map<Object, Object> loadedEntities = loadCachedResult(em, metaClass, queryResult.getResult(), fetchPlans);
             for (Object id : queryResult.getResult()) {
-                resultList.add(em.find(metaClass.getJavaClass(), id, PersistenceHints.builder().withFetchPlans(fetchPlans).build()));
+                resultList.add((T) loadedEntities.get(id));
             }
         } else {
             log.debug("Query results are not found in cache: {}", queryKey.printDescription());
@@ -85,6 +92,53 @@ public class QueryCacheManager {
         return resultList;
     }
 
+    /**
+     * Loads entities by identifiers stored in the query cache. Entities found in the entity cache are taken by
+     * {@link EntityManager#find}, all other entities are loaded by queries with the "in" condition
+     * split according to {@link io.jmix.data.persistence.DbmsFeatures#getMaxIdsBatchSize()}.
+     *
+     * @return map of identifier to the loaded entity
+     */
+    @SuppressWarnings("unchecked")
+    protected Map<Object, Object> loadCachedResult(EntityManager em, MetaClass metaClass, List<?> ids,
+                                                   List<FetchPlan> fetchPlans) {
+        Map<Object, Object> result = new HashMap<>(ids.size());
+        Map<String, Object> findProperties = PersistenceHints.builder().withFetchPlans(fetchPlans).build();
+
+        boolean compositeKey = metadataTools.hasCompositePrimaryKey(metaClass);
+        Cache entityCache = em.getEntityManagerFactory().getCache();
+
+        List<Object> idsToLoad = new ArrayList<>();
+        for (Object id : ids) {
+            if (result.containsKey(id)) {
+                continue;
+            }
+            if (compositeKey || entityCache.contains(metaClass.getJavaClass(), id)) {
+                result.put(id, em.find(metaClass.getJavaClass(), id, findProperties));
+            } else {
+                idsToLoad.add(id);
+            }
+        }
+
+        if (!idsToLoad.isEmpty()) {
+            log.debug("Loading {} instances of {} not found in entity cache", idsToLoad.size(), metaClass.getName());
+
+            String pkName = metadataTools.getPrimaryKeyName(metaClass);
+            Integer batchSize = dbmsSpecifics.getDbmsFeatures(metaClass.getStore().getName()).getMaxIdsBatchSize();
+
+            for (List<Object> partition : Lists.partition(idsToLoad, batchSize == null ? Integer.MAX_VALUE : batchSize)) {
+                Query query = em.createQuery(String.format("select e from %s e where e.%s in :ids", metaClass.getName(), pkName));
+                query.setParameter("ids", partition);
+                query.setHint(PersistenceHints.FETCH_PLAN, fetchPlans);
+
+                for (Object entity : query.getResultList()) {
+                    result.put(EntityValues.getId(entity), entity);
+                }
+            }
+        }
+        return result;
+    }
+
     /**
      * Get single query results from query cache by specified {@code queryKey}
      * If query is cached and no results found exception is thrown
@@ -18,6 +18,7 @@ package io.jmix.eclipselink.impl.entitycache;
 
 import com.google.common.collect.Sets;
 import io.jmix.core.CacheOperations;
+import io.jmix.eclipselink.EclipselinkProperties;
 import org.apache.commons.collections4.CollectionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,10 +28,29 @@ import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Component;
 
 import jakarta.annotation.PostConstruct;
+import javax.cache.configuration.MutableCacheEntryListenerConfiguration;
+import javax.cache.event.CacheEntryEvent;
+import javax.cache.event.CacheEntryExpiredListener;
+import javax.cache.event.CacheEntryListenerException;
+import javax.cache.event.CacheEntryRemovedListener;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
+/**
+ * Query cache storing results in the {@link #QUERY_CACHE_NAME} cache.
+ * <p>
+ * If {@link EclipselinkProperties#isQueryCacheTypeIndexEnabled()} is true, the cache maintains an index of cached
+ * query keys by related entity names, so invalidation of an entity type affects only the corresponding keys
+ * instead of iterating over the whole cache. Keys removed or expired by the underlying JCache are dropped from
+ * the index by a cache entry listener. JCache doesn't notify about entries evicted because of the capacity limit,
+ * so the index is also pruned on cache misses and swept when its size doubles since the last sweep.
+ */
 @Component("eclipselink_QueryCache")
 public class StandardQueryCache implements QueryCache {
 
@@ -40,27 +60,92 @@ public class StandardQueryCache implements QueryCache {
     protected CacheManager cacheManager;
     @Autowired
     protected CacheOperations cacheOperations;
+    @Autowired
+    protected EclipselinkProperties properties;
 
     public static final String QUERY_CACHE_NAME = "jmix-eclipselink-query-cache";
 
+    /**
+     * Minimal number of indexed keys which triggers removal of keys evicted from the cache from the index.
+     */
+    protected static final int INDEX_SWEEP_MIN_SIZE = 1000;
+
     protected static final Logger log = LoggerFactory.getLogger(QueryCache.class);
 
+    protected boolean typeIndexEnabled;
+    protected volatile int indexSweepThreshold = INDEX_SWEEP_MIN_SIZE;
+
+    /**
+     * Related entity name to the keys of cached queries.
+     */
+    protected final ConcurrentMap<String, Set<QueryKey>> keysByType = new ConcurrentHashMap<>();
+    /**
+     * Key of cached query to its related entity names, used to clean up {@link #keysByType}.
+     */
+    protected final ConcurrentMap<QueryKey, Set<String>> typesByKey = new ConcurrentHashMap<>();
+    /**
+     * Puts hold the read lock while storing and indexing an entry, invalidation holds the write lock, so an entry
+     * cannot be stored after the invalidation of its types without being indexed.
+     */
+    protected final ReadWriteLock indexLock = new ReentrantReadWriteLock();
+
+    protected final AtomicLong hitCount = new AtomicLong();
+    protected final AtomicLong missCount = new AtomicLong();
+    protected final AtomicLong evictionCount = new AtomicLong();
+
     @PostConstruct
     protected void init() {
         queries = cacheManager.getCache(QUERY_CACHE_NAME);
         if (queries == null) {
             throw new IllegalStateException(String.format("Unable to find cache: %s", QUERY_CACHE_NAME));
         }
+        typeIndexEnabled = properties.isQueryCacheTypeIndexEnabled();
+        if (typeIndexEnabled) {
+            registerIndexCleanupListener();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    protected void registerIndexCleanupListener() {
+        if (queries.getNativeCache() instanceof javax.cache.Cache) {
+            javax.cache.Cache<Object, Object> nativeCache = (javax.cache.Cache<Object, Object>) queries.getNativeCache();
+            IndexCleanupListener listener = new IndexCleanupListener();
+            nativeCache.registerCacheEntryListener(
+                    new MutableCacheEntryListenerConfiguration<Object, Object>(() -> listener, null, false, true));
+        }
     }
 
     @Override
     public QueryResult get(QueryKey queryKey) {
-        return queries.get(queryKey, QueryResult.class);
+        QueryResult queryResult = queries.get(queryKey, QueryResult.class);
+        if (queryResult != null) {
+            hitCount.incrementAndGet();
+        } else {
+            missCount.incrementAndGet();
+            if (typeIndexEnabled && typesByKey.containsKey(queryKey)) {
+                // the entry could be expired or evicted by the underlying cache without notification
+                removeExpiredFromIndex(queryKey);
+            }
+        }
+        return queryResult;
     }
 
     @Override
     public void put(QueryKey queryKey, QueryResult queryResult) {
-        queries.put(queryKey, queryResult);
+        if (!typeIndexEnabled) {
+            queries.put(queryKey, queryResult);
+            return;
+        }
+        indexLock.readLock().lock();
+        try {
+            queries.put(queryKey, queryResult);
+            addToIndex(queryKey, queryResult.getRelatedTypes());
+        } finally {
+            indexLock.readLock().unlock();
+        }
+        if (typesByKey.size() > indexSweepThreshold) {
+            sweepIndex();
+        }
     }
 
     @Override
@@ -76,7 +161,9 @@ public class StandardQueryCache implements QueryCache {
     }
 
     protected void invalidateByTypes(Set<String> typeNames) {
-        if (cacheOperations.isIterableCache(queries)) {
+        if (typeIndexEnabled) {
+            invalidateByTypeIndex(typeNames);
+        } else if (cacheOperations.isIterableCache(queries)) {
             Set<QueryKey> evicted = new HashSet<>();
 
             cacheOperations.<QueryKey, QueryResult>forEach(queries, (queryKey, queryResult) -> {
@@ -89,15 +176,112 @@ public class StandardQueryCache implements QueryCache {
                 queries.evictIfPresent(queryKey);
 
             }
+            evictionCount.addAndGet(evicted.size());
         } else {
             queries.invalidate();
         }
     }
 
+    protected void invalidateByTypeIndex(Set<String> typeNames) {
+        indexLock.writeLock().lock();
+        try {
+            for (String typeName : typeNames) {
+                Set<QueryKey> keys = keysByType.remove(typeName);
+                if (keys == null) {
+                    continue;
+                }
+                for (QueryKey queryKey : keys) {
+                    removeFromIndex(queryKey);
+                    if (queries.evictIfPresent(queryKey)) {
+                        evictionCount.incrementAndGet();
+                    }
+                }
+            }
+        } finally {
+            indexLock.writeLock().unlock();
+        }
+    }
+
+    protected void addToIndex(QueryKey queryKey, Set<String> relatedTypes) {
+        if (relatedTypes == null || relatedTypes.isEmpty()) {
+            return;
+        }
+        Set<String> types = Set.copyOf(relatedTypes);
+        typesByKey.put(queryKey, types);
+        for (String type : types) {
+            keysByType.computeIfAbsent(type, t -> ConcurrentHashMap.newKeySet()).add(queryKey);
+        }
+    }
+
+    protected void removeExpiredFromIndex(QueryKey queryKey) {
+        indexLock.writeLock().lock();
+        try {
+            // the entry could be put again after the miss
+            if (queries.get(queryKey) == null) {
+                removeFromIndex(queryKey);
+            }
+        } finally {
+            indexLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes keys which are not in the cache anymore from the index.
+     */
+    protected void sweepIndex() {
+        indexLock.writeLock().lock();
+        try {
+            if (typesByKey.size() <= indexSweepThreshold) {
+                // already swept by another thread
+                return;
+            }
+            int sizeBefore = typesByKey.size();
+            for (QueryKey queryKey : new ArrayList<>(typesByKey.keySet())) {
+                if (!isCached(queryKey)) {
+                    removeFromIndex(queryKey);
+                }
+            }
+            indexSweepThreshold = Math.max(INDEX_SWEEP_MIN_SIZE, typesByKey.size() * 2);
+            log.debug("Swept query cache index: {} keys before, {} keys after", sizeBefore, typesByKey.size());
+        } finally {
+            indexLock.writeLock().unlock();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    protected boolean isCached(QueryKey queryKey) {
+        if (queries.getNativeCache() instanceof javax.cache.Cache) {
+            // doesn't affect access statistics and eviction order of the entry
+            return ((javax.cache.Cache<Object, Object>) queries.getNativeCache()).containsKey(queryKey);
+        }
+        return queries.get(queryKey) != null;
+    }
+
+    protected void removeFromIndex(QueryKey queryKey) {
+        Set<String> types = typesByKey.remove(queryKey);
+        if (types == null) {
+            return;
+        }
+        for (String type : types) {
+            keysByType.computeIfPresent(type, (t, keys) -> {
+                keys.remove(queryKey);
+                return keys.isEmpty() ? null : keys;
+            });
+        }
+    }
+
     @Override
     public void invalidateAll() {
         log.debug("Invalidate all cache");
-        queries.invalidate();
+        indexLock.writeLock().lock();
+        try {
+            queries.invalidate();
+            keysByType.clear();
+            typesByKey.clear();
+            indexSweepThreshold = INDEX_SWEEP_MIN_SIZE;
+        } finally {
+            indexLock.writeLock().unlock();
+        }
     }
 
     @Override
@@ -110,4 +294,41 @@ public class StandardQueryCache implements QueryCache {
             return 0;
         }
     }
+
+    @Override
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    @Override
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    protected class IndexCleanupListener implements CacheEntryRemovedListener<Object, Object>,
+            CacheEntryExpiredListener<Object, Object> {
+
+        @Override
+        public void onRemoved(Iterable<CacheEntryEvent<?, ?>> events) throws CacheEntryListenerException {
+            removeFromIndex(events);
+        }
+
+        @Override
+        public void onExpired(Iterable<CacheEntryEvent<?, ?>> events) throws CacheEntryListenerException {
+            removeFromIndex(events);
+        }
+
+        protected void removeFromIndex(Iterable<CacheEntryEvent<?, ?>> events) {
+            for (CacheEntryEvent<?, ?> event : events) {
+                if (event.getKey() instanceof QueryKey) {
+                    StandardQueryCache.this.removeFromIndex((QueryKey) event.getKey());
+                }
+            }
+        }
+    }
 }
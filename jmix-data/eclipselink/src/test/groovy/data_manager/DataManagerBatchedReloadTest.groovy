@@ -0,0 +1,127 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package data_manager
+
+import io.jmix.core.DataManager
+import io.jmix.core.EntityStates
+import io.jmix.core.FetchPlan
+import io.jmix.core.FetchPlans
+import io.jmix.core.SaveContext
+import jakarta.persistence.EntityManagerFactory
+import jakarta.persistence.PersistenceUnit
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.jdbc.core.JdbcTemplate
+import org.springframework.test.context.TestPropertySource
+import test_support.DataSpec
+import test_support.ReadQueryCounter
+import test_support.entity.sales.Customer
+import test_support.entity.sales.Order
+
+@TestPropertySource(properties = "jmix.data.reloadSavedEntitiesInBatches=true")
+class DataManagerBatchedReloadTest extends DataSpec {
+
+    @Autowired
+    DataManager dataManager
+
+    @Autowired
+    EntityStates entityStates
+
+    @Autowired
+    FetchPlans fetchPlans
+
+    @Autowired
+    JdbcTemplate jdbcTemplate
+
+    @PersistenceUnit
+    EntityManagerFactory entityManagerFactory
+
+    ReadQueryCounter queryCounter = new ReadQueryCounter()
+
+    void setup() {
+        queryCounter.register(entityManagerFactory)
+    }
+
+    void cleanup() {
+        queryCounter.unregister(entityManagerFactory)
+        jdbcTemplate.update('delete from SALES_ORDER')
+        jdbcTemplate.update('delete from SALES_CUSTOMER')
+    }
+
+    def "saved entities are reloaded by groups according to passed fetch plans"() {
+        given:
+        def customer = dataManager.create(Customer)
+        customer.name = 'c1'
+        customer = dataManager.save(customer)
+
+        def orders = (1..10).collect {
+            def order = dataManager.create(Order)
+            order.number = "$it"
+            order.customer = customer
+            order
+        }
+        def customers = (1..5).collect {
+            def c = dataManager.create(Customer)
+            c.name = "c$it"
+            c
+        }
+
+        def orderFetchPlan = fetchPlans.builder(Order).addFetchPlan(FetchPlan.LOCAL).add('customer.name').build()
+
+        when:
+        def saveContext = new SaveContext()
+        orders.each { saveContext.saving(it, orderFetchPlan) }
+        customers.each { saveContext.saving(it) }
+        def saved = dataManager.save(saveContext)
+
+        then:
+        saved.size() == 15
+        orders.every { saved.contains(it) }
+        customers.every { saved.contains(it) }
+
+        orders.every {
+            def savedOrder = saved.get(it)
+            entityStates.isLoaded(savedOrder, 'customer') && savedOrder.customer.name == 'c1'
+        }
+        customers.every { saved.get(it).name == it.name }
+    }
+
+    def "each group of saved entities is reloaded by one query"() {
+        given:
+        def orders = (1..10).collect {
+            def order = dataManager.create(Order)
+            order.number = "$it"
+            order
+        }
+        def customers = (1..5).collect {
+            def c = dataManager.create(Customer)
+            c.name = "c$it"
+            c
+        }
+
+        when:
+        def saveContext = new SaveContext()
+        orders.each { saveContext.saving(it) }
+        customers.each { saveContext.saving(it) }
+        queryCounter.reset()
+        def saved = dataManager.save(saveContext)
+
+        then:
+        saved.size() == 15
+        queryCounter.count(Order) == 1
+        queryCounter.count(Customer) == 1
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package data_manager
+
+import io.jmix.core.DataManager
+import io.jmix.core.LoadContext
+import io.jmix.core.Metadata
+import io.jmix.core.Sort
+import io.jmix.core.ValueLoadContext
+import org.springframework.beans.factory.annotation.Autowired
+import test_support.DataSpec
+import test_support.entity.sales.Customer
+
+import java.util.stream.Collectors
+
+class DataManagerStreamTest extends DataSpec {
+
+    @Autowired
+    DataManager dataManager
+
+    @Autowired
+    Metadata metadata
+
+    def "stream sorted by non-unique nullable property returns every instance once"() {
+        def customers = ['a', 'b', 'b', 'b', null, null, 'c'].collect { name ->
+            def customer = dataManager.create(Customer)
+            customer.name = name
+            customer
+        }
+        dataManager.save(*customers)
+
+        def context = new LoadContext<Customer>(metadata.getClass(Customer))
+        context.setQuery(new LoadContext.Query('select e from sales_Customer e').setSort(Sort.by('name')))
+
+        when:
+        def loaded = dataManager.loadStream(context, 2).collect(Collectors.toList())
+
+        then:
+        loaded.size() == customers.size()
+        loaded*.id as Set == customers*.id as Set
+    }
+
+    def "value stream without order is rejected"() {
+        def context = ValueLoadContext.create()
+                .setQuery(new ValueLoadContext.Query('select e.name from sales_Customer e'))
+                .addProperty('name')
+
+        when:
+        dataManager.loadValuesStream(context, 2).collect(Collectors.toList())
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package data_stores
+
+import io.jmix.core.DataManager
+import io.jmix.core.Metadata
+import io.jmix.core.impl.DataStoreFactory
+import io.jmix.data.StoreAwareLocator
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.test.context.TestPropertySource
+import spock.lang.Timeout
+import test_support.DataSpec
+import test_support.TestInMemoryDataStore
+import test_support.entity.multidb.Db1Order
+import test_support.entity.multidb.MainReport
+import test_support.entity.multidb.Mem1Customer
+
+@TestPropertySource(properties = [
+        "jmix.core.crossDataStoreReferenceLoadingParallelism=2",
+        "jmix.core.crossDataStoreReferenceLoadingBatchSize=2"
+])
+class ParallelCrossDataStoreReferenceLoadingTest extends DataSpec {
+
+    @Autowired
+    Metadata metadata
+    @Autowired
+    DataManager dataManager
+    @Autowired
+    StoreAwareLocator storeAwareLocator
+    @Autowired
+    DataStoreFactory dataStoreFactory
+
+    List<MainReport> reports = []
+
+    def setup() {
+        ((TestInMemoryDataStore) dataStoreFactory.get("mem1")).clear()
+    }
+
+    def cleanup() {
+        dataManager.remove(reports)
+        storeAwareLocator.getJdbcTemplate("db1").update("delete from ORDER_")
+        ((TestInMemoryDataStore) dataStoreFactory.get("mem1")).clear()
+    }
+
+    @Timeout(30)
+    void "nested cross-datastore references are loaded while all loading threads are busy"() {
+        given: "batches of reports occupying all loading threads, each referencing several orders with customers from another store"
+        4.times { i ->
+            Mem1Customer customer = metadata.create(Mem1Customer)
+            customer.setName("customer-$i")
+            customer = dataManager.save(customer)
+
+            Db1Order order = metadata.create(Db1Order)
+            order.setOrderDate(new Date())
+            order.setMem1Customer(customer)
+            order = dataManager.save(order)
+
+            MainReport report = metadata.create(MainReport)
+            report.setName("report-$i")
+            report.setDb1Order(order)
+            reports << dataManager.save(report)
+        }
+
+        when:
+        List<MainReport> loadedReports = dataManager.load(MainReport)
+                .ids(reports*.id)
+                .fetchPlan({ builder ->
+                    builder.addFetchPlan("_base")
+                            .add("db1Order", { orderBuilder -> orderBuilder.add("mem1Customer") })
+                })
+                .list()
+
+        then: "nested level is loaded in the threads of the outer level instead of waiting for the pool"
+        loadedReports.size() == 4
+        loadedReports.collect { it.db1Order.mem1Customer.name }.toSet() ==
+                (0..3).collect { "customer-$it".toString() }.toSet()
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package entity_cache
+
+import io.jmix.core.DataManager
+import io.jmix.core.EntityStates
+import io.jmix.core.FetchPlan
+import io.jmix.core.FetchPlans
+import io.jmix.eclipselink.impl.entitycache.QueryCache
+import io.jmix.eclipselink.impl.entitycache.QueryCacheManager
+import io.jmix.eclipselink.impl.entitycache.QueryKey
+import io.jmix.eclipselink.impl.entitycache.QueryResult
+import jakarta.persistence.EntityManagerFactory
+import jakarta.persistence.PersistenceUnit
+import org.springframework.beans.factory.annotation.Autowired
+import test_support.DataSpec
+import test_support.ReadQueryCounter
+import test_support.entity.sales.Customer
+import test_support.entity.sales.Order
+
+class QueryCacheManagerTest extends DataSpec {
+
+    @Autowired
+    QueryCacheManager queryCacheManager
+
+    @Autowired
+    QueryCache queryCache
+
+    @Autowired
+    DataManager dataManager
+
+    @Autowired
+    EntityStates entityStates
+
+    @Autowired
+    FetchPlans fetchPlans
+
+    @PersistenceUnit
+    EntityManagerFactory entityManagerFactory
+
+    ReadQueryCounter queryCounter = new ReadQueryCounter()
+
+    void setup() {
+        queryCounter.register(entityManagerFactory)
+    }
+
+    void cleanup() {
+        queryCounter.unregister(entityManagerFactory)
+        queryCache.invalidateAll()
+    }
+
+    def "cached ids missing in entity cache are loaded by one query keeping order and fetch plan"() {
+        given:
+        def customer = dataManager.create(Customer)
+        customer.name = 'c1'
+        customer = dataManager.save(customer)
+
+        def orders = (1..10).collect {
+            def order = dataManager.create(Order)
+            order.number = "$it"
+            order.customer = customer
+            dataManager.save(order)
+        }
+        def cachedIds = orders.reverse().collect { it.id }
+
+        def queryKey = new QueryKey('select e from sales_Order e', 0, 0, true, false, null, null, [:])
+        queryCache.put(queryKey, new QueryResult(cachedIds, 'sales_Order', ['sales_Order'] as Set))
+
+        def fetchPlan = fetchPlans.builder(Order).addFetchPlan(FetchPlan.LOCAL).add('customer.name').build()
+
+        entityManagerFactory.cache.evictAll()
+
+        when:
+        queryCounter.reset()
+        def loaded = transaction.execute {
+            def result = queryCacheManager.<Order>getResultListFromCache(queryKey, [fetchPlan])
+            assert result.every { entityStates.isLoaded(it, 'customer') && it.customer.name == 'c1' }
+            result
+        }
+
+        then:
+        loaded.collect { it.id } == cachedIds
+        queryCounter.count(Order) == 1
+    }
+}
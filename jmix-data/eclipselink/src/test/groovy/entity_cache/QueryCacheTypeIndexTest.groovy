@@ -0,0 +1,152 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package entity_cache
+
+import io.jmix.eclipselink.impl.entitycache.QueryCache
+import io.jmix.eclipselink.impl.entitycache.QueryKey
+import io.jmix.eclipselink.impl.entitycache.QueryResult
+import io.jmix.eclipselink.impl.entitycache.StandardQueryCache
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.cache.CacheManager
+import org.springframework.test.context.TestPropertySource
+import test_support.DataSpec
+
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+@TestPropertySource(properties = "jmix.eclipselink.queryCacheTypeIndexEnabled=true")
+class QueryCacheTypeIndexTest extends DataSpec {
+
+    @Autowired
+    QueryCache queryCache
+
+    @Autowired
+    CacheManager cacheManager
+
+    void cleanup() {
+        queryCache.invalidateAll()
+    }
+
+    def "invalidation discards only queries related to changed types"() {
+        given:
+        def orderKey = createKey('select e from sales_Order e')
+        def customerKey = createKey('select e from sales_Customer e')
+        def orderWithCustomerKey = createKey('select e from sales_Order e where e.customer.name = :name')
+
+        queryCache.put(orderKey, new QueryResult([], 'sales_Order', ['sales_Order'] as Set))
+        queryCache.put(customerKey, new QueryResult([], 'sales_Customer', ['sales_Customer'] as Set))
+        queryCache.put(orderWithCustomerKey, new QueryResult([], 'sales_Order', ['sales_Order', 'sales_Customer'] as Set))
+
+        def evictedBefore = queryCache.evictionCount
+
+        when:
+        queryCache.invalidate('sales_Customer')
+
+        then:
+        queryCache.get(orderKey) != null
+        queryCache.get(customerKey) == null
+        queryCache.get(orderWithCustomerKey) == null
+        queryCache.evictionCount - evictedBefore == 2
+
+        when:
+        queryCache.invalidate(['sales_Order'] as Set)
+
+        then:
+        queryCache.get(orderKey) == null
+        queryCache.evictionCount - evictedBefore == 3
+    }
+
+    def "hits and misses are counted"() {
+        given:
+        def key = createKey('select e from sales_Product e')
+        def hitsBefore = queryCache.hitCount
+        def missesBefore = queryCache.missCount
+
+        when:
+        queryCache.get(key)
+        queryCache.put(key, new QueryResult([], 'sales_Product', ['sales_Product'] as Set))
+        queryCache.get(key)
+        queryCache.get(key)
+
+        then:
+        queryCache.hitCount - hitsBefore == 2
+        queryCache.missCount - missesBefore == 1
+    }
+
+    def "entries put concurrently with invalidation stay indexed"() {
+        given:
+        def keys = (1..200).collect { createKey("select e from sales_Order e where e.number = '$it'") }
+        def executor = Executors.newFixedThreadPool(4)
+
+        when:
+        keys.each { key ->
+            executor.submit { queryCache.put(key, new QueryResult([], 'sales_Order', ['sales_Order'] as Set)) }
+            executor.submit { queryCache.invalidate('sales_Order') }
+        }
+        executor.shutdown()
+        executor.awaitTermination(30, TimeUnit.SECONDS)
+
+        queryCache.invalidate('sales_Order')
+
+        then:
+        keys.every { queryCache.get(it) == null }
+    }
+
+    def "entries removed by the underlying cache are dropped from the index"() {
+        given:
+        def key = createKey('select e from sales_Customer e')
+        queryCache.put(key, new QueryResult([], 'sales_Customer', ['sales_Customer'] as Set))
+
+        when:
+        cacheManager.getCache(StandardQueryCache.QUERY_CACHE_NAME).evict(key)
+        queryCache.get(key)
+
+        then:
+        !((StandardQueryCache) queryCache).typesByKey.containsKey(key)
+        !((StandardQueryCache) queryCache).keysByType.containsKey('sales_Customer')
+    }
+
+    def "keys evicted by the underlying cache without notification don't accumulate in the index"() {
+        given: "Underlying cache which doesn't notify about evicted entries"
+        def standardQueryCache = (StandardQueryCache) queryCache
+        def cache = cacheManager.getCache(StandardQueryCache.QUERY_CACHE_NAME)
+
+        when: "More entries than the sweep threshold are put and evicted because of the capacity"
+        (1..2500).each {
+            def key = createKey("select e from sales_Order e where e.number = '$it'")
+            queryCache.put(key, new QueryResult([], 'sales_Order', ['sales_Order'] as Set))
+            cache.evict(key)
+        }
+
+        then: "Index is swept"
+        standardQueryCache.typesByKey.size() <= StandardQueryCache.INDEX_SWEEP_MIN_SIZE + 1
+        standardQueryCache.keysByType.getOrDefault('sales_Order', [] as Set).size() <= StandardQueryCache.INDEX_SWEEP_MIN_SIZE + 1
+
+        when: "Evicted key is requested"
+        def key = createKey('select e from sales_Product e')
+        queryCache.put(key, new QueryResult([], 'sales_Product', ['sales_Product'] as Set))
+        cache.evict(key)
+        queryCache.get(key)
+
+        then: "It is removed from the index"
+        !standardQueryCache.typesByKey.containsKey(key)
+    }
+
+    private static QueryKey createKey(String queryString) {
+        new QueryKey(queryString, 0, 0, true, false, null, null, [:])
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package jpql_plan_cache
+
+import io.jmix.core.DataManager
+import io.jmix.data.impl.JpqlPlanCache
+import org.springframework.beans.factory.annotation.Autowired
+import test_support.DataSpec
+import test_support.entity.sales.Customer
+
+class JpqlPlanCacheTest extends DataSpec {
+
+    @Autowired
+    DataManager dataManager
+
+    @Autowired
+    JpqlPlanCache jpqlPlanCache
+
+    Customer customer1, customer2
+
+    @Override
+    void setup() {
+        customer1 = dataManager.create(Customer)
+        customer1.name = 'c1'
+
+        customer2 = dataManager.create(Customer)
+        customer2.name = 'C2'
+
+        dataManager.save(customer1, customer2)
+        jpqlPlanCache.invalidateAll()
+    }
+
+    def "repeated query uses cached plan"() {
+        when:
+        def result1 = dataManager.load(Customer).query('e.name = :name').parameter('name', 'c1').list()
+        def hits = jpqlPlanCache.hitCount
+        def result2 = dataManager.load(Customer).query('e.name = :name').parameter('name', 'c1').list()
+
+        then:
+        result1 == [customer1]
+        result2 == [customer1]
+        jpqlPlanCache.hitCount > hits
+    }
+
+    def "null and case-insensitive parameters are transformed on cache hits"() {
+        def query = 'select e from sales_Customer e where e.name like :name or :name is null'
+
+        when:
+        def all1 = dataManager.load(Customer).query(query).parameter('name', null).list()
+        def all2 = dataManager.load(Customer).query(query).parameter('name', null).list()
+
+        then:
+        all1.toSet() == [customer1, customer2] as Set
+        all2.toSet() == [customer1, customer2] as Set
+
+        when:
+        def filtered1 = dataManager.load(Customer).query(query).parameter('name', '(?i)c2').list()
+        def filtered2 = dataManager.load(Customer).query(query).parameter('name', '(?i)c2').list()
+
+        then:
+        filtered1 == [customer2]
+        filtered2 == [customer2]
+    }
+}
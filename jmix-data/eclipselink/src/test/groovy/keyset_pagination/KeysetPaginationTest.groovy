@@ -0,0 +1,146 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package keyset_pagination
+
+import io.jmix.core.DataManager
+import io.jmix.core.KeysetCursor
+import io.jmix.core.KeysetCursors
+import io.jmix.core.LoadContext
+import io.jmix.core.Metadata
+import io.jmix.core.Sort
+import org.springframework.beans.factory.annotation.Autowired
+import test_support.DataSpec
+import test_support.entity.cars.Colour
+import test_support.entity.sales.Customer
+
+class KeysetPaginationTest extends DataSpec {
+
+    @Autowired
+    DataManager dataManager
+
+    @Autowired
+    KeysetCursors keysetCursors
+
+    @Autowired
+    Metadata metadata
+
+    // sort properties of keyset pagination must be mandatory
+    List<Colour> colours
+
+    @Override
+    void setup() {
+        jdbc.update('delete from CARS_COLOUR')
+        colours = ['a', 'b', 'b', 'b', 'c', 'd', 'd'].collect { name ->
+            def colour = dataManager.create(Colour)
+            colour.name = name
+            colour.description = name == 'c' ? 'dark' : 'light'
+            colour
+        }
+        dataManager.save(*colours)
+    }
+
+    def "pages follow each other without gaps and duplicates"() {
+        def sort = Sort.by(Sort.Order.desc('name'))
+        def expected = dataManager.load(Colour).all()
+                .sort(keysetCursors.getKeysetSort(metadata.getClass(Colour), sort))
+                .list()
+
+        when:
+        List<Colour> loaded = []
+        KeysetCursor cursor = KeysetCursor.START
+        List<Colour> page
+        while (!(page = dataManager.load(Colour).all().sort(sort).after(cursor).maxResults(3).list()).isEmpty()) {
+            loaded.addAll(page)
+            cursor = keysetCursors.create(page.last(), sort)
+        }
+
+        then:
+        loaded.size() == colours.size()
+        loaded == expected
+    }
+
+    def "seek condition is combined with query condition"() {
+        def sort = Sort.by('name')
+
+        when:
+        def first = dataManager.load(Colour)
+                .query('e.description = :description').parameter('description', 'light')
+                .sort(sort).after(KeysetCursor.START).maxResults(4)
+                .list()
+        def second = dataManager.load(Colour)
+                .query('e.description = :description').parameter('description', 'light')
+                .sort(sort).after(keysetCursors.create(first.last(), sort)).maxResults(4)
+                .list()
+
+        then:
+        first.size() == 4
+        first*.name == ['a', 'b', 'b', 'b']
+        second*.name == ['d', 'd']
+    }
+
+    def "count ignores cursor"() {
+        def sort = Sort.by('name')
+        def first = dataManager.load(Colour).all().sort(sort).after(KeysetCursor.START).maxResults(2).list()
+
+        when:
+        LoadContext<Colour> context = new LoadContext<>(metadata.getClass(Colour))
+        context.setQuery(new LoadContext.Query('select e from cars_Colour e')
+                .setSort(sort)
+                .setAfter(keysetCursors.create(first.last(), sort)))
+
+        then:
+        dataManager.getCount(context) == colours.size()
+        dataManager.loadList(context).size() == colours.size() - 2
+    }
+
+    def "cursor is encoded to string and back"() {
+        def sort = Sort.by('name')
+        def cursor = keysetCursors.create(colours[2], sort)
+
+        when:
+        def decoded = keysetCursors.decode(keysetCursors.encode(cursor))
+
+        then:
+        decoded == cursor
+        decoded.values == ['b', colours[2].id]
+        keysetCursors.decode('').is(KeysetCursor.START)
+    }
+
+    def "sort by nullable property is rejected"() {
+        def sort = Sort.by('name')
+
+        when:
+        keysetCursors.getKeysetSort(metadata.getClass(Customer), sort)
+
+        then:
+        thrown(IllegalArgumentException)
+
+        when:
+        dataManager.load(Customer).all().sort(sort).after(KeysetCursor.START).maxResults(2).list()
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def "invalid cursor is rejected"() {
+        when:
+        keysetCursors.decode('not-a-cursor')
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+}
@@ -29,6 +29,7 @@ import org.slf4j.LoggerFactory
 import org.springframework.jdbc.core.JdbcTemplate
 
 import org.springframework.beans.factory.annotation.Autowired
+import spock.util.concurrent.PollingConditions
 import test_support.DataSpec
 import test_support.entity.number_id_generation.NumberIdSingleTableRoot
 
@@ -119,6 +120,81 @@ class NumberIdConcurrencyTest extends DataSpec {
         DataConfigPropertiesAccess.setNumberIdCacheSize(dataProperties, 100)
     }
 
+    def "generating ids with prefetching"() {
+
+        DataConfigPropertiesAccess.setNumberIdCacheSize(dataProperties, 20)
+        DataConfigPropertiesAccess.setNumberIdCachePrefetchEnabled(dataProperties, true)
+        numberIdCache.reset()
+
+        when:
+
+        generateSomeEntities(500)
+
+        then:
+
+        countEntities() == 500
+
+        cleanup:
+
+        DataConfigPropertiesAccess.setNumberIdCachePrefetchEnabled(dataProperties, false)
+        DataConfigPropertiesAccess.setNumberIdCacheSize(dataProperties, 100)
+    }
+
+    def "prefetching requests the next block in background and keeps ids contiguous"() {
+
+        DataConfigPropertiesAccess.setNumberIdCacheSize(dataProperties, 20)
+        DataConfigPropertiesAccess.setNumberIdCachePrefetchEnabled(dataProperties, true)
+        numberIdCache.reset()
+
+        def conditions = new PollingConditions(timeout: 5)
+
+        when: "more than half of the first block is used"
+
+        List<Long> ids = [numberIdCache.createLongId('test$NumberIdSingleTableRoot')]
+        long firstBlockSequenceValue = getCurrentSequenceValue()
+        10.times { ids << numberIdCache.createLongId('test$NumberIdSingleTableRoot') }
+
+        then: "the next block is requested without waiting for the first one to be used up"
+
+        conditions.eventually {
+            assert getCurrentSequenceValue() == firstBlockSequenceValue + 20
+        }
+
+        when: "the first block is used up"
+
+        29.times { ids << numberIdCache.createLongId('test$NumberIdSingleTableRoot') }
+
+        then: "ids continue from the prefetched block as with the non-prefetching cache"
+
+        ids == (ids[0]..(ids[0] + 39)).toList()
+
+        cleanup:
+
+        DataConfigPropertiesAccess.setNumberIdCachePrefetchEnabled(dataProperties, false)
+        DataConfigPropertiesAccess.setNumberIdCacheSize(dataProperties, 100)
+    }
+
+    def "prefetching requests more blocks when ids are used up quickly"() {
+
+        DataConfigPropertiesAccess.setNumberIdCacheSize(dataProperties, 20)
+        DataConfigPropertiesAccess.setNumberIdCachePrefetchEnabled(dataProperties, true)
+        numberIdCache.reset()
+
+        when:
+
+        def ids = (1..200).collect { numberIdCache.createLongId('test$NumberIdSingleTableRoot') }
+
+        then:
+
+        ids.toSet().size() == 200
+        numberIdCache.cache['test$NumberIdSingleTableRoot'].prefetchBlockCount > 1
+
+        cleanup:
+
+        DataConfigPropertiesAccess.setNumberIdCachePrefetchEnabled(dataProperties, false)
+        DataConfigPropertiesAccess.setNumberIdCacheSize(dataProperties, 100)
+    }
+
     def "generate with zero size cache"() {
         DataConfigPropertiesAccess.setNumberIdCacheSize(dataProperties, 0)
 
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package test_support
+
+import jakarta.persistence.EntityManagerFactory
+import org.eclipse.persistence.jpa.JpaEntityManagerFactory
+import org.eclipse.persistence.queries.ObjectLevelReadQuery
+import org.eclipse.persistence.sessions.SessionEvent
+import org.eclipse.persistence.sessions.SessionEventAdapter
+
+/**
+ * Counts read queries executed by the EclipseLink server session per entity class.
+ */
+class ReadQueryCounter extends SessionEventAdapter {
+
+    private Map<Class, Integer> counts = [:].asSynchronized()
+
+    void register(EntityManagerFactory entityManagerFactory) {
+        entityManagerFactory.unwrap(JpaEntityManagerFactory).serverSession.eventManager.addListener(this)
+    }
+
+    void unregister(EntityManagerFactory entityManagerFactory) {
+        entityManagerFactory.unwrap(JpaEntityManagerFactory).serverSession.eventManager.removeListener(this)
+    }
+
+    @Override
+    void postExecuteQuery(SessionEvent event) {
+        if (event.query instanceof ObjectLevelReadQuery) {
+            Class referenceClass = ((ObjectLevelReadQuery) event.query).referenceClass
+            counts[referenceClass] = (counts[referenceClass] ?: 0) + 1
+        }
+    }
+
+    int count(Class entityClass) {
+        counts[entityClass] ?: 0
+    }
+
+    void reset() {
+        counts.clear()
+    }
+}
@@ -24,4 +24,8 @@ public class DataConfigPropertiesAccess {
     public static void setNumberIdCacheSize(DataProperties properties, int value) {
         properties.numberIdCacheSize = value;
     }
+
+    public static void setNumberIdCachePrefetchEnabled(DataProperties properties, boolean value) {
+        properties.numberIdCachePrefetchEnabled = value;
+    }
 }
@@ -23,13 +23,14 @@ import io.jmix.core.datastore.*;
 import io.jmix.core.entity.EntityValues;
 import io.jmix.dynattr.DynAttrManager;
 import io.jmix.dynattr.DynAttrQueryHints;
-import io.jmix.dynattr.DynamicAttributes;
 import io.jmix.dynattr.DynamicAttributesState;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Map;
-import java.util.Objects;
 
 import static io.jmix.core.entity.EntitySystemAccess.getExtraState;
 
@@ -60,20 +61,24 @@ public class DynAttrLifecycleListener implements DataStoreEventListener, DataSto
         LoadContext<?> loadContext = event.getLoadContext();
         SaveContext saveContext = event.getSaveContext();
 
-        Object entity = saveContext.getEntitiesToSave().stream()
-                .filter(e -> Objects.equals(EntityValues.getId(e), loadContext.getId()))
-                .findFirst()
-                .orElse(null);
+        Collection<?> ids = loadContext.getIds().isEmpty()
+                ? Collections.singletonList(loadContext.getId())
+                : new HashSet<>(loadContext.getIds());
 
-        DynamicAttributesState state = getExtraState(entity, DynamicAttributesState.class);
-        if (state != null) {
-            DynamicAttributes dynamicAttributes = state.getDynamicAttributes();
-            if (dynamicAttributes != null) {
-                loadContext.setHint(DynAttrQueryHints.LOAD_DYN_ATTR, true);
-            }
+        boolean hasDynamicAttributes = saveContext.getEntitiesToSave().stream()
+                .filter(e -> ids.contains(EntityValues.getId(e)))
+                .anyMatch(this::hasDynamicAttributes);
+
+        if (hasDynamicAttributes) {
+            loadContext.setHint(DynAttrQueryHints.LOAD_DYN_ATTR, true);
         }
     }
 
+    protected boolean hasDynamicAttributes(Object entity) {
+        DynamicAttributesState state = getExtraState(entity, DynamicAttributesState.class);
+        return state != null && state.getDynamicAttributes() != null;
+    }
+
     @Override
     public void customize(DataStore dataStore) {
         if (dataStore instanceof AbstractDataStore) {
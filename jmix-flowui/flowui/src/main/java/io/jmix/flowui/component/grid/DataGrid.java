@@ -19,6 +19,8 @@ package io.jmix.flowui.component.grid;
 import com.vaadin.flow.component.grid.Grid;
 import com.vaadin.flow.component.grid.GridSelectionModel;
 import com.vaadin.flow.component.grid.dataview.GridDataView;
+import com.vaadin.flow.component.grid.dataview.GridLazyDataView;
+import com.vaadin.flow.data.provider.BackEndDataProvider;
 import com.vaadin.flow.data.provider.DataProvider;
 import com.vaadin.flow.data.renderer.Renderer;
 import com.vaadin.flow.data.selection.SelectionListener;
@@ -75,14 +77,23 @@ public class DataGrid<E> extends JmixGrid<E> implements ListDataComponent<E>, Mu
         return applicationContext.getBean(GridDelegate.class, this);
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public GridDataView<E> setItems(DataProvider<E, Void> dataProvider) {
+        bindDataProvider(dataProvider);
+        return super.setItems(dataProvider);
+    }
+
+    @Override
+    public GridLazyDataView<E> setItems(BackEndDataProvider<E, Void> dataProvider) {
+        bindDataProvider(dataProvider);
+        return super.setItems(dataProvider);
+    }
+
+    @SuppressWarnings("unchecked")
+    protected void bindDataProvider(DataProvider<E, ?> dataProvider) {
         if (dataProvider instanceof DataGridItems) {
             gridDelegate.setItems((DataGridItems<E>) dataProvider);
         }
-
-        return super.setItems(dataProvider);
     }
 
     @Nullable
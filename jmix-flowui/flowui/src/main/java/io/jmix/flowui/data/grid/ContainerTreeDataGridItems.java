@@ -24,14 +24,42 @@ import io.jmix.flowui.data.BindingState;
 import io.jmix.flowui.model.CollectionContainer;
 
 import org.springframework.lang.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+/**
+ * Tree data grid items which take the items from a {@link CollectionContainer}. The hierarchy is defined by
+ * a reference property pointing to the parent item.
+ * <p>
+ * Children of items are kept in an index which is built on the first request and then updated
+ * on changes of the container's collection and of the hierarchy property of items.
+ *
+ * @param <E> entity type
+ */
 public class ContainerTreeDataGridItems<E> extends ContainerDataGridItems<E>
         implements TreeDataGridItems<E>, HierarchicalDataProvider<E, Void> {
 
     protected final String hierarchyProperty;
     protected final boolean showOrphans;
 
+    /**
+     * Children of items by parent id. Children of the {@code null} key are items without a parent.
+     * The index is rebuilt on the next request if the field is {@code null}.
+     */
+    protected Map<Object, List<E>> childrenIndex;
+    /**
+     * Parent ids of indexed items by their ids.
+     */
+    protected Map<Object, Object> parentIdIndex;
+    protected List<E> rootItems;
+
     public ContainerTreeDataGridItems(CollectionContainer<E> container,
                                       String hierarchyProperty) {
         this(container, hierarchyProperty, true);
@@ -46,6 +74,24 @@ public class ContainerTreeDataGridItems<E> extends ContainerDataGridItems<E>
         this.showOrphans = showOrphans;
     }
 
+    @Override
+    protected void containerCollectionChanged(CollectionContainer.CollectionChangeEvent<E> event) {
+        updateIndex(event);
+
+        super.containerCollectionChanged(event);
+    }
+
+    @Override
+    protected void containerItemPropertyChanged(CollectionContainer.ItemPropertyChangeEvent<E> event) {
+        if (hierarchyProperty.equals(event.getProperty()) && childrenIndex != null) {
+            unindexItem(EntityValues.getId(event.getItem()));
+            insertIndexedItem(event.getItem());
+            rootItems = null;
+        }
+
+        super.containerItemPropertyChanged(event);
+    }
+
     @Override
     public int getChildCount(HierarchicalQuery<E, Void> query) {
         if (getState() == BindingState.INACTIVE) {
@@ -69,29 +115,15 @@ public class ContainerTreeDataGridItems<E> extends ContainerDataGridItems<E>
 
     public Stream<E> getChildren(@Nullable E item) {
         if (item == null) {
-            // root items
-            return container.getItems().stream()
-                    .filter(it -> {
-                        E parentItem = EntityValues.getValue(it, hierarchyProperty);
-                        return parentItem == null
-                                || (showOrphans && container.getItemOrNull(EntityValues.getId(parentItem)) == null);
-                    });
+            return getRootItems().stream();
         } else {
-            return container.getItems().stream()
-                    .filter(it -> {
-                        E parentItem = EntityValues.getValue(it, hierarchyProperty);
-                        return parentItem != null && parentItem.equals(item);
-                    });
+            return getIndexedChildren(EntityValues.getId(item)).stream();
         }
     }
 
     @Override
     public boolean hasChildren(E item) {
-        return container.getItems().stream()
-                .anyMatch(it -> {
-                    E parentItem = EntityValues.getValue(it, hierarchyProperty);
-                    return parentItem != null && parentItem.equals(item);
-                });
+        return !getIndexedChildren(EntityValues.getId(item)).isEmpty();
     }
 
     public int getLevel(E item) {
@@ -113,4 +145,134 @@ public class ContainerTreeDataGridItems<E> extends ContainerDataGridItems<E>
         Preconditions.checkNotNullArgument(item);
         return EntityValues.getValue(item, hierarchyProperty);
     }
+
+    @Nullable
+    protected Object getParentId(E item) {
+        E parentItem = getParent(item);
+        return parentItem != null ? EntityValues.getId(parentItem) : null;
+    }
+
+    protected List<E> getRootItems() {
+        if (rootItems == null) {
+            if (showOrphans) {
+                rootItems = container.getItems().stream()
+                        .filter(it -> {
+                            Object parentId = getParentId(it);
+                            return parentId == null || container.getItemOrNull(parentId) == null;
+                        })
+                        .collect(Collectors.toList());
+            } else {
+                rootItems = new ArrayList<>(getIndexedChildren(null));
+            }
+        }
+        return rootItems;
+    }
+
+    protected List<E> getIndexedChildren(@Nullable Object parentId) {
+        if (childrenIndex == null) {
+            buildIndex();
+        }
+        return childrenIndex.getOrDefault(parentId, Collections.emptyList());
+    }
+
+    protected void buildIndex() {
+        childrenIndex = new HashMap<>();
+        parentIdIndex = new HashMap<>();
+        for (E item : container.getItems()) {
+            indexItem(item);
+        }
+    }
+
+    protected void indexItem(E item) {
+        Object parentId = getParentId(item);
+        childrenIndex.computeIfAbsent(parentId, id -> new ArrayList<>()).add(item);
+        parentIdIndex.put(EntityValues.getId(item), parentId);
+    }
+
+    /**
+     * Adds the item to the index at the position corresponding to its position in the container.
+     */
+    protected void insertIndexedItem(E item) {
+        Object parentId = getParentId(item);
+        List<E> children = childrenIndex.computeIfAbsent(parentId, id -> new ArrayList<>());
+
+        // children are kept in the order of the container, so the position can be found by binary search
+        int itemIndex = container.getItemIndex(EntityValues.getId(item));
+        int low = 0;
+        int high = children.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (container.getItemIndex(EntityValues.getId(children.get(mid))) < itemIndex) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        children.add(low, item);
+        parentIdIndex.put(EntityValues.getId(item), parentId);
+    }
+
+    protected void unindexItem(Object itemId) {
+        if (!parentIdIndex.containsKey(itemId)) {
+            return;
+        }
+
+        Object parentId = parentIdIndex.remove(itemId);
+        List<E> children = childrenIndex.get(parentId);
+        if (children != null) {
+            children.removeIf(it -> itemId.equals(EntityValues.getId(it)));
+            if (children.isEmpty()) {
+                childrenIndex.remove(parentId);
+            }
+        }
+    }
+
+    protected void updateIndex(CollectionContainer.CollectionChangeEvent<E> event) {
+        rootItems = null;
+        if (childrenIndex == null) {
+            return;
+        }
+
+        Collection<? extends E> changes = event.getChanges();
+        switch (event.getChangeType()) {
+            case ADD_ITEMS:
+                changes.forEach(this::insertIndexedItem);
+                break;
+            case REMOVE_ITEMS:
+                changes.forEach(it -> unindexItem(EntityValues.getId(it)));
+                break;
+            case SET_ITEM:
+                changes.forEach(this::reindexItem);
+                break;
+            default:
+                // the whole collection is replaced or sorted
+                childrenIndex = null;
+                parentIdIndex = null;
+                return;
+        }
+
+        if (parentIdIndex.size() != container.getItems().size()) {
+            // an item is replaced by an item with another id
+            childrenIndex = null;
+            parentIdIndex = null;
+        }
+    }
+
+    protected void reindexItem(E item) {
+        Object itemId = EntityValues.getId(item);
+        Object parentId = getParentId(item);
+        if (parentIdIndex.containsKey(itemId) && Objects.equals(parentIdIndex.get(itemId), parentId)) {
+            // replace the instance keeping its position among the children
+            List<E> children = childrenIndex.get(parentId);
+            for (int i = 0; i < children.size(); i++) {
+                if (itemId.equals(EntityValues.getId(children.get(i)))) {
+                    children.set(i, item);
+                    break;
+                }
+            }
+        } else {
+            unindexItem(itemId);
+            insertIndexedItem(item);
+        }
+    }
 }
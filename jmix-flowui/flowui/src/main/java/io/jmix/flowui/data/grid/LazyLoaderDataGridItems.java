@@ -0,0 +1,270 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.flowui.data.grid;
+
+import com.vaadin.flow.data.provider.BackEndDataProvider;
+import com.vaadin.flow.data.provider.Query;
+import com.vaadin.flow.data.provider.QuerySortOrder;
+import com.vaadin.flow.data.provider.SortDirection;
+import io.jmix.core.DataManager;
+import io.jmix.core.LoadContext;
+import io.jmix.core.Sort;
+import io.jmix.core.entity.EntityValues;
+import io.jmix.flowui.data.BindingState;
+import io.jmix.flowui.model.CollectionContainer;
+import io.jmix.flowui.model.CollectionLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Scope;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Data grid items which load only the pages requested by the grid instead of loading all entities into
+ * the container.
+ * <p>
+ * Pages are loaded using the query, condition, parameters and sort of the {@link CollectionLoader} with
+ * the offset and limit requested by the grid. Only the last {@link #getCachedPagesCount()} pages are kept in memory.
+ * The container contains entities of these pages and the selected entity, so actions working with the container
+ * can be used with the grid.
+ * <p>
+ * Loading all entities by the loader, e.g. when a filter is applied, is prevented: the grid is refreshed instead.
+ * The total number of entities is loaded by a count query when the grid requests it and is kept until the next
+ * refresh. The count query can be avoided by
+ * {@code dataGrid.getLazyDataView().setItemCountEstimate()} or {@code setItemCountUnknown()}.
+ *
+ * @param <T> entity type
+ */
+@Component("flowui_LazyLoaderDataGridItems")
+@Scope(BeanDefinition.SCOPE_PROTOTYPE)
+public class LazyLoaderDataGridItems<T> extends ContainerDataGridItems<T> implements BackEndDataProvider<T, Void> {
+
+    private static final Logger log = LoggerFactory.getLogger(LazyLoaderDataGridItems.class);
+
+    public static final int DEFAULT_CACHED_PAGES_COUNT = 3;
+
+    protected DataManager dataManager;
+
+    protected CollectionLoader<T> loader;
+
+    protected int cachedPagesCount = DEFAULT_CACHED_PAGES_COUNT;
+    protected Map<PageKey, List<T>> pages = new LinkedHashMap<>(16, 0.75f, true);
+    protected Integer count;
+
+    protected boolean updatingContainer;
+
+    public LazyLoaderDataGridItems(CollectionLoader<T> loader) {
+        super(loader.getContainer());
+
+        this.loader = loader;
+        loader.addPreLoadListener(this::onLoaderPreLoad);
+    }
+
+    @Autowired
+    public void setDataManager(DataManager dataManager) {
+        this.dataManager = dataManager;
+    }
+
+    /**
+     * @return the loader which parameters are used to load pages
+     */
+    public CollectionLoader<T> getLoader() {
+        return loader;
+    }
+
+    /**
+     * @return max number of loaded pages kept in memory
+     */
+    public int getCachedPagesCount() {
+        return cachedPagesCount;
+    }
+
+    /**
+     * Sets max number of loaded pages kept in memory. The default value is {@link #DEFAULT_CACHED_PAGES_COUNT}.
+     */
+    public void setCachedPagesCount(int cachedPagesCount) {
+        if (cachedPagesCount < 1) {
+            throw new IllegalArgumentException("Cached pages count must be positive");
+        }
+        this.cachedPagesCount = cachedPagesCount;
+    }
+
+    /**
+     * Discards loaded pages and the total count and refreshes the grid.
+     */
+    public void refresh() {
+        count = null;
+        clearPages();
+    }
+
+    protected void onLoaderPreLoad(CollectionLoader.PreLoadEvent<T> event) {
+        event.preventLoad();
+        refresh();
+    }
+
+    @Override
+    protected void containerCollectionChanged(CollectionContainer.CollectionChangeEvent<T> event) {
+        if (updatingContainer) {
+            return;
+        }
+        // entities are added, removed or replaced by actions, so they are reloaded with the current page
+        count = null;
+        pages.clear();
+        super.containerCollectionChanged(event);
+    }
+
+    @Override
+    public boolean isInMemory() {
+        return false;
+    }
+
+    @Override
+    public int size(Query<T, Void> query) {
+        if (getState() == BindingState.INACTIVE) {
+            return 0;
+        }
+        if (count == null) {
+            count = loadCount();
+        }
+        return count;
+    }
+
+    @Override
+    public Stream<T> fetch(Query<T, Void> query) {
+        if (getState() == BindingState.INACTIVE) {
+            return Stream.empty();
+        }
+
+        PageKey key = new PageKey(query.getOffset(), query.getLimit());
+
+        List<T> page = pages.get(key);
+        if (page == null) {
+            page = loadPage(key.offset, key.limit);
+            pages.put(key, page);
+            while (pages.size() > cachedPagesCount) {
+                pages.remove(pages.keySet().iterator().next());
+            }
+            updateContainer();
+        }
+        return page.stream();
+    }
+
+    @Override
+    public void setSortOrders(List<QuerySortOrder> sortOrders) {
+        List<Sort.Order> orders = sortOrders.stream()
+                .map(sortOrder -> sortOrder.getDirection() == SortDirection.ASCENDING
+                        ? Sort.Order.asc(sortOrder.getSorted())
+                        : Sort.Order.desc(sortOrder.getSorted()))
+                .collect(Collectors.toList());
+        loader.setSort(orders.isEmpty() ? Sort.UNSORTED : Sort.by(orders));
+        clearPages();
+    }
+
+    @Override
+    public void sort(Object[] propertyId, boolean[] ascending) {
+        loader.setSort(createSort(propertyId, ascending));
+        clearPages();
+    }
+
+    @Override
+    public void resetSortOrder() {
+        loader.setSort(Sort.UNSORTED);
+        clearPages();
+    }
+
+    protected void clearPages() {
+        pages.clear();
+        updateContainer();
+        getEventBus().fireEvent(new ItemSetChangeEvent<>(this));
+    }
+
+    protected List<T> loadPage(int offset, int limit) {
+        LoadContext<T> loadContext = loader.createLoadContext();
+        loadContext.getQuery().setFirstResult(offset);
+        loadContext.getQuery().setMaxResults(limit);
+
+        log.debug("Loading {} entities from {} of {}", limit, offset, getEntityMetaClass().getName());
+
+        Function<LoadContext<T>, List<T>> delegate = loader.getLoadDelegate();
+        return delegate != null ? delegate.apply(loadContext) : dataManager.loadList(loadContext);
+    }
+
+    protected int loadCount() {
+        LoadContext<T> loadContext = loader.createLoadContext();
+        loadContext.getQuery().setFirstResult(0);
+        loadContext.getQuery().setMaxResults(0);
+        return Math.toIntExact(dataManager.getCount(loadContext));
+    }
+
+    /**
+     * Sets entities of the cached pages and the selected entity to the container.
+     */
+    protected void updateContainer() {
+        Map<Object, T> items = new LinkedHashMap<>();
+        for (List<T> page : pages.values()) {
+            for (T item : page) {
+                items.putIfAbsent(EntityValues.getId(item), item);
+            }
+        }
+        T selectedItem = container.getItemOrNull();
+        if (selectedItem != null) {
+            items.putIfAbsent(EntityValues.getId(selectedItem), selectedItem);
+        }
+
+        updatingContainer = true;
+        try {
+            container.setItems(new ArrayList<>(items.values()));
+        } finally {
+            updatingContainer = false;
+        }
+    }
+
+    protected static class PageKey {
+
+        protected final int offset;
+        protected final int limit;
+
+        protected PageKey(int offset, int limit) {
+            this.offset = offset;
+            this.limit = limit;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            PageKey pageKey = (PageKey) o;
+            return offset == pageKey.offset && limit == pageKey.limit;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(offset, limit);
+        }
+    }
+}
@@ -0,0 +1,331 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.flowui.data.grid;
+
+import com.google.common.collect.Lists;
+import com.vaadin.flow.data.provider.hierarchy.HierarchicalQuery;
+import io.jmix.core.DataManager;
+import io.jmix.core.FetchPlans;
+import io.jmix.core.LoadContext;
+import io.jmix.core.MetadataTools;
+import io.jmix.core.ValueLoadContext;
+import io.jmix.core.entity.EntityValues;
+import io.jmix.core.entity.KeyValueEntity;
+import io.jmix.core.querycondition.Condition;
+import io.jmix.core.querycondition.LogicalCondition;
+import io.jmix.core.querycondition.PropertyCondition;
+import io.jmix.flowui.data.BindingState;
+import io.jmix.flowui.model.CollectionContainer;
+import io.jmix.flowui.model.CollectionLoader;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Scope;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.Serializable;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Tree data grid items which load children of an item only when the item is expanded.
+ * <p>
+ * Loading all entities by the loader is replaced by loading the root items, i.e. the items having
+ * no parent. Children are loaded using the query, condition, parameters and sort of the loader with
+ * an additional condition by the hierarchy property. Loaded items are added to the container, so actions
+ * working with the container can be used with the tree.
+ * <p>
+ * Whether an item has children is checked for all items of a loaded level at once: distinct parent ids of their
+ * children are loaded by a value query with the same query, condition and parameters in batches of
+ * {@link #getParentIdsBatchSize()} items. If the loader has a load delegate or its query doesn't select
+ * the entity, the children are loaded by the loader with only the hierarchy property instead.
+ *
+ * @param <E> entity type
+ */
+@Component("flowui_LazyLoaderTreeDataGridItems")
+@Scope(BeanDefinition.SCOPE_PROTOTYPE)
+public class LazyLoaderTreeDataGridItems<E> extends ContainerTreeDataGridItems<E> {
+
+    private static final Logger log = LoggerFactory.getLogger(LazyLoaderTreeDataGridItems.class);
+
+    protected static final String PARENT_ID_PROPERTY = "parentId";
+
+    protected static final Pattern SELECT_ENTITY_PATTERN =
+            Pattern.compile("^\\s*select\\s+(\\w+)\\s+from\\s", Pattern.CASE_INSENSITIVE);
+    protected static final Pattern ORDER_BY_PATTERN = Pattern.compile("\\sorder\\s+by\\s", Pattern.CASE_INSENSITIVE);
+
+    protected DataManager dataManager;
+    protected FetchPlans fetchPlans;
+    protected MetadataTools metadataTools;
+
+    protected CollectionLoader<E> loader;
+
+    /**
+     * Ids of items which children are loaded.
+     */
+    protected Set<Object> loadedParentIds = new HashSet<>();
+    /**
+     * Ids of loaded items having children.
+     */
+    protected Set<Object> parentIds = new HashSet<>();
+
+    protected boolean loadingChildren;
+
+    protected int parentIdsBatchSize = 500;
+
+    public LazyLoaderTreeDataGridItems(CollectionLoader<E> loader, String hierarchyProperty) {
+        super(loader.getContainer(), hierarchyProperty, false);
+
+        this.loader = loader;
+        loader.addPreLoadListener(this::onLoaderPreLoad);
+    }
+
+    @Autowired
+    public void setDataManager(DataManager dataManager) {
+        this.dataManager = dataManager;
+    }
+
+    @Autowired
+    public void setFetchPlans(FetchPlans fetchPlans) {
+        this.fetchPlans = fetchPlans;
+    }
+
+    @Autowired
+    public void setMetadataTools(MetadataTools metadataTools) {
+        this.metadataTools = metadataTools;
+    }
+
+    /**
+     * @return the loader which parameters are used to load items
+     */
+    public CollectionLoader<E> getLoader() {
+        return loader;
+    }
+
+    /**
+     * @return max number of items which children are checked by one query
+     */
+    public int getParentIdsBatchSize() {
+        return parentIdsBatchSize;
+    }
+
+    /**
+     * Sets max number of items which children are checked by one query. The default value is 500.
+     *
+     * @throws IllegalArgumentException if the value is not positive
+     */
+    public void setParentIdsBatchSize(int parentIdsBatchSize) {
+        if (parentIdsBatchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + parentIdsBatchSize);
+        }
+        this.parentIdsBatchSize = parentIdsBatchSize;
+    }
+
+    /**
+     * Discards loaded items and loads the root items.
+     */
+    public void refresh() {
+        loadedParentIds.clear();
+
+        List<E> items = loadItems(null);
+        parentIds = loadParentIds(items);
+        container.setItems(items);
+    }
+
+    protected void onLoaderPreLoad(CollectionLoader.PreLoadEvent<E> event) {
+        event.preventLoad();
+        refresh();
+    }
+
+    @Override
+    protected void containerCollectionChanged(CollectionContainer.CollectionChangeEvent<E> event) {
+        if (loadingChildren) {
+            // the grid is requesting the children, so it is already aware of them
+            updateIndex(event);
+            return;
+        }
+
+        super.containerCollectionChanged(event);
+    }
+
+    @Override
+    public Stream<E> fetchChildren(HierarchicalQuery<E, Void> query) {
+        if (getState() != BindingState.INACTIVE && query.getParent() != null) {
+            loadChildren(query.getParent());
+        }
+
+        return super.fetchChildren(query);
+    }
+
+    @Override
+    public boolean hasChildren(E item) {
+        Object itemId = EntityValues.getId(item);
+        if (loadedParentIds.contains(itemId)) {
+            return super.hasChildren(item);
+        }
+        return parentIds.contains(itemId) || super.hasChildren(item);
+    }
+
+    protected void loadChildren(E parent) {
+        Object parentId = EntityValues.getId(parent);
+        if (!loadedParentIds.add(parentId)) {
+            return;
+        }
+
+        List<E> children = loadItems(parent);
+        parentIds.addAll(loadParentIds(children));
+
+        // children could be added to the container before, e.g. by an action
+        List<E> newChildren = children.stream()
+                .filter(it -> !container.containsItem(it))
+                .collect(Collectors.toList());
+        if (newChildren.isEmpty()) {
+            return;
+        }
+
+        loadingChildren = true;
+        try {
+            container.getMutableItems().addAll(newChildren);
+        } finally {
+            loadingChildren = false;
+        }
+    }
+
+    protected List<E> loadItems(@Nullable E parent) {
+        Condition hierarchyCondition = parent == null
+                ? PropertyCondition.isSet(hierarchyProperty, false)
+                : PropertyCondition.equal(hierarchyProperty, parent);
+
+        log.debug("Loading children of {} of {}", parent, getEntityMetaClass().getName());
+
+        return load(createLoadContext(hierarchyCondition));
+    }
+
+    /**
+     * Returns ids of the given items having children which match the loader's query and condition.
+     */
+    protected Set<Object> loadParentIds(List<E> items) {
+        Set<Object> result = new HashSet<>();
+        for (List<E> batch : Lists.partition(items, parentIdsBatchSize)) {
+            LoadContext<E> loadContext = createLoadContext(PropertyCondition.inList(hierarchyProperty, batch));
+            loadContext.getQuery().setSort(null);
+
+            ValueLoadContext valueLoadContext = loader.getLoadDelegate() == null
+                    ? createParentIdsLoadContext(loadContext)
+                    : null;
+            if (valueLoadContext != null) {
+                for (KeyValueEntity value : dataManager.loadValues(valueLoadContext)) {
+                    result.add(value.getValue(PARENT_ID_PROPERTY));
+                }
+            } else {
+                loadContext.setFetchPlan(fetchPlans.builder(getEntityMetaClass().getJavaClass())
+                        .add(hierarchyProperty, builder -> {
+                        })
+                        .build());
+                for (E child : load(loadContext)) {
+                    result.add(getParentId(child));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Creates a context of the value query selecting distinct parent ids of the children matching the given
+     * load context, or returns null if the query of the load context cannot be converted.
+     */
+    @Nullable
+    protected ValueLoadContext createParentIdsLoadContext(LoadContext<E> loadContext) {
+        LoadContext.Query query = loadContext.getQuery();
+        String queryString = query.getQueryString();
+        Matcher selectMatcher = SELECT_ENTITY_PATTERN.matcher(queryString);
+        if (!selectMatcher.find()) {
+            return null;
+        }
+        String alias = selectMatcher.group(1);
+        String parentIdPath = alias + "." + hierarchyProperty + "."
+                + metadataTools.getPrimaryKeyName(getEntityMetaClass());
+        String valueQueryString = "select distinct " + parentIdPath + " from "
+                + removeOrderBy(queryString.substring(selectMatcher.end()));
+
+        ValueLoadContext valueLoadContext = ValueLoadContext.create()
+                .setStoreName(getEntityMetaClass().getStore().getName())
+                .setQuery(new ValueLoadContext.Query(valueQueryString)
+                        .setCondition(query.getCondition())
+                        .setParameters(query.getParameters()))
+                .addProperty(PARENT_ID_PROPERTY);
+        loadContext.getHints().forEach((name, value) -> {
+            if (value instanceof Serializable) {
+                valueLoadContext.setHint(name, (Serializable) value);
+            }
+        });
+        return valueLoadContext;
+    }
+
+    /**
+     * Removes the order by clause of the main query, as distinct values cannot be sorted by not selected
+     * expressions.
+     */
+    protected String removeOrderBy(String queryString) {
+        Matcher matcher = ORDER_BY_PATTERN.matcher(queryString);
+        int orderByStart = -1;
+        while (matcher.find()) {
+            orderByStart = matcher.start();
+        }
+        if (orderByStart < 0) {
+            return queryString;
+        }
+        String orderBy = queryString.substring(orderByStart);
+        // order by of a subquery is followed by the closing parenthesis
+        if (StringUtils.countMatches(orderBy, '(') != StringUtils.countMatches(orderBy, ')')) {
+            return queryString;
+        }
+        return queryString.substring(0, orderByStart);
+    }
+
+    /**
+     * Creates a load context with the query, condition and parameters of the loader
+     * and the given additional condition.
+     */
+    protected LoadContext<E> createLoadContext(Condition additionalCondition) {
+        LoadContext<E> loadContext = loader.createLoadContext();
+        LoadContext.Query query = loadContext.getQuery();
+        query.setFirstResult(0);
+        query.setMaxResults(0);
+
+        Condition condition = query.getCondition();
+        query.setCondition(condition == null
+                ? additionalCondition
+                : LogicalCondition.and(condition, additionalCondition));
+        return loadContext;
+    }
+
+    protected List<E> load(LoadContext<E> loadContext) {
+        Function<LoadContext<E>, List<E>> delegate = loader.getLoadDelegate();
+        return delegate != null ? delegate.apply(loadContext) : dataManager.loadList(loadContext);
+    }
+}
@@ -19,6 +19,9 @@ package io.jmix.flowui.xml.layout.loader.component;
 import io.jmix.flowui.component.grid.DataGrid;
 import io.jmix.flowui.data.grid.ContainerDataGridItems;
 import io.jmix.flowui.data.grid.EmptyDataGridItems;
+import io.jmix.flowui.data.grid.LazyLoaderDataGridItems;
+import io.jmix.flowui.exception.GuiDevelopmentException;
+import io.jmix.flowui.model.CollectionLoader;
 
 public class DataGridLoader extends AbstractGridLoader<DataGrid<?>> {
 
@@ -31,9 +34,22 @@ public class DataGridLoader extends AbstractGridLoader<DataGrid<?>> {
     @Override
     protected void setupDataProvider(GridDataHolder holder) {
         if (holder.getContainer() != null) {
-            resultComponent.setItems(new ContainerDataGridItems(holder.getContainer()));
+            if (loadBoolean(element, "lazyLoading").orElse(false)) {
+                resultComponent.setItems(createLazyDataGridItems(holder));
+            } else {
+                resultComponent.setItems(new ContainerDataGridItems(holder.getContainer()));
+            }
         } else if (holder.getMetaClass() != null) {
             resultComponent.setItems(new EmptyDataGridItems(holder.getMetaClass()));
         }
     }
+
+    @SuppressWarnings("rawtypes")
+    protected LazyLoaderDataGridItems createLazyDataGridItems(GridDataHolder holder) {
+        if (!(holder.getDataLoader() instanceof CollectionLoader)) {
+            throw new GuiDevelopmentException("Lazy loading requires a container with CollectionLoader",
+                    context, "Component ID", element.attributeValue("id"));
+        }
+        return applicationContext.getBean(LazyLoaderDataGridItems.class, holder.getDataLoader());
+    }
 }
@@ -23,7 +23,9 @@ import io.jmix.core.metamodel.model.MetaPropertyPath;
 import io.jmix.flowui.component.grid.TreeDataGrid;
 import io.jmix.flowui.data.grid.ContainerTreeDataGridItems;
 import io.jmix.flowui.data.grid.EmptyTreeDataGridItems;
+import io.jmix.flowui.data.grid.LazyLoaderTreeDataGridItems;
 import io.jmix.flowui.exception.GuiDevelopmentException;
+import io.jmix.flowui.model.CollectionLoader;
 
 public class TreeDataGridLoader extends AbstractGridLoader<TreeDataGrid<?>> {
 
@@ -51,7 +53,9 @@ public class TreeDataGridLoader extends AbstractGridLoader<TreeDataGrid<?>> {
                         )
                 );
 
-        if (holder.getContainer() != null) {
+        if (holder.getContainer() != null && loadBoolean(element, "lazyLoading").orElse(false)) {
+            resultComponent.setDataProvider(createLazyTreeDataGridItems(holder, hierarchyProperty));
+        } else if (holder.getContainer() != null) {
             Boolean showOrphans = loadBoolean(element, "showOrphans").orElse(false);
 
             resultComponent.setDataProvider(
@@ -62,6 +66,16 @@ public class TreeDataGridLoader extends AbstractGridLoader<TreeDataGrid<?>> {
         }
     }
 
+    @SuppressWarnings("rawtypes")
+    protected LazyLoaderTreeDataGridItems createLazyTreeDataGridItems(GridDataHolder holder, String hierarchyProperty) {
+        if (!(holder.getDataLoader() instanceof CollectionLoader)) {
+            throw new GuiDevelopmentException("Lazy loading requires a container with CollectionLoader",
+                    context, "Component ID", element.attributeValue("id"));
+        }
+        return applicationContext.getBean(LazyLoaderTreeDataGridItems.class,
+                holder.getDataLoader(), hierarchyProperty);
+    }
+
     @Override
     protected Grid.Column<?> addColumn(String key, MetaPropertyPath metaPropertyPath) {
         String hierarchyColumn = loadString(element, "hierarchyColumn").orElse(null);
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package component.grid
+
+import com.vaadin.flow.data.provider.Query
+import component.grid.view.LazyDataGridTestView
+import io.jmix.core.DataManager
+import io.jmix.flowui.data.grid.LazyLoaderDataGridItems
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.boot.test.context.SpringBootTest
+import test_support.entity.sales.Order
+import test_support.spec.FlowuiTestSpecification
+
+@SpringBootTest
+class LazyDataGridItemsTest extends FlowuiTestSpecification {
+
+    @Autowired
+    DataManager dataManager
+
+    List<Order> orders
+
+    @Override
+    void setup() {
+        registerViewBasePackages("component.grid")
+
+        orders = (0..<10).collect { i ->
+            def order = dataManager.create(Order)
+            order.number = "order-" + i
+            order
+        }
+        dataManager.save(orders.toArray())
+    }
+
+    @Override
+    void cleanup() {
+        dataManager.remove(orders)
+        orders.clear()
+    }
+
+    def "DataGrid binds lazy items set as BackEndDataProvider"() {
+        when: "Open View with lazy DataGrid"
+        def view = navigateToView(LazyDataGridTestView)
+
+        then: "Items are bound to the grid delegate"
+        view.ordersDataGrid.items instanceof LazyLoaderDataGridItems
+        view.ordersDataGrid.dataProvider.is(view.ordersDataGrid.items)
+    }
+
+    def "DataGrid with lazy loading loads requested pages only"() {
+        when: "Open View with lazy DataGrid and load data by the loader"
+        def view = navigateToView(LazyDataGridTestView)
+        def items = (LazyLoaderDataGridItems<Order>) view.ordersDataGrid.items
+        view.ordersDl.load()
+
+        then: "Loader doesn't load all entities into the container"
+        view.ordersDl.container.items.isEmpty()
+
+        when: "Grid requests the count and a page"
+        def size = items.size(new Query<>())
+        def page = items.fetch(new Query<>(3, 4, [], null, null)).toList()
+
+        then: "Count is loaded and only the requested page is in the container"
+        size == 10
+        page*.number == ["order-3", "order-4", "order-5", "order-6"]
+        view.ordersDl.container.items*.number == ["order-3", "order-4", "order-5", "order-6"]
+    }
+
+    def "DataGrid with lazy loading keeps limited number of pages"() {
+        when: "Grid requests more pages than cached"
+        def view = navigateToView(LazyDataGridTestView)
+        def items = (LazyLoaderDataGridItems<Order>) view.ordersDataGrid.items
+        items.cachedPagesCount = 2
+        items.refresh()
+
+        items.fetch(new Query<>(0, 2, [], null, null)).toList()
+        items.fetch(new Query<>(2, 2, [], null, null)).toList()
+        items.fetch(new Query<>(4, 2, [], null, null)).toList()
+
+        then: "Entities of the eldest page are removed from the container"
+        view.ordersDl.container.items*.number == ["order-2", "order-3", "order-4", "order-5"]
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package component.grid
+
+import com.vaadin.flow.data.provider.hierarchy.HierarchicalQuery
+import component.grid.view.LazyTreeDataGridTestView
+import io.jmix.core.DataManager
+import io.jmix.core.Metadata
+import io.jmix.core.querycondition.PropertyCondition
+import io.jmix.flowui.data.grid.ContainerTreeDataGridItems
+import io.jmix.flowui.data.grid.LazyLoaderTreeDataGridItems
+import io.jmix.flowui.model.DataComponents
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.boot.test.context.SpringBootTest
+import test_support.entity.sec.Group
+import test_support.spec.FlowuiTestSpecification
+
+@SpringBootTest
+class TreeDataGridItemsTest extends FlowuiTestSpecification {
+
+    @Autowired
+    DataManager dataManager
+    @Autowired
+    DataComponents dataComponents
+    @Autowired
+    Metadata metadata
+
+    @Override
+    void setup() {
+        registerViewBasePackages("component.grid")
+    }
+
+    def "Children index is updated on container changes"() {
+        def root = createGroup("root", null)
+        def child1 = createGroup("child1", root)
+        def child2 = createGroup("child2", root)
+
+        def container = dataComponents.createCollectionContainer(Group)
+        container.setItems([root, child1, child2])
+        def items = new ContainerTreeDataGridItems<Group>(container, "parent", false)
+
+        expect: "Children are taken from the container"
+        items.getChildren(null).toList() == [root]
+        items.getChildren(root).toList() == [child1, child2]
+        items.hasChildren(root)
+        !items.hasChildren(child1)
+
+        when: "Items are added and removed"
+        def child3 = createGroup("child3", child1)
+        container.getMutableItems().add(child3)
+        container.getMutableItems().remove(child2)
+
+        then: "Index is updated"
+        items.getChildren(root).toList() == [child1]
+        items.getChildren(child1).toList() == [child3]
+        items.hasChildren(child1)
+
+        when: "Parent of an item is changed"
+        child3.parent = root
+
+        then: "Item is moved to another parent"
+        items.getChildren(root).toList() == [child1, child3]
+        !items.hasChildren(child1)
+
+        when: "Collection is replaced"
+        container.setItems([child1])
+
+        then: "Index is rebuilt"
+        items.getChildren(root).toList() == [child1]
+        items.getChildren(null).toList() == []
+    }
+
+    def "Added items keep the container order among children"() {
+        def root = createGroup("root", null)
+        def child1 = createGroup("child1", root)
+        def child3 = createGroup("child3", root)
+
+        def container = dataComponents.createCollectionContainer(Group)
+        container.setItems([root, child1, child3])
+        def items = new ContainerTreeDataGridItems<Group>(container, "parent", false)
+
+        expect:
+        items.getChildren(root).toList() == [child1, child3]
+
+        when: "Items are inserted in the middle and at the beginning of the container"
+        def child2 = createGroup("child2", root)
+        def child0 = createGroup("child0", root)
+        container.getMutableItems().add(2, child2)
+        container.getMutableItems().add(0, child0)
+
+        then: "Children are in the order of the container"
+        items.getChildren(root).toList() == [child0, child1, child2, child3]
+    }
+
+    def "TreeDataGrid with lazy loading checks children using the loader condition"() {
+        given: "Groups hierarchy"
+        def root1 = createGroup("root1", null)
+        def root2 = createGroup("root2", null)
+        def child11 = createGroup("child11", root1)
+        def child21 = createGroup("child21", root2)
+        def saved = dataManager.save(root1, root2, child11, child21)
+
+        when: "Loader condition excludes children of root2 and items are checked one per query"
+        def view = navigateToView(LazyTreeDataGridTestView)
+        def items = (LazyLoaderTreeDataGridItems<Group>) view.groupsTreeDataGrid.dataProvider
+        items.parentIdsBatchSize = 1
+        view.groupsDl.condition = PropertyCondition.notEqual("name", "child21")
+        view.groupsDl.load()
+
+        then: "Only the item having matching children has children"
+        view.groupsDl.container.items*.name == ["root1", "root2"]
+        items.hasChildren(view.groupsDl.container.items[0])
+        !items.hasChildren(view.groupsDl.container.items[1])
+
+        cleanup:
+        dataManager.remove(saved.get(child11), saved.get(child21))
+        dataManager.remove(saved.get(root1), saved.get(root2))
+    }
+
+    def "TreeDataGrid with lazy loading loads children of expanded items only"() {
+        given: "Groups hierarchy"
+        def root1 = createGroup("root1", null)
+        def root2 = createGroup("root2", null)
+        def child11 = createGroup("child11", root1)
+        def child12 = createGroup("child12", root1)
+        def child111 = createGroup("child111", child11)
+        def saved = dataManager.save(root1, root2, child11, child12, child111)
+
+        when: "Open View with lazy TreeDataGrid and load data by the loader"
+        def view = navigateToView(LazyTreeDataGridTestView)
+        def items = (LazyLoaderTreeDataGridItems<Group>) view.groupsTreeDataGrid.dataProvider
+        view.groupsDl.load()
+
+        then: "Only root items are loaded"
+        view.groupsDl.container.items*.name == ["root1", "root2"]
+        items.hasChildren(view.groupsDl.container.items[0])
+        !items.hasChildren(view.groupsDl.container.items[1])
+
+        when: "Item is expanded"
+        def loadedRoot1 = view.groupsDl.container.items[0]
+        def children = items.fetchChildren(new HierarchicalQuery<>(null, loadedRoot1)).toList()
+
+        then: "Its children are loaded"
+        children*.name == ["child11", "child12"]
+        view.groupsDl.container.items*.name == ["root1", "root2", "child11", "child12"]
+        items.hasChildren(children[0])
+        !items.hasChildren(children[1])
+
+        cleanup:
+        dataManager.remove(saved.get(child111))
+        dataManager.remove(saved.get(child11), saved.get(child12))
+        dataManager.remove(saved.get(root1), saved.get(root2))
+    }
+
+    def "TreeDataGrid with lazy loading rejects not positive batch size"() {
+        when:
+        def view = navigateToView(LazyTreeDataGridTestView)
+        def items = (LazyLoaderTreeDataGridItems<Group>) view.groupsTreeDataGrid.dataProvider
+        items.parentIdsBatchSize = 0
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    protected Group createGroup(String name, Group parent) {
+        def group = metadata.create(Group)
+        group.name = name
+        group.parent = parent
+        group
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package component.grid.view;
+
+import com.vaadin.flow.router.Route;
+import io.jmix.flowui.component.grid.TreeDataGrid;
+import io.jmix.flowui.model.CollectionLoader;
+import io.jmix.flowui.view.StandardView;
+import io.jmix.flowui.view.ViewComponent;
+import io.jmix.flowui.view.ViewController;
+import io.jmix.flowui.view.ViewDescriptor;
+import test_support.entity.sec.Group;
+
+@Route("LazyTreeDataGridTestView")
+@ViewController
+@ViewDescriptor("lazy-tree-datagrid-test-view.xml")
+public class LazyTreeDataGridTestView extends StandardView {
+
+    @ViewComponent
+    public CollectionLoader<Group> groupsDl;
+    @ViewComponent
+    public TreeDataGrid<Group> groupsTreeDataGrid;
+}
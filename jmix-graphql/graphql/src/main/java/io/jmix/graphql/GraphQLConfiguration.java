@@ -17,6 +17,7 @@
 package io.jmix.graphql;
 
 import com.fasterxml.jackson.databind.ser.std.DateSerializer;
+import graphql.GraphQL;
 import graphql.execution.instrumentation.Instrumentation;
 import graphql.schema.FieldCoordinates;
 import graphql.schema.GraphQLCodeRegistry;
@@ -32,6 +33,8 @@ import io.jmix.graphql.limitation.JmixMaxQueryDepthInstrumentation;
 import io.jmix.graphql.limitation.LimitationProperties;
 import io.jmix.graphql.limitation.OperationRateLimitInstrumentation;
 import io.jmix.graphql.limitation.OperationRateLimitService;
+import io.jmix.graphql.limitation.QueryCostCalculator;
+import io.jmix.graphql.limitation.QueryCostInstrumentation;
 import io.jmix.graphql.schema.ClassTypesGenerator;
 import io.jmix.graphql.schema.EnumTypesGenerator;
 import io.jmix.graphql.schema.FilterTypesGenerator;
@@ -56,10 +59,12 @@ import io.leangen.graphql.spqr.spring.autoconfigure.SpqrProperties;
 import io.leangen.graphql.util.Utils;
 import org.springframework.aop.support.AopUtils;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.BeanFactoryAnnotationUtils;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
 import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
@@ -124,6 +129,8 @@ public class GraphQLConfiguration {
     @Autowired
     protected LimitationProperties limitationProperties;
     @Autowired
+    protected QueryCostCalculator queryCostCalculator;
+    @Autowired
     protected Messages messages;
     @Autowired
     protected JmixTypeInfoGenerator jmixTypeInfoGenerator;
@@ -139,7 +146,9 @@ public class GraphQLConfiguration {
                 new SecurityInstrumentation(schemeRegistry,accessManager,messages),
                 new OperationRateLimitInstrumentation(operationRateLimitService),
                 new SpecificPermissionInstrumentation(accessManager, messages),
-                new JmixMaxQueryDepthInstrumentation(limitationProperties.getMaxQueryDepth())
+                new JmixMaxQueryDepthInstrumentation(limitationProperties.getMaxQueryDepth()),
+                new QueryCostInstrumentation(queryCostCalculator, operationRateLimitService,
+                        limitationProperties.getMaxQueryCost())
         );
     }
 
@@ -149,6 +158,24 @@ public class GraphQLConfiguration {
                 new DateSerializer(false, new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss")));
     }
 
+    /**
+     * Registers {@link PreparsedDocumentCache} in the {@link GraphQL} instance created by SPQR auto-configuration.
+     */
+    @Bean("gql_PreparsedDocumentCachePostProcessor")
+    public static BeanPostProcessor preparsedDocumentCachePostProcessor(
+            ObjectProvider<PreparsedDocumentCache> preparsedDocumentCache) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof GraphQL) {
+                    return ((GraphQL) bean).transform(builder ->
+                            builder.preparsedDocumentProvider(preparsedDocumentCache.getObject()));
+                }
+                return bean;
+            }
+        };
+    }
+
     @Bean
     public GraphQLSchema graphQLSchema(SpqrSchemaGenerator generator) {
         Collection<GraphQLType> types = new ArrayList<>();
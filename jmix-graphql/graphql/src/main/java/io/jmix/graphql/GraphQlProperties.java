@@ -26,11 +26,70 @@ public class GraphQlProperties {
 
     Boolean multipleSortSupported = false;
 
-    public GraphQlProperties(@DefaultValue("false") Boolean multipleSortSupported) {
+    /**
+     * Max number of parsed and validated query documents kept in the cache. Documents of automatic persisted
+     * queries are limited by the same number. Value 0 disables the cache.
+     */
+    int documentCacheMaxSize;
+
+    /**
+     * Max number of fetch plans built for field selections and kept in the cache.
+     */
+    int fetchPlanCacheMaxSize;
+
+    /**
+     * Whether references of loaded entities are loaded level by level with one query per entity type and level,
+     * instead of joining them into the query of root entities.
+     */
+    boolean referenceBatchLoadingEnabled;
+
+    /**
+     * Max number of identifiers passed to a single query when references are loaded level by level, so the query
+     * doesn't exceed limits of the database on the size of the IN list.
+     */
+    int referenceBatchSize;
+
+    public GraphQlProperties(@DefaultValue("false") Boolean multipleSortSupported,
+                             @DefaultValue("1000") int documentCacheMaxSize,
+                             @DefaultValue("1000") int fetchPlanCacheMaxSize,
+                             @DefaultValue("true") boolean referenceBatchLoadingEnabled,
+                             @DefaultValue("500") int referenceBatchSize) {
         this.multipleSortSupported = multipleSortSupported;
+        this.documentCacheMaxSize = documentCacheMaxSize;
+        this.fetchPlanCacheMaxSize = fetchPlanCacheMaxSize;
+        this.referenceBatchLoadingEnabled = referenceBatchLoadingEnabled;
+        this.referenceBatchSize = referenceBatchSize;
     }
 
     public Boolean isMultipleSortSupported() {
         return multipleSortSupported;
     }
+
+    /**
+     * @see #documentCacheMaxSize
+     */
+    public int getDocumentCacheMaxSize() {
+        return documentCacheMaxSize;
+    }
+
+    /**
+     * @see #fetchPlanCacheMaxSize
+     */
+    public int getFetchPlanCacheMaxSize() {
+        return fetchPlanCacheMaxSize;
+    }
+
+    /**
+     * @see #referenceBatchLoadingEnabled
+     */
+    public boolean isReferenceBatchLoadingEnabled() {
+        return referenceBatchLoadingEnabled;
+    }
+
+    /**
+     * @see #referenceBatchSize
+     */
+    public int getReferenceBatchSize() {
+        return referenceBatchSize;
+    }
 }
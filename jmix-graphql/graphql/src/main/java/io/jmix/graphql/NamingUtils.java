@@ -35,10 +35,12 @@ public class NamingUtils {
 
     public static final String SYS_ATTR_TYPENAME = "__typename";
     public static final String SYS_ATTR_INSTANCE_NAME = "_instanceName";
+    public static final String SYS_ATTR_CURSOR = "_cursor";
 
     public static final String FILTER = "filter";
     public static final String LIMIT = "limit";
     public static final String OFFSET = "offset";
+    public static final String AFTER = "after";
     public static final String ORDER_BY = "orderBy";
     public static final String SOFT_DELETION = "softDeletion";
 
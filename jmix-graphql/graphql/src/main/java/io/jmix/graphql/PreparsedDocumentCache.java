@@ -0,0 +1,164 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.graphql;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import graphql.ExecutionInput;
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Nullable;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Caches parsed and validated query documents, so a query sent again is executed without parsing and validation.
+ * Documents are cached by the query text and the operation name, documents with errors are not cached.
+ * <p>
+ * Also supports automatic persisted queries: if the request contains the {@code persistedQuery} extension with
+ * the SHA-256 hash of the query, the query text is registered by the hash and can be omitted in subsequent
+ * requests. If the query of a hash-only request is not registered, the {@code PersistedQueryNotFound} error is
+ * returned, and the client should repeat the request with the query text.
+ * <p>
+ * The size of the cache is limited by {@link GraphQlProperties#getDocumentCacheMaxSize()}.
+ */
+@Component("gql_PreparsedDocumentCache")
+public class PreparsedDocumentCache implements PreparsedDocumentProvider {
+
+    public static final String PERSISTED_QUERY_EXTENSION = "persistedQuery";
+    public static final String SHA_256_HASH = "sha256Hash";
+
+    public static final String PERSISTED_QUERY_NOT_FOUND = "PersistedQueryNotFound";
+    public static final String PERSISTED_QUERY_ID_INVALID = "PersistedQueryIdInvalid";
+
+    /**
+     * Query text which can be passed by transports not allowing empty queries in hash-only requests.
+     */
+    public static final String PERSISTED_QUERY_MARKER = "PersistedQueryMarker";
+
+    protected final boolean enabled;
+    protected final Cache<DocumentKey, PreparsedDocumentEntry> documents;
+    protected final Cache<String, String> persistedQueries;
+
+    @Autowired
+    public PreparsedDocumentCache(GraphQlProperties properties) {
+        int maxSize = Math.max(properties.getDocumentCacheMaxSize(), 0);
+        this.enabled = maxSize > 0;
+        this.documents = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .build();
+        this.persistedQueries = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    @Override
+    public PreparsedDocumentEntry getDocument(ExecutionInput executionInput,
+                                              Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        ExecutionInput input = executionInput;
+
+        String hash = getPersistedQueryHash(executionInput);
+        if (hash != null && enabled) {
+            String query = executionInput.getQuery();
+            if (StringUtils.isBlank(query) || PERSISTED_QUERY_MARKER.equals(query)) {
+                String persistedQuery = persistedQueries.getIfPresent(hash);
+                if (persistedQuery == null) {
+                    return createErrorEntry(PERSISTED_QUERY_NOT_FOUND);
+                }
+                input = executionInput.transform(builder -> builder.query(persistedQuery));
+            } else {
+                // the hash is verified to prevent substituting the query of other clients
+                if (!hash.equals(Hashing.sha256().hashString(query, StandardCharsets.UTF_8).toString())) {
+                    return createErrorEntry(PERSISTED_QUERY_ID_INVALID);
+                }
+                persistedQueries.put(hash, query);
+            }
+        }
+
+        if (!enabled) {
+            return parseAndValidateFunction.apply(input);
+        }
+
+        // validation depends on the operation name, e.g. the query depth is not checked for introspection queries
+        DocumentKey key = new DocumentKey(input.getQuery(), input.getOperationName());
+        PreparsedDocumentEntry entry = documents.getIfPresent(key);
+        if (entry == null) {
+            entry = parseAndValidateFunction.apply(input);
+            if (!entry.hasErrors()) {
+                documents.put(key, entry);
+            }
+        }
+        return entry;
+    }
+
+    public void invalidateAll() {
+        documents.invalidateAll();
+        persistedQueries.invalidateAll();
+    }
+
+    @Nullable
+    protected String getPersistedQueryHash(ExecutionInput executionInput) {
+        Map<String, Object> extensions = executionInput.getExtensions();
+        if (extensions == null) {
+            return null;
+        }
+        Object persistedQuery = extensions.get(PERSISTED_QUERY_EXTENSION);
+        if (persistedQuery instanceof Map) {
+            Object hash = ((Map<?, ?>) persistedQuery).get(SHA_256_HASH);
+            if (hash instanceof String) {
+                return ((String) hash).toLowerCase();
+            }
+        }
+        return null;
+    }
+
+    protected PreparsedDocumentEntry createErrorEntry(String message) {
+        return new PreparsedDocumentEntry(GraphqlErrorBuilder.newError().message(message).build());
+    }
+
+    protected static class DocumentKey {
+
+        protected final String query;
+        protected final String operationName;
+
+        protected DocumentKey(String query, @Nullable String operationName) {
+            this.query = query;
+            this.operationName = operationName;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            DocumentKey that = (DocumentKey) o;
+            return query.equals(that.query) && Objects.equals(operationName, that.operationName);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(query, operationName);
+        }
+    }
+}
@@ -1,20 +1,24 @@
 package io.jmix.graphql.datafetcher;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import graphql.schema.DataFetchingEnvironment;
 import io.jmix.core.*;
 import io.jmix.core.accesscontext.EntityAttributeContext;
 import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.metamodel.model.MetadataObject;
+import io.jmix.graphql.GraphQlProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PostConstruct;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Objects;
 
 @Component("gql_DataFetcherPlanBuilder")
 public class DataFetcherPlanBuilder {
@@ -31,31 +35,43 @@ public class DataFetcherPlanBuilder {
     private AccessManager accessManager;
     @Autowired
     private FetchPlans fetchPlans;
+    @Autowired
+    private GraphQlProperties graphQlProperties;
 
     private final static Logger log = LoggerFactory.getLogger(DataFetcherPlanBuilder.class);
 
+    private Cache<FetchPlanKey, FetchPlan> fetchPlanCache;
+
+    @PostConstruct
+    protected void init() {
+        fetchPlanCache = CacheBuilder.newBuilder()
+                .maximumSize(Math.max(graphQlProperties.getFetchPlanCacheMaxSize(), 0))
+                .build();
+    }
+
+    /**
+     * Builds a fetch plan for the properties selected in the current field. Properties forbidden for the current
+     * user are excluded, and fetch plans are cached by the resulting set of properties.
+     */
     public <E extends Entity> FetchPlan buildFetchPlan(Class<E> entityClass, DataFetchingEnvironment environment) {
         MetaClass metaClass = metadata.getClass(entityClass);
         List<String> properties = excludeForbiddenProperties(metaClass, environmentUtils.getEntityProperties(environment));
 
         log.debug("properties {}", properties);
 
-        // todo inject correctly
-        io.jmix.core.FetchPlanBuilder fetchPlanBuilder = fetchPlans.builder(entityClass);
-
+        List<String> fetchPlanProperties = new ArrayList<>();
         // todo support _instName for nested entities too
         if (environmentUtils.hasInstanceNameProperty(environment)) {
-            Collection<String> instanceNameRelatedProperties = metadataTools
-                    .getInstanceNameRelatedProperties(metaClass).stream()
+            metadataTools.getInstanceNameRelatedProperties(metaClass).stream()
                     .map(MetadataObject::getName)
-                    .collect(Collectors.toList());
-
-            fetchPlanBuilder.addAll(instanceNameRelatedProperties.toArray(new String[]{}));
+                    .forEach(fetchPlanProperties::add);
         }
+        fetchPlanProperties.addAll(properties);
 
-        return fetchPlanBuilder
-                .addAll(properties.toArray(new String[]{}))
-                .build();
+        return fetchPlanCache.asMap().computeIfAbsent(new FetchPlanKey(entityClass, fetchPlanProperties),
+                key -> fetchPlans.builder(entityClass)
+                        .addAll(fetchPlanProperties.toArray(new String[]{}))
+                        .build());
     }
 
     private List<String> excludeForbiddenProperties(MetaClass metaClass, Collection<String> properties) {
@@ -69,4 +85,28 @@ public class DataFetcherPlanBuilder {
         });
         return result;
     }
+
+    protected static class FetchPlanKey {
+
+        protected final Class<?> entityClass;
+        protected final List<String> properties;
+
+        protected FetchPlanKey(Class<?> entityClass, List<String> properties) {
+            this.entityClass = entityClass;
+            this.properties = properties;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            FetchPlanKey that = (FetchPlanKey) o;
+            return entityClass.equals(that.entityClass) && properties.equals(that.properties);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(entityClass, properties);
+        }
+    }
 }
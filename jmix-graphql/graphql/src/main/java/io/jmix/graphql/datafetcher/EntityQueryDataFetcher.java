@@ -5,6 +5,10 @@ import io.jmix.core.AccessManager;
 import io.jmix.core.DataManager;
 import io.jmix.core.Entity;
 import io.jmix.core.FetchPlan;
+import io.jmix.core.FetchPlanBuilder;
+import io.jmix.core.FetchPlans;
+import io.jmix.core.KeysetCursor;
+import io.jmix.core.KeysetCursors;
 import io.jmix.core.LoadContext;
 import io.jmix.core.MetadataTools;
 import io.jmix.core.Sort;
@@ -29,7 +33,6 @@ import org.springframework.stereotype.Component;
 
 import javax.annotation.Nullable;
 import javax.validation.constraints.NotNull;
-import java.lang.reflect.Method;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -60,12 +63,12 @@ public class EntityQueryDataFetcher {
     protected QueryDataFetcherLoader queryDataFetcherLoader;
     @Autowired
     protected IdentifierService identifierService;
-
-    private static final String GRAPHQL_ENTITY_LOADER_METHOD_NAME = GraphQLEntityDataFetcher.class.getDeclaredMethods()[0].getName();
-
-    private static final String GRAPHQL_ENTITIES_LOADER_METHOD_NAME = GraphQLEntityListDataFetcher.class.getDeclaredMethods()[0].getName();
-
-    private static final String GRAPHQL_COUNT_LOADER_METHOD_NAME = GraphQLEntityCountDataFetcher.class.getDeclaredMethods()[0].getName();
+    @Autowired
+    protected KeysetCursors keysetCursors;
+    @Autowired
+    protected FetchPlans fetchPlans;
+    @Autowired
+    protected ReferenceBatchLoader referenceBatchLoader;
 
     public DataFetcher<?> loadEntity(MetaClass metaClass) {
 
@@ -83,17 +86,23 @@ public class EntityQueryDataFetcher {
             }
 
             log.debug("loadEntity: with context {}", lc);
-            if (queryDataFetcherLoader.getCustomEntityFetcher(metaClass.getJavaClass()) == null) {
+            GraphQLEntityDataFetcher<?> customFetcher = queryDataFetcherLoader.getCustomEntityFetcher(metaClass.getJavaClass());
+            if (customFetcher == null) {
+                if (!referenceBatchLoader.isEnabled()) {
+                    Object entity = dataManager.load(lc);
+                    if (entity == null) return null;
+                    return responseBuilder.buildResponse((Entity) entity, fetchPlan, metaClass, environmentUtils.getDotDelimitedProps(environment));
+                }
+                lc.setFetchPlan(referenceBatchLoader.getRootFetchPlan(fetchPlan, Collections.emptySet()));
                 Object entity = dataManager.load(lc);
                 if (entity == null) return null;
-                return responseBuilder.buildResponse((Entity) entity, fetchPlan, metaClass, environmentUtils.getDotDelimitedProps(environment));
+                ReferenceBatchLoader.LoadedReferences references = referenceBatchLoader.loadReferences(
+                        Collections.singletonList(entity), fetchPlan, Collections.emptySet(), softDeletion);
+                return responseBuilder.buildResponse((Entity) entity, fetchPlan, metaClass,
+                        environmentUtils.getDotDelimitedProps(environment), references);
             } else {
-                Object bean = queryDataFetcherLoader.getCustomEntityFetcher(metaClass.getJavaClass());
-                Method method = bean.getClass().getDeclaredMethod(GRAPHQL_ENTITY_LOADER_METHOD_NAME,
-                        GraphQLEntityDataFetcherContext.class);
-                return responseBuilder.buildResponse((Entity) method.invoke(bean,
-                                new GraphQLEntityDataFetcherContext(metaClass, id, lc, fetchPlan)), fetchPlan, metaClass,
-                        environmentUtils.getDotDelimitedProps(environment));
+                return responseBuilder.buildResponse((Entity) loadCustomEntity(customFetcher, metaClass, id, lc, fetchPlan),
+                        fetchPlan, metaClass, environmentUtils.getDotDelimitedProps(environment));
             }
         };
     }
@@ -107,6 +116,7 @@ public class EntityQueryDataFetcher {
             Object orderBy = environment.getArgument(NamingUtils.ORDER_BY);
             Integer limit = environment.getArgument(NamingUtils.LIMIT);
             Integer offset = environment.getArgument(NamingUtils.OFFSET);
+            String after = environment.getArgument(NamingUtils.AFTER);
             Boolean softDeletion = environment.getArgument(NamingUtils.SOFT_DELETION);
             log.debug("loadEntities: metClass:{}, filter:{}, limit:{}, offset:{}, orderBy: {}, softDelete: {}",
                     metaClass, filter, limit, offset, orderBy, softDeletion);
@@ -129,7 +139,8 @@ public class EntityQueryDataFetcher {
                     return (sortOrder == Types.SortOrder.ASC) ? Sort.Order.asc(path) : Sort.Order.desc(path);
                 }).collect(Collectors.toList());
                 query.setSort(Sort.by(orders));
-            } else {
+            } else if (after == null) {
+                // keyset pagination sorts by primary key when no order is specified
                 String lastModifiedDateProperty = metadataTools.findLastModifiedDateProperty(metaClass.getJavaClass());
 
                 if (lastModifiedDateProperty != null) {
@@ -138,6 +149,11 @@ public class EntityQueryDataFetcher {
                 }
             }
 
+            if (after != null) {
+                query.setAfter(decodeCursor(after));
+                fetchPan = addKeysetSortProperties(metaClass, fetchPan, query.getSort());
+            }
+
             LoadContext<Object> ctx = new LoadContext<>(metaClass);
             ctx.setQuery(query);
             ctx.setFetchPlan(fetchPan);
@@ -145,19 +161,36 @@ public class EntityQueryDataFetcher {
                 ctx.setHint("jmix.softDeletion", softDeletion);
             }
             List<Object> objects;
-            if (queryDataFetcherLoader.getCustomEntitiesFetcher(metaClass.getJavaClass()) == null) {
-                objects = dataManager.loadList(ctx);
+            ReferenceBatchLoader.LoadedReferences references = null;
+            GraphQLEntityListDataFetcher<?> customFetcher = queryDataFetcherLoader.getCustomEntitiesFetcher(metaClass.getJavaClass());
+            if (customFetcher == null) {
+                if (referenceBatchLoader.isEnabled()) {
+                    // references used in the keyset sort are required to create cursors of root entities
+                    Set<String> joinedProperties = getJoinedSortProperties(after != null ? query.getSort() : null);
+                    ctx.setFetchPlan(referenceBatchLoader.getRootFetchPlan(fetchPan, joinedProperties));
+                    objects = dataManager.loadList(ctx);
+                    references = referenceBatchLoader.loadReferences(objects, fetchPan, joinedProperties, softDeletion);
+                } else {
+                    objects = dataManager.loadList(ctx);
+                }
             } else {
-                Object bean = queryDataFetcherLoader.getCustomEntitiesFetcher(metaClass.getJavaClass());
-                Method method = bean.getClass().getDeclaredMethod(GRAPHQL_ENTITIES_LOADER_METHOD_NAME,
-                        GraphQLEntityListDataFetcherContext.class);
-                objects = (List<Object>) method.invoke(bean, new GraphQLEntityListDataFetcherContext(metaClass, ctx, condition,
-                        orderByConditions, limit, offset, fetchPan));
+                objects = loadCustomEntityList(customFetcher, new GraphQLEntityListDataFetcherContext<>(metaClass, ctx,
+                        condition, orderByConditions, limit, offset, fetchPan));
             }
 
             Set<String> props = environmentUtils.getDotDelimitedProps(environment);
+            FetchPlan responseFetchPlan = fetchPan;
+            ReferenceBatchLoader.LoadedReferences responseReferences = references;
+            boolean withCursor = after != null && props.contains(NamingUtils.SYS_ATTR_CURSOR);
             List<Map<String, Object>> entitiesAsMap = objects.stream()
-                    .map(e -> responseBuilder.buildResponse((Entity) e, fetchPan, metaClass, props))
+                    .map(e -> {
+                        Map<String, Object> entityAsMap = responseBuilder.buildResponse((Entity) e, responseFetchPlan, metaClass, props, responseReferences);
+                        if (withCursor) {
+                            entityAsMap.put(NamingUtils.SYS_ATTR_CURSOR,
+                                    keysetCursors.encode(keysetCursors.create(e, query.getSort())));
+                        }
+                        return entityAsMap;
+                    })
                     .collect(Collectors.toList());
 
             log.debug("loadEntities return {} objects for {}", entitiesAsMap.size(), metaClass.getName());
@@ -165,6 +198,40 @@ public class EntityQueryDataFetcher {
         };
     }
 
+    protected Set<String> getJoinedSortProperties(@Nullable Sort sort) {
+        if (sort == null) {
+            return Collections.emptySet();
+        }
+        return sort.getOrders().stream()
+                .map(order -> StringUtils.substringBefore(order.getProperty(), "."))
+                .collect(Collectors.toSet());
+    }
+
+    protected KeysetCursor decodeCursor(String after) {
+        try {
+            return keysetCursors.decode(after);
+        } catch (IllegalArgumentException e) {
+            throw new GqlEntityValidationException(e, "Invalid cursor: " + after);
+        }
+    }
+
+    /**
+     * Adds properties of the keyset sort to the fetch plan as they are required to create cursors.
+     */
+    protected FetchPlan addKeysetSortProperties(MetaClass metaClass, FetchPlan fetchPlan, @Nullable Sort sort) {
+        Sort keysetSort;
+        try {
+            keysetSort = keysetCursors.getKeysetSort(metaClass, sort);
+        } catch (IllegalArgumentException e) {
+            throw new GqlEntityValidationException(e, e.getMessage());
+        }
+        FetchPlanBuilder builder = fetchPlans.builder(metaClass.getJavaClass()).addFetchPlan(fetchPlan);
+        for (Sort.Order order : keysetSort.getOrders()) {
+            builder.add(order.getProperty());
+        }
+        return builder.build();
+    }
+
     /**
      * Convert graphql orderBy object to jmix format.
      *
@@ -286,13 +353,11 @@ public class EntityQueryDataFetcher {
                 lc.setHint("jmix.softDeletion", softDeletion);
             }
             long count;
-            if (queryDataFetcherLoader.getCustomCountFetcher(metaClass.getJavaClass()) == null) {
+            GraphQLEntityCountDataFetcher<?> customFetcher = queryDataFetcherLoader.getCustomCountFetcher(metaClass.getJavaClass());
+            if (customFetcher == null) {
                 count = dataManager.getCount(lc);
             } else {
-                Object bean = queryDataFetcherLoader.getCustomCountFetcher(metaClass.getJavaClass());
-                Method method = bean.getClass().getDeclaredMethod(GRAPHQL_COUNT_LOADER_METHOD_NAME, GraphQLEntityCountDataFetcherContext.class);
-                count = (Long) method.invoke(bean, new GraphQLEntityCountDataFetcherContext(metaClass, lc,
-                        condition));
+                count = loadCustomCount(customFetcher, metaClass, lc, condition);
             }
             log.debug("countEntities return {} for {}", count, metaClass.getName());
             return count;
@@ -300,6 +365,30 @@ public class EntityQueryDataFetcher {
     }
 
     // todo methods above copypasted from 'jmix-rest'
+    /**
+     * Custom fetchers are registered for the entity class, so the load context created for the same class can be
+     * passed to them.
+     */
+    @SuppressWarnings("unchecked")
+    protected <E> E loadCustomEntity(GraphQLEntityDataFetcher<E> fetcher, MetaClass metaClass, String id,
+                                     LoadContext<?> loadContext, FetchPlan fetchPlan) {
+        return fetcher.loadEntity(new GraphQLEntityDataFetcherContext<>(metaClass, id, (LoadContext<E>) loadContext,
+                fetchPlan));
+    }
+
+    @SuppressWarnings("unchecked")
+    protected <E> List<Object> loadCustomEntityList(GraphQLEntityListDataFetcher<E> fetcher,
+                                                    GraphQLEntityListDataFetcherContext<Object> context) {
+        return (List<Object>) fetcher.loadEntityList((GraphQLEntityListDataFetcherContext<E>) context);
+    }
+
+    @SuppressWarnings("unchecked")
+    protected <E> Long loadCustomCount(GraphQLEntityCountDataFetcher<E> fetcher, MetaClass metaClass,
+                                       LoadContext<?> loadContext, LogicalCondition condition) {
+        return fetcher.loadCount(new GraphQLEntityCountDataFetcherContext<>(metaClass, (LoadContext<E>) loadContext,
+                condition));
+    }
+
     protected void checkCanReadEntity(MetaClass metaClass) {
         CrudEntityContext entityContext = applyEntityConstraints(metaClass);
         if (!entityContext.isReadPermitted()) {
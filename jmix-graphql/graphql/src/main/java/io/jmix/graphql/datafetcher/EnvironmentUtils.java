@@ -16,13 +16,19 @@
 
 package io.jmix.graphql.datafetcher;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import graphql.GraphQLContext;
 import graphql.kickstart.servlet.context.DefaultGraphQLServletContext;
+import graphql.language.Directive;
+import graphql.language.Document;
+import graphql.language.Node;
 import graphql.schema.DataFetchingEnvironment;
 import graphql.schema.DataFetchingFieldSelectionSet;
 import io.jmix.core.Metadata;
 import io.jmix.core.MetadataTools;
 import io.jmix.core.metamodel.model.MetaClass;
+import io.jmix.graphql.GraphQlProperties;
 import io.jmix.graphql.NamingUtils;
 import io.leangen.graphql.spqr.spring.autoconfigure.DefaultGlobalContext;
 import io.leangen.graphql.util.ContextUtils;
@@ -32,11 +38,12 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.ServletWebRequest;
 
 import javax.annotation.Nullable;
+import javax.annotation.PostConstruct;
 import javax.servlet.http.HttpServletRequest;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -49,14 +56,28 @@ public class EnvironmentUtils {
     MetadataTools metadataTools;
     @Autowired
     private Metadata metadata;
+    @Autowired
+    protected GraphQlProperties graphQlProperties;
+
+    private static final Pattern LIST_INDEX_PATTERN = Pattern.compile("\\[\\d+]");
+
+    // weak keys are compared by identity, entries are removed when documents are evicted from the document cache
+    protected Cache<Document, DocumentSelections> selections;
+
+    @PostConstruct
+    protected void init() {
+        selections = CacheBuilder.newBuilder()
+                .weakKeys()
+                .maximumSize(Math.max(graphQlProperties.getDocumentCacheMaxSize(), 0))
+                .build();
+    }
 
     /**
      * @param environment gql data fetch environment
      * @return true if _instanceName should be returned for query, else false
      */
     public boolean hasInstanceNameProperty(DataFetchingEnvironment environment) {
-        return getPropertyPaths(environment)
-                .anyMatch(def -> def.equals(SYS_ATTR_INSTANCE_NAME));
+        return getFieldSelection(environment).hasInstanceName();
     }
 
     /**
@@ -69,8 +90,7 @@ public class EnvironmentUtils {
     }
 
     public Set<String> getDotDelimitedProps(DataFetchingEnvironment environment) {
-        return getPropertyPaths(environment)
-                .collect(Collectors.toSet());
+        return getFieldSelection(environment).getDotDelimitedProps();
     }
 
     /**
@@ -81,7 +101,11 @@ public class EnvironmentUtils {
      * @return only properties that exist in entity as fields
      */
     public List<String> getEntityProperties(DataFetchingEnvironment environment) {
-        return getPropertyPaths(environment)
+        return getFieldSelection(environment).getEntityProperties();
+    }
+
+    protected List<String> getEntityProperties(List<String> propertyPaths) {
+        return propertyPaths.stream()
                 // remove '__typename' from fetch plan
                 .filter(propertyNotMatch(NamingUtils.SYS_ATTR_TYPENAME))
                 // todo fetch failed, if we need to return instanceName in nested entity,
@@ -90,6 +114,8 @@ public class EnvironmentUtils {
                 //  which are required for composing Car instanceName
                 // remove 'instanceName' and '*.instanceName' attrs from fetch plan - no such attr in entity
                 .filter(propertyNotMatch(SYS_ATTR_INSTANCE_NAME))
+                // remove '_cursor' which is computed from the sort attributes
+                .filter(propertyNotMatch(NamingUtils.SYS_ATTR_CURSOR))
                 .collect(Collectors.toList());
     }
 
@@ -112,6 +138,49 @@ public class EnvironmentUtils {
         return getPaths(environment.getSelectionSet(), "").stream();
     }
 
+    /**
+     * Returns properties selected for the current field. The selection is computed once for each field of a query
+     * document and cached, because documents are cached by {@link io.jmix.graphql.PreparsedDocumentCache} and the
+     * same instance is passed to data fetchers for the same query. Selections of documents containing {@code @skip}
+     * or {@code @include} directives are not cached, as they depend on variables.
+     */
+    protected FieldSelection getFieldSelection(DataFetchingEnvironment environment) {
+        Document document = environment.getDocument();
+        if (document == null) {
+            return createFieldSelection(environment);
+        }
+        DocumentSelections documentSelections = selections.asMap()
+                .computeIfAbsent(document, d -> new DocumentSelections(hasConditionalDirectives(d)));
+        if (documentSelections.conditional) {
+            return createFieldSelection(environment);
+        }
+        String path = LIST_INDEX_PATTERN.matcher(environment.getExecutionStepInfo().getPath().toString()).replaceAll("");
+        return documentSelections.fields.computeIfAbsent(path, p -> createFieldSelection(environment));
+    }
+
+    protected FieldSelection createFieldSelection(DataFetchingEnvironment environment) {
+        List<String> paths = getPaths(environment.getSelectionSet(), "");
+        return new FieldSelection(
+                Collections.unmodifiableSet(new HashSet<>(paths)),
+                Collections.unmodifiableList(getEntityProperties(paths)),
+                paths.contains(SYS_ATTR_INSTANCE_NAME));
+    }
+
+    protected boolean hasConditionalDirectives(Node<?> node) {
+        if (node instanceof Directive) {
+            String name = ((Directive) node).getName();
+            if ("skip".equals(name) || "include".equals(name)) {
+                return true;
+            }
+        }
+        for (Node<?> child : node.getChildren()) {
+            if (hasConditionalDirectives(child)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public List<String> getPaths(DataFetchingFieldSelectionSet selectionSet, String currentPath) {
         List<String> result = new ArrayList<>();
         selectionSet.getImmediateFields().forEach(field -> {
@@ -169,5 +238,41 @@ public class EnvironmentUtils {
         return result;
     }
 
+    /**
+     * Properties selected for a field.
+     */
+    protected static class FieldSelection {
+
+        protected final Set<String> dotDelimitedProps;
+        protected final List<String> entityProperties;
+        protected final boolean instanceName;
+
+        protected FieldSelection(Set<String> dotDelimitedProps, List<String> entityProperties, boolean instanceName) {
+            this.dotDelimitedProps = dotDelimitedProps;
+            this.entityProperties = entityProperties;
+            this.instanceName = instanceName;
+        }
+
+        public Set<String> getDotDelimitedProps() {
+            return dotDelimitedProps;
+        }
 
+        public List<String> getEntityProperties() {
+            return entityProperties;
+        }
+
+        public boolean hasInstanceName() {
+            return instanceName;
+        }
+    }
+
+    protected static class DocumentSelections {
+
+        protected final boolean conditional;
+        protected final Map<String, FieldSelection> fields = new ConcurrentHashMap<>();
+
+        protected DocumentSelections(boolean conditional) {
+            this.conditional = conditional;
+        }
+    }
 }
@@ -23,6 +23,7 @@ import org.springframework.beans.factory.ListableBeanFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.Nullable;
 import javax.annotation.PostConstruct;
 import java.lang.reflect.ParameterizedType;
 import java.util.Arrays;
@@ -48,16 +49,19 @@ public class QueryDataFetcherLoader {
         getCustomEntityFetchers();
     }
 
-    public Object getCustomCountFetcher(Class<?> clazz) {
-        return countDataFetchers.get(clazz);
+    @Nullable
+    public GraphQLEntityCountDataFetcher<?> getCustomCountFetcher(Class<?> clazz) {
+        return (GraphQLEntityCountDataFetcher<?>) countDataFetchers.get(clazz);
     }
 
-    public Object getCustomEntitiesFetcher(Class<?> clazz) {
-        return entitiesDataFetchers.get(clazz);
+    @Nullable
+    public GraphQLEntityListDataFetcher<?> getCustomEntitiesFetcher(Class<?> clazz) {
+        return (GraphQLEntityListDataFetcher<?>) entitiesDataFetchers.get(clazz);
     }
 
-    public Object getCustomEntityFetcher(Class<?> clazz) {
-        return entityDataFetchers.get(clazz);
+    @Nullable
+    public GraphQLEntityDataFetcher<?> getCustomEntityFetcher(Class<?> clazz) {
+        return (GraphQLEntityDataFetcher<?>) entityDataFetchers.get(clazz);
     }
 
     protected Map<Class<?>, Object> getCustomEntityCountFetchers() throws Exception {
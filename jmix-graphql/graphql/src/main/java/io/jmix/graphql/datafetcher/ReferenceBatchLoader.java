@@ -0,0 +1,313 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.graphql.datafetcher;
+
+import com.google.common.collect.Lists;
+import io.jmix.core.DataManager;
+import io.jmix.core.FetchPlan;
+import io.jmix.core.FetchPlanBuilder;
+import io.jmix.core.FetchPlanProperty;
+import io.jmix.core.FetchPlans;
+import io.jmix.core.LoadContext;
+import io.jmix.core.Metadata;
+import io.jmix.core.MetadataTools;
+import io.jmix.core.entity.EntityValues;
+import io.jmix.core.metamodel.model.MetaClass;
+import io.jmix.core.metamodel.model.MetaProperty;
+import io.jmix.graphql.GraphQlProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Nullable;
+import java.util.*;
+
+/**
+ * Loads references of entities level by level instead of joining them into the query of root entities.
+ * <p>
+ * Root entities are loaded with a fetch plan containing only identifiers of references, see
+ * {@link #getRootFetchPlan(FetchPlan, Collection)}. Then identifiers of references and collection elements are
+ * collected at each level of the fetch plan, and the referenced entities are loaded by one query per entity type
+ * and level, see {@link #loadReferences(Collection, FetchPlan, Collection)}. So the number of queries depends on the
+ * depth of the selection and not on the number of loaded entities. Large sets of identifiers are split into
+ * batches of {@link GraphQlProperties#getReferenceBatchSize()}.
+ * <p>
+ * References are loaded by a query with row-level constraints and the soft deletion setting of the root query, so
+ * references which are not available are returned as null instead of failing the whole selection.
+ * <p>
+ * Embedded properties, references to entities of other data stores and references used in instance names are loaded
+ * together with the owning entity.
+ */
+@Component("gql_ReferenceBatchLoader")
+public class ReferenceBatchLoader {
+
+    private static final Logger log = LoggerFactory.getLogger(ReferenceBatchLoader.class);
+
+    @Autowired
+    private DataManager dataManager;
+    @Autowired
+    private FetchPlans fetchPlans;
+    @Autowired
+    private Metadata metadata;
+    @Autowired
+    private MetadataTools metadataTools;
+    @Autowired
+    private GraphQlProperties graphQlProperties;
+
+    /**
+     * @return true if references should be loaded by this bean
+     * @see GraphQlProperties#isReferenceBatchLoadingEnabled()
+     */
+    public boolean isEnabled() {
+        return graphQlProperties.isReferenceBatchLoadingEnabled();
+    }
+
+    /**
+     * Returns a fetch plan to load root entities: batch loaded references contain only identifiers.
+     *
+     * @param fetchPlan        fetch plan of the whole selection
+     * @param joinedProperties root properties which must be loaded together with root entities, e.g. sort properties
+     */
+    public FetchPlan getRootFetchPlan(FetchPlan fetchPlan, Collection<String> joinedProperties) {
+        return buildLevelFetchPlan(metadata.getClass(fetchPlan.getEntityClass()),
+                Collections.singleton(fetchPlan), joinedProperties);
+    }
+
+    /**
+     * Loads references of root entities loaded with the fetch plan returned by
+     * {@link #getRootFetchPlan(FetchPlan, Collection)}.
+     *
+     * @param entities         root entities
+     * @param fetchPlan        fetch plan of the whole selection
+     * @param joinedProperties the same properties as passed to {@link #getRootFetchPlan(FetchPlan, Collection)}
+     * @param softDeletion     soft deletion setting of the root query, null means the default one
+     * @return loaded references to be passed to {@link ResponseBuilder}
+     */
+    public LoadedReferences loadReferences(Collection<?> entities, FetchPlan fetchPlan,
+                                           Collection<String> joinedProperties, @Nullable Boolean softDeletion) {
+        LoadedReferences references = new LoadedReferences();
+
+        List<PathGroup> groups = Collections.singletonList(
+                new PathGroup("", metadata.getClass(fetchPlan.getEntityClass()), entities, fetchPlan));
+        boolean root = true;
+        while (!groups.isEmpty()) {
+            List<PathGroup> referenceGroups = new ArrayList<>();
+            for (PathGroup group : groups) {
+                collectReferences(group, root ? joinedProperties : Collections.emptySet(), references, referenceGroups);
+            }
+            root = false;
+
+            // references of the same entity type are loaded together regardless of their paths
+            Map<MetaClass, Set<Object>> ids = new LinkedHashMap<>();
+            Map<MetaClass, Set<FetchPlan>> plans = new LinkedHashMap<>();
+            for (PathGroup group : referenceGroups) {
+                ids.computeIfAbsent(group.metaClass, k -> new LinkedHashSet<>()).addAll(group.ids);
+                plans.computeIfAbsent(group.metaClass, k -> new LinkedHashSet<>()).add(group.fetchPlan);
+            }
+            Map<MetaClass, Map<Object, Object>> loaded = new HashMap<>();
+            for (Map.Entry<MetaClass, Set<Object>> entry : ids.entrySet()) {
+                MetaClass metaClass = entry.getKey();
+                Map<Object, Object> byId = new HashMap<>();
+                for (Object entity : loadByIds(metaClass, entry.getValue(),
+                        buildLevelFetchPlan(metaClass, plans.get(metaClass), Collections.emptySet()), softDeletion)) {
+                    byId.put(EntityValues.getId(entity), entity);
+                }
+                loaded.put(metaClass, byId);
+            }
+
+            List<PathGroup> nextGroups = new ArrayList<>();
+            for (PathGroup group : referenceGroups) {
+                Map<Object, Object> byId = loaded.get(group.metaClass);
+                List<Object> pathEntities = new ArrayList<>(group.ids.size());
+                for (Object id : group.ids) {
+                    Object entity = byId.get(id);
+                    if (entity != null) {
+                        pathEntities.add(entity);
+                    }
+                }
+                references.put(group.path, byId);
+                nextGroups.add(new PathGroup(group.path, group.metaClass, pathEntities, group.fetchPlan));
+            }
+            groups = nextGroups;
+        }
+        return references;
+    }
+
+    /**
+     * Collects identifiers of batch loaded references of the entities of the given group into groups of references,
+     * one per reference property.
+     */
+    protected void collectReferences(PathGroup group, Collection<String> joinedProperties,
+                                     LoadedReferences references, List<PathGroup> referenceGroups) {
+        for (FetchPlanProperty property : group.fetchPlan.getProperties()) {
+            MetaProperty metaProperty = group.metaClass.getProperty(property.getName());
+            if (!isBatchLoaded(group.metaClass, metaProperty, joinedProperties)) {
+                continue;
+            }
+            String path = LoadedReferences.getPath(group.path, property.getName());
+            references.addBatchLoadedPath(path);
+
+            PathGroup referenceGroup = new PathGroup(path, metaProperty.getRange().asClass(),
+                    Collections.emptyList(), property.getFetchPlan());
+            for (Object entity : group.entities) {
+                Object value = EntityValues.getValue(entity, property.getName());
+                if (value instanceof Collection) {
+                    for (Object item : (Collection<?>) value) {
+                        referenceGroup.ids.add(EntityValues.getId(item));
+                    }
+                } else if (value != null) {
+                    referenceGroup.ids.add(EntityValues.getId(value));
+                }
+            }
+            referenceGroups.add(referenceGroup);
+        }
+    }
+
+    /**
+     * Loads instances by a query instead of {@link LoadContext#setIds(List)}, so identifiers of instances filtered out
+     * by row-level constraints or soft deletion are just missing in the result.
+     */
+    protected List<Object> loadByIds(MetaClass metaClass, Collection<Object> ids, FetchPlan fetchPlan,
+                                     @Nullable Boolean softDeletion) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        log.debug("loadByIds: {} instances of {}", ids.size(), metaClass.getName());
+
+        String queryString = String.format("select e from %s e where e.%s in :ids",
+                metaClass.getName(), metadataTools.getPrimaryKeyName(metaClass));
+        List<Object> result = new ArrayList<>(ids.size());
+        for (List<Object> batch : Lists.partition(new ArrayList<>(ids), graphQlProperties.getReferenceBatchSize())) {
+            LoadContext<Object> lc = new LoadContext<>(metaClass);
+            lc.setQueryString(queryString).setParameter("ids", batch);
+            lc.setFetchPlan(fetchPlan);
+            if (softDeletion != null) {
+                lc.setHint("jmix.softDeletion", softDeletion);
+            }
+            result.addAll(dataManager.loadList(lc));
+        }
+        return result;
+    }
+
+    /**
+     * Builds a fetch plan to load entities of one level: local properties are merged from all given plans,
+     * batch loaded references contain only identifiers.
+     */
+    protected FetchPlan buildLevelFetchPlan(MetaClass metaClass, Collection<FetchPlan> plans,
+                                            Collection<String> joinedProperties) {
+        FetchPlanBuilder builder = fetchPlans.builder(metaClass.getJavaClass());
+        for (FetchPlan fetchPlan : plans) {
+            FetchPlanBuilder planBuilder = fetchPlans.builder(metaClass.getJavaClass());
+            for (FetchPlanProperty property : fetchPlan.getProperties()) {
+                String name = property.getName();
+                if (isBatchLoaded(metaClass, metaClass.getProperty(name), joinedProperties)) {
+                    planBuilder.add(name);
+                } else if (property.getFetchPlan() != null) {
+                    planBuilder.add(name, fetchPlans.builder(property.getFetchPlan()), property.getFetchMode());
+                } else {
+                    planBuilder.add(name);
+                }
+            }
+            builder.merge(planBuilder.build());
+        }
+        return builder.build();
+    }
+
+    protected boolean isBatchLoaded(MetaClass metaClass, MetaProperty metaProperty, Collection<String> joinedProperties) {
+        if (!metaProperty.getRange().isClass()
+                || metadataTools.isEmbedded(metaProperty)
+                || !metadataTools.isJpa(metaProperty)
+                || joinedProperties.contains(metaProperty.getName())) {
+            return false;
+        }
+        MetaClass refMetaClass = metaProperty.getRange().asClass();
+        if (!metadataTools.isJpaEntity(refMetaClass)
+                || !refMetaClass.getStore().getName().equals(metaClass.getStore().getName())
+                || metadataTools.hasCompositePrimaryKey(refMetaClass)) {
+            return false;
+        }
+        // instance name is evaluated on the owning entity
+        return !metadataTools.getInstanceNameRelatedProperties(metaClass).contains(metaProperty);
+    }
+
+    /**
+     * Entities reached by the same property path from root entities, together with the fetch plan of the path.
+     */
+    protected static class PathGroup {
+
+        protected final String path;
+        protected final MetaClass metaClass;
+        protected final Collection<?> entities;
+        protected final FetchPlan fetchPlan;
+        protected final Set<Object> ids = new LinkedHashSet<>();
+
+        protected PathGroup(String path, MetaClass metaClass, Collection<?> entities, FetchPlan fetchPlan) {
+            this.path = path;
+            this.metaClass = metaClass;
+            this.entities = entities;
+            this.fetchPlan = fetchPlan;
+        }
+    }
+
+    /**
+     * References loaded by {@link ReferenceBatchLoader}. References are kept by their property path from root
+     * entities, e.g. {@code cars.garage}, so a property is batch loaded for one owner path and loaded together with
+     * the owning entity for another one independently.
+     */
+    public static class LoadedReferences {
+
+        protected final Set<String> batchLoadedPaths = new HashSet<>();
+        protected final Map<String, Map<Object, Object>> entities = new HashMap<>();
+
+        /**
+         * @return path of the property of entities reached by the owner path, empty owner path means root entities
+         */
+        public static String getPath(String ownerPath, String property) {
+            return ownerPath.isEmpty() ? property : ownerPath + "." + property;
+        }
+
+        protected void addBatchLoadedPath(String path) {
+            batchLoadedPaths.add(path);
+        }
+
+        protected void put(String path, Map<Object, Object> loadedById) {
+            entities.put(path, loadedById);
+        }
+
+        /**
+         * @param path property path from root entities, see {@link #getPath(String, String)}
+         * @return true if values of the property are loaded separately from the owning entities
+         */
+        public boolean isBatchLoaded(String path) {
+            return batchLoadedPaths.contains(path);
+        }
+
+        /**
+         * Returns the loaded instance of a reference.
+         *
+         * @param path      property path from root entities, see {@link #getPath(String, String)}
+         * @param reference reference instance containing only identifier
+         * @return loaded instance or null if it is not available, e.g. filtered out by row-level constraints
+         */
+        @Nullable
+        public Object get(String path, Object reference) {
+            Map<Object, Object> byId = entities.get(path);
+            return byId != null ? byId.get(EntityValues.getId(reference)) : null;
+        }
+    }
+}
@@ -30,9 +30,11 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.Nullable;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -64,6 +66,27 @@ public class ResponseBuilder {
      * @return entity converted to response as Map&lt;String, Object&gt;
      */
     public Map<String, Object> buildResponse(Entity entity, FetchPlan fetchPlan, MetaClass metaClass, Set<String> props) {
+        return buildResponse(entity, fetchPlan, metaClass, props, null, 0);
+    }
+
+    /**
+     * Convert loaded entity to data fetcher return format (Map&lt;String, Object&gt;) taking references
+     * from the result of {@link ReferenceBatchLoader}
+     *
+     * @param entity loaded entity
+     * @param fetchPlan fetch plan of the whole selection
+     * @param metaClass entity meta class
+     * @param props we need pass full set of properties to have information about system props such '_instanceName'
+     * @param references references loaded by {@link ReferenceBatchLoader}, null if the entity is loaded with the whole fetch plan
+     * @return entity converted to response as Map&lt;String, Object&gt;
+     */
+    public Map<String, Object> buildResponse(Entity entity, FetchPlan fetchPlan, MetaClass metaClass, Set<String> props,
+                                             @Nullable ReferenceBatchLoader.LoadedReferences references) {
+        return buildResponse(entity, fetchPlan, metaClass, props, references, "");
+    }
+
+    protected Map<String, Object> buildResponse(Entity entity, FetchPlan fetchPlan, MetaClass metaClass, Set<String> props,
+                                                @Nullable ReferenceBatchLoader.LoadedReferences references, String path) {
         Map<String, Object> entityAsMap = new HashMap<>();
 
         // check and evaluate _instanceName, if required
@@ -94,15 +117,23 @@ public class ResponseBuilder {
 
             if (propertyRange.isClass()) {
                 Set<String> nestedProps = environmentUtils.getNestedProps(props, propName);
+                String propPath = ReferenceBatchLoader.LoadedReferences.getPath(path, propName);
+                boolean batchLoaded = references != null && references.isBatchLoaded(propPath);
 
                 if (fieldValue instanceof Entity) {
-                    entityAsMap.put(propName, buildResponse((Entity) fieldValue, prop.getFetchPlan(), propertyRange.asClass(), nestedProps));
+                    Entity reference = batchLoaded
+                            ? (Entity) references.get(propPath, fieldValue)
+                            : (Entity) fieldValue;
+                    entityAsMap.put(propName, reference == null ? null
+                            : buildResponse(reference, prop.getFetchPlan(), propertyRange.asClass(), nestedProps, references, propPath));
                     return;
                 }
 
                 if (fieldValue instanceof Collection) {
                     Collection<Object> values = ((Collection<Entity>)fieldValue).stream()
-                            .map(e -> buildResponse(e, prop.getFetchPlan(), propertyRange.asClass(), nestedProps))
+                            .map(e -> batchLoaded ? (Entity) references.get(propPath, e) : e)
+                            .filter(Objects::nonNull)
+                            .map(e -> buildResponse(e, prop.getFetchPlan(), propertyRange.asClass(), nestedProps, references, propPath))
                             .collect(Collectors.toList());
                     entityAsMap.put(propName, values);
                     return;
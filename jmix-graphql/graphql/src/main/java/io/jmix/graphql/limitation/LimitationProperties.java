@@ -34,9 +34,31 @@ public class LimitationProperties {
      */
     int operationRateLimitPerMinute;
 
-    public LimitationProperties(@DefaultValue("0") int operationRateLimitPerMinute, @DefaultValue("0") int maxQueryDepth) {
+    /**
+     * Max allowed estimated cost of one operation. The cost is the estimated number of loaded entity instances
+     * plus the number of nested entity fields. Default value 0 means the client has no limit.
+     */
+    int maxQueryCost;
+
+    /**
+     * Allowed total estimated cost of operations per minute from one client IP address. Default value 0 means
+     * the client has no limit.
+     */
+    int queryCostLimitPerMinute;
+
+    /**
+     * Estimated number of elements of collection attributes used to calculate the cost of operations.
+     */
+    int queryCostCollectionSize;
+
+    public LimitationProperties(@DefaultValue("0") int operationRateLimitPerMinute, @DefaultValue("0") int maxQueryDepth,
+                                @DefaultValue("0") int maxQueryCost, @DefaultValue("0") int queryCostLimitPerMinute,
+                                @DefaultValue("10") int queryCostCollectionSize) {
         this.operationRateLimitPerMinute = operationRateLimitPerMinute;
         this.maxQueryDepth = maxQueryDepth;
+        this.maxQueryCost = maxQueryCost;
+        this.queryCostLimitPerMinute = queryCostLimitPerMinute;
+        this.queryCostCollectionSize = queryCostCollectionSize;
     }
 
     /**
@@ -52,4 +74,25 @@ public class LimitationProperties {
     public int getMaxQueryDepth() {
         return maxQueryDepth;
     }
+
+    /**
+     * @see #maxQueryCost
+     */
+    public int getMaxQueryCost() {
+        return maxQueryCost;
+    }
+
+    /**
+     * @see #queryCostLimitPerMinute
+     */
+    public int getQueryCostLimitPerMinute() {
+        return queryCostLimitPerMinute;
+    }
+
+    /**
+     * @see #queryCostCollectionSize
+     */
+    public int getQueryCostCollectionSize() {
+        return queryCostCollectionSize;
+    }
 }
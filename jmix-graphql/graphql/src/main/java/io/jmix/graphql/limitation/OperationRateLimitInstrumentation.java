@@ -16,16 +16,12 @@
 
 package io.jmix.graphql.limitation;
 
+import graphql.ExecutionResult;
 import graphql.execution.instrumentation.InstrumentationContext;
 import graphql.execution.instrumentation.SimpleInstrumentation;
-import graphql.execution.instrumentation.parameters.InstrumentationValidationParameters;
-import graphql.validation.ValidationError;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
 import io.jmix.graphql.datafetcher.EnvironmentUtils;
 
-import java.util.List;
-
-import static graphql.execution.instrumentation.SimpleInstrumentationContext.whenCompleted;
-
 public class OperationRateLimitInstrumentation extends SimpleInstrumentation {
 
     private final OperationRateLimitService operationRateLimitService;
@@ -34,12 +30,12 @@ public class OperationRateLimitInstrumentation extends SimpleInstrumentation {
         this.operationRateLimitService = operationRateLimitService;
     }
 
+    // operations are counted at the beginning of execution, because validation is skipped for cached documents
     @Override
-    public  InstrumentationContext<List<ValidationError>> beginValidation(InstrumentationValidationParameters parameters) {
-        return whenCompleted((errors, throwable) -> {
-            if (operationRateLimitService.isRateLimited()) {
-                operationRateLimitService.queryPerformed(EnvironmentUtils.getRemoteIPAddress(parameters.getContext()));
-            }
-        });
+    public InstrumentationContext<ExecutionResult> beginExecution(InstrumentationExecutionParameters parameters) {
+        if (operationRateLimitService.isRateLimited()) {
+            operationRateLimitService.queryPerformed(EnvironmentUtils.getRemoteIPAddress(parameters.getContext()));
+        }
+        return super.beginExecution(parameters);
     }
 }
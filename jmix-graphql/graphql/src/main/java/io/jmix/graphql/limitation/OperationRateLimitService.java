@@ -16,22 +16,31 @@
 
 package io.jmix.graphql.limitation;
 
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
 import graphql.execution.AbortExecutionException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.Nullable;
-import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Limits the number of operations and their total cost per minute from one client IP address.
+ * Each limit is controlled by a {@link TokenBucket} per address, so the allowed number of operations is restored
+ * gradually within a minute and doesn't depend on the time of the first request.
+ */
 @Component(value = OperationRateLimitService.NAME)
 public class OperationRateLimitService {
     public static final String NAME = "gql_OperationRateLimitService";
 
-    private final LoadingCache<String, Integer> attemptsCache;
+    // an idle bucket becomes full within the refill period, so it can be dropped
+    private final Cache<String, TokenBucket> operationBuckets = CacheBuilder.newBuilder()
+            .expireAfterAccess(1, TimeUnit.MINUTES)
+            .build();
+    private final Cache<String, TokenBucket> costBuckets = CacheBuilder.newBuilder()
+            .expireAfterAccess(1, TimeUnit.MINUTES)
+            .build();
     private LimitationProperties properties;
 
     @Autowired
@@ -43,39 +52,51 @@ public class OperationRateLimitService {
         return properties.getOperationRateLimitPerMinute() > 0;
     }
 
-    public OperationRateLimitService() {
-        super();
-        attemptsCache = CacheBuilder.newBuilder().
-                expireAfterWrite(1, TimeUnit.MINUTES).build(new CacheLoader<String, Integer>() {
-            public Integer load(String key) {
-                return 0;
-            }
-        });
+    public boolean isCostRateLimited() {
+        return properties.getQueryCostLimitPerMinute() > 0;
     }
 
     public boolean isBlocked(String key) {
-        try {
-            return attemptsCache.get(key) >= properties.getOperationRateLimitPerMinute();
-        } catch (ExecutionException e) {
-            return false;
-        }
+        TokenBucket bucket = operationBuckets.getIfPresent(key);
+        return bucket != null && !bucket.hasTokens(1);
     }
 
     public void queryPerformed(@Nullable String ip) {
         if (ip == null) {
             throw new AbortExecutionException("Can't get remote ip address");
         }
-        if (isBlocked(ip)) {
+        if (!getBucket(operationBuckets, ip, properties.getOperationRateLimitPerMinute()).tryConsume(1)) {
             throw new AbortExecutionException("Exceeded the number of allowed requests per minute");
         }
+    }
+
+    /**
+     * Consumes the cost of the operation from the cost limit of the client. An operation costing more than the
+     * whole limit is rejected without consuming the limit, because it would never be allowed.
+     *
+     * @param ip   client IP address
+     * @param cost estimated cost of the operation
+     * @see QueryCostCalculator
+     */
+    public void queryCostPerformed(@Nullable String ip, long cost) {
+        if (ip == null) {
+            throw new AbortExecutionException("Can't get remote ip address");
+        }
+        int limitPerMinute = properties.getQueryCostLimitPerMinute();
+        if (cost > limitPerMinute) {
+            throw new AbortExecutionException(String.format(
+                    "Query cost %d exceeds the allowed query cost per minute %d", cost, limitPerMinute));
+        }
+        if (!getBucket(costBuckets, ip, limitPerMinute).tryConsume(cost)) {
+            throw new AbortExecutionException("Exceeded the allowed query cost per minute");
+        }
+    }
 
-        int attempts;
-        try {
-            attempts = attemptsCache.get(ip);
-        } catch (ExecutionException e) {
-            attempts = 0;
+    private TokenBucket getBucket(Cache<String, TokenBucket> buckets, String ip, int limitPerMinute) {
+        TokenBucket bucket = buckets.getIfPresent(ip);
+        if (bucket == null) {
+            bucket = buckets.asMap().computeIfAbsent(ip, key -> new TokenBucket(limitPerMinute, 1, TimeUnit.MINUTES));
         }
-        attempts++;
-        attemptsCache.put(ip, attempts);
+        return bucket;
     }
 }
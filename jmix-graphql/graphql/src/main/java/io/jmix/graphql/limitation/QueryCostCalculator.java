@@ -0,0 +1,162 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.graphql.limitation;
+
+import com.google.common.math.LongMath;
+import graphql.analysis.QueryTraverser;
+import graphql.analysis.QueryVisitorFieldEnvironment;
+import graphql.analysis.QueryVisitorStub;
+import graphql.execution.ExecutionContext;
+import graphql.schema.GraphQLTypeUtil;
+import io.jmix.core.metamodel.model.MetaClass;
+import io.jmix.core.metamodel.model.MetaProperty;
+import io.jmix.graphql.MetadataUtils;
+import io.jmix.graphql.NamingUtils;
+import io.jmix.graphql.datafetcher.EntityQueryDataFetcher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Estimates the cost of an operation before its execution.
+ * <p>
+ * The number of loaded instances is estimated for each entity field: root list fields load the number of instances
+ * specified by the {@code limit} argument, collection attributes load
+ * {@link LimitationProperties#getQueryCostCollectionSize()} instances per owning instance, other fields load one
+ * instance per owning instance. Each nested entity field also adds a join or a separate query. The cost of the
+ * operation is the total number of loaded instances plus the number of nested entity fields.
+ */
+@Component("gql_QueryCostCalculator")
+public class QueryCostCalculator {
+
+    @Autowired
+    private MetadataUtils metadataUtils;
+    @Autowired
+    private LimitationProperties limitationProperties;
+
+    private volatile Map<String, MetaClass> entityTypes;
+
+    public QueryCost calculate(ExecutionContext executionContext) {
+        QueryTraverser traverser = QueryTraverser.newQueryTraverser()
+                .schema(executionContext.getGraphQLSchema())
+                .document(executionContext.getDocument())
+                .operationName(executionContext.getExecutionInput().getOperationName())
+                .variables(executionContext.getVariables())
+                .build();
+
+        QueryCost cost = new QueryCost();
+        traverser.visitPreOrder(new QueryVisitorStub() {
+            @Override
+            public void visitField(QueryVisitorFieldEnvironment env) {
+                if (getEntityMetaClass(env) == null) {
+                    return;
+                }
+                cost.rows = LongMath.saturatedAdd(cost.rows, estimateRows(env));
+                if (getOwnerMetaClass(env) != null) {
+                    cost.joins++;
+                }
+            }
+        });
+        return cost;
+    }
+
+    /**
+     * Returns the estimated number of instances loaded by the field for all instances of the owning fields.
+     */
+    protected long estimateRows(@Nullable QueryVisitorFieldEnvironment env) {
+        if (env == null) {
+            return 1;
+        }
+        long parentRows = estimateRows(env.getParentEnvironment());
+        if (getEntityMetaClass(env) == null) {
+            return parentRows;
+        }
+        return LongMath.saturatedMultiply(parentRows, estimateFieldRows(env));
+    }
+
+    /**
+     * Returns the estimated number of instances loaded by the field for one instance of the owning field.
+     */
+    protected long estimateFieldRows(QueryVisitorFieldEnvironment env) {
+        MetaClass ownerMetaClass = getOwnerMetaClass(env);
+        if (ownerMetaClass == null) {
+            if (!GraphQLTypeUtil.isList(GraphQLTypeUtil.unwrapNonNull(env.getFieldDefinition().getType()))) {
+                return 1;
+            }
+            Object limit = env.getArguments().get(NamingUtils.LIMIT);
+            return limit instanceof Number
+                    ? Math.max(((Number) limit).longValue(), 0)
+                    : EntityQueryDataFetcher.DEFAULT_MAX_RESULTS;
+        }
+        MetaProperty metaProperty = ownerMetaClass.findProperty(env.getField().getName());
+        if (metaProperty != null && metaProperty.getRange().getCardinality().isMany()) {
+            return limitationProperties.getQueryCostCollectionSize();
+        }
+        return 1;
+    }
+
+    @Nullable
+    protected MetaClass getEntityMetaClass(QueryVisitorFieldEnvironment env) {
+        return getMetaClass(GraphQLTypeUtil.unwrapAll(env.getFieldDefinition().getType()).getName());
+    }
+
+    @Nullable
+    protected MetaClass getOwnerMetaClass(QueryVisitorFieldEnvironment env) {
+        return getMetaClass(env.getFieldsContainer().getName());
+    }
+
+    @Nullable
+    protected MetaClass getMetaClass(String typeName) {
+        if (entityTypes == null) {
+            entityTypes = metadataUtils.allSupportedMetaClasses().stream()
+                    .collect(Collectors.toMap(metaClass -> NamingUtils.normalizeName(metaClass.getName()),
+                            Function.identity()));
+        }
+        return entityTypes.get(typeName);
+    }
+
+    /**
+     * Estimated cost of an operation.
+     */
+    public static class QueryCost {
+
+        protected long rows;
+        protected long joins;
+
+        /**
+         * @return estimated number of loaded entity instances
+         */
+        public long getRows() {
+            return rows;
+        }
+
+        /**
+         * @return number of nested entity fields, each of them is loaded by a join or a separate query
+         */
+        public long getJoins() {
+            return joins;
+        }
+
+        public long getCost() {
+            return LongMath.saturatedAdd(rows, joins);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.graphql.limitation;
+
+import graphql.ExecutionResult;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.SimpleInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import io.jmix.graphql.datafetcher.EnvironmentUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Rejects operations with the estimated cost exceeding {@link LimitationProperties#getMaxQueryCost()} and
+ * throttles clients exceeding {@link LimitationProperties#getQueryCostLimitPerMinute()}.
+ *
+ * @see QueryCostCalculator
+ */
+public class QueryCostInstrumentation extends SimpleInstrumentation {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryCostInstrumentation.class);
+
+    private final QueryCostCalculator queryCostCalculator;
+    private final OperationRateLimitService operationRateLimitService;
+    private final int maxQueryCost;
+
+    public QueryCostInstrumentation(QueryCostCalculator queryCostCalculator,
+                                    OperationRateLimitService operationRateLimitService,
+                                    int maxQueryCost) {
+        this.queryCostCalculator = queryCostCalculator;
+        this.operationRateLimitService = operationRateLimitService;
+        this.maxQueryCost = maxQueryCost;
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters) {
+        ExecutionContext executionContext = parameters.getExecutionContext();
+        // introspection queries are not skipped: the check is based on the query text and can be spoofed,
+        // and introspection fields don't add to the cost anyway
+        if (maxQueryCost <= 0 && !operationRateLimitService.isCostRateLimited()) {
+            return super.beginExecuteOperation(parameters);
+        }
+
+        QueryCostCalculator.QueryCost queryCost = queryCostCalculator.calculate(executionContext);
+        long cost = queryCost.getCost();
+        log.debug("Estimated cost of operation {}: {} rows, {} joins",
+                executionContext.getExecutionInput().getOperationName(), queryCost.getRows(), queryCost.getJoins());
+
+        if (maxQueryCost > 0 && cost > maxQueryCost) {
+            throw new AbortExecutionException(
+                    String.format("Query cost %d exceeds the maximum allowed cost %d", cost, maxQueryCost));
+        }
+        if (operationRateLimitService.isCostRateLimited()) {
+            operationRateLimitService.queryCostPerformed(
+                    EnvironmentUtils.getRemoteIPAddress(executionContext.getContext()), cost);
+        }
+        return super.beginExecuteOperation(parameters);
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.graphql.limitation;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket which is refilled continuously: the whole capacity is restored within the refill period.
+ * Methods are synchronized, so checking and consuming tokens is atomic.
+ */
+public class TokenBucket {
+
+    private final long capacity;
+    private final double tokensPerNano;
+    private final LongSupplier nanoClock;
+
+    private double tokens;
+    private long lastRefillTime;
+
+    public TokenBucket(long capacity, long refillPeriod, TimeUnit unit) {
+        this(capacity, refillPeriod, unit, System::nanoTime);
+    }
+
+    /**
+     * @param nanoClock source of time in nanoseconds, e.g. a fake clock in tests
+     */
+    TokenBucket(long capacity, long refillPeriod, TimeUnit unit, LongSupplier nanoClock) {
+        this.capacity = capacity;
+        this.tokensPerNano = (double) capacity / unit.toNanos(refillPeriod);
+        this.nanoClock = nanoClock;
+        this.tokens = capacity;
+        this.lastRefillTime = nanoClock.getAsLong();
+    }
+
+    /**
+     * Consumes the given number of tokens if they are available.
+     *
+     * @return true if tokens are consumed, false if the bucket doesn't contain enough tokens
+     */
+    public synchronized boolean tryConsume(long amount) {
+        refill();
+        if (tokens < amount) {
+            return false;
+        }
+        tokens -= amount;
+        return true;
+    }
+
+    /**
+     * @return true if the bucket contains at least the given number of tokens
+     */
+    public synchronized boolean hasTokens(long amount) {
+        refill();
+        return tokens >= amount;
+    }
+
+    public long getCapacity() {
+        return capacity;
+    }
+
+    private void refill() {
+        long now = nanoClock.getAsLong();
+        tokens = Math.min(capacity, tokens + (now - lastRefillTime) * tokensPerNano);
+        lastRefillTime = now;
+    }
+}
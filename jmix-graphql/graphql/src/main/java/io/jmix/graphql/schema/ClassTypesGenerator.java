@@ -87,6 +87,10 @@ public class ClassTypesGenerator {
                 .field(GraphQLFieldDefinition.newFieldDefinition()
                         .name(NamingUtils.SYS_ATTR_INSTANCE_NAME).type(new GraphQLTypeReference("String"))
                         .build())
+                .field(GraphQLFieldDefinition.newFieldDefinition()
+                        .name(NamingUtils.SYS_ATTR_CURSOR).type(new GraphQLTypeReference("String"))
+                        .description("cursor of the item in a list loaded with 'after' argument")
+                        .build())
                 .build();
     }
 
@@ -66,6 +66,9 @@ public class GenericSchemaGenerator {
                                     filterDesc))
                             .argument(arg(NamingUtils.LIMIT, "Int", "limit the number of items returned"))
                             .argument((arg(NamingUtils.OFFSET, "Int", "skip the first n items")))
+                            .argument(arg(NamingUtils.AFTER, "String",
+                                    "return the items following the '_cursor' of the last item of the previous page, " +
+                                            "pass an empty string to get the first page"))
                             // todo array in order by, add ability to order by nested objects
                             .argument(graphQlProperties.isMultipleSortSupported() ?
                                     listArg(NamingUtils.ORDER_BY, FilterTypesGenerator.composeFilterOrderByTypeName(metaClass), "sort the items by one or more fields") :
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.graphql
+
+import com.google.common.hash.Hashing
+import graphql.ExecutionInput
+import graphql.execution.preparsed.PreparsedDocumentEntry
+import graphql.parser.Parser
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+
+class PreparsedDocumentCacheTest extends Specification {
+
+    static final String QUERY = '{ scr_CarList { id } }'
+
+    PreparsedDocumentCache cache = new PreparsedDocumentCache(new GraphQlProperties(false, 10, 10, true, 500))
+
+    int parseCount = 0
+
+    def parse = { ExecutionInput input ->
+        parseCount++
+        new PreparsedDocumentEntry(new Parser().parseDocument(input.query))
+    }
+
+    def "document is parsed once for the same query and operation"() {
+        when:
+        def first = cache.getDocument(ExecutionInput.newExecutionInput(QUERY).build(), parse)
+        def second = cache.getDocument(ExecutionInput.newExecutionInput(QUERY).build(), parse)
+        cache.getDocument(ExecutionInput.newExecutionInput(QUERY).operationName('IntrospectionQuery').build(), parse)
+
+        then:
+        first.is(second)
+        parseCount == 2
+    }
+
+    def "persisted query is registered by hash and executed without query text"() {
+        def hash = Hashing.sha256().hashString(QUERY, StandardCharsets.UTF_8).toString()
+
+        when:
+        def notFound = cache.getDocument(persistedInput('', hash), parse)
+
+        then:
+        notFound.errors[0].message == PreparsedDocumentCache.PERSISTED_QUERY_NOT_FOUND
+
+        when:
+        cache.getDocument(persistedInput(QUERY, hash), parse)
+        def found = cache.getDocument(persistedInput('', hash), parse)
+
+        then:
+        !found.hasErrors()
+        parseCount == 1
+    }
+
+    def "persisted query with wrong hash is rejected"() {
+        when:
+        def entry = cache.getDocument(persistedInput(QUERY, 'abc'), parse)
+
+        then:
+        entry.errors[0].message == PreparsedDocumentCache.PERSISTED_QUERY_ID_INVALID
+        parseCount == 0
+    }
+
+    private static ExecutionInput persistedInput(String query, String hash) {
+        ExecutionInput.newExecutionInput(query)
+                .extensions([(PreparsedDocumentCache.PERSISTED_QUERY_EXTENSION):
+                                     [(PreparsedDocumentCache.SHA_256_HASH): hash]])
+                .build()
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.graphql.datafetcher
+
+import io.jmix.core.Stores
+import io.jmix.core.datastore.AbstractDataStore
+import io.jmix.core.datastore.DataStoreBeforeEntityLoadEvent
+import io.jmix.core.datastore.DataStoreEventListener
+import io.jmix.core.impl.DataStoreFactory
+import io.jmix.graphql.AbstractGraphQLTest
+import io.jmix.security.authentication.RoleGrantedAuthority
+import io.jmix.security.role.RowLevelRoleRepository
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.security.core.userdetails.User
+import test_support.RestTestUtils
+import test_support.role.FullAccessRole
+import test_support.role.GarageRowLevelRole
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicInteger
+
+class ReferenceBatchLoadingTest extends AbstractGraphQLTest {
+
+    // data stores are shared by all tests of the context, so the listener is registered once per data store
+    static final LoadCounter loadCounter = new LoadCounter()
+
+    @Autowired
+    DataStoreFactory dataStoreFactory
+    @Autowired
+    RowLevelRoleRepository rowLevelRoleRepository
+
+    void registerLoadCounter() {
+        synchronized (loadCounter) {
+            def dataStore = (AbstractDataStore) dataStoreFactory.get(Stores.MAIN)
+            if (!loadCounter.dataStore.is(dataStore)) {
+                dataStore.registerInterceptor(loadCounter)
+                loadCounter.dataStore = dataStore
+            }
+        }
+        loadCounter.counts.clear()
+    }
+
+    def "references are loaded by one query per entity type and level"() {
+        given:
+        registerLoadCounter()
+
+        when:
+        def response = query(
+                "datafetcher/query-garage-with-cars.graphql",
+                asObjectNode('{"filter": {"AND": [' +
+                        '{"capacity": {"_eq": "50"}}' +
+                        ']}}')
+        )
+
+        then: "garages of the root level and of the second level are loaded by separate queries"
+        getBody(response).contains('"regNumber":"ac012"')
+        loadCounter.count('scr$Garage') == 2
+        loadCounter.count('scr$Car') == 1
+    }
+
+    def "nested collections and references are loaded for entity list"() {
+        when:
+        def response = query(
+                "datafetcher/query-garage-with-cars.graphql",
+                asObjectNode('{"filter": {"AND": [' +
+                        '{"capacity": {"_eq": "50"}}' +
+                        ']}}')
+        )
+
+        then:
+        getBody(response) == '{"data":{"scr_GarageList":[' +
+                '{"id":"bfe41616-f03d-f287-1397-8619f5dde390","cars":[' +
+                '{"regNumber":"ac012","garage":{"name":"Big Bob\'s Beeper Emporium"}}' +
+                ']},' +
+                '{"id":"ca83fc1c-95e5-d012-35bf-151b7f720264","cars":[]}' +
+                ']}}'
+    }
+
+    def "nested references are loaded for entity by id"() {
+        when:
+        def response = query(
+                "datafetcher/query-car-with-garage-by-id.gql",
+                asObjectNode('{"id": "3da61043-aaad-7e30-c7f5-c1f1328d3980"}')
+        )
+
+        then:
+        getBody(response) == '{"data":{"scr_CarById":{' +
+                '"regNumber":"ab345",' +
+                '"garage":{"name":"P.S. 118","cars":[{"regNumber":"ab345"}]}' +
+                '}}}'
+    }
+
+    def "reference filtered out by row-level constraints is null and doesn't fail the batch"() {
+        given:
+        userRepository.addUser(User.builder()
+                .username("garage-constrained")
+                .password("{noop}1")
+                .authorities(
+                        RoleGrantedAuthority.ofResourceRole(resourceRoleRepository.getRoleByCode(FullAccessRole.ROLE_NAME)),
+                        RoleGrantedAuthority.ofRowLevelRole(rowLevelRoleRepository.getRoleByCode(GarageRowLevelRole.ROLE_NAME)))
+                .build())
+        def token = RestTestUtils.getAuthToken("garage-constrained", "1", port)
+
+        when: "garages of both cars are loaded by one batch, the garage of ab345 is constrained"
+        def response = query(
+                "datafetcher/query-cars-with-garage.graphql",
+                asObjectNode('{"filter": {"regNumber": {"_in": ["ab345", "ac012"]}}}'),
+                token
+        )
+
+        then:
+        getBody(response) == '{"data":{"scr_CarList":[' +
+                '{"regNumber":"ab345","garage":null},' +
+                '{"regNumber":"ac012","garage":{"name":"Big Bob\'s Beeper Emporium"}}' +
+                ']}}'
+    }
+
+    static class LoadCounter implements DataStoreEventListener {
+
+        final Map<String, AtomicInteger> counts = new ConcurrentHashMap<>()
+        AbstractDataStore dataStore
+
+        @Override
+        void beforeEntityLoad(DataStoreBeforeEntityLoadEvent event) {
+            counts.computeIfAbsent(event.loadContext.entityMetaClass.name, { new AtomicInteger() }).incrementAndGet()
+        }
+
+        int count(String entityName) {
+            return counts.get(entityName)?.get() ?: 0
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.graphql.limitation
+
+import graphql.execution.AbortExecutionException
+import spock.lang.Specification
+
+class OperationCostRateLimitTest extends Specification {
+
+    OperationRateLimitService service
+
+    void setup() {
+        service = new OperationRateLimitService()
+        service.setLimitationProperties(new LimitationProperties(0, 0, 0, 100, 10))
+    }
+
+    def "query cost budget is tracked per client IP"() {
+        when:
+        service.queryCostPerformed("10.0.0.1", 60)
+        service.queryCostPerformed("10.0.0.2", 60)
+
+        then:
+        noExceptionThrown()
+
+        when:
+        service.queryCostPerformed("10.0.0.1", 60)
+
+        then:
+        def e = thrown(AbortExecutionException)
+        e.message.contains("Exceeded the allowed query cost per minute")
+
+        when:
+        service.queryCostPerformed("10.0.0.2", 40)
+
+        then:
+        noExceptionThrown()
+    }
+
+    def "query exceeding the whole budget is rejected without consuming it"() {
+        when:
+        service.queryCostPerformed("10.0.0.1", 101)
+
+        then:
+        def e = thrown(AbortExecutionException)
+        e.message.contains("Query cost 101 exceeds the allowed query cost per minute 100")
+
+        when:
+        service.queryCostPerformed("10.0.0.1", 100)
+
+        then:
+        noExceptionThrown()
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.graphql.limitation
+
+import com.graphql.spring.boot.test.GraphQLTestError
+import io.jmix.graphql.AbstractGraphQLTest
+import org.springframework.test.context.TestPropertySource
+
+@TestPropertySource(properties = ["jmix.graphql.maxQueryCost=50"])
+class QueryCostTest extends AbstractGraphQLTest {
+
+    def "query by id is allowed"() {
+        when:
+        def response = query("limitation/car-depth-1.gql")
+
+        then:
+        response.get('$.data.scr_CarById._instanceName') == "VAZ - 2121"
+    }
+
+    def "list query with limit and nested reference is allowed"() {
+        when:
+        def response = query("limitation/cars-with-garage-limit-10.gql")
+
+        then:
+        response.getList('$.data.scr_CarList', Object).size() == 10
+    }
+
+    def "list query with nested collections without limit is rejected"() {
+        when:
+        def response = query(
+                "datafetcher/query-garage-with-cars.graphql",
+                asObjectNode('{"filter": {"AND": [' +
+                        '{"capacity": {"_eq": "50"}}' +
+                        ']}}')
+        )
+
+        then:
+        def errs = response.getList('$.errors', GraphQLTestError)
+        errs[0].message == 'Query cost 2102 exceeds the maximum allowed cost 50'
+    }
+}
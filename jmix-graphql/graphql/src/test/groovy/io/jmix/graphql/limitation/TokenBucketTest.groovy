@@ -0,0 +1,70 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.graphql.limitation
+
+import spock.lang.Specification
+
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.function.LongSupplier
+
+class TokenBucketTest extends Specification {
+
+    def "tokens are refilled continuously up to the capacity"() {
+        given:
+        long now = 0
+        def bucket = new TokenBucket(60, 1, TimeUnit.MINUTES, { now } as LongSupplier)
+
+        expect:
+        bucket.tryConsume(60)
+        !bucket.tryConsume(1)
+
+        when: "half of the refill period passes"
+        now += TimeUnit.SECONDS.toNanos(30)
+
+        then:
+        bucket.hasTokens(30)
+        !bucket.hasTokens(31)
+        bucket.tryConsume(30)
+        !bucket.tryConsume(1)
+
+        when: "much more than the refill period passes"
+        now += TimeUnit.MINUTES.toNanos(10)
+
+        then:
+        bucket.hasTokens(60)
+        !bucket.hasTokens(61)
+    }
+
+    def "concurrent consumers don't take more than the capacity"() {
+        given:
+        def bucket = new TokenBucket(100, 1, TimeUnit.DAYS)
+        def executor = Executors.newFixedThreadPool(8)
+        def tasks = (1..1000).collect { { -> bucket.tryConsume(1) } as Callable<Boolean> }
+
+        when:
+        def results = executor.invokeAll(tasks).collect { it.get() }
+
+        then:
+        results.count { it } == 100
+
+        cleanup:
+        executor.shutdown()
+    }
+}
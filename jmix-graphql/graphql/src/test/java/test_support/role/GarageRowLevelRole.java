@@ -0,0 +1,30 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package test_support.role;
+
+import io.jmix.security.role.annotation.JpqlRowLevelPolicy;
+import io.jmix.security.role.annotation.RowLevelRole;
+import test_support.entity.Garage;
+
+@RowLevelRole(name = GarageRowLevelRole.ROLE_NAME, code = GarageRowLevelRole.ROLE_NAME)
+public interface GarageRowLevelRole {
+    String ROLE_NAME = "garage-row-level";
+
+    @JpqlRowLevelPolicy(entityClass = Garage.class, where = "{E}.name <> 'P.S. 118'")
+    void garage();
+}
@@ -18,6 +18,9 @@ package io.jmix.gridexportflowui;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
 
 /**
  * Export actions configuration interface
@@ -30,6 +33,28 @@ public class GridExportProperties {
      */
     int exportAllBatchSize;
 
+    /**
+     * Whether to export all records in a background task. The exported file is saved to the file storage
+     * and the user is notified with a download link when the file is ready.
+     */
+    boolean exportAllInBackground;
+
+    /**
+     * Timeout of the background task exporting all records.
+     */
+    Duration exportAllTimeout;
+
+    /**
+     * Name of the file storage for files exported in background. If not set, the default file storage is used.
+     */
+    String exportAllFileStorage;
+
+    /**
+     * How long files exported in background are kept in the file storage. The files are removed after this
+     * period; files of exports completed before an application restart are not removed. Zero disables removal.
+     */
+    Duration exportAllFileRetention;
+
     /**
      * Excel exporting configuration.
      */
@@ -42,10 +67,46 @@ public class GridExportProperties {
         return exportAllBatchSize;
     }
 
+    /**
+     * @see #exportAllInBackground
+     */
+    public boolean isExportAllInBackground() {
+        return exportAllInBackground;
+    }
+
+    /**
+     * @see #exportAllTimeout
+     */
+    public Duration getExportAllTimeout() {
+        return exportAllTimeout;
+    }
+
+    /**
+     * @see #exportAllFileStorage
+     */
+    @Nullable
+    public String getExportAllFileStorage() {
+        return exportAllFileStorage;
+    }
+
+    /**
+     * @see #exportAllFileRetention
+     */
+    public Duration getExportAllFileRetention() {
+        return exportAllFileRetention;
+    }
 
     public GridExportProperties(@DefaultValue("1000") int exportAllBatchSize,
+                                @DefaultValue("false") boolean exportAllInBackground,
+                                @DefaultValue("30m") Duration exportAllTimeout,
+                                @Nullable String exportAllFileStorage,
+                                @DefaultValue("1h") Duration exportAllFileRetention,
                                 @DefaultValue ExcelExporterProperties excel) {
         this.exportAllBatchSize = exportAllBatchSize;
+        this.exportAllInBackground = exportAllInBackground;
+        this.exportAllTimeout = exportAllTimeout;
+        this.exportAllFileStorage = exportAllFileStorage;
+        this.exportAllFileRetention = exportAllFileRetention;
         this.excel = excel;
     }
 
@@ -16,22 +16,41 @@
 
 package io.jmix.gridexportflowui.action;
 
+import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.component.html.Div;
+import com.vaadin.flow.component.html.Span;
+import com.vaadin.flow.component.notification.Notification;
+import com.vaadin.flow.component.progressbar.ProgressBar;
+import io.jmix.core.FileRef;
+import io.jmix.core.LoadContext;
 import io.jmix.core.Messages;
 import io.jmix.core.common.util.Preconditions;
 import io.jmix.flowui.Dialogs;
+import io.jmix.flowui.Notifications;
 import io.jmix.flowui.action.ActionType;
 import io.jmix.flowui.action.DialogAction;
 import io.jmix.flowui.action.SecuredBaseAction;
 import io.jmix.flowui.action.list.ListDataComponentAction;
+import io.jmix.flowui.backgroundtask.BackgroundTask;
+import io.jmix.flowui.backgroundtask.BackgroundWorker;
+import io.jmix.flowui.backgroundtask.TaskLifeCycle;
 import io.jmix.flowui.component.ListDataComponent;
+import io.jmix.flowui.component.UiComponentUtils;
 import io.jmix.flowui.data.ContainerDataUnit;
 import io.jmix.flowui.download.Downloader;
 import io.jmix.flowui.kit.action.Action;
 import io.jmix.flowui.kit.action.ActionVariant;
 import io.jmix.flowui.model.HasLoader;
+import io.jmix.flowui.view.View;
+import io.jmix.gridexportflowui.GridExportProperties;
 import io.jmix.gridexportflowui.exporter.DataGridExporter;
 import io.jmix.gridexportflowui.exporter.ExportMode;
+import io.jmix.gridexportflowui.exporter.StreamingAllRecordsExporter;
+import io.jmix.gridexportflowui.exporter.StreamingDataGridExporter;
+import io.jmix.gridexportflowui.exporter.StreamingExportWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
@@ -39,6 +58,7 @@ import org.springframework.lang.Nullable;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 /**
@@ -50,6 +70,8 @@ import java.util.function.Function;
 @ActionType(ExportAction.ID)
 public class ExportAction extends ListDataComponentAction<ExportAction, Object> implements ApplicationContextAware {
 
+    private static final Logger log = LoggerFactory.getLogger(ExportAction.class);
+
     public static final String ID = "grdexp_export";
 
     protected ApplicationContext applicationContext;
@@ -57,6 +79,10 @@ public class ExportAction extends ListDataComponentAction<ExportAction, Object>
     protected Messages messages;
     protected Downloader downloader;
     protected Dialogs dialogs;
+    protected Notifications notifications;
+    protected BackgroundWorker backgroundWorker;
+    protected GridExportProperties gridExportProperties;
+    protected StreamingAllRecordsExporter streamingAllRecordsExporter;
 
     protected DataGridExporter dataGridExporter;
 
@@ -88,6 +114,26 @@ public class ExportAction extends ListDataComponentAction<ExportAction, Object>
         this.dialogs = dialogs;
     }
 
+    @Autowired
+    public void setNotifications(Notifications notifications) {
+        this.notifications = notifications;
+    }
+
+    @Autowired
+    public void setBackgroundWorker(BackgroundWorker backgroundWorker) {
+        this.backgroundWorker = backgroundWorker;
+    }
+
+    @Autowired
+    public void setGridExportProperties(GridExportProperties gridExportProperties) {
+        this.gridExportProperties = gridExportProperties;
+    }
+
+    @Autowired
+    public void setStreamingAllRecordsExporter(StreamingAllRecordsExporter streamingAllRecordsExporter) {
+        this.streamingAllRecordsExporter = streamingAllRecordsExporter;
+    }
+
     /**
      * Sets the dataGrid exporter instance
      */
@@ -180,12 +226,61 @@ public class ExportAction extends ListDataComponentAction<ExportAction, Object>
     @SuppressWarnings({"unchecked", "rawtypes"})
     protected void doExport(ExportMode exportMode) {
         if (getTarget() instanceof Grid) {
-            dataGridExporter.exportDataGrid(downloader, (Grid) getTarget(), exportMode);
+            if (exportMode == ExportMode.ALL_ROWS && isExportAllInBackground()) {
+                exportAllInBackground((Grid) getTarget());
+            } else {
+                dataGridExporter.exportDataGrid(downloader, (Grid) getTarget(), exportMode);
+            }
         } else {
             throw new UnsupportedOperationException("Unsupported component for export");
         }
     }
 
+    protected boolean isExportAllInBackground() {
+        return gridExportProperties.isExportAllInBackground()
+                && dataGridExporter instanceof StreamingDataGridExporter;
+    }
+
+    /**
+     * Exports all records to a file in the file storage using a background task. The user is notified about
+     * the progress and gets a download link when the file is ready.
+     *
+     * @param dataGrid exported data grid
+     */
+    protected void exportAllInBackground(Grid<Object> dataGrid) {
+        StreamingExportWriter writer = ((StreamingDataGridExporter) dataGridExporter).createStreamingWriter(dataGrid);
+        LoadContext<?> loadContext = streamingAllRecordsExporter.generateLoadContext(target.getItems());
+
+        ProgressBar progressBar = new ProgressBar();
+        Notification progressNotification = notifications.create(
+                        new Div(new Span(getMessage("exportAllInBackground.progress")), progressBar))
+                .withDuration(0)
+                .withCloseable(false)
+                .build();
+        progressNotification.open();
+
+        BackgroundTask<Double, FileRef> task = new ExportAllTask(UiComponentUtils.findView(dataGrid),
+                loadContext, writer, progressBar, progressNotification);
+        backgroundWorker.handle(task).execute();
+    }
+
+    protected void showExportedFileNotification(FileRef fileRef, StreamingExportWriter writer) {
+        Button downloadButton = new Button(getMessage("exportAllInBackground.download"),
+                event -> downloader.download(fileRef, writer.getFormat()));
+
+        notifications.create(new Div(new Span(getMessage("exportAllInBackground.done")), downloadButton))
+                .withType(Notifications.Type.SUCCESS)
+                .withDuration(0)
+                .withCloseable(true)
+                .show();
+    }
+
+    protected void showExportFailedNotification() {
+        notifications.create(getMessage("exportAllInBackground.failed"))
+                .withType(Notifications.Type.ERROR)
+                .show();
+    }
+
     protected String getMessage(String id) {
         return messages.getMessage(getClass(), id);
     }
@@ -213,4 +308,68 @@ public class ExportAction extends ListDataComponentAction<ExportAction, Object>
                 && containerItems.getContainer() instanceof HasLoader containerWithLoader
                 && containerWithLoader.getLoader() != null;
     }
+
+    /**
+     * Task exporting all records in background.
+     */
+    protected class ExportAllTask extends BackgroundTask<Double, FileRef> {
+
+        protected final LoadContext<?> loadContext;
+        protected final StreamingExportWriter writer;
+        protected final ProgressBar progressBar;
+        protected final Notification progressNotification;
+
+        public ExportAllTask(@Nullable View<?> view, LoadContext<?> loadContext, StreamingExportWriter writer,
+                             ProgressBar progressBar, Notification progressNotification) {
+            super(gridExportProperties.getExportAllTimeout().toMillis(), TimeUnit.MILLISECONDS, view);
+            this.loadContext = loadContext;
+            this.writer = writer;
+            this.progressBar = progressBar;
+            this.progressNotification = progressNotification;
+        }
+
+        @Override
+        public FileRef run(TaskLifeCycle<Double> taskLifeCycle) throws Exception {
+            return streamingAllRecordsExporter.exportAllToFileStorage(loadContext, writer,
+                    (exportedRows, totalRows) -> {
+                        if (totalRows > 0) {
+                            taskLifeCycle.publish(Math.min(1.0, (double) exportedRows / totalRows));
+                        }
+                    });
+        }
+
+        @Override
+        public void progress(List<Double> changes) {
+            if (!changes.isEmpty()) {
+                progressBar.setValue(changes.get(changes.size() - 1));
+            }
+        }
+
+        @Override
+        public void done(FileRef result) {
+            progressNotification.close();
+            showExportedFileNotification(result, writer);
+        }
+
+        @Override
+        public void canceled() {
+            progressNotification.close();
+        }
+
+        @Override
+        public boolean handleTimeoutException() {
+            progressNotification.close();
+            showExportFailedNotification();
+            return true;
+        }
+
+        @Override
+        public boolean handleException(Exception ex) {
+            log.error("Unable to export all rows", ex);
+
+            progressNotification.close();
+            showExportFailedNotification();
+            return true;
+        }
+    }
 }
@@ -34,8 +34,10 @@ import org.apache.commons.collections4.MapUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import org.springframework.lang.Nullable;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.function.Function;
@@ -156,6 +158,47 @@ public abstract class AbstractDataGridExporter<T extends AbstractDataGridExporte
         return cellValue;
     }
 
+    /**
+     * Reads the columns of the data grid with their property paths and value providers. Should be invoked
+     * in the UI thread; the returned columns can be used to export rows in another thread.
+     *
+     * @param dataGrid exported data grid
+     * @return exported columns in the order of the grid columns
+     */
+    @SuppressWarnings("rawtypes")
+    protected List<ExportedColumn> createExportedColumns(Grid<Object> dataGrid) {
+        List<ExportedColumn> exportedColumns = new ArrayList<>();
+        for (Grid.Column<Object> column : dataGrid.getColumns()) {
+            MetaPropertyPath metaPropertyPath = ((EnhancedDataGrid) dataGrid).getColumnMetaPropertyPath(column);
+            Function<ColumnValueContext, Object> columnValueProvider = getColumnValueProvider(column.getKey());
+
+            Function<Object, Object> valueProvider;
+            if (columnValueProvider != null) {
+                valueProvider = entity -> columnValueProvider.apply(
+                        new ColumnValueContext((ListDataComponent<?>) dataGrid, column, entity));
+            } else if (metaPropertyPath != null) {
+                String[] path = metaPropertyPath.getPath();
+                valueProvider = entity -> EntityValues.getValueEx(entity, path);
+            } else {
+                String key = column.getKey();
+                valueProvider = entity -> EntityValues.getValueEx(entity, key);
+            }
+
+            exportedColumns.add(new ExportedColumn(column.getKey(), column.getHeaderText(), metaPropertyPath,
+                    valueProvider));
+        }
+        return exportedColumns;
+    }
+
+    protected String formatColumnValue(ExportedColumn column, Object entity) {
+        Object columnValue = column.getValue(entity);
+        MetaPropertyPath metaPropertyPath = column.getMetaPropertyPath();
+
+        return metaPropertyPath != null
+                ? formatValue(columnValue, metaPropertyPath)
+                : formatValue(columnValue);
+    }
+
     protected Function<Object, InstanceContainer<Object>> createInstanceContainerProvider(
             Grid<?> dataGrid, Object item) {
         return entity -> {
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.gridexportflowui.exporter;
+
+import io.jmix.core.metamodel.model.MetaPropertyPath;
+import org.springframework.lang.Nullable;
+
+import java.util.function.Function;
+
+/**
+ * Exported column of a data grid. Contains the column properties read from the grid, so rows can be
+ * exported without accessing the grid, e.g. in a background thread.
+ *
+ * @see AbstractDataGridExporter#createExportedColumns
+ */
+public class ExportedColumn {
+
+    protected final String key;
+    protected final String headerText;
+    protected final MetaPropertyPath metaPropertyPath;
+    protected final Function<Object, Object> valueProvider;
+
+    public ExportedColumn(String key, @Nullable String headerText, @Nullable MetaPropertyPath metaPropertyPath,
+                          Function<Object, Object> valueProvider) {
+        this.key = key;
+        this.headerText = headerText;
+        this.metaPropertyPath = metaPropertyPath;
+        this.valueProvider = valueProvider;
+    }
+
+    /**
+     * @return column key
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * @return column header text
+     */
+    @Nullable
+    public String getHeaderText() {
+        return headerText;
+    }
+
+    /**
+     * @return property path of the column or null if the column isn't bound to a property
+     */
+    @Nullable
+    public MetaPropertyPath getMetaPropertyPath() {
+        return metaPropertyPath;
+    }
+
+    /**
+     * @param entity entity instance
+     * @return value of the column for the given entity instance
+     */
+    @Nullable
+    public Object getValue(Object entity) {
+        return valueProvider.apply(entity);
+    }
+}
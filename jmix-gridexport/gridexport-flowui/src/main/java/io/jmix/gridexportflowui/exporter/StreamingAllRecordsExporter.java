@@ -0,0 +1,290 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.gridexportflowui.exporter;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.jmix.core.CoreProperties;
+import io.jmix.core.DataManager;
+import io.jmix.core.FileRef;
+import io.jmix.core.FileStorage;
+import io.jmix.core.FileStorageLocator;
+import io.jmix.core.Id;
+import io.jmix.core.LoadContext;
+import io.jmix.core.MetadataTools;
+import io.jmix.core.common.util.Preconditions;
+import io.jmix.gridexportflowui.GridExportProperties;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class is used by {@link io.jmix.gridexportflowui.action.ExportAction} for exporting all records from the database
+ * in background.
+ * <p>
+ * Records are loaded in batches ordered by primary key, the batch size is configured by the
+ * {@link GridExportProperties#getExportAllBatchSize()}. The next batch is loaded in a separate thread while rows
+ * of the current batch are written, and each batch is loaded in its own transaction. Rows are written to a temporary
+ * file by a {@link StreamingExportWriter}, then the file is moved to the file storage. The file is removed from
+ * the file storage after {@link GridExportProperties#getExportAllFileRetention()}.
+ */
+@Component("grdexp_StreamingAllRecordsExporter")
+public class StreamingAllRecordsExporter extends AbstractAllRecordsExporter {
+
+    private static final Logger log = LoggerFactory.getLogger(StreamingAllRecordsExporter.class);
+
+    protected static final String THREAD_NAME_PREFIX = "GridExportPrefetch-";
+    protected static final String CLEANUP_THREAD_NAME = "GridExportCleanup";
+
+    protected DataManager dataManager;
+    protected FileStorageLocator fileStorageLocator;
+    protected CoreProperties coreProperties;
+    protected GridExportProperties gridExportProperties;
+
+    protected volatile ExecutorService executor;
+    protected volatile ScheduledExecutorService cleanupExecutor;
+
+    public StreamingAllRecordsExporter(MetadataTools metadataTools,
+                                       DataManager dataManager,
+                                       FileStorageLocator fileStorageLocator,
+                                       CoreProperties coreProperties,
+                                       GridExportProperties gridExportProperties) {
+        super(metadataTools);
+        this.dataManager = dataManager;
+        this.fileStorageLocator = fileStorageLocator;
+        this.coreProperties = coreProperties;
+        this.gridExportProperties = gridExportProperties;
+    }
+
+    /**
+     * Exports all entity instances of the given load context to a file in the file storage. The file storage
+     * is configured by the {@link GridExportProperties#getExportAllFileStorage()}.
+     *
+     * @param loadContext      load context created by {@link #generateLoadContext}
+     * @param writer           writer of the rows
+     * @param progressListener listener notified after each written batch
+     * @return reference to the exported file
+     */
+    public FileRef exportAllToFileStorage(LoadContext<?> loadContext, StreamingExportWriter writer,
+                                          @Nullable ProgressListener progressListener)
+            throws IOException, InterruptedException {
+        File tempFile = Files.createTempFile(new File(coreProperties.getTempDir()).toPath(),
+                "gridexport", null).toFile();
+        try {
+            try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(tempFile.toPath()))) {
+                exportAll(loadContext, writer, outputStream, progressListener);
+            }
+
+            FileStorage fileStorage = getFileStorage();
+            FileRef fileRef;
+            try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(tempFile.toPath()))) {
+                fileRef = fileStorage.saveStream(writer.getFileName(), inputStream);
+            }
+            scheduleRemoval(fileStorage, fileRef);
+            return fileRef;
+        } finally {
+            if (!tempFile.delete()) {
+                log.warn("Unable to delete temporary file {}", tempFile);
+            }
+        }
+    }
+
+    /**
+     * Exports all entity instances of the given load context to the output stream.
+     *
+     * @param loadContext      load context created by {@link #generateLoadContext}
+     * @param writer           writer of the rows
+     * @param outputStream     stream to write the file to
+     * @param progressListener listener notified after each written batch
+     * @return number of exported rows
+     */
+    @SuppressWarnings("rawtypes")
+    public long exportAll(LoadContext<?> loadContext, StreamingExportWriter writer, OutputStream outputStream,
+                          @Nullable ProgressListener progressListener) throws IOException, InterruptedException {
+        Preconditions.checkNotNullArgument(writer, "Cannot export all rows. Writer can't be null");
+
+        long count = dataManager.getCount(loadContext);
+        int loadBatchSize = gridExportProperties.getExportAllBatchSize();
+        ExecutorService batchExecutor = new DelegatingSecurityContextExecutorService(getExecutor());
+
+        long rowNumber = 0;
+        boolean rowLimitReached = false;
+        Future<List> nextBatch = loadBatchAsync(batchExecutor, loadContext, null, loadBatchSize);
+        try {
+            writer.begin(outputStream);
+
+            while (nextBatch != null && !rowLimitReached) {
+                List entities = getBatch(nextBatch);
+
+                // load the next batch while the current one is being written
+                nextBatch = entities.size() < loadBatchSize
+                        ? null
+                        : loadBatchAsync(batchExecutor, loadContext,
+                        getPkValue(entities.get(entities.size() - 1)), loadBatchSize);
+
+                for (Object entity : entities) {
+                    if (!writer.write(entity)) {
+                        rowLimitReached = true;
+                        break;
+                    }
+                    rowNumber++;
+                }
+
+                if (progressListener != null) {
+                    progressListener.onProgress(rowNumber, count);
+                }
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedException("Export of all rows is interrupted");
+                }
+            }
+
+            writer.end();
+        } finally {
+            if (nextBatch != null) {
+                nextBatch.cancel(true);
+            }
+            writer.dispose();
+        }
+
+        return rowNumber;
+    }
+
+    @SuppressWarnings("rawtypes")
+    protected Future<List> loadBatchAsync(ExecutorService batchExecutor, LoadContext<?> loadContext,
+                                          @Nullable Object lastLoadedPkValue, int loadBatchSize) {
+        LoadContext<?> batchLoadContext = loadContext.copy();
+        LoadContext.Query query = batchLoadContext.getQuery();
+        if (lastLoadedPkValue != null) {
+            query.setParameter(LAST_LOADED_PK_CONDITION_PARAMETER_NAME, lastLoadedPkValue);
+        }
+        query.setMaxResults(loadBatchSize);
+
+        return batchExecutor.<List>submit(() -> dataManager.loadList(batchLoadContext));
+    }
+
+    protected Object getPkValue(Object entity) {
+        return Id.of(entity).getValue();
+    }
+
+    @SuppressWarnings("rawtypes")
+    protected List getBatch(Future<List> batch) throws InterruptedException {
+        try {
+            return batch.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException("Unable to load exported rows", e.getCause());
+        }
+    }
+
+    protected FileStorage getFileStorage() {
+        String storageName = gridExportProperties.getExportAllFileStorage();
+        return storageName == null
+                ? fileStorageLocator.getDefault()
+                : fileStorageLocator.getByName(storageName);
+    }
+
+    /**
+     * Schedules removal of the exported file after the retention period.
+     */
+    protected void scheduleRemoval(FileStorage fileStorage, FileRef fileRef) {
+        Duration retention = gridExportProperties.getExportAllFileRetention();
+        if (retention.isZero() || retention.isNegative()) {
+            return;
+        }
+
+        getCleanupExecutor().schedule(() -> {
+            try {
+                fileStorage.removeFile(fileRef);
+            } catch (RuntimeException e) {
+                log.warn("Unable to remove exported file {}", fileRef, e);
+            }
+        }, retention.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    protected ScheduledExecutorService getCleanupExecutor() {
+        if (cleanupExecutor == null) {
+            synchronized (this) {
+                if (cleanupExecutor == null) {
+                    cleanupExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                            .setNameFormat(CLEANUP_THREAD_NAME)
+                            .setDaemon(true)
+                            .build());
+                }
+            }
+        }
+        return cleanupExecutor;
+    }
+
+    protected ExecutorService getExecutor() {
+        if (executor == null) {
+            synchronized (this) {
+                if (executor == null) {
+                    executor = Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+                            .setNameFormat(THREAD_NAME_PREFIX + "%d")
+                            .setDaemon(true)
+                            .build());
+                }
+            }
+        }
+        return executor;
+    }
+
+    @PreDestroy
+    protected void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        if (cleanupExecutor != null) {
+            cleanupExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Listener of the export progress.
+     */
+    public interface ProgressListener {
+
+        /**
+         * Invoked after a batch of rows is written.
+         *
+         * @param exportedRows number of written rows
+         * @param totalRows    total number of rows
+         */
+        void onProgress(long exportedRows, long totalRows) throws InterruptedException;
+    }
+}
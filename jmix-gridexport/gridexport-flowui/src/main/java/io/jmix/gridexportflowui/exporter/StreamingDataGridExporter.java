@@ -0,0 +1,37 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.gridexportflowui.exporter;
+
+import com.vaadin.flow.component.grid.Grid;
+
+/**
+ * Exporter which is able to stream all records of a data grid into a file. Used for exporting all records
+ * in background.
+ *
+ * @see StreamingAllRecordsExporter
+ */
+public interface StreamingDataGridExporter extends DataGridExporter {
+
+    /**
+     * Creates a writer of the rows of the given data grid. Should be invoked in the UI thread.
+     *
+     * @param dataGrid exported data grid
+     * @return new writer instance
+     */
+    StreamingExportWriter createStreamingWriter(Grid<Object> dataGrid);
+}
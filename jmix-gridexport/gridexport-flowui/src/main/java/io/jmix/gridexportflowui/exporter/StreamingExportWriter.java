@@ -0,0 +1,71 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.gridexportflowui.exporter;
+
+import io.jmix.flowui.download.DownloadFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes exported rows to an output stream one by one, so all records can be exported without keeping them
+ * in memory.
+ * <p>
+ * Methods of the writer are invoked in a background thread, so the writer must not access UI components
+ * other than reading the state of the exported grid.
+ *
+ * @see StreamingDataGridExporter
+ */
+public interface StreamingExportWriter {
+
+    /**
+     * @return name of the exported file including extension
+     */
+    String getFileName();
+
+    /**
+     * @return format of the exported file
+     */
+    DownloadFormat getFormat();
+
+    /**
+     * Starts the output, e.g. writes the header.
+     *
+     * @param outputStream stream to write the file to
+     */
+    void begin(OutputStream outputStream) throws IOException;
+
+    /**
+     * Writes a row for the given entity instance.
+     *
+     * @param entity entity instance
+     * @return false if no more rows can be written, e.g. because of the format limitations
+     */
+    boolean write(Object entity) throws IOException;
+
+    /**
+     * Completes the output. The output stream is closed by the caller.
+     */
+    void end() throws IOException;
+
+    /**
+     * Releases resources of the writer. Invoked after the export is completed or failed.
+     */
+    default void dispose() {
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.gridexportflowui.exporter.csv;
+
+import com.vaadin.flow.component.grid.Grid;
+import io.jmix.flowui.component.ListDataComponent;
+import io.jmix.flowui.component.grid.DataGrid;
+import io.jmix.flowui.component.grid.TreeDataGrid;
+import io.jmix.flowui.data.grid.ContainerTreeDataGridItems;
+import io.jmix.flowui.download.ByteArrayDownloadDataProvider;
+import io.jmix.flowui.download.DownloadFormat;
+import io.jmix.flowui.download.Downloader;
+import io.jmix.gridexportflowui.action.ExportAction;
+import io.jmix.gridexportflowui.exporter.AbstractDataGridExporter;
+import io.jmix.gridexportflowui.exporter.ExportMode;
+import io.jmix.gridexportflowui.exporter.ExportedColumn;
+import io.jmix.gridexportflowui.exporter.StreamingAllRecordsExporter;
+import io.jmix.gridexportflowui.exporter.StreamingDataGridExporter;
+import io.jmix.gridexportflowui.exporter.StreamingExportWriter;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Scope;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Use this class to export {@link DataGrid} into CSV format.
+ * <br>Just create an instance of {@link ExportAction} with <code>withExporter</code> method.
+ */
+@Component("grdexp_CsvExporter")
+@Scope(BeanDefinition.SCOPE_PROTOTYPE)
+public class CsvExporter extends AbstractDataGridExporter<CsvExporter> implements StreamingDataGridExporter {
+
+    protected static final String LINE_SEPARATOR = "\r\n";
+
+    protected StreamingAllRecordsExporter streamingAllRecordsExporter;
+
+    protected char separator = ',';
+
+    public CsvExporter(StreamingAllRecordsExporter streamingAllRecordsExporter) {
+        this.streamingAllRecordsExporter = streamingAllRecordsExporter;
+    }
+
+    /**
+     * @return values separator, comma by default
+     */
+    public char getSeparator() {
+        return separator;
+    }
+
+    /**
+     * Sets values separator.
+     *
+     * @param separator values separator
+     */
+    public void setSeparator(char separator) {
+        this.separator = separator;
+    }
+
+    /**
+     * Sets values separator.
+     *
+     * @param separator values separator
+     * @return exporter instance
+     */
+    public CsvExporter withSeparator(char separator) {
+        setSeparator(separator);
+        return this;
+    }
+
+    @Override
+    public void exportDataGrid(Downloader downloader, Grid<Object> dataGrid, ExportMode exportMode) {
+        StreamingExportWriter writer = createStreamingWriter(dataGrid);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        try {
+            if (exportMode == ExportMode.ALL_ROWS) {
+                streamingAllRecordsExporter.exportAll(
+                        streamingAllRecordsExporter.generateLoadContext(((ListDataComponent<?>) dataGrid).getItems()),
+                        writer, outputStream, null);
+            } else {
+                writer.begin(outputStream);
+                for (Object entity : getItems(dataGrid, exportMode)) {
+                    writer.write(entity);
+                }
+                writer.end();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to write document", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Export of all rows is interrupted", e);
+        }
+
+        ByteArrayDownloadDataProvider downloadDataProvider = new ByteArrayDownloadDataProvider(
+                outputStream.toByteArray(),
+                uiProperties.getSaveExportedByteArrayDataThresholdBytes(),
+                coreProperties.getTempDir()
+        );
+
+        downloader.download(downloadDataProvider, writer.getFileName(), writer.getFormat());
+    }
+
+    @Override
+    public StreamingExportWriter createStreamingWriter(Grid<Object> dataGrid) {
+        return new CsvExportWriter(createExportedColumns(dataGrid),
+                getFileName(dataGrid) + "." + DownloadFormat.CSV.getFileExt());
+    }
+
+    protected Collection<Object> getItems(Grid<Object> dataGrid, ExportMode exportMode) {
+        return ExportMode.CURRENT_PAGE == exportMode
+                ? getDataGridItems(dataGrid)
+                : dataGrid.getSelectedItems();
+    }
+
+    @SuppressWarnings("unchecked")
+    protected Collection<Object> getDataGridItems(Grid<Object> dataGrid) {
+        if (dataGrid instanceof TreeDataGrid) {
+            TreeDataGrid<Object> treeDataGrid = (TreeDataGrid<Object>) dataGrid;
+
+            return new ArrayList<>(
+                    ((ContainerTreeDataGridItems<Object>) treeDataGrid.getItems()).getContainer().getItems());
+        }
+
+        return dataGrid.getGenericDataView().getItems().collect(Collectors.toList());
+    }
+
+    /**
+     * Escapes the value according to RFC 4180: the value is quoted if it contains the separator, quotes
+     * or line breaks.
+     */
+    protected String escape(@Nullable String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+
+        if (value.indexOf(separator) < 0
+                && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0
+                && value.indexOf('\r') < 0) {
+            return value;
+        }
+
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    @Override
+    public String getLabel() {
+        return messages.getMessage("csvExporter.label");
+    }
+
+    /**
+     * Writes entity instances as lines of a CSV file in UTF-8.
+     */
+    protected class CsvExportWriter implements StreamingExportWriter {
+
+        protected final List<ExportedColumn> columns;
+        protected final String fileName;
+
+        protected Writer writer;
+
+        public CsvExportWriter(List<ExportedColumn> columns, String fileName) {
+            this.columns = columns;
+            this.fileName = fileName;
+        }
+
+        @Override
+        public String getFileName() {
+            return fileName;
+        }
+
+        @Override
+        public DownloadFormat getFormat() {
+            return DownloadFormat.CSV;
+        }
+
+        @Override
+        public void begin(OutputStream outputStream) throws IOException {
+            writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+
+            List<String> headers = columns.stream()
+                    .map(ExportedColumn::getHeaderText)
+                    .collect(Collectors.toList());
+            writeLine(headers);
+        }
+
+        @Override
+        public boolean write(Object entity) throws IOException {
+            List<String> values = new ArrayList<>(columns.size());
+            for (ExportedColumn column : columns) {
+                values.add(formatColumnValue(column, entity));
+            }
+            writeLine(values);
+            return true;
+        }
+
+        @Override
+        public void end() throws IOException {
+            writer.flush();
+        }
+
+        protected void writeLine(List<String> values) throws IOException {
+            for (int i = 0; i < values.size(); i++) {
+                if (i > 0) {
+                    writer.write(separator);
+                }
+                writer.write(escape(values.get(i)));
+            }
+            writer.write(LINE_SEPARATOR);
+        }
+    }
+}
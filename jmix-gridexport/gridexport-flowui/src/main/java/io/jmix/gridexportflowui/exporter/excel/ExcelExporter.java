@@ -34,12 +34,16 @@ import io.jmix.flowui.component.grid.TreeDataGrid;
 import io.jmix.flowui.data.grid.ContainerDataGridItems;
 import io.jmix.flowui.data.grid.ContainerTreeDataGridItems;
 import io.jmix.flowui.download.ByteArrayDownloadDataProvider;
+import io.jmix.flowui.download.DownloadFormat;
 import io.jmix.flowui.download.Downloader;
 import io.jmix.flowui.model.InstanceContainer;
 import io.jmix.gridexportflowui.GridExportProperties;
 import io.jmix.gridexportflowui.action.ExportAction;
 import io.jmix.gridexportflowui.exporter.AbstractDataGridExporter;
 import io.jmix.gridexportflowui.exporter.ExportMode;
+import io.jmix.gridexportflowui.exporter.ExportedColumn;
+import io.jmix.gridexportflowui.exporter.StreamingDataGridExporter;
+import io.jmix.gridexportflowui.exporter.StreamingExportWriter;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.poi.ss.SpreadsheetVersion;
 import org.apache.poi.ss.usermodel.*;
@@ -53,6 +57,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.lang.Nullable;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.text.ParseException;
 import java.util.*;
 import java.util.function.Function;
@@ -66,7 +71,8 @@ import static io.jmix.flowui.download.DownloadFormat.XLSX;
  */
 @Component("grdexp_ExcelExporter")
 @Scope(BeanDefinition.SCOPE_PROTOTYPE)
-public class ExcelExporter extends AbstractDataGridExporter<ExcelExporter> {
+public class ExcelExporter extends AbstractDataGridExporter<ExcelExporter>
+        implements StreamingDataGridExporter, Cloneable {
 
     protected static final int COL_WIDTH_MAGIC = 48;
 
@@ -142,39 +148,7 @@ public class ExcelExporter extends AbstractDataGridExporter<ExcelExporter> {
 
             int r = 0;
 
-            Row row = sheet.createRow(r);
-            createAutoColumnSizers(columns.size());
-
-            float maxHeight = sheet.getDefaultRowHeightInPoints();
-
-            CellStyle headerCellStyle = wb.createCellStyle();
-            headerCellStyle.setVerticalAlignment(VerticalAlignment.CENTER);
-            for (DataGrid.Column<?> column : columns) {
-                String caption = column.getHeaderText();
-
-                int countOfReturnSymbols = StringUtils.countMatches(caption, "\n");
-                if (countOfReturnSymbols > 0) {
-                    maxHeight = Math.max(maxHeight, (countOfReturnSymbols + 1) * sheet.getDefaultRowHeightInPoints());
-                    headerCellStyle.setWrapText(true);
-                }
-            }
-            row.setHeightInPoints(maxHeight);
-
-            for (int c = 0; c < columns.size(); c++) {
-                DataGrid.Column<?> column = columns.get(c);
-                String caption = column.getHeaderText();
-
-                Cell cell = row.createCell(c);
-                RichTextString richTextString = createStringCellValue(caption);
-                richTextString.applyFont(boldFont);
-                cell.setCellValue(richTextString);
-
-                ExcelAutoColumnSizer sizer = new ExcelAutoColumnSizer();
-                sizer.notifyCellValue(caption, boldFont);
-                sizers[c] = sizer;
-
-                cell.setCellStyle(headerCellStyle);
-            }
+            createHeaderRow(columns);
 
             ContainerDataGridItems<Object> dataGridSource = (ContainerDataGridItems) ((ListDataComponent<Object>) dataGrid).getItems();
             if (dataGridSource == null) {
@@ -238,9 +212,7 @@ public class ExcelExporter extends AbstractDataGridExporter<ExcelExporter> {
                 );
             }
 
-            for (int c = 0; c < columns.size(); c++) {
-                sheet.setColumnWidth(c, sizers[c].getWidth() * COL_WIDTH_MAGIC);
-            }
+            applyColumnWidths(columns.size());
 
             ByteArrayOutputStream out = new ByteArrayOutputStream();
             try {
@@ -264,6 +236,90 @@ public class ExcelExporter extends AbstractDataGridExporter<ExcelExporter> {
         }
     }
 
+    @Override
+    public StreamingExportWriter createStreamingWriter(Grid<Object> dataGrid) {
+        // the writer may be used in another thread, so it works with the workbook of a separate exporter instance
+        return copyForWriter().new ExcelExportWriter(createExportedColumns(dataGrid),
+                getFileName(dataGrid) + "." + XLSX.getFileExt());
+    }
+
+    /**
+     * Creates a copy of this exporter with the same settings and column value providers, but without
+     * the workbook, fonts, styles and column sizers.
+     *
+     * @return exporter instance used by a streaming writer
+     */
+    protected ExcelExporter copyForWriter() {
+        ExcelExporter copy;
+        try {
+            copy = (ExcelExporter) clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("Unable to copy exporter", e);
+        }
+
+        copy.wb = null;
+        copy.sheet = null;
+        copy.boldFont = null;
+        copy.stdFont = null;
+        copy.timeFormatCellStyle = null;
+        copy.dateFormatCellStyle = null;
+        copy.dateTimeFormatCellStyle = null;
+        copy.integerFormatCellStyle = null;
+        copy.doubleFormatCellStyle = null;
+        copy.sizers = null;
+        copy.isRowNumberExceeded = false;
+        if (columnValueProviders != null) {
+            copy.columnValueProviders = new HashMap<>(columnValueProviders);
+        }
+        return copy;
+    }
+
+    protected void createHeaderRow(List<Grid.Column<Object>> columns) {
+        createHeaderRowFromCaptions(columns.stream()
+                .map(Grid.Column::getHeaderText)
+                .collect(Collectors.toList()));
+    }
+
+    protected void createHeaderRowFromCaptions(List<String> captions) {
+        Row row = sheet.createRow(0);
+        createAutoColumnSizers(captions.size());
+
+        float maxHeight = sheet.getDefaultRowHeightInPoints();
+
+        CellStyle headerCellStyle = wb.createCellStyle();
+        headerCellStyle.setVerticalAlignment(VerticalAlignment.CENTER);
+        for (String caption : captions) {
+
+            int countOfReturnSymbols = StringUtils.countMatches(caption, "\n");
+            if (countOfReturnSymbols > 0) {
+                maxHeight = Math.max(maxHeight, (countOfReturnSymbols + 1) * sheet.getDefaultRowHeightInPoints());
+                headerCellStyle.setWrapText(true);
+            }
+        }
+        row.setHeightInPoints(maxHeight);
+
+        for (int c = 0; c < captions.size(); c++) {
+            String caption = captions.get(c);
+
+            Cell cell = row.createCell(c);
+            RichTextString richTextString = createStringCellValue(caption);
+            richTextString.applyFont(boldFont);
+            cell.setCellValue(richTextString);
+
+            ExcelAutoColumnSizer sizer = new ExcelAutoColumnSizer();
+            sizer.notifyCellValue(caption, boldFont);
+            sizers[c] = sizer;
+
+            cell.setCellStyle(headerCellStyle);
+        }
+    }
+
+    protected void applyColumnWidths(int columnsCount) {
+        for (int c = 0; c < columnsCount; c++) {
+            sheet.setColumnWidth(c, sizers[c].getWidth() * COL_WIDTH_MAGIC);
+        }
+    }
+
     protected int createDataGridHierarchicalRow(TreeGrid<?> dataGrid, ContainerTreeDataGridItems<Object> treeDataGridItems,
                                                 List<DataGrid.Column<Object>> columns, int startColumn,
                                                 int rowNumber, Object item) {
@@ -610,4 +666,75 @@ public class ExcelExporter extends AbstractDataGridExporter<ExcelExporter> {
             ((SXSSFWorkbook) wb).dispose();
         }
     }
+
+    /**
+     * Writes entity instances as rows of a sheet using POI SXSSF API, so only a window of rows is kept in memory.
+     * <p>
+     * The writer uses the workbook, fonts, styles and column sizers of the enclosing exporter instance, so it
+     * should be created for an exporter which isn't used for other exports, see {@link #copyForWriter()}.
+     */
+    protected class ExcelExportWriter implements StreamingExportWriter {
+
+        protected final List<ExportedColumn> columns;
+        protected final String fileName;
+
+        protected OutputStream outputStream;
+        protected int rowNumber;
+
+        public ExcelExportWriter(List<ExportedColumn> columns, String fileName) {
+            this.columns = columns;
+            this.fileName = fileName;
+        }
+
+        @Override
+        public String getFileName() {
+            return fileName;
+        }
+
+        @Override
+        public DownloadFormat getFormat() {
+            return XLSX;
+        }
+
+        @Override
+        public void begin(OutputStream outputStream) {
+            this.outputStream = outputStream;
+
+            wb = new SXSSFWorkbook();
+            sheet = wb.createSheet("Export");
+            isRowNumberExceeded = false;
+
+            createFonts();
+            createFormats();
+            createHeaderRowFromCaptions(columns.stream()
+                    .map(ExportedColumn::getHeaderText)
+                    .collect(Collectors.toList()));
+        }
+
+        @Override
+        public boolean write(Object entity) {
+            if (checkIsRowNumberExceed(++rowNumber)) {
+                return false;
+            }
+
+            Row row = sheet.createRow(rowNumber);
+            for (int c = 0; c < columns.size(); c++) {
+                ExportedColumn column = columns.get(c);
+                formatValueCell(row.createCell(c), column.getValue(entity), column.getMetaPropertyPath(),
+                        c, rowNumber, 0, null);
+            }
+            return true;
+        }
+
+        @Override
+        public void end() throws IOException {
+            applyColumnWidths(columns.size());
+            wb.write(outputStream);
+        }
+
+        @Override
+        public void dispose() {
+            disposeWorkBook();
+        }
+    }
 }
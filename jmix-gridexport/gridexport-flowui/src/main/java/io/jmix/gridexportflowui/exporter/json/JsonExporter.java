@@ -17,9 +17,9 @@
 package io.jmix.gridexportflowui.exporter.json;
 
 import com.google.gson.*;
+import com.google.gson.stream.JsonWriter;
 import com.vaadin.flow.component.grid.Grid;
 import io.jmix.core.Metadata;
-import io.jmix.core.metamodel.model.MetaPropertyPath;
 import io.jmix.flowui.component.ListDataComponent;
 import io.jmix.flowui.component.grid.DataGrid;
 import io.jmix.flowui.component.grid.TreeDataGrid;
@@ -30,13 +30,22 @@ import io.jmix.flowui.download.Downloader;
 import io.jmix.gridexportflowui.action.ExportAction;
 import io.jmix.gridexportflowui.exporter.AbstractDataGridExporter;
 import io.jmix.gridexportflowui.exporter.ExportMode;
+import io.jmix.gridexportflowui.exporter.ExportedColumn;
+import io.jmix.gridexportflowui.exporter.StreamingDataGridExporter;
+import io.jmix.gridexportflowui.exporter.StreamingExportWriter;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -46,7 +55,7 @@ import java.util.stream.Collectors;
  */
 @Component("grdexp_JsonExporter")
 @Scope(BeanDefinition.SCOPE_PROTOTYPE)
-public class JsonExporter extends AbstractDataGridExporter<JsonExporter> {
+public class JsonExporter extends AbstractDataGridExporter<JsonExporter> implements StreamingDataGridExporter {
 
     protected Metadata metadata;
     protected JsonAllRecordsExporter jsonAllRecordsExporter;
@@ -71,43 +80,58 @@ public class JsonExporter extends AbstractDataGridExporter<JsonExporter> {
 
     @Override
     public void exportDataGrid(Downloader downloader, Grid<Object> dataGrid, ExportMode exportMode) {
-        Gson gson = createGsonForSerialization();
-        JsonArray jsonElements = new JsonArray();
-
-        if (exportMode == ExportMode.ALL_ROWS) {
-            jsonAllRecordsExporter.exportAll(((ListDataComponent<?>) dataGrid).getItems(),
-                    entity -> {
-                        JsonObject jsonObject = createJsonObjectFromEntity(dataGrid, entity);
-                        jsonElements.add(jsonObject);
-                    });
-        } else {
-            Collection<Object> items = getItems(dataGrid, exportMode);
-
-            for (Object entity : items) {
-                JsonObject jsonObject = createJsonObjectFromEntity(dataGrid, entity);
-                jsonElements.add(jsonObject);
+        StreamingExportWriter writer = createStreamingWriter(dataGrid);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        try {
+            writer.begin(outputStream);
+
+            if (exportMode == ExportMode.ALL_ROWS) {
+                jsonAllRecordsExporter.exportAll(((ListDataComponent<?>) dataGrid).getItems(),
+                        entity -> {
+                            try {
+                                writer.write(entity);
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        });
+            } else {
+                Collection<Object> items = getItems(dataGrid, exportMode);
+
+                for (Object entity : items) {
+                    writer.write(entity);
+                }
             }
+
+            writer.end();
+        } catch (IOException | UncheckedIOException e) {
+            throw new RuntimeException("Unable to write document", e);
         }
 
         ByteArrayDownloadDataProvider downloadDataProvider = new ByteArrayDownloadDataProvider(
-                gson.toJson(jsonElements).getBytes(StandardCharsets.UTF_8),
+                outputStream.toByteArray(),
                 uiProperties.getSaveExportedByteArrayDataThresholdBytes(),
                 coreProperties.getTempDir()
         );
 
-        downloader.download(downloadDataProvider, getFileName(dataGrid) + ".json", DownloadFormat.JSON);
+        downloader.download(downloadDataProvider, writer.getFileName(), writer.getFormat());
+    }
+
+    @Override
+    public StreamingExportWriter createStreamingWriter(Grid<Object> dataGrid) {
+        return new JsonExportWriter(createExportedColumns(dataGrid), getFileName(dataGrid) + ".json");
     }
 
     protected JsonObject createJsonObjectFromEntity(Grid<Object> dataGrid, Object entity) {
-        JsonObject jsonObject = new JsonObject();
+        return createJsonObjectFromEntity(createExportedColumns(dataGrid), entity);
+    }
 
-        for (Grid.Column<Object> column : dataGrid.getColumns()) {
-            Object columnValue = getColumnValue(dataGrid, column, entity);
-            MetaPropertyPath metaPropertyPath = metadata.getClass(entity).getPropertyPath(column.getKey());
+    protected JsonObject createJsonObjectFromEntity(List<ExportedColumn> columns, Object entity) {
+        JsonObject jsonObject = new JsonObject();
 
-            if (columnValue != null) {
-                jsonObject.add(column.getKey(),
-                        new JsonPrimitive(formatValue(columnValue, metaPropertyPath)));
+        for (ExportedColumn column : columns) {
+            if (column.getValue(entity) != null) {
+                jsonObject.add(column.getKey(), new JsonPrimitive(formatColumnValue(column, entity)));
             } else {
                 jsonObject.add(column.getKey(), JsonNull.INSTANCE);
             }
@@ -147,4 +171,54 @@ public class JsonExporter extends AbstractDataGridExporter<JsonExporter> {
     public String getLabel() {
         return messages.getMessage("jsonExporter.label");
     }
+
+    /**
+     * Writes entity instances as elements of a JSON array.
+     */
+    protected class JsonExportWriter implements StreamingExportWriter {
+
+        protected final List<ExportedColumn> columns;
+        protected final String fileName;
+        protected final Gson gson;
+
+        protected JsonWriter jsonWriter;
+
+        public JsonExportWriter(List<ExportedColumn> columns, String fileName) {
+            this.columns = columns;
+            this.fileName = fileName;
+            this.gson = createGsonForSerialization();
+        }
+
+        @Override
+        public String getFileName() {
+            return fileName;
+        }
+
+        @Override
+        public DownloadFormat getFormat() {
+            return DownloadFormat.JSON;
+        }
+
+        @Override
+        public void begin(OutputStream outputStream) throws IOException {
+            jsonWriter = gson.newJsonWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            jsonWriter.beginArray();
+        }
+
+        @Override
+        public boolean write(Object entity) throws IOException {
+            try {
+                gson.toJson(createJsonObjectFromEntity(columns, entity), jsonWriter);
+            } catch (JsonIOException e) {
+                throw new IOException(e);
+            }
+            return true;
+        }
+
+        @Override
+        public void end() throws IOException {
+            jsonWriter.endArray();
+            jsonWriter.flush();
+        }
+    }
 }
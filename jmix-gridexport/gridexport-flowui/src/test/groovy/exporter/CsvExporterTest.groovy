@@ -0,0 +1,75 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package exporter
+
+import io.jmix.gridexportflowui.exporter.ExportedColumn
+import io.jmix.gridexportflowui.exporter.csv.CsvExporter
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+
+class CsvExporterTest extends Specification {
+
+    CsvExporter exporter = new CsvExporter(null)
+
+    def "values are escaped according to RFC 4180"() {
+        expect:
+        exporter.escape(value) == escaped
+
+        where:
+        value         | escaped
+        null          | ''
+        ''            | ''
+        'plain'       | 'plain'
+        'a,b'         | '"a,b"'
+        'say "hi"'    | '"say ""hi"""'
+        'line\nbreak' | '"line\nbreak"'
+        'cr\rvalue'   | '"cr\rvalue"'
+    }
+
+    def "custom separator is escaped instead of comma"() {
+        when:
+        exporter.separator = ';' as char
+
+        then:
+        exporter.escape('a;b') == '"a;b"'
+        exporter.escape('a,b') == 'a,b'
+    }
+
+    def "writer writes header and rows"() {
+        given:
+        def columns = [
+                new ExportedColumn("name", "Name", null, { it.name }),
+                new ExportedColumn("description", "Description, full", null, { it.description })
+        ]
+        def writer = new CsvExporter.CsvExportWriter(exporter, columns, "export.csv")
+        def outputStream = new ByteArrayOutputStream()
+
+        when:
+        writer.begin(outputStream)
+        writer.write([name: "first", description: 'with "quotes"'])
+        writer.write([name: "second", description: null])
+        writer.end()
+
+        then:
+        new String(outputStream.toByteArray(), StandardCharsets.UTF_8) ==
+                'Name,"Description, full"\r\n' +
+                'first,"with ""quotes"""\r\n' +
+                'second,\r\n'
+    }
+}
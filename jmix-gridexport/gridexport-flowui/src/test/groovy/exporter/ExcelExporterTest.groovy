@@ -0,0 +1,69 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package exporter
+
+import io.jmix.core.Messages
+import io.jmix.gridexportflowui.exporter.ExportedColumn
+import io.jmix.gridexportflowui.exporter.excel.ExcelExporter
+import org.apache.poi.xssf.usermodel.XSSFWorkbook
+import spock.lang.Specification
+
+class ExcelExporterTest extends Specification {
+
+    ExcelExporter exporter
+
+    void setup() {
+        exporter = new ExcelExporter(null, null, null)
+        exporter.setMessages(Stub(Messages) {
+            getMessage(_ as String) >> "General"
+        })
+    }
+
+    def "writers have their own workbooks"() {
+        given:
+        def columns = [new ExportedColumn("name", "Name", null, { it.name })]
+        def writer1 = new ExcelExporter.ExcelExportWriter(exporter.copyForWriter(), columns, "export1.xlsx")
+        def writer2 = new ExcelExporter.ExcelExportWriter(exporter.copyForWriter(), columns, "export2.xlsx")
+        def outputStream1 = new ByteArrayOutputStream()
+        def outputStream2 = new ByteArrayOutputStream()
+
+        when: "Rows are written by two writers at the same time"
+        writer1.begin(outputStream1)
+        writer2.begin(outputStream2)
+        writer1.write([name: "first"])
+        writer2.write([name: "second"])
+        writer2.write([name: "third"])
+        writer1.end()
+        writer2.end()
+        writer1.dispose()
+        writer2.dispose()
+
+        then: "Each file contains only the rows of its writer"
+        readRows(outputStream1) == [["Name"], ["first"]]
+        readRows(outputStream2) == [["Name"], ["second"], ["third"]]
+
+        and: "The exporter itself doesn't get a workbook"
+        exporter.wb == null
+    }
+
+    protected List<List<String>> readRows(ByteArrayOutputStream outputStream) {
+        new XSSFWorkbook(new ByteArrayInputStream(outputStream.toByteArray())).withCloseable { wb ->
+            wb.getSheetAt(0).collect { row -> row.collect { cell -> cell.stringCellValue } }
+        }
+    }
+}
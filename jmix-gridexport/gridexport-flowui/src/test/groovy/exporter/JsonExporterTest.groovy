@@ -0,0 +1,67 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package exporter
+
+import com.google.gson.JsonParser
+import io.jmix.gridexportflowui.exporter.ExportedColumn
+import io.jmix.gridexportflowui.exporter.json.JsonExporter
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+
+class JsonExporterTest extends Specification {
+
+    def "writer writes entities as elements of JSON array"() {
+        given:
+        def columns = [
+                new ExportedColumn("name", "Name", null, { it.name }),
+                new ExportedColumn("description", "Description", null, { it.description })
+        ]
+        def writer = new JsonExporter.JsonExportWriter(new JsonExporter(null, null), columns, "export.json")
+        def outputStream = new ByteArrayOutputStream()
+
+        when:
+        writer.begin(outputStream)
+        writer.write([name: "first", description: 'with "quotes"'])
+        writer.write([name: "second", description: null])
+        writer.end()
+
+        def array = JsonParser.parseString(new String(outputStream.toByteArray(), StandardCharsets.UTF_8))
+                .asJsonArray
+
+        then:
+        array.size() == 2
+        array.get(0).asJsonObject.get("name").asString == "first"
+        array.get(0).asJsonObject.get("description").asString == 'with "quotes"'
+        array.get(1).asJsonObject.get("name").asString == "second"
+        !array.get(1).asJsonObject.has("description") || array.get(1).asJsonObject.get("description").isJsonNull()
+    }
+
+    def "writer writes empty array if there are no entities"() {
+        given:
+        def writer = new JsonExporter.JsonExportWriter(new JsonExporter(null, null), [], "export.json")
+        def outputStream = new ByteArrayOutputStream()
+
+        when:
+        writer.begin(outputStream)
+        writer.end()
+
+        then:
+        new String(outputStream.toByteArray(), StandardCharsets.UTF_8) == "[]"
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package exporter
+
+import io.jmix.core.DataManager
+import io.jmix.core.LoadContext
+import io.jmix.core.metamodel.model.MetaClass
+import io.jmix.flowui.download.DownloadFormat
+import io.jmix.gridexportflowui.GridExportProperties
+import io.jmix.gridexportflowui.exporter.StreamingAllRecordsExporter
+import io.jmix.gridexportflowui.exporter.StreamingExportWriter
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.CopyOnWriteArrayList
+
+class StreamingAllRecordsExporterTest extends Specification {
+
+    static final int BATCH_SIZE = 2
+
+    List<Map> entities = (1..5).collect { [id: it] }
+    List<Object> loadedAfterIds = new CopyOnWriteArrayList<>()
+
+    StreamingAllRecordsExporter allRecordsExporter
+    TestWriter writer = new TestWriter()
+    LoadContext loadContext = new LoadContext(Stub(MetaClass))
+            .setQuery(new LoadContext.Query("select e from test_Entity e"))
+
+    void setup() {
+        def dataManager = Stub(DataManager) {
+            getCount(_) >> entities.size()
+            loadList(_) >> { LoadContext context -> loadBatch(context) }
+        }
+        def properties = new GridExportProperties(BATCH_SIZE, true, Duration.ofMinutes(30), null,
+                Duration.ofHours(1), new GridExportProperties.ExcelExporterProperties(true))
+
+        allRecordsExporter = new StreamingAllRecordsExporter(null, dataManager, null, null, properties) {
+            @Override
+            protected Object getPkValue(Object entity) {
+                return entity.id
+            }
+        }
+    }
+
+    void cleanup() {
+        // clear the interrupted status set by tests
+        Thread.interrupted()
+        allRecordsExporter.shutdown()
+    }
+
+    def "all rows are loaded in batches after the last loaded primary key"() {
+        given:
+        def progress = []
+
+        when:
+        def count = allRecordsExporter.exportAll(loadContext, writer, new ByteArrayOutputStream(),
+                { exported, total -> progress << [exported, total] })
+
+        then: "Rows are written in the order of loading"
+        count == 5
+        writer.written*.id == [1, 2, 3, 4, 5]
+        writer.begun && writer.ended && writer.disposed
+
+        and: "Each batch is loaded after the last row of the previous one"
+        loadedAfterIds == [null, 2, 4]
+
+        and: "Progress is reported after each batch"
+        progress == [[2, 5], [4, 5], [5, 5]]
+    }
+
+    def "export stops when the writer can't write more rows"() {
+        given:
+        writer.maxRows = 3
+
+        when:
+        def count = allRecordsExporter.exportAll(loadContext, writer, new ByteArrayOutputStream(), null)
+
+        then:
+        count == 3
+        writer.written*.id == [1, 2, 3]
+        writer.ended && writer.disposed
+    }
+
+    def "interrupted export is stopped and the writer is disposed"() {
+        when: "Thread is interrupted after the first batch"
+        allRecordsExporter.exportAll(loadContext, writer, new ByteArrayOutputStream(),
+                { exported, total -> Thread.currentThread().interrupt() })
+
+        then:
+        thrown(InterruptedException)
+        writer.written*.id == [1, 2]
+        !writer.ended
+        writer.disposed
+    }
+
+    protected List loadBatch(LoadContext context) {
+        def lastLoadedId = context.query.parameters["lastLoadedPkValue"]
+        loadedAfterIds << lastLoadedId
+        entities.findAll { lastLoadedId == null || it.id > lastLoadedId }
+                .take(context.query.maxResults)
+    }
+
+    static class TestWriter implements StreamingExportWriter {
+
+        List<Object> written = []
+        int maxRows = Integer.MAX_VALUE
+        boolean begun
+        boolean ended
+        boolean disposed
+
+        @Override
+        String getFileName() {
+            return "export.csv"
+        }
+
+        @Override
+        DownloadFormat getFormat() {
+            return DownloadFormat.CSV
+        }
+
+        @Override
+        void begin(OutputStream outputStream) {
+            begun = true
+        }
+
+        @Override
+        boolean write(Object entity) {
+            if (written.size() >= maxRows) {
+                return false
+            }
+            written << entity
+            return true
+        }
+
+        @Override
+        void end() {
+            ended = true
+        }
+
+        @Override
+        void dispose() {
+            disposed = true
+        }
+    }
+}
@@ -46,17 +46,33 @@ public class RestProperties {
     private final int defaultMaxFetchSize;
     private final Map<String, Integer> entityMaxFetchSize;
 
+    /**
+     * Number of entities loaded from the database and written to the response at once when entities are
+     * streamed in the {@code application/x-ndjson} format.
+     */
+    private final int streamChunkSize;
+
+    /**
+     * Maximum number of entities returned when entities are streamed in the {@code application/x-ndjson} format.
+     * It is also used if the request doesn't specify the limit.
+     */
+    private final int streamMaxFetchSize;
+
     public RestProperties(
             @DefaultValue("*") String[] allowedOrigins,
             @DefaultValue("false") boolean optimisticLockingEnabled,
             @DefaultValue("true") boolean responseFetchPlanEnabled,
             @DefaultValue("10000") int defaultMaxFetchSize,
-            @Nullable Map<String, Integer> entityMaxFetchSize) {
+            @Nullable Map<String, Integer> entityMaxFetchSize,
+            @DefaultValue("500") int streamChunkSize,
+            @DefaultValue("1000000") int streamMaxFetchSize) {
         this.allowedOrigins = allowedOrigins;
         this.optimisticLockingEnabled = optimisticLockingEnabled;
         this.responseFetchPlanEnabled = responseFetchPlanEnabled;
         this.defaultMaxFetchSize = defaultMaxFetchSize;
         this.entityMaxFetchSize = entityMaxFetchSize == null ? Collections.emptyMap() : entityMaxFetchSize;
+        this.streamChunkSize = streamChunkSize;
+        this.streamMaxFetchSize = streamMaxFetchSize;
     }
 
     /**
@@ -86,4 +102,18 @@ public class RestProperties {
     public int getEntityMaxFetchSize(String entityName) {
         return entityMaxFetchSize.getOrDefault(entityName, defaultMaxFetchSize);
     }
+
+    /**
+     * @see #streamChunkSize
+     */
+    public int getStreamChunkSize() {
+        return streamChunkSize;
+    }
+
+    /**
+     * @see #streamMaxFetchSize
+     */
+    public int getStreamMaxFetchSize() {
+        return streamMaxFetchSize;
+    }
 }
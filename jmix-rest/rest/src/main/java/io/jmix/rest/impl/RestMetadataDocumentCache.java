@@ -0,0 +1,172 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.rest.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jmix.core.MessageTools;
+import io.jmix.core.event.MessagesCacheClearedEvent;
+import io.jmix.core.security.CurrentAuthentication;
+import io.jmix.rest.exception.RestAPIException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Caches serialized JSON documents describing the application model: entities and enums metadata and their
+ * localized messages. The documents don't depend on user permissions, so they are cached per locale of the current
+ * user. The ETag of a document is a hash of its content, so it changes only if the model or messages change.
+ * The documents are dropped when messages are reloaded by {@link io.jmix.core.Messages#clearCache()} and when
+ * the application context is refreshed.
+ */
+@Component("rest_RestMetadataDocumentCache")
+public class RestMetadataDocumentCache {
+
+    @Autowired
+    protected CurrentAuthentication currentAuthentication;
+
+    @Autowired
+    protected MessageTools messageTools;
+
+    @Autowired
+    protected ObjectProvider<ObjectMapper> objectMapperProvider;
+
+    protected final Map<Key, Document> documents = new ConcurrentHashMap<>();
+
+    protected volatile ObjectMapper objectMapper;
+
+    /**
+     * Returns a cached document for the current locale, creating it from the object provided by the supplier on
+     * cache miss. The supplier is invoked with the same locale and is allowed to throw {@link RestAPIException}.
+     *
+     * @param name            unique name of the document, e.g. request path
+     * @param contentSupplier supplies an object to be serialized to JSON
+     */
+    public Document getDocument(String name, Supplier<Object> contentSupplier) {
+        Key key = new Key(name, getLocale());
+        Document document = documents.get(key);
+        if (document == null) {
+            document = documents.computeIfAbsent(key, k -> createDocument(contentSupplier.get()));
+        }
+        return document;
+    }
+
+    /**
+     * Removes all cached documents, e.g. after messages are reloaded.
+     */
+    public void invalidateAll() {
+        documents.clear();
+    }
+
+    @EventListener
+    public void onMessagesCacheCleared(MessagesCacheClearedEvent event) {
+        invalidateAll();
+    }
+
+    @EventListener
+    public void onContextRefreshed(ContextRefreshedEvent event) {
+        // metadata is rebuilt on context refresh
+        invalidateAll();
+    }
+
+    protected Document createDocument(Object content) {
+        String json;
+        try {
+            json = getObjectMapper().writeValueAsString(content);
+        } catch (JsonProcessingException e) {
+            throw new RestAPIException("Unable to serialize metadata", e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR, e);
+        }
+        String eTag = "\"" + DigestUtils.md5DigestAsHex(json.getBytes(StandardCharsets.UTF_8)) + "\"";
+        return new Document(json, eTag);
+    }
+
+    /**
+     * Returns the object mapper used by Spring MVC to serialize responses, so the cached documents are the same as
+     * the ones produced for the objects returned by controllers.
+     */
+    protected ObjectMapper getObjectMapper() {
+        if (objectMapper == null) {
+            objectMapper = objectMapperProvider.getIfUnique(() -> Jackson2ObjectMapperBuilder.json().build());
+        }
+        return objectMapper;
+    }
+
+    protected Locale getLocale() {
+        return currentAuthentication.isSet() ? currentAuthentication.getLocale() : messageTools.getDefaultLocale();
+    }
+
+    /**
+     * Serialized JSON document with its ETag.
+     */
+    public static class Document {
+
+        protected final String json;
+        protected final String eTag;
+
+        public Document(String json, String eTag) {
+            this.json = json;
+            this.eTag = eTag;
+        }
+
+        public String getJson() {
+            return json;
+        }
+
+        /**
+         * @return strong ETag in the quoted form
+         */
+        public String getETag() {
+            return eTag;
+        }
+    }
+
+    protected static class Key {
+
+        protected final String name;
+        protected final Locale locale;
+
+        protected Key(String name, Locale locale) {
+            this.name = name;
+            this.locale = locale;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return name.equals(key.name) && locale.equals(key.locale);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, locale);
+        }
+    }
+}
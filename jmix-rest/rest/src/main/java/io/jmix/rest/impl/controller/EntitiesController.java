@@ -21,6 +21,7 @@ import com.google.gson.JsonParser;
 import com.google.gson.JsonPrimitive;
 import io.jmix.rest.impl.service.EntitiesControllerManager;
 import io.jmix.rest.impl.service.filter.data.EntitiesSearchResult;
+import io.jmix.rest.impl.service.filter.data.EntityLoadResult;
 import io.jmix.rest.impl.service.filter.data.ResponseInfo;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -30,8 +31,12 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Controller that performs CRUD entity operations
@@ -50,9 +55,25 @@ public class EntitiesController {
                              @RequestParam(required = false) String fetchPlan,
                              @RequestParam(required = false) Boolean returnNulls,
                              @RequestParam(required = false) Boolean dynamicAttributes,
-                             @RequestParam(required = false) String modelVersion) {
-        return entitiesControllerManager.loadEntity(entityName, entityId, StringUtils.defaultString(fetchPlan, view),
+                             @RequestParam(required = false) String modelVersion,
+                             WebRequest request,
+                             HttpServletResponse response) {
+        String fetchPlanName = StringUtils.defaultString(fetchPlan, view);
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            // check the version of the entity before loading and serializing it
+            String eTag = entitiesControllerManager.getEntityETag(entityName, entityId, fetchPlanName,
+                    returnNulls, dynamicAttributes, modelVersion);
+            if (eTag != null && request.checkNotModified(eTag)) {
+                return null;
+            }
+        }
+
+        EntityLoadResult result = entitiesControllerManager.loadEntityResult(entityName, entityId, fetchPlanName,
                 returnNulls, dynamicAttributes, modelVersion);
+        if (result.getETag() != null) {
+            response.setHeader(HttpHeaders.ETAG, result.getETag());
+        }
+        return result.getJson();
     }
 
     @GetMapping("/{entityName}")
@@ -65,16 +86,37 @@ public class EntitiesController {
                                                    @RequestParam(required = false) Boolean returnNulls,
                                                    @RequestParam(required = false) Boolean returnCount,
                                                    @RequestParam(required = false) Boolean dynamicAttributes,
-                                                   @RequestParam(required = false) String modelVersion) {
+                                                   @RequestParam(required = false) String modelVersion,
+                                                   @RequestParam(required = false) String after) {
         EntitiesSearchResult entitiesSearchResult = entitiesControllerManager.loadEntitiesList(entityName, StringUtils.defaultString(fetchPlan, view), limit,
-                offset, sort, returnNulls, returnCount, dynamicAttributes, modelVersion);
+                offset, sort, returnNulls, returnCount, dynamicAttributes, modelVersion, after);
         ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(HttpStatus.OK);
         if (BooleanUtils.isTrue(returnCount)) {
             responseBuilder.header("X-Total-Count", entitiesSearchResult.getCount().toString());
         }
+        if (entitiesSearchResult.getNextCursor() != null) {
+            responseBuilder.header("X-Next-Cursor", entitiesSearchResult.getNextCursor());
+        }
         return responseBuilder.body(entitiesSearchResult.getJson());
     }
 
+    @GetMapping(path = "/{entityName}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamEntitiesList(@PathVariable String entityName,
+                                   @RequestParam(required = false) String view,
+                                   @RequestParam(required = false) String fetchPlan,
+                                   @RequestParam(required = false) Integer limit,
+                                   @RequestParam(required = false) Integer offset,
+                                   @RequestParam(required = false) String sort,
+                                   @RequestParam(required = false) Boolean returnNulls,
+                                   @RequestParam(required = false) Boolean dynamicAttributes,
+                                   @RequestParam(required = false) String modelVersion,
+                                   HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        entitiesControllerManager.streamEntitiesList(entityName, StringUtils.defaultString(fetchPlan, view), limit,
+                offset, sort, returnNulls, dynamicAttributes, modelVersion, response.getOutputStream());
+    }
+
     @GetMapping("/{entityName}/search")
     public ResponseEntity<String> searchEntitiesListGet(@PathVariable String entityName,
                                                         @RequestParam String filter,
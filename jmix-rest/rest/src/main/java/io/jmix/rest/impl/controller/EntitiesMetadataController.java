@@ -16,17 +16,17 @@
 
 package io.jmix.rest.impl.controller;
 
+import io.jmix.rest.impl.RestMetadataDocumentCache;
 import io.jmix.rest.impl.service.EntitiesMetadataControllerManager;
-import io.jmix.rest.impl.service.filter.data.MetaClassInfo;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.Collection;
-
 /**
  * Controller that is used for getting entities metadata. User permissions for entities access aren't taken into account
  * at the moment.
@@ -38,13 +38,13 @@ public class EntitiesMetadataController {
     protected EntitiesMetadataControllerManager controllerManager;
 
     @GetMapping("/entities/{entityName}")
-    public MetaClassInfo getMetaClassInfo(@PathVariable String entityName) {
-        return controllerManager.getMetaClassInfo(entityName);
+    public ResponseEntity<String> getMetaClassInfo(@PathVariable String entityName) {
+        return createResponse(controllerManager.getMetaClassInfoDocument(entityName));
     }
 
     @GetMapping("/entities")
-    public Collection<MetaClassInfo> getAllMetaClassesInfo() {
-        return controllerManager.getAllMetaClassesInfo();
+    public ResponseEntity<String> getAllMetaClassesInfo() {
+        return createResponse(controllerManager.getAllMetaClassesInfoDocument());
     }
 
     @GetMapping("/entities/{entityName}/views/{viewName}")
@@ -68,4 +68,11 @@ public class EntitiesMetadataController {
     public String getAllFetchPlansForMetaClass(@PathVariable String entityName) {
         return controllerManager.getAllFetchPlansForMetaClass(entityName);
     }
+
+    protected ResponseEntity<String> createResponse(RestMetadataDocumentCache.Document document) {
+        return ResponseEntity.ok()
+                .eTag(document.getETag())
+                .varyBy(HttpHeaders.ACCEPT_LANGUAGE)
+                .body(document.getJson());
+    }
 }
@@ -16,16 +16,17 @@
 
 package io.jmix.rest.impl.controller;
 
-import io.jmix.rest.impl.service.filter.data.EnumInfo;
+import io.jmix.rest.impl.RestMetadataDocumentCache;
 import io.jmix.rest.impl.service.EnumsControllerManager;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import java.util.List;
 
 /**
  * REST controller that is used for getting an information about enums
@@ -37,12 +38,19 @@ public class EnumsController {
     protected EnumsControllerManager enumsControllerManager;
 
     @GetMapping
-    public List<EnumInfo> getAllEnumInfos() {
-        return enumsControllerManager.getAllEnumInfos();
+    public ResponseEntity<String> getAllEnumInfos() {
+        return createResponse(enumsControllerManager.getAllEnumInfosDocument());
     }
 
     @GetMapping("/{enumClassName:.+}")
-    public EnumInfo getEnumInfo(@PathVariable String enumClassName) {
-        return enumsControllerManager.getEnumInfo(enumClassName);
+    public ResponseEntity<String> getEnumInfo(@PathVariable String enumClassName) {
+        return createResponse(enumsControllerManager.getEnumInfoDocument(enumClassName));
+    }
+
+    protected ResponseEntity<String> createResponse(RestMetadataDocumentCache.Document document) {
+        return ResponseEntity.ok()
+                .eTag(document.getETag())
+                .varyBy(HttpHeaders.ACCEPT_LANGUAGE)
+                .body(document.getJson());
     }
 }
@@ -16,15 +16,17 @@
 
 package io.jmix.rest.impl.controller;
 
+import io.jmix.rest.impl.RestMetadataDocumentCache;
 import io.jmix.rest.impl.service.MessagesControllerManager;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import java.util.Map;
 
 /**
  * Controller that returns localized messages
@@ -37,22 +39,29 @@ public class MessagesController {
     protected MessagesControllerManager messagesControllerManager;
 
     @GetMapping("/entities/{entityName}")
-    public Map<String, String> getLocalizationForEntity(@PathVariable String entityName) {
-        return messagesControllerManager.getLocalizationForEntity(entityName);
+    public ResponseEntity<String> getLocalizationForEntity(@PathVariable String entityName) {
+        return createResponse(messagesControllerManager.getLocalizationForEntityDocument(entityName));
     }
 
     @GetMapping("/entities")
-    public Map<String, String> getLocalizationForAllEntities() {
-        return messagesControllerManager.getLocalizationForAllEntities();
+    public ResponseEntity<String> getLocalizationForAllEntities() {
+        return createResponse(messagesControllerManager.getLocalizationForAllEntitiesDocument());
     }
 
     @GetMapping("/enums/{enumClassName:.+}")
-    public Map<String, String> getLocalizationForEnum(@PathVariable String enumClassName) {
-        return messagesControllerManager.getLocalizationForEnum(enumClassName);
+    public ResponseEntity<String> getLocalizationForEnum(@PathVariable String enumClassName) {
+        return createResponse(messagesControllerManager.getLocalizationForEnumDocument(enumClassName));
     }
 
     @GetMapping("/enums")
-    public Map<String, String> getLocalizationForAllEnums() {
-        return messagesControllerManager.getLocalizationForAllEnums();
+    public ResponseEntity<String> getLocalizationForAllEnums() {
+        return createResponse(messagesControllerManager.getLocalizationForAllEnumsDocument());
+    }
+
+    protected ResponseEntity<String> createResponse(RestMetadataDocumentCache.Document document) {
+        return ResponseEntity.ok()
+                .eTag(document.getETag())
+                .varyBy(HttpHeaders.ACCEPT_LANGUAGE)
+                .body(document.getJson());
     }
 }
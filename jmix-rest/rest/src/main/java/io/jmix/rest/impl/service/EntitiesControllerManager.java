@@ -24,12 +24,14 @@ import io.jmix.core.accesscontext.CrudEntityContext;
 import io.jmix.core.common.datastruct.Pair;
 import io.jmix.core.common.util.Preconditions;
 import io.jmix.core.entity.EntityValues;
+import io.jmix.core.entity.KeyValueEntity;
 import io.jmix.core.impl.importexport.EntityImportException;
 import io.jmix.core.impl.importexport.EntityImportPlanJsonBuilder;
 import io.jmix.core.impl.serialization.EntitySerializationException;
 import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.core.metamodel.model.MetaProperty;
 import io.jmix.core.metamodel.model.MetaPropertyPath;
+import io.jmix.core.security.CurrentAuthentication;
 import io.jmix.core.validation.EntityValidationException;
 import io.jmix.core.validation.group.RestApiChecks;
 import io.jmix.rest.RestProperties;
@@ -39,6 +41,7 @@ import io.jmix.rest.impl.service.filter.RestFilterParseException;
 import io.jmix.rest.impl.service.filter.RestFilterParseResult;
 import io.jmix.rest.impl.service.filter.RestFilterParser;
 import io.jmix.rest.impl.service.filter.data.EntitiesSearchResult;
+import io.jmix.rest.impl.service.filter.data.EntityLoadResult;
 import io.jmix.rest.impl.service.filter.data.ResponseInfo;
 import io.jmix.rest.transform.JsonTransformationDirection;
 import org.apache.commons.collections4.CollectionUtils;
@@ -46,19 +49,28 @@ import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.util.UriComponents;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import org.springframework.lang.Nullable;
+import jakarta.persistence.Version;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
 import jakarta.validation.Validator;
 import jakarta.validation.groups.Default;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static io.jmix.core.EntitySerializationOption.*;
 
@@ -108,15 +120,36 @@ public class EntitiesControllerManager {
     @Autowired
     protected FetchPlans fetchPlans;
 
+    @Autowired
+    protected KeysetCursors keysetCursors;
+
     @Autowired
     protected Validator validator;
 
+    @Autowired
+    protected CurrentAuthentication currentAuthentication;
+
     public String loadEntity(String entityName,
                              String entityId,
                              @Nullable String viewName,
                              @Nullable Boolean returnNulls,
                              @Nullable Boolean dynamicAttributes,
                              @Nullable String modelVersion) {
+        return loadEntityResult(entityName, entityId, viewName, returnNulls, dynamicAttributes, modelVersion).getJson();
+    }
+
+    /**
+     * Loads an entity like {@link #loadEntity(String, String, String, Boolean, Boolean, String)} and returns its JSON
+     * together with the ETag of the response if the entity is versioned.
+     *
+     * @see #getEntityETag(String, String, String, Boolean, Boolean, String)
+     */
+    public EntityLoadResult loadEntityResult(String entityName,
+                                             String entityId,
+                                             @Nullable String viewName,
+                                             @Nullable Boolean returnNulls,
+                                             @Nullable Boolean dynamicAttributes,
+                                             @Nullable String modelVersion) {
 
         entityName = restControllerUtils.transformEntityNameIfRequired(entityName, modelVersion, JsonTransformationDirection.FROM_VERSION);
         MetaClass metaClass = restControllerUtils.getMetaClass(entityName);
@@ -143,7 +176,175 @@ public class EntitiesControllerManager {
 
         String json = entitySerialization.toJson(entity, ctx.getFetchPlan(), serializationOptions.toArray(new EntitySerializationOption[0]));
         json = restControllerUtils.transformJsonIfRequired(entityName, modelVersion, JsonTransformationDirection.TO_VERSION, json);
-        return json;
+
+        String eTag = null;
+        if (isEntityETagSupported(metaClass, dynamicAttributes)) {
+            String versions = getVersionsETagSource(entity, getETagFetchPlan(metaClass, viewName));
+            if (versions != null) {
+                eTag = createEntityETag(metaClass, id, versions, viewName, returnNulls, modelVersion);
+            }
+        }
+        return new EntityLoadResult(json, eTag);
+    }
+
+    /**
+     * Returns the ETag of the response of {@link #loadEntityResult(String, String, String, Boolean, Boolean, String)}
+     * invoked with the same parameters. If the fetch plan contains no references, only the version attribute of
+     * the entity is loaded. Otherwise, the entity is loaded with the fetch plan but not serialized.
+     * <p>
+     * The ETag is derived from the versions of the entity and of all references and collection elements loaded by
+     * the fetch plan, the request parameters, the current user and the codes of their authorities. It doesn't change
+     * if only the policies of the user roles are changed, so the ETag is weak.
+     *
+     * @return ETag or null if the entity or any of its loaded references is not versioned, the entity is not found or
+     * its representation can contain dynamic attributes which are not covered by the entity version
+     */
+    @Nullable
+    public String getEntityETag(String entityName,
+                                String entityId,
+                                @Nullable String viewName,
+                                @Nullable Boolean returnNulls,
+                                @Nullable Boolean dynamicAttributes,
+                                @Nullable String modelVersion) {
+        entityName = restControllerUtils.transformEntityNameIfRequired(entityName, modelVersion, JsonTransformationDirection.FROM_VERSION);
+        MetaClass metaClass = restControllerUtils.getMetaClass(entityName);
+        checkCanReadEntity(metaClass);
+
+        if (!isEntityETagSupported(metaClass, dynamicAttributes)) {
+            return null;
+        }
+
+        Object id = getIdFromString(entityId, metaClass);
+        FetchPlan fetchPlan = getETagFetchPlan(metaClass, viewName);
+        String versions;
+        if (hasReferences(metaClass, fetchPlan)) {
+            LoadContext<Object> ctx = new LoadContext<>(metaClass);
+            ctx.setId(id);
+            ctx.setFetchPlan(fetchPlan);
+            Object entity = dataManager.load(ctx);
+            versions = entity == null ? null : getVersionsETagSource(entity, fetchPlan);
+        } else {
+            String queryString = String.format("select e.%s from %s e where e.%s = :id",
+                    getVersionPropertyName(metaClass), metaClass.getName(), metadataTools.getPrimaryKeyName(metaClass));
+            ValueLoadContext ctx = ValueLoadContext.create()
+                    .setQuery(new ValueLoadContext.Query(queryString).setParameter("id", id))
+                    .addProperty("version");
+            List<KeyValueEntity> values = dataManager.loadValues(ctx);
+            Object version = values.isEmpty() ? null : values.get(0).getValue("version");
+            versions = version == null ? null : version.toString();
+        }
+        if (versions == null) {
+            return null;
+        }
+        return createEntityETag(metaClass, id, versions, viewName, returnNulls, modelVersion);
+    }
+
+    protected FetchPlan getETagFetchPlan(MetaClass metaClass, @Nullable String viewName) {
+        return Strings.isNullOrEmpty(viewName)
+                ? fetchPlanRepository.getFetchPlan(metaClass, FetchPlan.BASE)
+                : restControllerUtils.getView(metaClass, viewName);
+    }
+
+    protected boolean hasReferences(MetaClass metaClass, FetchPlan fetchPlan) {
+        return fetchPlan.getProperties().stream()
+                .anyMatch(property -> metaClass.getProperty(property.getName()).getRange().isClass());
+    }
+
+    /**
+     * Returns the version of the entity followed by the sorted versions of all references and collection elements
+     * loaded by the fetch plan.
+     *
+     * @return versions or null if the entity or any of the loaded references is not versioned
+     */
+    @Nullable
+    protected String getVersionsETagSource(Object entity, FetchPlan fetchPlan) {
+        Object version = EntityValues.getVersion(entity);
+        if (version == null) {
+            return null;
+        }
+        Set<String> referenceVersions = new TreeSet<>();
+        if (!collectReferenceVersions(entity, fetchPlan, referenceVersions)) {
+            return null;
+        }
+        if (referenceVersions.isEmpty()) {
+            return version.toString();
+        }
+        return version + ";" + String.join(";", referenceVersions);
+    }
+
+    protected boolean collectReferenceVersions(Object entity, FetchPlan fetchPlan, Set<String> versions) {
+        MetaClass metaClass = metadata.getClass(entity);
+        for (FetchPlanProperty property : fetchPlan.getProperties()) {
+            MetaProperty metaProperty = metaClass.getProperty(property.getName());
+            if (!metaProperty.getRange().isClass()) {
+                continue;
+            }
+            Object value = EntityValues.getValue(entity, property.getName());
+            Collection<?> references;
+            if (value instanceof Collection) {
+                references = (Collection<?>) value;
+            } else {
+                references = value == null ? Collections.emptyList() : Collections.singletonList(value);
+            }
+            for (Object reference : references) {
+                if (!metadataTools.isEmbedded(metaProperty)) {
+                    Object version = EntityValues.getVersion(reference);
+                    if (version == null) {
+                        return false;
+                    }
+                    versions.add(metadata.getClass(reference).getName() + ":" + EntityValues.getId(reference) + ":" + version);
+                }
+                if (property.getFetchPlan() != null
+                        && !collectReferenceVersions(reference, property.getFetchPlan(), versions)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    protected String createEntityETag(MetaClass metaClass,
+                                      Object id,
+                                      String versions,
+                                      @Nullable String viewName,
+                                      @Nullable Boolean returnNulls,
+                                      @Nullable String modelVersion) {
+        String source = String.join("|",
+                metaClass.getName(),
+                id.toString(),
+                versions,
+                Strings.nullToEmpty(viewName),
+                String.valueOf(BooleanUtils.isTrue(returnNulls)),
+                Strings.nullToEmpty(modelVersion),
+                currentAuthentication.getUser().getUsername(),
+                currentAuthentication.getLocale().toString(),
+                getAuthoritiesETagSource());
+        return "W/\"" + DigestUtils.md5DigestAsHex(source.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    protected String getAuthoritiesETagSource() {
+        return currentAuthentication.getAuthentication().getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .filter(Objects::nonNull)
+                .sorted()
+                .collect(Collectors.joining(","));
+    }
+
+    protected boolean isEntityETagSupported(MetaClass metaClass, @Nullable Boolean dynamicAttributes) {
+        return !BooleanUtils.isTrue(dynamicAttributes)
+                && metadataTools.isJpaEntity(metaClass)
+                && !metadataTools.hasCompositePrimaryKey(metaClass)
+                && getVersionPropertyName(metaClass) != null;
+    }
+
+    @Nullable
+    protected String getVersionPropertyName(MetaClass metaClass) {
+        for (MetaProperty metaProperty : metaClass.getProperties()) {
+            if (metaProperty.getAnnotatedElement().isAnnotationPresent(Version.class)) {
+                return metaProperty.getName();
+            }
+        }
+        return null;
     }
 
     public EntitiesSearchResult loadEntitiesList(String entityName,
@@ -155,13 +356,41 @@ public class EntitiesControllerManager {
                                                  @Nullable Boolean returnCount,
                                                  @Nullable Boolean dynamicAttributes,
                                                  @Nullable String modelVersion) {
+        return loadEntitiesList(entityName, viewName, limit, offset, sort, returnNulls, returnCount, dynamicAttributes,
+                modelVersion, null);
+    }
+
+    /**
+     * Loads a page of entities. If the {@code after} cursor is provided, the list is paginated by keyset: the result
+     * contains entities following the position of the cursor, and the cursor of the next page is returned
+     * in {@link EntitiesSearchResult#getNextCursor()}. An empty cursor loads the first page.
+     */
+    public EntitiesSearchResult loadEntitiesList(String entityName,
+                                                 @Nullable String viewName,
+                                                 @Nullable Integer limit,
+                                                 @Nullable Integer offset,
+                                                 @Nullable String sort,
+                                                 @Nullable Boolean returnNulls,
+                                                 @Nullable Boolean returnCount,
+                                                 @Nullable Boolean dynamicAttributes,
+                                                 @Nullable String modelVersion,
+                                                 @Nullable String after) {
         entityName = restControllerUtils.transformEntityNameIfRequired(entityName, modelVersion, JsonTransformationDirection.FROM_VERSION);
         MetaClass metaClass = restControllerUtils.getMetaClass(entityName);
         checkCanReadEntity(metaClass);
 
         String queryString = "select e from " + entityName + " e";
-        String json = _loadEntitiesList(queryString, viewName, limit, offset, sort, returnNulls, dynamicAttributes, modelVersion,
-                metaClass, new HashMap<>());
+        String json;
+        String nextCursor = null;
+        if (after != null) {
+            KeysetPage page = _loadEntitiesPage(queryString, viewName, limit, offset, sort, after, returnNulls,
+                    dynamicAttributes, modelVersion, metaClass);
+            json = page.json;
+            nextCursor = page.nextCursor;
+        } else {
+            json = _loadEntitiesList(queryString, viewName, limit, offset, sort, returnNulls, dynamicAttributes, modelVersion,
+                    metaClass, new HashMap<>());
+        }
 
         json = restControllerUtils.transformJsonIfRequired(entityName, modelVersion, JsonTransformationDirection.TO_VERSION, json);
 
@@ -171,8 +400,77 @@ public class EntitiesControllerManager {
                     .setQuery(new LoadContext.Query(queryString));
             count = dataManager.getCount(ctx);
         }
-        return new EntitiesSearchResult(json, count);
+        return new EntitiesSearchResult(json, count, nextCursor);
+
+    }
+
+    /**
+     * Streams entities to the given output stream as newline-delimited JSON: each entity is written as a separate
+     * JSON object on its own line. Entities are loaded and written by chunks of
+     * {@link RestProperties#getStreamChunkSize()} instances, and the output is flushed after each chunk, so neither
+     * the loaded entities nor the resulting JSON are kept in memory entirely. Therefore, the number of entities is
+     * limited by {@link RestProperties#getStreamMaxFetchSize()} instead of the max fetch size of the entity.
+     * <p>
+     * The query is sorted by {@link LoadContext.Query#setSort(Sort)} with the primary key as the last sort property,
+     * so chunks are loaded by keyset when the data store supports it and the order of chunks is stable.
+     */
+    public void streamEntitiesList(String entityName,
+                                   @Nullable String viewName,
+                                   @Nullable Integer limit,
+                                   @Nullable Integer offset,
+                                   @Nullable String sort,
+                                   @Nullable Boolean returnNulls,
+                                   @Nullable Boolean dynamicAttributes,
+                                   @Nullable String modelVersion,
+                                   OutputStream outputStream) throws IOException {
+        entityName = restControllerUtils.transformEntityNameIfRequired(entityName, modelVersion, JsonTransformationDirection.FROM_VERSION);
+        MetaClass metaClass = restControllerUtils.getMetaClass(entityName);
+        checkCanReadEntity(metaClass);
+
+        LoadContext.Query query = new LoadContext.Query("select e from " + entityName + " e")
+                .setSort(parseStreamSort(sort, metaClass));
 
+        int maxFetchSize = restProperties.getStreamMaxFetchSize();
+        if (limit != null && limit > maxFetchSize) {
+            throw new RestAPIException("The value of limit exceeded", "The value of the limit exceeds the maximum possible value from application.properties", HttpStatus.BAD_REQUEST);
+        }
+        query.setMaxResults(limit != null ? limit : maxFetchSize);
+        if (offset != null) {
+            query.setFirstResult(offset);
+        }
+        LoadContext<Object> ctx = new LoadContext<>(metaClass);
+        ctx.setQuery(query);
+
+        FetchPlan view = null;
+        if (!Strings.isNullOrEmpty(viewName)) {
+            view = restControllerUtils.getView(metaClass, viewName);
+            ctx.setFetchPlan(view);
+        }
+
+        ctx.setHint("jmix.dynattr", BooleanUtils.isTrue(dynamicAttributes));
+
+        List<EntitySerializationOption> serializationOptions = new ArrayList<>();
+        serializationOptions.add(SERIALIZE_INSTANCE_NAME);
+        serializationOptions.add(DO_NOT_SERIALIZE_DENIED_PROPERTY);
+        if (BooleanUtils.isTrue(returnNulls)) serializationOptions.add(EntitySerializationOption.SERIALIZE_NULLS);
+        EntitySerializationOption[] options = serializationOptions.toArray(new EntitySerializationOption[0]);
+
+        int chunkSize = restProperties.getStreamChunkSize();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        try (Stream<Object> entities = dataManager.loadStream(ctx, chunkSize)) {
+            int written = 0;
+            for (Iterator<Object> iterator = entities.iterator(); iterator.hasNext(); ) {
+                String json = entitySerialization.toJson(iterator.next(), view, options);
+                json = restControllerUtils.transformJsonIfRequired(metaClass.getName(), modelVersion,
+                        JsonTransformationDirection.TO_VERSION, json);
+                writer.write(json);
+                writer.write('\n');
+                if (++written % chunkSize == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
     }
 
     public EntitiesSearchResult searchEntities(String entityName,
@@ -346,6 +644,142 @@ public class EntitiesControllerManager {
         return json;
     }
 
+    protected KeysetPage _loadEntitiesPage(String queryString,
+                                           @Nullable String viewName,
+                                           @Nullable Integer limit,
+                                           @Nullable Integer offset,
+                                           @Nullable String sort,
+                                           String after,
+                                           @Nullable Boolean returnNulls,
+                                           @Nullable Boolean dynamicAttributes,
+                                           @Nullable String modelVersion,
+                                           MetaClass metaClass) {
+        Sort querySort = parseKeysetSort(sort, metaClass);
+        KeysetCursor cursor;
+        try {
+            cursor = keysetCursors.decode(after);
+        } catch (IllegalArgumentException e) {
+            throw new RestAPIException("Invalid cursor", e.getMessage(), HttpStatus.BAD_REQUEST, e);
+        }
+
+        LoadContext<Object> ctx = new LoadContext<>(metaClass);
+        LoadContext.Query query = new LoadContext.Query(queryString)
+                .setSort(querySort)
+                .setAfter(cursor);
+
+        int limitFromProperties = restProperties.getEntityMaxFetchSize(metaClass.getName());
+        if (limit != null && limit > limitFromProperties) {
+            throw new RestAPIException("The value of limit exceeded", "The value of the limit exceeds the maximum possible value from application.properties", HttpStatus.BAD_REQUEST);
+        }
+        int maxResults = limit != null ? limit : limitFromProperties;
+        query.setMaxResults(maxResults);
+        if (offset != null) {
+            query.setFirstResult(offset);
+        }
+        ctx.setQuery(query);
+
+        FetchPlan view = null;
+        if (!Strings.isNullOrEmpty(viewName)) {
+            view = restControllerUtils.getView(metaClass, viewName);
+        }
+        // sort properties must be loaded to create the cursor of the next page
+        Sort keysetSort;
+        try {
+            keysetSort = keysetCursors.getKeysetSort(metaClass, querySort);
+        } catch (IllegalArgumentException e) {
+            throw new RestAPIException("Invalid sort", e.getMessage(), HttpStatus.BAD_REQUEST, e);
+        }
+        FetchPlanBuilder fetchPlanBuilder = fetchPlans.builder(metaClass.getJavaClass())
+                .addFetchPlan(view != null ? view : fetchPlanRepository.getFetchPlan(metaClass, FetchPlan.BASE));
+        for (Sort.Order order : keysetSort.getOrders()) {
+            fetchPlanBuilder.add(order.getProperty());
+        }
+        ctx.setFetchPlan(fetchPlanBuilder.build());
+
+        ctx.setHint("jmix.dynattr", BooleanUtils.isTrue(dynamicAttributes));
+
+        List<Object> entities = dataManager.loadList(ctx);
+
+        List<EntitySerializationOption> serializationOptions = new ArrayList<>();
+        serializationOptions.add(SERIALIZE_INSTANCE_NAME);
+        serializationOptions.add(DO_NOT_SERIALIZE_DENIED_PROPERTY);
+        if (BooleanUtils.isTrue(returnNulls)) serializationOptions.add(EntitySerializationOption.SERIALIZE_NULLS);
+
+        String json = entitySerialization.toJson(entities, view, serializationOptions.toArray(new EntitySerializationOption[0]));
+        json = restControllerUtils.transformJsonIfRequired(metaClass.getName(), modelVersion, JsonTransformationDirection.TO_VERSION, json);
+
+        String nextCursor = null;
+        if (!entities.isEmpty() && entities.size() == maxResults) {
+            try {
+                nextCursor = keysetCursors.encode(keysetCursors.create(entities.get(entities.size() - 1), querySort));
+            } catch (IllegalArgumentException e) {
+                throw new RestAPIException("Cannot create cursor", e.getMessage(), HttpStatus.BAD_REQUEST, e);
+            }
+        }
+        return new KeysetPage(json, nextCursor);
+    }
+
+    protected Sort parseKeysetSort(@Nullable String sort, MetaClass metaClass) {
+        if (Strings.isNullOrEmpty(sort)) {
+            return Sort.UNSORTED;
+        }
+        List<Sort.Order> orders = new ArrayList<>();
+        for (String column : Splitter.on(",").trimResults().omitEmptyStrings().split(sort)) {
+            boolean desc = column.startsWith("-");
+            if (column.startsWith("-") || column.startsWith("+")) {
+                column = column.substring(1);
+            }
+            MetaPropertyPath propertyPath = metaClass.getPropertyPath(column);
+            if (propertyPath == null || !propertyPath.getRange().isDatatype()) {
+                throw new RestAPIException("Invalid sort",
+                        "Cursor pagination supports sorting by datatype properties only: " + column,
+                        HttpStatus.BAD_REQUEST);
+            }
+            orders.add(desc ? Sort.Order.desc(column) : Sort.Order.asc(column));
+        }
+        return Sort.by(orders);
+    }
+
+    /**
+     * Creates the sort of streamed entities. Unknown properties are skipped like in {@link #addOrderBy}, and the
+     * primary key is added to make the order unique.
+     */
+    protected Sort parseStreamSort(@Nullable String sort, MetaClass metaClass) {
+        List<Sort.Order> orders = new ArrayList<>();
+        String pkName = metadataTools.getPrimaryKeyName(metaClass);
+        boolean pkFound = false;
+        if (!Strings.isNullOrEmpty(sort)) {
+            for (String column : Splitter.on(",").trimResults().omitEmptyStrings().split(sort)) {
+                boolean desc = column.startsWith("-");
+                if (column.startsWith("-") || column.startsWith("+")) {
+                    column = column.substring(1);
+                }
+                MetaPropertyPath propertyPath = metaClass.getPropertyPath(column);
+                if (propertyPath == null || propertyPath.getRange().getCardinality().isMany()) {
+                    continue;
+                }
+                orders.add(desc ? Sort.Order.desc(column) : Sort.Order.asc(column));
+                if (column.equals(pkName)) {
+                    pkFound = true;
+                }
+            }
+        }
+        if (pkName != null && !pkFound && !metadataTools.hasCompositePrimaryKey(metaClass)) {
+            orders.add(Sort.Order.asc(pkName));
+        }
+        return orders.isEmpty() ? Sort.UNSORTED : Sort.by(orders);
+    }
+
+    protected static class KeysetPage {
+        protected final String json;
+        protected final String nextCursor;
+
+        protected KeysetPage(String json, @Nullable String nextCursor) {
+            this.json = json;
+            this.nextCursor = nextCursor;
+        }
+    }
+
     protected String addOrderBy(String queryString, @Nullable String sort, MetaClass metaClass) {
         if (Strings.isNullOrEmpty(sort)) {
             return queryString;
@@ -21,6 +21,7 @@ import io.jmix.core.*;
 import io.jmix.core.metamodel.datatype.DatatypeRegistry;
 import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.rest.impl.RestControllerUtils;
+import io.jmix.rest.impl.RestMetadataDocumentCache;
 import io.jmix.rest.exception.RestAPIException;
 import io.jmix.rest.impl.service.filter.data.MetaClassInfo;
 import org.slf4j.Logger;
@@ -65,11 +66,30 @@ public class EntitiesMetadataControllerManager {
     @Autowired
     protected ExtendedEntities extendedEntities;
 
+    @Autowired
+    protected RestMetadataDocumentCache metadataDocumentCache;
+
     public MetaClassInfo getMetaClassInfo(String entityName) {
         MetaClass metaClass = restControllersUtils.getMetaClass(entityName);
         return new MetaClassInfo(metaClass, messageTools, datatypeRegistry, metadataTools);
     }
 
+    /**
+     * Returns {@link #getMetaClassInfo(String)} serialized to JSON and cached for the current locale.
+     */
+    public RestMetadataDocumentCache.Document getMetaClassInfoDocument(String entityName) {
+        MetaClass metaClass = restControllersUtils.getMetaClass(entityName);
+        return metadataDocumentCache.getDocument("metadata/entities/" + metaClass.getName(),
+                () -> new MetaClassInfo(metaClass, messageTools, datatypeRegistry, metadataTools));
+    }
+
+    /**
+     * Returns {@link #getAllMetaClassesInfo()} serialized to JSON and cached for the current locale.
+     */
+    public RestMetadataDocumentCache.Document getAllMetaClassesInfoDocument() {
+        return metadataDocumentCache.getDocument("metadata/entities", this::getAllMetaClassesInfo);
+    }
+
     public Collection<MetaClassInfo> getAllMetaClassesInfo() {
         Set<MetaClass> metaClasses = new HashSet<>(metadataTools.getAllJpaEntityMetaClasses());
         metaClasses.addAll(metadataTools.getAllJpaEmbeddableMetaClasses());
@@ -20,6 +20,7 @@ import io.jmix.core.Messages;
 import io.jmix.core.MetadataTools;
 import io.jmix.core.metamodel.datatype.EnumClass;
 import io.jmix.rest.exception.RestAPIException;
+import io.jmix.rest.impl.RestMetadataDocumentCache;
 import io.jmix.rest.impl.service.filter.data.EnumInfo;
 import io.jmix.rest.impl.service.filter.data.EnumValueInfo;
 import org.springframework.http.HttpStatus;
@@ -37,6 +38,23 @@ public class EnumsControllerManager {
     @Autowired
     protected Messages messages;
 
+    @Autowired
+    protected RestMetadataDocumentCache metadataDocumentCache;
+
+    /**
+     * Returns {@link #getAllEnumInfos()} serialized to JSON and cached for the current locale.
+     */
+    public RestMetadataDocumentCache.Document getAllEnumInfosDocument() {
+        return metadataDocumentCache.getDocument("metadata/enums", this::getAllEnumInfos);
+    }
+
+    /**
+     * Returns {@link #getEnumInfo(String)} serialized to JSON and cached for the current locale.
+     */
+    public RestMetadataDocumentCache.Document getEnumInfoDocument(String enumClassName) {
+        return metadataDocumentCache.getDocument("metadata/enums/" + enumClassName, () -> getEnumInfo(enumClassName));
+    }
+
     public List<EnumInfo> getAllEnumInfos() {
         List<EnumInfo> results = new ArrayList<>();
 
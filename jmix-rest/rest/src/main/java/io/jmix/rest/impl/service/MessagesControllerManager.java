@@ -22,6 +22,7 @@ import io.jmix.core.Metadata;
 import io.jmix.core.MetadataTools;
 import io.jmix.core.metamodel.model.MetaClass;
 import io.jmix.rest.impl.RestControllerUtils;
+import io.jmix.rest.impl.RestMetadataDocumentCache;
 import io.jmix.rest.exception.RestAPIException;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
@@ -50,6 +51,40 @@ public class MessagesControllerManager {
     @Autowired
     protected Messages messages;
 
+    @Autowired
+    protected RestMetadataDocumentCache metadataDocumentCache;
+
+    /**
+     * Returns {@link #getLocalizationForEntity(String)} serialized to JSON and cached for the current locale.
+     */
+    public RestMetadataDocumentCache.Document getLocalizationForEntityDocument(String entityName) {
+        MetaClass metaClass = restControllerUtils.getMetaClass(entityName);
+        return metadataDocumentCache.getDocument("messages/entities/" + metaClass.getName(),
+                () -> getLocalizationForEntity(metaClass));
+    }
+
+    /**
+     * Returns {@link #getLocalizationForAllEntities()} serialized to JSON and cached for the current locale.
+     */
+    public RestMetadataDocumentCache.Document getLocalizationForAllEntitiesDocument() {
+        return metadataDocumentCache.getDocument("messages/entities", this::getLocalizationForAllEntities);
+    }
+
+    /**
+     * Returns {@link #getLocalizationForEnum(String)} serialized to JSON and cached for the current locale.
+     */
+    public RestMetadataDocumentCache.Document getLocalizationForEnumDocument(String enumClassName) {
+        return metadataDocumentCache.getDocument("messages/enums/" + enumClassName,
+                () -> getLocalizationForEnum(enumClassName));
+    }
+
+    /**
+     * Returns {@link #getLocalizationForAllEnums()} serialized to JSON and cached for the current locale.
+     */
+    public RestMetadataDocumentCache.Document getLocalizationForAllEnumsDocument() {
+        return metadataDocumentCache.getDocument("messages/enums", this::getLocalizationForAllEnums);
+    }
+
     public Map<String, String> getLocalizationForEntity(String entityName) {
         MetaClass metaClass = restControllerUtils.getMetaClass(entityName);
         return getLocalizationForEntity(metaClass);
@@ -19,12 +19,19 @@ package io.jmix.rest.impl.service.filter.data;
 public class EntitiesSearchResult {
     protected String json;
     protected Long count;
+    protected String nextCursor;
 
     public EntitiesSearchResult(String json, Long count) {
         this.json = json;
         this.count = count;
     }
 
+    public EntitiesSearchResult(String json, Long count, String nextCursor) {
+        this.json = json;
+        this.count = count;
+        this.nextCursor = nextCursor;
+    }
+
     public String getJson() {
         return json;
     }
@@ -32,4 +39,12 @@ public class EntitiesSearchResult {
     public Long getCount() {
         return count;
     }
+
+    /**
+     * @return keyset cursor of the next page or null if the request is not keyset-paginated or the last page
+     * is loaded
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
 }
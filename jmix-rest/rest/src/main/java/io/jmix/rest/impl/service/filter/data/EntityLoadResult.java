@@ -0,0 +1,41 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.rest.impl.service.filter.data;
+
+import org.springframework.lang.Nullable;
+
+public class EntityLoadResult {
+    protected String json;
+    protected String eTag;
+
+    public EntityLoadResult(String json, @Nullable String eTag) {
+        this.json = json;
+        this.eTag = eTag;
+    }
+
+    public String getJson() {
+        return json;
+    }
+
+    /**
+     * @return strong ETag of the loaded entity representation or null if the entity is not versioned
+     */
+    @Nullable
+    public String getETag() {
+        return eTag;
+    }
+}
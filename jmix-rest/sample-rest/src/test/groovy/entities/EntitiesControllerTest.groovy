@@ -16,6 +16,7 @@
 
 package entities
 
+import groovy.json.JsonSlurper
 import test_support.RestSpec
 
 import static test_support.DataUtils.*
@@ -57,6 +58,60 @@ class EntitiesControllerTest extends RestSpec {
         response.body.as(Integer) == 8
     }
 
+    def "GET-request streaming entities as newline-delimited JSON"() {
+        def logins = sql.rows("select LOGIN from SAMPLE_REST_SEC_USER where DELETE_TS is null order by LOGIN")
+                .collect { it.login }
+
+        when:
+        def request = createRequest(userToken).header("Accept", "application/x-ndjson")
+                .param("sort", "login")
+        def response = request.with().get(baseUrl + "/entities/sec\$User")
+
+        then:
+        response.statusCode() == 200
+        response.contentType().startsWith("application/x-ndjson")
+        def lines = response.body.asString().readLines()
+        lines.collect { new JsonSlurper().parseText(it).login } == logins
+    }
+
+    def "GET-request streaming entities with limit and offset"() {
+        def logins = sql.rows("select LOGIN from SAMPLE_REST_SEC_USER where DELETE_TS is null order by LOGIN")
+                .collect { it.login }
+
+        when:
+        def request = createRequest(userToken).header("Accept", "application/x-ndjson")
+                .param("sort", "login").param("offset", 1).param("limit", 2)
+        def response = request.with().get(baseUrl + "/entities/sec\$User")
+
+        then:
+        response.statusCode() == 200
+        response.body.asString().readLines().collect { new JsonSlurper().parseText(it).login } == logins.subList(1, 3)
+    }
+
+    def "GET-request streaming entities in descending order"() {
+        def logins = sql.rows("select LOGIN from SAMPLE_REST_SEC_USER where DELETE_TS is null order by LOGIN desc")
+                .collect { it.login }
+
+        when:
+        def request = createRequest(userToken).header("Accept", "application/x-ndjson")
+                .param("sort", "-login")
+        def response = request.with().get(baseUrl + "/entities/sec\$User")
+
+        then:
+        response.statusCode() == 200
+        response.body.asString().readLines().collect { new JsonSlurper().parseText(it).login } == logins
+    }
+
+    def "GET-request streaming entities with limit exceeding the max fetch size"() {
+        when:
+        def request = createRequest(userToken).header("Accept", "application/x-ndjson")
+                .param("limit", 51)
+        def response = request.with().get(baseUrl + "/entities/sec\$User")
+
+        then:
+        response.statusCode() == 400
+    }
+
     def "POST-request with filter for obtaining the count of entities"() {
         def body = [
                 'filter': [
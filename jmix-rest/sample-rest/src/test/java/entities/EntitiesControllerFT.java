@@ -89,6 +89,62 @@ class EntitiesControllerFT extends AbstractRestControllerFT {
         }
     }
 
+    @Test
+    void loadEntityByIdWithETag() throws Exception {
+        String url = baseUrl + "/entities/ref_Car/" + carUuidString;
+        String eTag;
+        try (CloseableHttpResponse response = sendGet(url, oauthToken, null)) {
+            assertEquals(HttpStatus.SC_OK, statusCode(response));
+            Header eTagHeader = response.getFirstHeader("ETag");
+            assertNotNull(eTagHeader);
+            eTag = eTagHeader.getValue();
+            assertTrue(eTag.startsWith("W/"), "ETag of an entity must be weak");
+        }
+
+        Map<String, String> headers = Collections.singletonMap("If-None-Match", eTag);
+        try (CloseableHttpResponse response = sendGetWithHeaders(url, oauthToken, null, headers)) {
+            assertEquals(HttpStatus.SC_NOT_MODIFIED, statusCode(response));
+        }
+
+        try (CloseableHttpResponse response = sendGetWithHeaders(url, oauthToken,
+                Collections.singletonMap("fetchPlan", "carEdit"), headers)) {
+            assertEquals(HttpStatus.SC_OK, statusCode(response));
+        }
+
+        executePrepared("update ref_car set version = 2 where id = ?", UUID.fromString(carUuidString));
+        try (CloseableHttpResponse response = sendGetWithHeaders(url, oauthToken, null, headers)) {
+            assertEquals(HttpStatus.SC_OK, statusCode(response));
+            assertNotEquals(eTag, response.getFirstHeader("ETag").getValue());
+        }
+    }
+
+    @Test
+    void loadEntityByIdWithETagOfComposition() throws Exception {
+        String url = baseUrl + "/entities/ref_Car/" + carUuidString;
+        Map<String, String> params = Collections.singletonMap("fetchPlan", "carWithRepairs");
+        String eTag;
+        try (CloseableHttpResponse response = sendGet(url, oauthToken, params)) {
+            assertEquals(HttpStatus.SC_OK, statusCode(response));
+            Header eTagHeader = response.getFirstHeader("ETag");
+            assertNotNull(eTagHeader);
+            eTag = eTagHeader.getValue();
+        }
+
+        Map<String, String> headers = Collections.singletonMap("If-None-Match", eTag);
+        try (CloseableHttpResponse response = sendGetWithHeaders(url, oauthToken, params, headers)) {
+            assertEquals(HttpStatus.SC_NOT_MODIFIED, statusCode(response));
+        }
+
+        executePrepared("update ref_repair set description = ?, version = 2 where id = ?",
+                "changed", UUID.fromString(repairUuidString));
+        try (CloseableHttpResponse response = sendGetWithHeaders(url, oauthToken, params, headers)) {
+            assertEquals(HttpStatus.SC_OK, statusCode(response));
+            assertNotEquals(eTag, response.getFirstHeader("ETag").getValue());
+            ReadContext ctx = parseResponse(response);
+            assertEquals(1, ctx.read("$.repairs[?(@.description == 'changed')]", List.class).size());
+        }
+    }
+
     @Test
     public void loadEntityWithCompositeId() throws Exception {
         String id = String.format("{tenant : %s, entityId: %s}", compositeKeyEntityTenantIdString,
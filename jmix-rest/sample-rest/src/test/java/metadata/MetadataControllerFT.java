@@ -17,11 +17,13 @@
 package metadata;
 
 import com.jayway.jsonpath.ReadContext;
+import org.apache.http.HttpStatus;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.junit.jupiter.api.Test;
 import test_support.AbstractRestControllerFT;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -30,6 +32,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static test_support.RestTestUtils.parseResponse;
 import static test_support.RestTestUtils.sendGet;
+import static test_support.RestTestUtils.sendGetWithHeaders;
+import static test_support.RestTestUtils.statusCode;
 
 /**
  *
@@ -92,6 +96,21 @@ public class MetadataControllerFT extends AbstractRestControllerFT {
         }
     }
 
+    @Test
+    public void getAllEntitiesMetadataNotModified() throws Exception {
+        String url = baseUrl + "/metadata/entities";
+        String eTag;
+        try (CloseableHttpResponse response = sendGet(url, oauthToken, null)) {
+            assertEquals(HttpStatus.SC_OK, statusCode(response));
+            eTag = response.getFirstHeader("ETag").getValue();
+        }
+
+        try (CloseableHttpResponse response = sendGetWithHeaders(url, oauthToken, null,
+                Collections.singletonMap("If-None-Match", eTag))) {
+            assertEquals(HttpStatus.SC_NOT_MODIFIED, statusCode(response));
+        }
+    }
+
     @Test
     public void getView() throws Exception {
         String url = baseUrl + "/metadata/entities/ref_Car/views/carEdit";
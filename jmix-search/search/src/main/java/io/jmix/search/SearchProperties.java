@@ -54,6 +54,13 @@ public class SearchProperties {
      */
     protected final int processQueueBatchSize;
 
+    /**
+     * Amount of workers processing the queue in parallel. Every worker handles its own partition of indexed entities
+     * and loads the next batch of queue items while the current one is being indexed. Value 1 means sequential
+     * processing of the whole queue in the calling thread.
+     */
+    protected final int processQueueWorkerCount;
+
     /**
      * Amount of entity instances enqueued in single batch during entity reindex process.
      */
@@ -87,6 +94,12 @@ public class SearchProperties {
      */
     protected final boolean restHighLevelClientApiCompatibilityModeEnabled;
 
+    /**
+     * Whether 'enqueue all' process loads entity ids page by page using keyset pagination and inserts every page
+     * into the queue by a single JDBC batch in a separate transaction instead of loading all ids into memory at once.
+     * Batch size is defined by {@link #reindexEntityEnqueueBatchSize}.
+     */
+    protected final boolean enqueueIndexAllStreamingEnabled;
 
     protected final Elasticsearch elasticsearch;
 
@@ -127,12 +140,14 @@ public class SearchProperties {
             @DefaultValue("100") int maxSearchPageCount,
             @DefaultValue("100") int searchReloadEntitiesBatchSize,
             @DefaultValue("100") int processQueueBatchSize,
+            @DefaultValue("1") int processQueueWorkerCount,
             @DefaultValue("100") int reindexEntityEnqueueBatchSize,
             @DefaultValue("true") boolean changedEntitiesIndexingEnabled,
             @DefaultValue("true") boolean useDefaultIndexingQueueProcessingQuartzConfiguration,
             @DefaultValue("true") boolean useDefaultEnqueueingSessionProcessingQuartzConfiguration,
             @DefaultValue("true") boolean enqueueIndexAllOnStartupIndexRecreationEnabled,
             @DefaultValue("true") boolean restHighLevelClientApiCompatibilityModeEnabled,
+            @DefaultValue("false") boolean enqueueIndexAllStreamingEnabled,
             @DefaultValue("") String enqueueIndexAllOnStartupIndexRecreationEntities,
             @DefaultValue("search_index_") String searchIndexNamePrefix,
             @DefaultValue("anyTermAnyField") String defaultSearchStrategy,
@@ -144,6 +159,7 @@ public class SearchProperties {
         this.maxSearchPageCount = maxSearchPageCount;
         this.searchReloadEntitiesBatchSize = searchReloadEntitiesBatchSize;
         this.processQueueBatchSize = processQueueBatchSize;
+        this.processQueueWorkerCount = processQueueWorkerCount;
         this.reindexEntityEnqueueBatchSize = reindexEntityEnqueueBatchSize;
         this.changedEntitiesIndexingEnabled = changedEntitiesIndexingEnabled;
         this.useDefaultIndexingQueueProcessingQuartzConfiguration = useDefaultIndexingQueueProcessingQuartzConfiguration;
@@ -155,6 +171,7 @@ public class SearchProperties {
         this.elasticsearch = elasticsearch;
         this.enqueueIndexAllOnStartupIndexRecreationEnabled = enqueueIndexAllOnStartupIndexRecreationEnabled;
         this.restHighLevelClientApiCompatibilityModeEnabled = restHighLevelClientApiCompatibilityModeEnabled;
+        this.enqueueIndexAllStreamingEnabled = enqueueIndexAllStreamingEnabled;
         this.enqueueIndexAllOnStartupIndexRecreationEntities = prepareStartupEnqueueingEntities(enqueueIndexAllOnStartupIndexRecreationEntities);
         this.searchIndexNamePrefix = searchIndexNamePrefix;
     }
@@ -187,6 +204,13 @@ public class SearchProperties {
         return processQueueBatchSize;
     }
 
+    /**
+     * @see #processQueueWorkerCount
+     */
+    public int getProcessQueueWorkerCount() {
+        return processQueueWorkerCount;
+    }
+
     /**
      * @see #reindexEntityEnqueueBatchSize
      */
@@ -250,6 +274,13 @@ public class SearchProperties {
         return restHighLevelClientApiCompatibilityModeEnabled;
     }
 
+    /**
+     * @see #enqueueIndexAllStreamingEnabled
+     */
+    public boolean isEnqueueIndexAllStreamingEnabled() {
+        return enqueueIndexAllStreamingEnabled;
+    }
+
     /**
      * @see #enqueueIndexAllOnStartupIndexRecreationEntities
      */
@@ -226,6 +226,18 @@ public interface IndexingQueueManager {
      */
     int enqueueDeleteCollectionByEntityIds(Collection<Id<?>> entityIds);
 
+    /**
+     * Sends entity instances to indexing queue by provided IDs in order to store some of them to index
+     * and delete others from index. Implementations may write all queue items at once.
+     *
+     * @param entityIdsForIndex  IDs of entity instances to store to index
+     * @param entityIdsForDelete IDs of entity instances to delete from index
+     * @return amount of enqueued instances
+     */
+    default int enqueueByEntityIds(Collection<Id<?>> entityIdsForIndex, Collection<Id<?>> entityIdsForDelete) {
+        return enqueueIndexCollectionByEntityIds(entityIdsForIndex) + enqueueDeleteCollectionByEntityIds(entityIdsForDelete);
+    }
+
     /**
      * Retrieves next batch of items from indexing queue and processes them - store/remove related documents in index.
      *
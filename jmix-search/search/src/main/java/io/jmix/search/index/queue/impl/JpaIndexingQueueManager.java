@@ -16,11 +16,16 @@
 
 package io.jmix.search.index.queue.impl;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.jmix.core.*;
 import io.jmix.core.common.util.Preconditions;
 import io.jmix.core.metamodel.model.MetaClass;
+import io.jmix.core.metamodel.model.MetaProperty;
 import io.jmix.core.security.SystemAuthenticator;
+import io.jmix.data.AuditInfoProvider;
 import io.jmix.data.StoreAwareLocator;
+import io.jmix.data.persistence.DbTypeConverter;
+import io.jmix.data.persistence.DbmsSpecifics;
 import io.jmix.search.SearchProperties;
 import io.jmix.search.index.EntityIndexer;
 import io.jmix.search.index.IndexConfiguration;
@@ -37,13 +42,20 @@ import org.apache.commons.collections4.MapUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.support.TransactionTemplate;
 
+import jakarta.annotation.PreDestroy;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.Query;
+import java.sql.Timestamp;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -54,6 +66,8 @@ public class JpaIndexingQueueManager implements IndexingQueueManager {
 
     private static final Logger log = LoggerFactory.getLogger(JpaIndexingQueueManager.class);
 
+    protected static final long STREAMING_PROGRESS_LOG_INTERVAL_MS = 10_000;
+
     @Autowired
     protected UnconstrainedDataManager dataManager;
     @Autowired
@@ -80,6 +94,14 @@ public class JpaIndexingQueueManager implements IndexingQueueManager {
     protected EnqueueingSessionManager enqueueingSessionManager;
     @Autowired
     protected EntityIdsLoaderProvider entityIdsLoaderProvider;
+    @Autowired
+    protected DbmsSpecifics dbmsSpecifics;
+    @Autowired
+    protected TimeSource timeSource;
+    @Autowired
+    protected AuditInfoProvider auditInfoProvider;
+
+    protected ExecutorService queueProcessingExecutor;
 
     @Override
     public int emptyQueue() {
@@ -291,6 +313,19 @@ public class JpaIndexingQueueManager implements IndexingQueueManager {
         return enqueueByIds(entityIds, IndexingOperation.DELETE);
     }
 
+    @Override
+    public int enqueueByEntityIds(Collection<Id<?>> entityIdsForIndex, Collection<Id<?>> entityIdsForDelete) {
+        Preconditions.checkNotNullArgument(entityIdsForIndex);
+        Preconditions.checkNotNullArgument(entityIdsForDelete);
+        List<IndexingQueueItem> queueItems = new ArrayList<>(entityIdsForIndex.size() + entityIdsForDelete.size());
+        queueItems.addAll(createQueueItems(entityIdsForIndex, IndexingOperation.INDEX));
+        queueItems.addAll(createQueueItems(entityIdsForDelete, IndexingOperation.DELETE));
+        if (queueItems.isEmpty()) {
+            return 0;
+        }
+        return enqueue(queueItems);
+    }
+
     @Override
     public int processNextBatch() {
         return processNextBatch(searchProperties.getProcessQueueBatchSize());
@@ -363,6 +398,9 @@ public class JpaIndexingQueueManager implements IndexingQueueManager {
 
         try {
             MetaClass metaClass = metadata.getClass(entityName);
+            if (searchProperties.isEnqueueIndexAllStreamingEnabled() && isKeysetPaginationApplicable(metaClass)) {
+                return enqueueIndexAllStreaming(metaClass, batchSize);
+            }
             List<?> rawIds = loadRawIds(metaClass);
             return processRawIds(rawIds, metaClass, batchSize);
         } finally {
@@ -428,6 +466,79 @@ public class JpaIndexingQueueManager implements IndexingQueueManager {
         return totalEnqueued;
     }
 
+    /**
+     * Checks whether ids of the given entity can be loaded page by page using keyset pagination:
+     * the entity must have a single-column primary key of a comparable type.
+     */
+    protected boolean isKeysetPaginationApplicable(MetaClass metaClass) {
+        MetaProperty primaryKeyProperty = metadataTools.getPrimaryKeyProperty(metaClass);
+        if (primaryKeyProperty == null || metadataTools.isEmbedded(primaryKeyProperty)) {
+            log.warn("Streaming enqueueing is not supported for entity '{}' with composite or missing primary key " +
+                    "- perform in-memory loading of all ids", metaClass.getName());
+            return false;
+        }
+        Class<?> javaType = primaryKeyProperty.getJavaType();
+        return UUID.class.isAssignableFrom(javaType)
+                || Long.class.isAssignableFrom(javaType)
+                || Integer.class.isAssignableFrom(javaType)
+                || String.class.isAssignableFrom(javaType);
+    }
+
+    /**
+     * Enqueues all instances of the given entity reading their ids by pages ordered by primary key.
+     * Ids are loaded by the {@link EntityIdsLoader} used for enqueueing sessions, and every page is inserted
+     * into the queue by a single JDBC batch in a separate transaction, so the memory consumption doesn't depend
+     * on the amount of instances.
+     */
+    protected int enqueueIndexAllStreaming(MetaClass metaClass, int batchSize) {
+        Class<Object> entityClass = metaClass.getJavaClass();
+        String entityName = metaClass.getName();
+        log.info("Start streaming enqueueing of all instances of entity '{}'", entityName);
+
+        EntityIdsLoader loader = entityIdsLoaderProvider.getLoader(entityName);
+        EnqueueingSession session = metadata.create(EnqueueingSession.class);
+        session.setEntityName(entityName);
+        session.setOrderingProperty(Objects.requireNonNull(metadataTools.getPrimaryKeyName(metaClass)));
+
+        TransactionTemplate transactionTemplate = storeAwareLocator.getTransactionTemplate(Stores.MAIN);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        long startTime = System.currentTimeMillis();
+        long lastProgressTime = startTime;
+        int totalEnqueued = 0;
+        List<?> rawIds;
+        do {
+            ResultHolder resultHolder = loader.loadNextIds(session, batchSize);
+            rawIds = resultHolder.getIds();
+            if (rawIds.isEmpty()) {
+                break;
+            }
+            List<IndexingQueueItem> queueItems = rawIds.stream()
+                    .map(id -> idSerialization.idToString(Id.of(id, entityClass)))
+                    .map(id -> createQueueItem(entityName, id, IndexingOperation.INDEX))
+                    .collect(Collectors.toList());
+            Integer enqueued = transactionTemplate.execute(status -> enqueue(queueItems));
+            totalEnqueued += enqueued == null ? 0 : enqueued;
+
+            Object lastOrderingValue = resultHolder.getLastOrderingValue();
+            session.setLastProcessedValue(lastOrderingValue == null
+                    ? null
+                    : enqueueingSessionManager.convertOrderingValueToString(lastOrderingValue));
+
+            long now = System.currentTimeMillis();
+            if (now - lastProgressTime >= STREAMING_PROGRESS_LOG_INTERVAL_MS) {
+                log.info("Enqueued {} instances of entity '{}' in {} ms", totalEnqueued, entityName, now - startTime);
+                lastProgressTime = now;
+            } else {
+                log.debug("Enqueued next {} instances of entity '{}': Total enqueued = {}", rawIds.size(), entityName, totalEnqueued);
+            }
+        } while (rawIds.size() == batchSize);
+
+        log.info("All {} instances of entity '{}' have been enqueued in {} ms",
+                totalEnqueued, entityName, System.currentTimeMillis() - startTime);
+        return totalEnqueued;
+    }
+
     protected int processQueue(int batchSize, boolean processEntireQueue) {
         if (batchSize <= 0) {
             throw new IllegalArgumentException("Size of queue processing batch must be positive");
@@ -444,25 +555,24 @@ public class JpaIndexingQueueManager implements IndexingQueueManager {
         try {
             authenticator.begin();
 
-            List<IndexingQueueItem> queueItems;
-            do {
-                List<String> unavailableEntities = indexStateRegistry.getAllUnavailableIndexedEntities();
-                LoadContext<IndexingQueueItem> loadContext = createDequeueLoadContext(unavailableEntities, batchSize);
-                log.trace("Dequeue items by load context: {}", loadContext);
-                queueItems = dataManager.loadList(loadContext);
-                log.debug("Dequeued {} items: {}", queueItems.size(), queueItems);
-
-                if (queueItems.isEmpty()) {
-                    break;
-                }
-                List<IndexingQueueItem> successfullyProcessedQueueItems = processQueueItems(queueItems);
-
-                SaveContext saveContext = new SaveContext();
-                saveContext.removing(successfullyProcessedQueueItems);
-                dataManager.save(saveContext);
-
-                count += successfullyProcessedQueueItems.size();
-            } while (processEntireQueue && queueItems.size() == batchSize);
+            int workerCount = searchProperties.getProcessQueueWorkerCount();
+            if (workerCount > 1) {
+                count = processQueueInParallel(batchSize, processEntireQueue, workerCount);
+            } else {
+                List<IndexingQueueItem> queueItems;
+                do {
+                    List<String> unavailableEntities = indexStateRegistry.getAllUnavailableIndexedEntities();
+                    LoadContext<IndexingQueueItem> loadContext = createDequeueLoadContext(unavailableEntities, batchSize);
+                    log.trace("Dequeue items by load context: {}", loadContext);
+                    queueItems = dataManager.loadList(loadContext);
+                    log.debug("Dequeued {} items: {}", queueItems.size(), queueItems);
+
+                    if (queueItems.isEmpty()) {
+                        break;
+                    }
+                    count += processAndRemoveQueueItems(queueItems);
+                } while (processEntireQueue && queueItems.size() == batchSize);
+            }
         } finally {
             locker.unlockQueueProcessing();
             authenticator.end();
@@ -472,6 +582,201 @@ public class JpaIndexingQueueManager implements IndexingQueueManager {
         return count;
     }
 
+    /**
+     * Processes the queue by several workers. Indexed entities are split among workers, so every worker dequeues
+     * only items of its own entities. Each worker loads the next batch of items while the current batch is being
+     * indexed and removed from the queue. Items of entities without index configuration are processed
+     * afterwards in the current thread, as by sequential processing.
+     *
+     * @return amount of successfully processed queue items
+     */
+    protected int processQueueInParallel(int batchSize, boolean processEntireQueue, int workerCount) {
+        List<List<String>> partitions = createEntityPartitions(workerCount);
+        int count = 0;
+        if (!partitions.isEmpty()) {
+            log.debug("Process queue by {} workers: {}", partitions.size(), partitions);
+
+            ExecutorService executor = getQueueProcessingExecutor(workerCount);
+            List<Future<Integer>> workers = new ArrayList<>(partitions.size());
+            for (List<String> partition : partitions) {
+                workers.add(executor.submit(() -> authenticator.withSystem(() ->
+                        processQueuePartition(partition, batchSize, processEntireQueue, executor))));
+            }
+
+            // wait for all workers before rethrowing, so the queue lock is released only after they are finished
+            RuntimeException failure = null;
+            for (Future<Integer> worker : workers) {
+                try {
+                    count += getQueueProcessingResult(worker);
+                } catch (RuntimeException e) {
+                    if (failure == null) {
+                        failure = e;
+                    } else {
+                        failure.addSuppressed(e);
+                    }
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        }
+
+        List<String> indexedEntities = partitions.stream().flatMap(Collection::stream).collect(Collectors.toList());
+        count += processNotIndexedEntitiesQueue(indexedEntities, batchSize, processEntireQueue);
+        return count;
+    }
+
+    /**
+     * Processes queue items of entities which are not in the given list of indexed entities. Such items are
+     * removed from the queue without indexing.
+     *
+     * @return amount of processed queue items
+     */
+    protected int processNotIndexedEntitiesQueue(List<String> indexedEntities, int batchSize, boolean processEntireQueue) {
+        int count = 0;
+        List<IndexingQueueItem> queueItems;
+        do {
+            LoadContext.Query query = new LoadContext.Query("");
+            StringBuilder sb = new StringBuilder("select q from search_IndexingQueue q");
+            if (!indexedEntities.isEmpty()) {
+                sb.append(" where q.entityName not in :indexedEntities");
+                query.setParameter("indexedEntities", indexedEntities);
+            }
+            sb.append(" order by q.createdDate asc");
+            query.setQueryString(sb.toString());
+            query.setMaxResults(batchSize);
+
+            LoadContext<IndexingQueueItem> loadContext =
+                    new LoadContext<IndexingQueueItem>(metadata.getClass(IndexingQueueItem.class)).setQuery(query);
+            queueItems = dataManager.loadList(loadContext);
+            log.debug("Dequeued {} items of not indexed entities", queueItems.size());
+
+            if (queueItems.isEmpty()) {
+                break;
+            }
+            count += processAndRemoveQueueItems(queueItems);
+        } while (processEntireQueue && queueItems.size() == batchSize);
+        return count;
+    }
+
+    /**
+     * Splits names of all indexed entities into the given amount of non-empty partitions.
+     */
+    protected List<List<String>> createEntityPartitions(int partitionCount) {
+        List<String> entityNames = indexConfigurationManager.getAllIndexConfigurations().stream()
+                .map(IndexConfiguration::getEntityName)
+                .sorted()
+                .collect(Collectors.toList());
+
+        List<List<String>> partitions = new ArrayList<>(partitionCount);
+        for (int i = 0; i < Math.min(partitionCount, entityNames.size()); i++) {
+            partitions.add(new ArrayList<>());
+        }
+        for (int i = 0; i < entityNames.size(); i++) {
+            partitions.get(i % partitions.size()).add(entityNames.get(i));
+        }
+        return partitions;
+    }
+
+    protected int processQueuePartition(List<String> entityNames, int batchSize, boolean processEntireQueue,
+                                        ExecutorService executor) {
+        int count = 0;
+        List<IndexingQueueItem> queueItems = dequeuePartition(entityNames, Collections.emptySet(), batchSize);
+        while (!queueItems.isEmpty()) {
+            List<IndexingQueueItem> currentItems = queueItems;
+            Future<Integer> processing = executor.submit(() ->
+                    authenticator.withSystem(() -> processAndRemoveQueueItems(currentItems)));
+
+            if (processEntireQueue && currentItems.size() == batchSize) {
+                Set<UUID> inProgressIds = currentItems.stream()
+                        .map(IndexingQueueItem::getId)
+                        .collect(Collectors.toSet());
+                queueItems = dequeuePartition(entityNames, inProgressIds, batchSize);
+            } else {
+                queueItems = Collections.emptyList();
+            }
+
+            count += getQueueProcessingResult(processing);
+        }
+        return count;
+    }
+
+    protected List<IndexingQueueItem> dequeuePartition(List<String> entityNames, Set<UUID> excludedItemIds, int batchSize) {
+        List<String> availableEntities = new ArrayList<>(entityNames);
+        availableEntities.removeAll(indexStateRegistry.getAllUnavailableIndexedEntities());
+        if (availableEntities.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        LoadContext.Query query = new LoadContext.Query("");
+        StringBuilder sb = new StringBuilder("select q from search_IndexingQueue q where q.entityName in :entityNames");
+        query.setParameter("entityNames", availableEntities);
+        if (!excludedItemIds.isEmpty()) {
+            sb.append(" and q.id not in :excludedItemIds");
+            query.setParameter("excludedItemIds", excludedItemIds);
+        }
+        sb.append(" order by q.createdDate asc");
+        query.setQueryString(sb.toString());
+        query.setMaxResults(batchSize);
+
+        LoadContext<IndexingQueueItem> loadContext =
+                new LoadContext<IndexingQueueItem>(metadata.getClass(IndexingQueueItem.class)).setQuery(query);
+        log.trace("Dequeue items by load context: {}", loadContext);
+        List<IndexingQueueItem> queueItems = dataManager.loadList(loadContext);
+        log.debug("Dequeued {} items of entities {}", queueItems.size(), availableEntities);
+        return queueItems;
+    }
+
+    protected int getQueueProcessingResult(Future<Integer> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted during queue processing", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new RuntimeException("Failed to process queue items", cause);
+        }
+    }
+
+    protected synchronized ExecutorService getQueueProcessingExecutor(int workerCount) {
+        if (queueProcessingExecutor == null) {
+            // every worker may have one more task indexing its current batch
+            queueProcessingExecutor = Executors.newFixedThreadPool(workerCount * 2,
+                    new ThreadFactoryBuilder()
+                            .setNameFormat("SearchQueueProcessing-%d")
+                            .setDaemon(true)
+                            .build());
+        }
+        return queueProcessingExecutor;
+    }
+
+    @PreDestroy
+    protected synchronized void shutdownQueueProcessingExecutor() {
+        if (queueProcessingExecutor != null) {
+            queueProcessingExecutor.shutdownNow();
+            queueProcessingExecutor = null;
+        }
+    }
+
+    /**
+     * Indexes the given queue items and removes successfully processed ones from the queue.
+     *
+     * @return amount of successfully processed queue items
+     */
+    protected int processAndRemoveQueueItems(List<IndexingQueueItem> queueItems) {
+        List<IndexingQueueItem> successfullyProcessedQueueItems = processQueueItems(queueItems);
+
+        SaveContext saveContext = new SaveContext();
+        saveContext.removing(successfullyProcessedQueueItems);
+        dataManager.save(saveContext);
+
+        return successfullyProcessedQueueItems.size();
+    }
+
     protected LoadContext<IndexingQueueItem> createDequeueLoadContext(List<String> unavailableEntities, int batchSize) {
         LoadContext.Query query = new LoadContext.Query("");
         StringBuilder sb = new StringBuilder("select q from search_IndexingQueue q");
@@ -544,7 +849,12 @@ public class JpaIndexingQueueManager implements IndexingQueueManager {
     }
 
     protected int enqueueByIds(Collection<Id<?>> entityIds, IndexingOperation operation) {
-        List<IndexingQueueItem> queueItems = entityIds.stream()
+        List<IndexingQueueItem> queueItems = createQueueItems(entityIds, operation);
+        return enqueue(queueItems);
+    }
+
+    protected List<IndexingQueueItem> createQueueItems(Collection<Id<?>> entityIds, IndexingOperation operation) {
+        return entityIds.stream()
                 .map(id -> {
                     MetaClass metaClass = metadata.getClass(id.getEntityClass());
                     Optional<IndexConfiguration> indexConfigurationOpt = indexConfigurationManager.getIndexConfigurationByEntityNameOpt(metaClass.getName());
@@ -557,18 +867,43 @@ public class JpaIndexingQueueManager implements IndexingQueueManager {
                 })
                 .filter(Objects::nonNull)
                 .collect(Collectors.toList());
-        return enqueue(queueItems);
     }
 
+    /**
+     * Inserts the given queue items by a single JDBC batch bypassing the persistence context.
+     * The batch joins the current transaction if there is one.
+     */
     protected int enqueue(Collection<IndexingQueueItem> queueItems) {
         log.trace("Enqueue items: {}", queueItems);
+        if (queueItems.isEmpty()) {
+            return 0;
+        }
+        DbTypeConverter converter = dbmsSpecifics.getDbTypeConverter(Stores.MAIN);
+        Timestamp createdDate = new Timestamp(timeSource.currentTimeMillis());
+        UserDetails user = auditInfoProvider.getCurrentUser();
+        String createdBy = user == null ? null : user.getUsername();
+
+        List<Object[]> batchArgs = new ArrayList<>(queueItems.size());
+        for (IndexingQueueItem queueItem : queueItems) {
+            UUID id = queueItem.getId() == null ? UuidProvider.createUuid() : queueItem.getId();
+            batchArgs.add(new Object[]{
+                    converter.getSqlObject(id),
+                    queueItem.getOperation().getId(),
+                    queueItem.getEntityId(),
+                    queueItem.getEntityName(),
+                    createdBy,
+                    createdDate
+            });
+        }
+
         TransactionTemplate transactionTemplate = storeAwareLocator.getTransactionTemplate(Stores.MAIN);
         transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRED);
-        transactionTemplate.executeWithoutResult(status -> {
-            EntityManager entityManager = storeAwareLocator.getEntityManager(Stores.MAIN);
-            queueItems.forEach(entityManager::persist);
-        });
-        return queueItems.size();
+        transactionTemplate.executeWithoutResult(status ->
+                storeAwareLocator.getJdbcTemplate(Stores.MAIN).batchUpdate(
+                        "insert into SEARCH_INDEXING_QUEUE (ID, OPERATION, ENTITY_ID, ENTITY_NAME, CREATED_BY, CREATED_DATE) " +
+                                "values (?, ?, ?, ?, ?, ?)",
+                        batchArgs));
+        return batchArgs.size();
     }
 
     protected IndexingQueueItem createQueueItem(MetaClass metaClass, String entityId, IndexingOperation operation) {
@@ -22,6 +22,8 @@ import io.jmix.core.*;
 import io.jmix.core.datastore.AbstractDataStore;
 import io.jmix.core.datastore.DataStoreBeforeEntitySaveEvent;
 import io.jmix.core.datastore.DataStoreCustomizer;
+import io.jmix.core.datastore.DataStoreEntityDeletingEvent;
+import io.jmix.core.datastore.DataStoreEntitySavingEvent;
 import io.jmix.core.datastore.DataStoreEventListener;
 import io.jmix.core.event.AttributeChanges;
 import io.jmix.core.event.EntityChangedEvent;
@@ -34,12 +36,18 @@ import io.jmix.search.SearchProperties;
 import io.jmix.search.index.mapping.IndexConfigurationManager;
 import io.jmix.search.index.queue.IndexingQueueManager;
 import io.jmix.search.index.queue.entity.IndexingQueueItem;
+import io.jmix.search.index.queue.impl.IndexingOperation;
 import org.apache.commons.collections4.CollectionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.ResourceHolderSupport;
+import org.springframework.transaction.support.ResourceHolderSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.OneToMany;
@@ -72,6 +80,8 @@ public class EntityTrackingListener implements DataStoreEventListener, DataStore
             .expireAfterWrite(1, TimeUnit.MINUTES)
             .build();
 
+    protected static final String ENQUEUEING_BUFFER_RESOURCE_KEY = "search_EntityTrackingListener.enqueueingBuffer";
+
     protected enum CheckState {
         OLD,
         NEW
@@ -115,6 +125,16 @@ public class EntityTrackingListener implements DataStoreEventListener, DataStore
         }
     }
 
+    @Override
+    public void entitySaving(DataStoreEntitySavingEvent event) {
+        prepareEnqueueingBuffer(event.getEntities());
+    }
+
+    @Override
+    public void entityDeleting(DataStoreEntityDeletingEvent event) {
+        prepareEnqueueingBuffer(event.getEntities());
+    }
+
     @EventListener
     public void onEntityChangedBeforeCommit(EntityChangedEvent<?> event) {
         if (isEntityChangedEventProcessingRequired(event)) {
@@ -150,15 +170,15 @@ public class EntityTrackingListener implements DataStoreEventListener, DataStore
 
             switch (eventType) {
                 case CREATED:
-                    indexingQueueManager.enqueueIndexByEntityId(entityId);
+                    enqueueIndex(Collections.singletonList(entityId));
                     break;
                 case UPDATED:
                     if (isUpdateRequired(entityClass, changes)) {
-                        indexingQueueManager.enqueueIndexByEntityId(entityId);
+                        enqueueIndex(Collections.singletonList(entityId));
                     }
                     break;
                 case DELETED:
-                    indexingQueueManager.enqueueDeleteByEntityId(entityId);
+                    enqueueDelete(entityId);
                     break;
             }
         }
@@ -167,17 +187,96 @@ public class EntityTrackingListener implements DataStoreEventListener, DataStore
             Set<Id<?>> dependentEntityIds = getEntityIdsDependentOnUpdatedEntity(entityId, metaClass, changes);
 
             if (!dependentEntityIds.isEmpty()) {
-                indexingQueueManager.enqueueIndexCollectionByEntityIds(dependentEntityIds);
+                enqueueIndex(dependentEntityIds);
             }
         } else if (EntityChangedEvent.Type.DELETED.equals(eventType)) {
             Set<Id<?>> dependentEntityIds = removalDependencies.getIfPresent(entityId);
             if (CollectionUtils.isNotEmpty(dependentEntityIds)) {
-                indexingQueueManager.enqueueIndexCollectionByEntityIds(dependentEntityIds);
+                enqueueIndex(dependentEntityIds);
                 removalDependencies.invalidate(entityId);
             }
         }
     }
 
+    protected void enqueueIndex(Collection<Id<?>> entityIds) {
+        EnqueueingBuffer buffer = getEnqueueingBuffer();
+        if (buffer == null) {
+            indexingQueueManager.enqueueIndexCollectionByEntityIds(entityIds);
+        } else {
+            entityIds.forEach(buffer::addIndex);
+        }
+    }
+
+    protected void enqueueDelete(Id<?> entityId) {
+        EnqueueingBuffer buffer = getEnqueueingBuffer();
+        if (buffer == null) {
+            indexingQueueManager.enqueueDeleteByEntityId(entityId);
+        } else {
+            buffer.addDelete(entityId);
+        }
+    }
+
+    /**
+     * Binds the enqueueing buffer to the current transaction if it saves or deletes tracked entities. So the buffer
+     * synchronization is registered before commit starts and is invoked by the transaction manager after
+     * EntityChangedEvents are published.
+     */
+    protected void prepareEnqueueingBuffer(Collection<Object> entities) {
+        if (isChangeTrackingEnabled() && entities.stream()
+                .anyMatch(entity -> isEntityClassCanBeProcessed(metadata.getClass(entity).getJavaClass()))) {
+            getEnqueueingBuffer();
+        }
+    }
+
+    /**
+     * Returns a buffer of enqueueing operations bound to the current transaction or null if there is no active
+     * transaction synchronization or the buffer of the current transaction has already been flushed.
+     */
+    @Nullable
+    protected EnqueueingBuffer getEnqueueingBuffer() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        EnqueueingBuffer buffer = (EnqueueingBuffer) TransactionSynchronizationManager.getResource(ENQUEUEING_BUFFER_RESOURCE_KEY);
+        if (buffer == null) {
+            buffer = new EnqueueingBuffer();
+            TransactionSynchronizationManager.bindResource(ENQUEUEING_BUFFER_RESOURCE_KEY, buffer);
+        }
+        if (!buffer.isSynchronizedWithTransaction()) {
+            buffer.setSynchronizedWithTransaction(true);
+            TransactionSynchronizationManager.registerSynchronization(new EnqueueingBufferSynchronization(buffer));
+        }
+        return buffer.flushed ? null : buffer;
+    }
+
+    protected void flushEnqueueingBuffer(EnqueueingBuffer buffer) {
+        if (buffer.flushed) {
+            return;
+        }
+        buffer.flushed = true;
+        if (buffer.operations.isEmpty()) {
+            return;
+        }
+
+        List<Id<?>> entityIdsForIndex = new ArrayList<>();
+        List<Id<?>> entityIdsForDelete = new ArrayList<>();
+        buffer.operations.forEach((entityId, operation) -> {
+            if (IndexingOperation.DELETE.equals(operation)) {
+                entityIdsForDelete.add(entityId);
+            } else {
+                entityIdsForIndex.add(entityId);
+            }
+        });
+        buffer.operations.clear();
+
+        log.debug("Enqueue {} instances for index and {} instances for delete", entityIdsForIndex.size(), entityIdsForDelete.size());
+        try {
+            indexingQueueManager.enqueueByEntityIds(entityIdsForIndex, entityIdsForDelete);
+        } catch (Exception e) {
+            log.error("Failed to enqueue instances for index {} and for delete {}", entityIdsForIndex, entityIdsForDelete, e);
+        }
+    }
+
     protected boolean isUpdateRequired(Class<?> entityClass, AttributeChanges changes) {
         Set<String> affectedLocalPropertyNames = new HashSet<>(indexConfigurationManager.getLocalPropertyNamesAffectedByUpdate(entityClass));
         if(metadataTools.isSoftDeletable(entityClass)) {
@@ -400,4 +499,43 @@ public class EntityTrackingListener implements DataStoreEventListener, DataStore
                     '}';
         }
     }
+
+    /**
+     * Collects enqueueing operations of a transaction. Every entity id is enqueued once: deletion from index
+     * takes precedence over indexing.
+     */
+    protected static class EnqueueingBuffer extends ResourceHolderSupport {
+
+        protected final Map<Id<?>, IndexingOperation> operations = new LinkedHashMap<>();
+        protected boolean flushed;
+
+        protected void addIndex(Id<?> entityId) {
+            operations.putIfAbsent(entityId, IndexingOperation.INDEX);
+        }
+
+        protected void addDelete(Id<?> entityId) {
+            operations.put(entityId, IndexingOperation.DELETE);
+        }
+    }
+
+    protected class EnqueueingBufferSynchronization extends ResourceHolderSynchronization<EnqueueingBuffer, String> {
+
+        protected final EnqueueingBuffer buffer;
+
+        protected EnqueueingBufferSynchronization(EnqueueingBuffer buffer) {
+            super(buffer, ENQUEUEING_BUFFER_RESOURCE_KEY);
+            this.buffer = buffer;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            flushEnqueueingBuffer(buffer);
+        }
+
+        @Override
+        public int getOrder() {
+            // after the persistence synchronization publishing EntityChangedEvents
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
 }
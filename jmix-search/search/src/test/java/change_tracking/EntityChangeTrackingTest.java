@@ -18,7 +18,13 @@ package change_tracking;
 
 import io.jmix.core.DataManager;
 import io.jmix.core.Id;
+import io.jmix.core.IdSerialization;
 import io.jmix.core.Metadata;
+import io.jmix.core.SaveContext;
+import io.jmix.core.Stores;
+import io.jmix.data.StoreAwareLocator;
+import io.jmix.search.index.queue.IndexingQueueManager;
+import io.jmix.search.index.queue.entity.IndexingQueueItem;
 import io.jmix.search.index.queue.impl.IndexingOperation;
 import org.junit.Assert;
 import org.junit.jupiter.api.BeforeEach;
@@ -35,6 +41,7 @@ import test_support.entity.*;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
 @ExtendWith(SpringExtension.class)
 @ContextConfiguration(
@@ -50,6 +57,12 @@ public class EntityChangeTrackingTest {
     Metadata metadata;
     @Autowired
     DataManager dataManager;
+    @Autowired
+    IdSerialization idSerialization;
+    @Autowired
+    IndexingQueueManager indexingQueueManager;
+    @Autowired
+    StoreAwareLocator storeAwareLocator;
 
     @BeforeEach
     public void setUp() {
@@ -426,6 +439,49 @@ public class EntityChangeTrackingTest {
         Assert.assertTrue(enqueued);
     }
 
+    @Test
+    @DisplayName("Changes of indexed entity and its reference within one transaction lead to single queue item enqueueing")
+    public void updateIndexedEntityAndReferenceInOneTransaction() {
+        TestReferenceEntity reference = ewm.createTestReferenceEntity().save();
+        TestRootEntity rootEntity = ewm.createTestRootEntity().setOneToOneAssociation(reference).save();
+        indexingQueueItemsTracker.clear();
+
+        rootEntity.setTextValue("Some text value");
+        reference.setTextValue("Some text value");
+        dataManager.save(new SaveContext().saving(rootEntity, reference));
+        boolean enqueued = indexingQueueItemsTracker.containsQueueItemsForEntityAndOperation(rootEntity, IndexingOperation.INDEX, 1);
+        Assert.assertTrue(enqueued);
+    }
+
+    @Test
+    @DisplayName("Queue item is stored when transaction creating indexed entity is committed")
+    public void storeQueueItemOnCommit() {
+        indexingQueueManager.emptyQueue();
+
+        TestRootEntity entity = ewm.createTestRootEntity().save();
+
+        List<IndexingQueueItem> queueItems = loadQueueItems(entity);
+        Assert.assertEquals(1, queueItems.size());
+        Assert.assertEquals(IndexingOperation.INDEX, queueItems.get(0).getOperation());
+        Assert.assertNotNull(queueItems.get(0).getCreatedDate());
+    }
+
+    @Test
+    @DisplayName("Several saves of indexed entity within one transaction lead to single stored queue item")
+    public void storeSingleQueueItemForTransaction() {
+        indexingQueueManager.emptyQueue();
+
+        TestRootEntity entity = storeAwareLocator.getTransactionTemplate(Stores.MAIN).execute(status -> {
+            TestRootEntity created = ewm.createTestRootEntity().save();
+            created.setTextValue("Some text value");
+            return dataManager.save(created);
+        });
+
+        List<IndexingQueueItem> queueItems = loadQueueItems(entity);
+        Assert.assertEquals(1, queueItems.size());
+        Assert.assertEquals(IndexingOperation.INDEX, queueItems.get(0).getOperation());
+    }
+
     @Test
     @DisplayName("Update of not-indexed local property of one-to-one reference doesn't lead to queue item enqueueing (Soft Delete)")
     public void updateNotIndexedLocalPropertyOfOneToOneReference() {
@@ -1363,4 +1419,10 @@ public class EntityChangeTrackingTest {
         boolean enqueued = indexingQueueItemsTracker.containsQueueItemsForEntityAndOperation(rootEntity, IndexingOperation.INDEX, 0);
         Assert.assertTrue(enqueued);
     }
+
+    protected List<IndexingQueueItem> loadQueueItems(Object entity) {
+        return dataManager.load(IndexingQueueItem.class)
+                .query("e.entityId = ?1", idSerialization.idToString(Id.of(entity)))
+                .list();
+    }
 }
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package queue_processing;
+
+import io.jmix.core.DataManager;
+import io.jmix.core.Id;
+import io.jmix.core.IdSerialization;
+import io.jmix.core.Metadata;
+import io.jmix.core.security.SystemAuthenticator;
+import io.jmix.search.index.EntityIndexer;
+import io.jmix.search.index.queue.IndexingQueueManager;
+import io.jmix.search.index.queue.entity.IndexingQueueItem;
+import io.jmix.search.index.queue.impl.IndexingOperation;
+import org.junit.Assert;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import test_support.IndexingTestConfiguration;
+import test_support.TestBulkRequestsTracker;
+import test_support.TestEntityIndexer;
+import test_support.entity.TestSimpleRootEntity;
+import test_support.entity.indexing.TestLongPkEntity;
+import test_support.entity.indexing.TestStringPkEntity;
+import test_support.entity.indexing.TestUuidPkEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(
+        classes = {IndexingTestConfiguration.class}
+)
+@TestPropertySource(properties = {
+        "jmix.search.processQueueWorkerCount=2"
+})
+public class ParallelQueueProcessingTest {
+
+    @Autowired
+    protected IndexingQueueManager indexingQueueManager;
+    @Autowired
+    protected EntityIndexer entityIndexer;
+    @Autowired
+    protected TestBulkRequestsTracker bulkRequestsTracker;
+    @Autowired
+    protected DataManager dataManager;
+    @Autowired
+    protected Metadata metadata;
+    @Autowired
+    protected IdSerialization idSerialization;
+    @Autowired
+    protected SystemAuthenticator authenticator;
+
+    @BeforeEach
+    public void setUp() {
+        authenticator.begin();
+        indexingQueueManager.emptyQueue();
+        bulkRequestsTracker.clear();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ((TestEntityIndexer) entityIndexer).setBulkRequestFailure(null);
+        indexingQueueManager.emptyQueue();
+        authenticator.end();
+    }
+
+    @Test
+    @DisplayName("Entire queue is processed by several workers")
+    public void processEntireQueue() {
+        List<Object> entities = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            TestUuidPkEntity uuidPkEntity = metadata.create(TestUuidPkEntity.class);
+            uuidPkEntity.setName("UUID PK entity " + i);
+            entities.add(dataManager.save(uuidPkEntity));
+
+            TestLongPkEntity longPkEntity = metadata.create(TestLongPkEntity.class);
+            longPkEntity.setName("Long PK entity " + i);
+            entities.add(dataManager.save(longPkEntity));
+
+            TestStringPkEntity stringPkEntity = metadata.create(TestStringPkEntity.class);
+            stringPkEntity.setId("parallel_pk_" + i);
+            stringPkEntity.setName("String PK entity " + i);
+            entities.add(dataManager.save(stringPkEntity));
+        }
+        indexingQueueManager.enqueueIndexCollection(entities);
+
+        int processed = indexingQueueManager.processEntireQueue(2);
+
+        Assert.assertEquals(15, processed);
+        Assert.assertTrue(loadQueueItems().isEmpty());
+        Assert.assertFalse(bulkRequestsTracker.getBulkRequests().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Queue items of entities without index configuration are removed")
+    public void processItemsOfNotIndexedEntity() {
+        TestSimpleRootEntity entity = metadata.create(TestSimpleRootEntity.class);
+
+        IndexingQueueItem queueItem = metadata.create(IndexingQueueItem.class);
+        queueItem.setEntityName(metadata.getClass(TestSimpleRootEntity.class).getName());
+        queueItem.setEntityId(idSerialization.idToString(Id.of(entity)));
+        queueItem.setOperation(IndexingOperation.INDEX);
+        dataManager.save(queueItem);
+
+        int processed = indexingQueueManager.processEntireQueue(2);
+
+        Assert.assertEquals(1, processed);
+        Assert.assertTrue(loadQueueItems().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Failure of a worker is propagated to the caller")
+    public void propagateWorkerFailure() {
+        TestUuidPkEntity entity = metadata.create(TestUuidPkEntity.class);
+        entity.setName("UUID PK entity");
+        indexingQueueManager.enqueueIndex(dataManager.save(entity));
+
+        ((TestEntityIndexer) entityIndexer).setBulkRequestFailure(new IllegalStateException("Bulk request failed"));
+
+        IllegalStateException exception = Assert.assertThrows(IllegalStateException.class,
+                () -> indexingQueueManager.processEntireQueue(2));
+        Assert.assertEquals("Bulk request failed", exception.getMessage());
+        Assert.assertEquals(1, loadQueueItems().size());
+    }
+
+    protected List<IndexingQueueItem> loadQueueItems() {
+        return dataManager.load(IndexingQueueItem.class).all().list();
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package streaming_enqueueing;
+
+import io.jmix.core.DataManager;
+import io.jmix.core.Id;
+import io.jmix.core.IdSerialization;
+import io.jmix.core.Metadata;
+import io.jmix.search.index.queue.entity.IndexingQueueItem;
+import io.jmix.search.index.queue.impl.IndexingOperation;
+import org.junit.Assert;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import test_support.AsyncEnqueueingTestConfiguration;
+import test_support.TestCommonEntityWrapperManager;
+import test_support.TestJpaIndexingQueueManager;
+import test_support.entity.TestRootEntity;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(
+        classes = {AsyncEnqueueingTestConfiguration.class}
+)
+@TestPropertySource(properties = {
+        "jmix.search.enqueueIndexAllStreamingEnabled=true",
+        "jmix.search.reindexEntityEnqueueBatchSize=2"
+})
+public class StreamingEnqueueingTest {
+
+    @Autowired
+    TestJpaIndexingQueueManager indexingQueueManager;
+    @Autowired
+    TestCommonEntityWrapperManager ewm;
+
+    @Autowired
+    Metadata metadata;
+    @Autowired
+    DataManager dataManager;
+    @Autowired
+    IdSerialization idSerialization;
+
+    @BeforeEach
+    public void setUp() {
+        indexingQueueManager.emptyQueue();
+
+        List<TestRootEntity> entities = dataManager.load(TestRootEntity.class).all().list();
+        entities.forEach(entity -> dataManager.remove(entity));
+    }
+
+    @Test
+    @DisplayName("Enqueue all instances of entity by pages")
+    public void enqueueAllByPages() {
+        TestRootEntity entity1 = ewm.createTestRootEntity().save();
+        TestRootEntity entity2 = ewm.createTestRootEntity().save();
+        TestRootEntity entity3 = ewm.createTestRootEntity().save();
+        TestRootEntity entity4 = ewm.createTestRootEntity().save();
+        TestRootEntity entity5 = ewm.createTestRootEntity().save();
+        String entityName = metadata.getClass(TestRootEntity.class).getName();
+
+        int enqueued = indexingQueueManager.enqueueIndexAll(entityName);
+        Assert.assertEquals(5, enqueued);
+
+        List<IndexingQueueItem> queueItems = dataManager.load(IndexingQueueItem.class).all().list();
+        Assert.assertEquals(5, queueItems.size());
+        queueItems.forEach(item -> {
+            Assert.assertEquals(entityName, item.getEntityName());
+            Assert.assertEquals(IndexingOperation.INDEX, item.getOperation());
+            Assert.assertNotNull(item.getCreatedDate());
+        });
+
+        Set<String> expectedIds = List.of(entity1, entity2, entity3, entity4, entity5).stream()
+                .map(entity -> idSerialization.idToString(Id.of(entity)))
+                .collect(Collectors.toSet());
+        Set<String> actualIds = queueItems.stream()
+                .map(IndexingQueueItem::getEntityId)
+                .collect(Collectors.toSet());
+        Assert.assertEquals(expectedIds, actualIds);
+    }
+
+    @Test
+    @DisplayName("Enqueue all instances of entity when the last page is full")
+    public void enqueueAllByFullPages() {
+        for (int i = 0; i < 6; i++) {
+            ewm.createTestRootEntity().save();
+        }
+        String entityName = metadata.getClass(TestRootEntity.class).getName();
+
+        int enqueued = indexingQueueManager.enqueueIndexAll(entityName);
+        Assert.assertEquals(6, enqueued);
+
+        Long queueSize = dataManager.loadValue("select count(q) from search_IndexingQueue q", Long.class).one();
+        Assert.assertEquals(6L, queueSize.longValue());
+
+        Set<String> entityIds = dataManager.load(IndexingQueueItem.class).all().list().stream()
+                .map(IndexingQueueItem::getEntityId)
+                .collect(Collectors.toSet());
+        Assert.assertEquals(6, entityIds.size());
+    }
+
+    @Test
+    @DisplayName("Enqueue all instances of entity without instances")
+    public void enqueueAllWithoutInstances() {
+        String entityName = metadata.getClass(TestRootEntity.class).getName();
+
+        int enqueued = indexingQueueManager.enqueueIndexAll(entityName);
+        Assert.assertEquals(0, enqueued);
+        Assert.assertTrue(dataManager.load(IndexingQueueItem.class).all().list().isEmpty());
+    }
+}
@@ -22,6 +22,7 @@ import org.elasticsearch.action.bulk.BulkRequest;
 import org.elasticsearch.action.bulk.BulkResponse;
 
 import jakarta.annotation.Nonnull;
+import org.springframework.lang.Nullable;
 
 /**
  * Track incoming bulk requests via provided tracker instead of execution via ES client
@@ -30,13 +31,25 @@ public class TestEntityIndexer extends EntityIndexerImpl {
 
     protected final TestBulkRequestsTracker bulkRequestsTracker;
 
+    protected RuntimeException bulkRequestFailure;
+
     public TestEntityIndexer(TestBulkRequestsTracker bulkRequestsTracker) {
         this.bulkRequestsTracker = bulkRequestsTracker;
     }
 
+    /**
+     * Sets exception to be thrown instead of executing bulk requests, {@code null} to execute them as usual.
+     */
+    public void setBulkRequestFailure(@Nullable RuntimeException bulkRequestFailure) {
+        this.bulkRequestFailure = bulkRequestFailure;
+    }
+
     @Override
     @Nonnull
     protected BulkResponse executeBulkRequest(@Nonnull BulkRequest request) {
+        if (bulkRequestFailure != null) {
+            throw bulkRequestFailure;
+        }
         bulkRequestsTracker.accept(request);
         return new BulkResponse(new BulkItemResponse[]{}, 0);
     }
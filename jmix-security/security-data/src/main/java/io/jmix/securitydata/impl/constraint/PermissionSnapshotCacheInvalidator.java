@@ -0,0 +1,47 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.jmix.securitydata.impl.constraint;
+
+import io.jmix.core.event.EntityChangedEvent;
+import io.jmix.security.impl.constraint.PermissionSnapshotCache;
+import io.jmix.securitydata.entity.ResourcePolicyEntity;
+import io.jmix.securitydata.entity.ResourceRoleEntity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Drops cached permission snapshots when resource roles or policies stored in the database are changed.
+ */
+@Component("sec_PermissionSnapshotCacheInvalidator")
+public class PermissionSnapshotCacheInvalidator {
+
+    @Autowired
+    protected PermissionSnapshotCache permissionSnapshotCache;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onResourceRoleChanged(EntityChangedEvent<ResourceRoleEntity> event) {
+        permissionSnapshotCache.invalidateAll();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onResourcePolicyChanged(EntityChangedEvent<ResourcePolicyEntity> event) {
+        permissionSnapshotCache.invalidateAll();
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package permission_snapshot
+
+import io.jmix.core.AccessManager
+import io.jmix.core.Metadata
+import io.jmix.core.UnconstrainedDataManager
+import io.jmix.core.accesscontext.CrudEntityContext
+import io.jmix.core.accesscontext.EntityAttributeContext
+import io.jmix.core.metamodel.model.MetaClass
+import io.jmix.core.security.InMemoryUserRepository
+import io.jmix.core.security.SecurityContextHelper
+import io.jmix.security.authentication.RoleGrantedAuthority
+import io.jmix.security.constraint.SecureOperations
+import io.jmix.security.impl.constraint.AuthenticationPolicyStore
+import io.jmix.security.impl.constraint.PermissionSnapshotCache
+import io.jmix.security.model.ResourcePolicy
+import io.jmix.security.role.ResourceRoleRepository
+import io.jmix.securitydata.entity.ResourceRoleEntity
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.context.ApplicationContext
+import org.springframework.security.authentication.AuthenticationManager
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken
+import org.springframework.security.core.Authentication
+import org.springframework.security.core.userdetails.User
+import org.springframework.security.core.userdetails.UserDetails
+import test_support.SecurityDataSpecification
+import test_support.entity.Bar
+import test_support.role.TestExtBarRole
+
+import java.util.stream.Stream
+
+class PermissionSnapshotTest extends SecurityDataSpecification {
+
+    @Autowired
+    AuthenticationManager authenticationManager
+
+    @Autowired
+    InMemoryUserRepository userRepository
+
+    @Autowired
+    ResourceRoleRepository roleRepository
+
+    @Autowired
+    AuthenticationPolicyStore policyStore
+
+    @Autowired
+    Metadata metadata
+
+    @Autowired
+    AccessManager accessManager
+
+    @Autowired
+    SecureOperations secureOperations
+
+    @Autowired
+    PermissionSnapshotCache permissionSnapshotCache
+
+    @Autowired
+    UnconstrainedDataManager dataManager
+
+    @Autowired
+    ApplicationContext applicationContext
+
+    UserDetails user1, user2
+
+    String PASSWORD = '123'
+
+    def setup() {
+        def role = roleRepository.getRoleByCode(TestExtBarRole.CODE)
+
+        user1 = User.builder()
+                .username("user1")
+                .password("{noop}$PASSWORD")
+                .authorities(RoleGrantedAuthority.ofResourceRole(role))
+                .build()
+        userRepository.addUser(user1)
+
+        user2 = User.builder()
+                .username("user2")
+                .password("{noop}$PASSWORD")
+                .authorities(RoleGrantedAuthority.ofResourceRole(role))
+                .build()
+        userRepository.addUser(user2)
+    }
+
+    def cleanup() {
+        userRepository.removeUser(user1)
+        userRepository.removeUser(user2)
+    }
+
+    def authenticate(String username) {
+        Authentication authentication = authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(username, PASSWORD))
+        SecurityContextHelper.setAuthentication(authentication)
+    }
+
+    def "users with the same roles share permission snapshot"() {
+
+        when:
+
+        authenticate('user1')
+        def snapshot1 = policyStore.getPermissionSnapshot()
+
+        authenticate('user2')
+        def snapshot2 = policyStore.getPermissionSnapshot()
+
+        then:
+
+        snapshot1 != null
+        snapshot1.is(snapshot2)
+    }
+
+    def "repeated checks return the same results"() {
+
+        authenticate('user1')
+        def barMetaClass = metadata.getClass(Bar)
+
+        when:
+
+        def crudContexts = (1..2).collect {
+            def context = new CrudEntityContext(barMetaClass)
+            accessManager.applyRegisteredConstraints(context)
+            context
+        }
+        def attributeContexts = (1..2).collect {
+            def context = new EntityAttributeContext(barMetaClass, "name")
+            accessManager.applyRegisteredConstraints(context)
+            context
+        }
+
+        then:
+
+        crudContexts.every { it.isCreatePermitted() && !it.isUpdatePermitted() && !it.isDeletePermitted() }
+        attributeContexts.every { it.canView() && it.canModify() }
+    }
+
+    def "cached checks do not evaluate policies again"() {
+
+        authenticate('user1')
+        permissionSnapshotCache.invalidateAll()
+        def barMetaClass = metadata.getClass(Bar)
+        def countingPolicyStore = applicationContext.autowireCapableBeanFactory.createBean(CountingPolicyStore)
+
+        when:
+
+        def createPermitted = secureOperations.isEntityCreatePermitted(barMetaClass, countingPolicyStore)
+        def evaluations = countingPolicyStore.evaluations
+
+        def createPermittedAgain = secureOperations.isEntityCreatePermitted(barMetaClass, countingPolicyStore)
+        def deletePermitted = secureOperations.isEntityDeletePermitted(barMetaClass, countingPolicyStore)
+
+        then:
+
+        createPermitted && createPermittedAgain && !deletePermitted
+        evaluations > 0
+        countingPolicyStore.evaluations == evaluations
+    }
+
+    def "changing a database role drops permission snapshots"() {
+
+        authenticate('user1')
+        def snapshot = policyStore.getPermissionSnapshot()
+
+        when:
+
+        ResourceRoleEntity role = metadata.create(ResourceRoleEntity)
+        role.code = 'snapshotTestRole'
+        role.name = 'Snapshot test role'
+        dataManager.save(role)
+
+        then:
+
+        !policyStore.getPermissionSnapshot().is(snapshot)
+    }
+
+    static class CountingPolicyStore extends AuthenticationPolicyStore {
+
+        int evaluations
+
+        @Override
+        Stream<ResourcePolicy> getEntityResourcePolicies(MetaClass metaClass) {
+            evaluations++
+            return super.getEntityResourcePolicies(metaClass)
+        }
+
+        @Override
+        Stream<ResourcePolicy> getEntityResourcePoliciesByWildcard(String wildcard) {
+            evaluations++
+            return super.getEntityResourcePoliciesByWildcard(wildcard)
+        }
+    }
+}
@@ -27,8 +27,16 @@ public class SecurityProperties {
      */
     boolean annotatedRolesHotDeployEnabled;
 
-    public SecurityProperties(@DefaultValue("true") boolean annotatedRolesHotDeployEnabled) {
+    /**
+     * Maximum number of compiled permission snapshots kept in memory. A snapshot is shared by all users having the
+     * same set of roles. Set to 0 to disable caching of permission checks.
+     */
+    int permissionSnapshotCacheMaxSize;
+
+    public SecurityProperties(@DefaultValue("true") boolean annotatedRolesHotDeployEnabled,
+                              @DefaultValue("500") int permissionSnapshotCacheMaxSize) {
         this.annotatedRolesHotDeployEnabled = annotatedRolesHotDeployEnabled;
+        this.permissionSnapshotCacheMaxSize = permissionSnapshotCacheMaxSize;
     }
 
     /**
@@ -37,4 +45,11 @@ public class SecurityProperties {
     public boolean isAnnotatedRolesHotDeployEnabled() {
         return annotatedRolesHotDeployEnabled;
     }
+
+    /**
+     * @see #permissionSnapshotCacheMaxSize
+     */
+    public int getPermissionSnapshotCacheMaxSize() {
+        return permissionSnapshotCacheMaxSize;
+    }
 }
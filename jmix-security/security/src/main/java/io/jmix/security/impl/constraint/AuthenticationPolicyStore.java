@@ -45,6 +45,8 @@ public class AuthenticationPolicyStore implements PolicyStore {
     protected CurrentAuthentication currentAuthentication;
     @Autowired
     protected ExtendedEntities extendedEntities;
+    @Autowired
+    protected PermissionSnapshotCache permissionSnapshotCache;
 
     @Override
     public Stream<RowLevelPolicy> getRowLevelPolicies(MetaClass metaClass) {
@@ -117,6 +119,19 @@ public class AuthenticationPolicyStore implements PolicyStore {
                 .getResourcePoliciesByIndex(GraphQLResourcePolicyByNameIndex.class, index -> index.getPolicies(resourceName)));
     }
 
+    /**
+     * Returns compiled permissions of the current authentication. Results of permission checks performed through
+     * this store may be kept in the snapshot, because they depend only on authorities and scope of the current
+     * authentication.
+     *
+     * @return permission snapshot or null if results of permission checks must not be cached
+     */
+    @Nullable
+    public PermissionSnapshot getPermissionSnapshot() {
+        Authentication authentication = currentAuthentication.getAuthentication();
+        return permissionSnapshotCache.getSnapshot(authentication.getAuthorities(), getScope(authentication));
+    }
+
     protected <T> Stream<T> extractFromAuthenticationByScope(Function<PolicyAwareGrantedAuthority, Stream<T>> extractor) {
         Stream<T> stream = Stream.empty();
 
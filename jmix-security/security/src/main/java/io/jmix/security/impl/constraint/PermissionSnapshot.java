@@ -0,0 +1,109 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.security.impl.constraint;
+
+import io.jmix.core.metamodel.model.MetaClass;
+import io.jmix.security.model.EntityPolicyAction;
+import org.springframework.lang.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * INTERNAL.
+ * Results of permission checks compiled for a set of role authorities and a scope. Permissions of an entity and of
+ * an entity attribute are stored as bit masks, so a repeated check is a single map lookup.
+ * <p>
+ * Instances are shared by all users having the same roles, see {@link PermissionSnapshotCache}.
+ */
+public class PermissionSnapshot {
+
+    public static final int ENTITY_CREATE = 1;
+    public static final int ENTITY_READ = 1 << 1;
+    public static final int ENTITY_UPDATE = 1 << 2;
+    public static final int ENTITY_DELETE = 1 << 3;
+
+    public static final int ATTRIBUTE_VIEW = 1;
+    public static final int ATTRIBUTE_MODIFY = 1 << 1;
+
+    protected final Map<MetaClass, Integer> entityPermissions = new ConcurrentHashMap<>();
+    protected final Map<MetaClass, Map<String, Integer>> attributePermissions = new ConcurrentHashMap<>();
+    protected final Map<String, Boolean> specificPermissions = new ConcurrentHashMap<>();
+    protected final Map<String, Boolean> graphQLPermissions = new ConcurrentHashMap<>();
+
+    /**
+     * @return bit mask of permitted entity operations or null if the permissions are not compiled yet
+     */
+    @Nullable
+    public Integer getEntityPermissions(MetaClass metaClass) {
+        return entityPermissions.get(metaClass);
+    }
+
+    public void putEntityPermissions(MetaClass metaClass, int permissions) {
+        entityPermissions.put(metaClass, permissions);
+    }
+
+    /**
+     * @return bit mask of permitted attribute operations or null if the permissions are not compiled yet
+     */
+    @Nullable
+    public Integer getAttributePermissions(MetaClass metaClass, String attribute) {
+        Map<String, Integer> permissions = attributePermissions.get(metaClass);
+        return permissions == null ? null : permissions.get(attribute);
+    }
+
+    public void putAttributePermissions(MetaClass metaClass, String attribute, int permissions) {
+        attributePermissions.computeIfAbsent(metaClass, k -> new ConcurrentHashMap<>())
+                .put(attribute, permissions);
+    }
+
+    @Nullable
+    public Boolean isSpecificPermitted(String resourceName) {
+        return specificPermissions.get(resourceName);
+    }
+
+    public void putSpecificPermitted(String resourceName, boolean permitted) {
+        specificPermissions.put(resourceName, permitted);
+    }
+
+    @Nullable
+    public Boolean isGraphQLPermitted(String resourceName) {
+        return graphQLPermissions.get(resourceName);
+    }
+
+    public void putGraphQLPermitted(String resourceName, boolean permitted) {
+        graphQLPermissions.put(resourceName, permitted);
+    }
+
+    /**
+     * @return bit of the given entity operation in the entity permissions mask
+     */
+    public static int getEntityPermissionBit(EntityPolicyAction action) {
+        switch (action) {
+            case CREATE:
+                return ENTITY_CREATE;
+            case READ:
+                return ENTITY_READ;
+            case UPDATE:
+                return ENTITY_UPDATE;
+            case DELETE:
+                return ENTITY_DELETE;
+            default:
+                return ENTITY_CREATE | ENTITY_READ | ENTITY_UPDATE | ENTITY_DELETE;
+        }
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2023 Haulmont.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.jmix.security.impl.constraint;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.jmix.security.SecurityProperties;
+import io.jmix.security.authentication.PolicyAwareGrantedAuthority;
+import io.jmix.security.model.ResourcePolicy;
+import org.springframework.lang.Nullable;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * INTERNAL.
+ * Keeps {@link PermissionSnapshot}s of role authority sets. Snapshots are shared between authentications having
+ * equal sets of authorities: the same role codes, scopes and resource policy instances. If a role is changed,
+ * new authorities contain new policy instances, so they get a new snapshot.
+ * <p>
+ * The number of snapshots is limited by {@link SecurityProperties#getPermissionSnapshotCacheMaxSize()}.
+ */
+@Component("sec_PermissionSnapshotCache")
+public class PermissionSnapshotCache {
+
+    protected final boolean enabled;
+
+    // authorities collection of an authentication -> its key, compared by identity
+    protected final Cache<Collection<?>, AuthoritiesEntry> authoritiesEntries;
+    protected final Cache<SnapshotKey, PermissionSnapshot> snapshots;
+
+    public PermissionSnapshotCache(SecurityProperties properties) {
+        int maxSize = properties.getPermissionSnapshotCacheMaxSize();
+        this.enabled = maxSize > 0;
+        this.authoritiesEntries = CacheBuilder.newBuilder()
+                .weakKeys()
+                .build();
+        this.snapshots = CacheBuilder.newBuilder()
+                .maximumSize(Math.max(maxSize, 0))
+                .build();
+    }
+
+    /**
+     * @return a snapshot for the given authorities and scope or null if the cache is disabled
+     */
+    @Nullable
+    public PermissionSnapshot getSnapshot(Collection<? extends GrantedAuthority> authorities, @Nullable String scope) {
+        if (!enabled) {
+            return null;
+        }
+        AuthoritiesEntry entry = authoritiesEntries.getIfPresent(authorities);
+        if (entry == null) {
+            entry = new AuthoritiesEntry(new AuthoritiesKey(authorities));
+            authoritiesEntries.put(authorities, entry);
+        }
+        ScopedSnapshot scopedSnapshot = entry.scopedSnapshot;
+        if (scopedSnapshot == null || !Objects.equals(scopedSnapshot.scope, scope)) {
+            PermissionSnapshot snapshot;
+            try {
+                snapshot = snapshots.get(new SnapshotKey(entry.key, scope), PermissionSnapshot::new);
+            } catch (ExecutionException e) {
+                throw new RuntimeException("Unable to create permission snapshot", e);
+            }
+            scopedSnapshot = new ScopedSnapshot(scope, snapshot);
+            entry.scopedSnapshot = scopedSnapshot;
+        }
+        return scopedSnapshot.snapshot;
+    }
+
+    public void invalidateAll() {
+        authoritiesEntries.invalidateAll();
+        snapshots.invalidateAll();
+    }
+
+    protected static class AuthoritiesEntry {
+
+        protected final AuthoritiesKey key;
+        protected volatile ScopedSnapshot scopedSnapshot;
+
+        protected AuthoritiesEntry(AuthoritiesKey key) {
+            this.key = key;
+        }
+    }
+
+    protected static class ScopedSnapshot {
+
+        protected final String scope;
+        protected final PermissionSnapshot snapshot;
+
+        protected ScopedSnapshot(@Nullable String scope, PermissionSnapshot snapshot) {
+            this.scope = scope;
+            this.snapshot = snapshot;
+        }
+    }
+
+    /**
+     * Policy-aware authorities sorted by code. Resource policies are compared by identity.
+     */
+    protected static class AuthoritiesKey {
+
+        protected final List<String> codes = new ArrayList<>();
+        protected final List<Collection<String>> scopes = new ArrayList<>();
+        protected final List<Collection<ResourcePolicy>> resourcePolicies = new ArrayList<>();
+        protected final int hashCode;
+
+        protected AuthoritiesKey(Collection<? extends GrantedAuthority> authorities) {
+            List<PolicyAwareGrantedAuthority> policyAwareAuthorities = new ArrayList<>();
+            for (GrantedAuthority authority : authorities) {
+                if (authority instanceof PolicyAwareGrantedAuthority) {
+                    policyAwareAuthorities.add((PolicyAwareGrantedAuthority) authority);
+                }
+            }
+            policyAwareAuthorities.sort(Comparator.comparing(GrantedAuthority::getAuthority,
+                    Comparator.nullsFirst(Comparator.naturalOrder())));
+
+            int hash = 1;
+            for (PolicyAwareGrantedAuthority authority : policyAwareAuthorities) {
+                codes.add(authority.getAuthority());
+                scopes.add(new ArrayList<>(authority.getScopes()));
+                resourcePolicies.add(authority.getResourcePolicies());
+
+                hash = 31 * hash + Objects.hashCode(authority.getAuthority());
+                for (ResourcePolicy policy : authority.getResourcePolicies()) {
+                    hash = 31 * hash + System.identityHashCode(policy);
+                }
+            }
+            this.hashCode = hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            AuthoritiesKey that = (AuthoritiesKey) o;
+            if (hashCode != that.hashCode
+                    || !codes.equals(that.codes)
+                    || !scopes.equals(that.scopes)) {
+                return false;
+            }
+            for (int i = 0; i < resourcePolicies.size(); i++) {
+                if (!samePolicies(resourcePolicies.get(i), that.resourcePolicies.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        protected boolean samePolicies(Collection<ResourcePolicy> policies1, Collection<ResourcePolicy> policies2) {
+            if (policies1.size() != policies2.size()) {
+                return false;
+            }
+            Iterator<ResourcePolicy> it1 = policies1.iterator();
+            Iterator<ResourcePolicy> it2 = policies2.iterator();
+            while (it1.hasNext()) {
+                if (it1.next() != it2.next()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    protected static class SnapshotKey {
+
+        protected final AuthoritiesKey authoritiesKey;
+        protected final String scope;
+
+        protected SnapshotKey(AuthoritiesKey authoritiesKey, @Nullable String scope) {
+            this.authoritiesKey = authoritiesKey;
+            this.scope = scope;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            SnapshotKey that = (SnapshotKey) o;
+            return authoritiesKey.equals(that.authoritiesKey) && Objects.equals(scope, that.scope);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(authoritiesKey, scope);
+        }
+    }
+}
@@ -25,6 +25,7 @@ import io.jmix.security.model.EntityAttributePolicyAction;
 import io.jmix.security.model.EntityPolicyAction;
 import io.jmix.security.model.ResourcePolicy;
 import io.jmix.security.model.ResourcePolicyEffect;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
 import java.util.Objects;
@@ -32,6 +33,16 @@ import java.util.Objects;
 @Component("sec_SecureOperations")
 public class SecureOperationsImpl implements SecureOperations {
 
+    protected static final EntityPolicyAction[] ENTITY_ACTIONS = {
+            EntityPolicyAction.CREATE, EntityPolicyAction.READ, EntityPolicyAction.UPDATE, EntityPolicyAction.DELETE
+    };
+    protected static final EntityAttributePolicyAction[] ATTR_READ_ACTIONS = {
+            EntityAttributePolicyAction.VIEW, EntityAttributePolicyAction.MODIFY
+    };
+    protected static final EntityAttributePolicyAction[] ATTR_UPDATE_ACTIONS = {
+            EntityAttributePolicyAction.MODIFY
+    };
+
     public boolean isEntityCreatePermitted(MetaClass metaClass, PolicyStore policyStore) {
         return isEntityOperationPermitted(metaClass, EntityPolicyAction.CREATE, policyStore);
     }
@@ -53,6 +64,22 @@ public class SecureOperationsImpl implements SecureOperations {
 
     protected boolean isEntityOperationPermitted(MetaClass metaClass, EntityPolicyAction entityPolicyAction,
                                                  PolicyStore policyStore) {
+        PermissionSnapshot snapshot = getPermissionSnapshot(policyStore);
+        if (snapshot == null) {
+            return computeEntityOperationPermitted(metaClass, entityPolicyAction, policyStore);
+        }
+
+        Integer permissions = snapshot.getEntityPermissions(metaClass);
+        if (permissions == null) {
+            permissions = compileEntityPermissions(metaClass, policyStore);
+            snapshot.putEntityPermissions(metaClass, permissions);
+        }
+        int permissionBits = PermissionSnapshot.getEntityPermissionBit(entityPolicyAction);
+        return (permissions & permissionBits) == permissionBits;
+    }
+
+    protected boolean computeEntityOperationPermitted(MetaClass metaClass, EntityPolicyAction entityPolicyAction,
+                                                      PolicyStore policyStore) {
 
         boolean result = policyStore.getEntityResourcePolicies(metaClass)
                 .anyMatch(policy -> isEntityOperationPermitted(policy, entityPolicyAction));
@@ -65,6 +92,16 @@ public class SecureOperationsImpl implements SecureOperations {
         return result;
     }
 
+    protected int compileEntityPermissions(MetaClass metaClass, PolicyStore policyStore) {
+        int permissions = 0;
+        for (EntityPolicyAction action : ENTITY_ACTIONS) {
+            if (computeEntityOperationPermitted(metaClass, action, policyStore)) {
+                permissions |= PermissionSnapshot.getEntityPermissionBit(action);
+            }
+        }
+        return permissions;
+    }
+
     protected boolean isEntityOperationPermitted(ResourcePolicy policy, EntityPolicyAction entityPolicyAction) {
         return Objects.equals(policy.getEffect(), ResourcePolicyEffect.ALLOW) &&
                 (Objects.equals(policy.getAction(), entityPolicyAction.getId()) ||
@@ -73,28 +110,47 @@ public class SecureOperationsImpl implements SecureOperations {
 
     @Override
     public boolean isEntityAttrReadPermitted(MetaPropertyPath metaPropertyPath, PolicyStore policyStore) {
-        for (MetaProperty metaProperty : metaPropertyPath.getMetaProperties()) {
-            if (!isEntityAttrPermitted(metaProperty.getDomain(), metaProperty.getName(),
-                    new EntityAttributePolicyAction[]{EntityAttributePolicyAction.VIEW, EntityAttributePolicyAction.MODIFY},
-                    policyStore)) {
-                return false;
-            }
-        }
-        return true;
+        return isEntityAttrPermitted(metaPropertyPath, PermissionSnapshot.ATTRIBUTE_VIEW, ATTR_READ_ACTIONS, policyStore);
     }
 
     @Override
     public boolean isEntityAttrUpdatePermitted(MetaPropertyPath metaPropertyPath, PolicyStore policyStore) {
+        return isEntityAttrPermitted(metaPropertyPath, PermissionSnapshot.ATTRIBUTE_MODIFY, ATTR_UPDATE_ACTIONS, policyStore);
+    }
+
+    protected boolean isEntityAttrPermitted(MetaPropertyPath metaPropertyPath, int permissionBit,
+                                            EntityAttributePolicyAction[] policyActions, PolicyStore policyStore) {
+        PermissionSnapshot snapshot = getPermissionSnapshot(policyStore);
         for (MetaProperty metaProperty : metaPropertyPath.getMetaProperties()) {
-            if (!isEntityAttrPermitted(metaProperty.getDomain(), metaProperty.getName(),
-                    new EntityAttributePolicyAction[]{EntityAttributePolicyAction.MODIFY},
-                    policyStore)) {
+            boolean permitted;
+            if (snapshot == null) {
+                permitted = isEntityAttrPermitted(metaProperty.getDomain(), metaProperty.getName(), policyActions, policyStore);
+            } else {
+                Integer permissions = snapshot.getAttributePermissions(metaProperty.getDomain(), metaProperty.getName());
+                if (permissions == null) {
+                    permissions = compileEntityAttrPermissions(metaProperty.getDomain(), metaProperty.getName(), policyStore);
+                    snapshot.putAttributePermissions(metaProperty.getDomain(), metaProperty.getName(), permissions);
+                }
+                permitted = (permissions & permissionBit) != 0;
+            }
+            if (!permitted) {
                 return false;
             }
         }
         return true;
     }
 
+    protected int compileEntityAttrPermissions(MetaClass metaClass, String name, PolicyStore policyStore) {
+        int permissions = 0;
+        if (isEntityAttrPermitted(metaClass, name, ATTR_READ_ACTIONS, policyStore)) {
+            permissions |= PermissionSnapshot.ATTRIBUTE_VIEW;
+        }
+        if (isEntityAttrPermitted(metaClass, name, ATTR_UPDATE_ACTIONS, policyStore)) {
+            permissions |= PermissionSnapshot.ATTRIBUTE_MODIFY;
+        }
+        return permissions;
+    }
+
     @SuppressWarnings("BooleanMethodIsAlwaysInverted")
     protected boolean isEntityAttrPermitted(MetaClass metaClass, String name,
                                             EntityAttributePolicyAction[] policyActions,
@@ -128,6 +184,20 @@ public class SecureOperationsImpl implements SecureOperations {
 
     @Override
     public boolean isSpecificPermitted(String resourceName, PolicyStore policyStore) {
+        PermissionSnapshot snapshot = getPermissionSnapshot(policyStore);
+        if (snapshot == null) {
+            return computeSpecificPermitted(resourceName, policyStore);
+        }
+
+        Boolean permitted = snapshot.isSpecificPermitted(resourceName);
+        if (permitted == null) {
+            permitted = computeSpecificPermitted(resourceName, policyStore);
+            snapshot.putSpecificPermitted(resourceName, permitted);
+        }
+        return permitted;
+    }
+
+    protected boolean computeSpecificPermitted(String resourceName, PolicyStore policyStore) {
         boolean result = policyStore.getSpecificResourcePolicies(resourceName)
                 .anyMatch(policy -> Objects.equals(policy.getEffect(), ResourcePolicyEffect.ALLOW));
 
@@ -141,6 +211,20 @@ public class SecureOperationsImpl implements SecureOperations {
 
     @Override
     public boolean isGraphQLPermitted(String resourceName, PolicyStore policyStore) {
+        PermissionSnapshot snapshot = getPermissionSnapshot(policyStore);
+        if (snapshot == null) {
+            return computeGraphQLPermitted(resourceName, policyStore);
+        }
+
+        Boolean permitted = snapshot.isGraphQLPermitted(resourceName);
+        if (permitted == null) {
+            permitted = computeGraphQLPermitted(resourceName, policyStore);
+            snapshot.putGraphQLPermitted(resourceName, permitted);
+        }
+        return permitted;
+    }
+
+    protected boolean computeGraphQLPermitted(String resourceName, PolicyStore policyStore) {
         boolean result = policyStore.getGraphQLResourcePolicies(resourceName)
                 .anyMatch(policy -> Objects.equals(policy.getEffect(), ResourcePolicyEffect.ALLOW));
 
@@ -151,4 +235,15 @@ public class SecureOperationsImpl implements SecureOperations {
 
         return result;
     }
+
+    /**
+     * Returns a snapshot to keep results of permission checks performed through the given policy store.
+     */
+    @Nullable
+    protected PermissionSnapshot getPermissionSnapshot(PolicyStore policyStore) {
+        if (policyStore instanceof AuthenticationPolicyStore) {
+            return ((AuthenticationPolicyStore) policyStore).getPermissionSnapshot();
+        }
+        return null;
+    }
 }